@@ -2,4 +2,7 @@
 # Start script for penalty-payment-web
 
 PORT=8080
-exec java -jar -Dserver.port="${PORT}" "penalty-payment-web.jar"
+# The JDK reads its keep-alive pool settings once, so they are given here rather than set by the application
+exec java -Dhttp.maxConnections="${API_CLIENT_MAX_CONNECTIONS_PER_ROUTE:-20}" \
+    -Dhttp.keepAlive.time.server="${API_CLIENT_IDLE_TIMEOUT_SECONDS:-30}" \
+    -jar -Dserver.port="${PORT}" "penalty-payment-web.jar"
@@ -0,0 +1,129 @@
+package uk.gov.companieshouse.web.pps.layout;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import nz.net.ultraq.thymeleaf.layoutdialect.LayoutDialect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.spring6.templateresolver.SpringResourceTemplateResolver;
+import org.thymeleaf.spring6.view.ThymeleafView;
+import org.thymeleaf.templatemode.TemplateMode;
+import uk.gov.companieshouse.web.pps.config.PrecompiledLayoutConfigurationProperties;
+import uk.gov.companieshouse.web.pps.warmup.TemplateWarmUp;
+
+/**
+ * Compares rendering each page decorated by the layout dialect on every
+ * render against rendering the same page with its layout merged in once by
+ * {@link LayoutPrecompiler}. Both go through a {@link ThymeleafView}, as a
+ * controller response would, using the warm-up models and the real
+ * templates and layout from the classpath.
+ * <p>
+ * Setup fails if the two ways of rendering a page do not produce identical
+ * HTML. Run with the GC profiler to compare allocation as well as time:
+ * <pre>
+ * mvn -P benchmark test-compile exec:exec -Djmh.args="-f 1 -prof gc LayoutRenderBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LayoutRenderBenchmark {
+
+    @Param({"pps/confirmationPage", "pps/details", "pps/instalmentPlan", "pps/onlinePaymentUnavailable",
+            "pps/pageNotFound", "pps/penaltyInDCA", "pps/penaltyPaid", "pps/penaltyPaymentInProgress",
+            "pps/penaltyRefStartsWith", "pps/serviceUnavailable", "pps/signOut", "pps/unscheduledServiceDown",
+            "pps/viewPenalties"})
+    private String page;
+
+    private StaticWebApplicationContext applicationContext;
+    private Map<String, Object> model;
+    private ThymeleafView decoratedView;
+    private ThymeleafView precompiledView;
+
+    @Setup
+    public void setUp() throws Exception {
+        applicationContext = new StaticWebApplicationContext();
+        applicationContext.setServletContext(new MockServletContext());
+        applicationContext.refresh();
+
+        SpringResourceTemplateResolver templates = new SpringResourceTemplateResolver();
+        templates.setApplicationContext(applicationContext);
+        templates.setPrefix("classpath:/templates/");
+        templates.setSuffix(".html");
+        templates.setTemplateMode(TemplateMode.HTML);
+        templates.setCharacterEncoding("UTF-8");
+        templates.setOrder(1);
+
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("locales/messages", "locales/common-messages");
+        messageSource.setDefaultEncoding("UTF-8");
+
+        PrecompiledLayoutTemplateResolver precompiledLayoutTemplateResolver = new PrecompiledLayoutTemplateResolver();
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.addTemplateResolver(templates);
+        templateEngine.addTemplateResolver(precompiledLayoutTemplateResolver);
+        templateEngine.addDialect(new LayoutDialect());
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+
+        LayoutPrecompiler layoutPrecompiler = new LayoutPrecompiler(new PrecompiledLayoutConfigurationProperties(),
+                templateEngine, precompiledLayoutTemplateResolver);
+        model = TemplateWarmUp.warmUpModels().get(page);
+        decoratedView = view(templateEngine, page);
+        precompiledView = view(templateEngine, layoutPrecompiler.addCandidate(page));
+
+        String decorated = render(decoratedView);
+        String precompiled = render(precompiledView);
+        if (!decorated.equals(precompiled)) {
+            throw new IllegalStateException(
+                    String.format("Precompiled layout for %s does not render the same HTML", page));
+        }
+    }
+
+    @Benchmark
+    public String decorated() throws Exception {
+        return render(decoratedView);
+    }
+
+    @Benchmark
+    public String precompiled() throws Exception {
+        return render(precompiledView);
+    }
+
+    private ThymeleafView view(SpringTemplateEngine templateEngine, String templateName) {
+        ThymeleafView view = new ThymeleafView(templateName);
+        view.setTemplateEngine(templateEngine);
+        view.setApplicationContext(applicationContext);
+        view.setCharacterEncoding("UTF-8");
+        view.setLocale(Locale.UK);
+        return view;
+    }
+
+    private String render(ThymeleafView view) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(applicationContext.getServletContext());
+        request.setAttribute(DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE, applicationContext);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        view.render(new HashMap<>(model), request, response);
+        return response.getContentAsString();
+    }
+}
@@ -0,0 +1,87 @@
+package uk.gov.companieshouse.web.pps.logging;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.helpers.NOPLogger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+import uk.gov.companieshouse.web.pps.PPSWebApplication;
+
+/**
+ * Measures the allocation of the debug logging made while fetching financial
+ * penalties, at INFO level, with the messages formatted eagerly as they were
+ * against the same messages passed to {@link LazyLogger}.
+ * <p>
+ * The eager case hands each formatted message to a {@link Blackhole}, which
+ * is all the structured logger does with a debug message at INFO. The lazy
+ * case uses a level logger with debug disabled, so neither case depends on
+ * the logging backend's configuration. Run with the GC profiler and compare
+ * {@code gc.alloc.rate.norm}, the bytes allocated per request:
+ * <pre>
+ * mvn -P benchmark test-compile exec:exec -Djmh.args="-f 1 -prof gc LazyLoggerBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LazyLoggerBenchmark {
+
+    private LazyLogger lazyLogger;
+
+    private String requestId;
+    private String uri;
+    private String penaltyReferenceType;
+    private String companyNumber;
+    private String penaltyRef;
+    private int penaltyOrUnpaidCount;
+    private int penaltyAndCostsCount;
+
+    @Setup
+    public void setUp() {
+        lazyLogger = new LazyLogger(LoggerFactory.getLogger(PPSWebApplication.APPLICATION_NAME_SPACE),
+                NOPLogger.NOP_LOGGER);
+        requestId = "Zm9vYmFyYmF6cXV4";
+        uri = "/company/12345678/penalties/LATE_FILING";
+        penaltyReferenceType = "LATE_FILING";
+        companyNumber = "12345678";
+        penaltyRef = "A0000001";
+        penaltyOrUnpaidCount = 3;
+        penaltyAndCostsCount = 1;
+    }
+
+    @Benchmark
+    public void eager(Blackhole blackhole) {
+        blackhole.consume(String.format("[%s]: Sending request to API [%s] to fetch financial penalties (%s) for company number %s and penalty ref %s",
+                requestId, uri, penaltyReferenceType, companyNumber, penaltyRef));
+        blackhole.consume(String.format("[%s]: Request to fetch financial penalties successful for company number %s and penalty ref %s",
+                requestId, companyNumber, penaltyRef));
+        blackhole.consume(String.format("[%s]: %d Penalty or unpaid items for company number %s and penalty ref %s",
+                requestId, penaltyOrUnpaidCount, companyNumber, penaltyRef));
+        blackhole.consume(String.format("[%s]: %d Penalty and costs for company number %s and penalty ref %s",
+                requestId, penaltyAndCostsCount, companyNumber, penaltyRef));
+    }
+
+    @Benchmark
+    public void lazy() {
+        lazyLogger.debug("[%s]: Sending request to API [%s] to fetch financial penalties (%s) for company number %s and penalty ref %s",
+                requestId, uri, penaltyReferenceType, companyNumber, penaltyRef);
+        lazyLogger.debug("[%s]: Request to fetch financial penalties successful for company number %s and penalty ref %s",
+                requestId, companyNumber, penaltyRef);
+        lazyLogger.debug("[%s]: %d Penalty or unpaid items for company number %s and penalty ref %s",
+                requestId, penaltyOrUnpaidCount, companyNumber, penaltyRef);
+        lazyLogger.debug("[%s]: %d Penalty and costs for company number %s and penalty ref %s",
+                requestId, penaltyAndCostsCount, companyNumber, penaltyRef);
+    }
+}
@@ -0,0 +1,44 @@
+package uk.gov.companieshouse.web.pps.service.company.impl;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link CompanyServiceImpl#appendToCompanyNumber} for a short
+ * numeric company number that is padded, a full numeric one, and a prefixed
+ * one that is returned as it is.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompanyServiceImplBenchmark {
+
+    @Param({"1234", "12345678", "SC123456"})
+    private String companyNumber;
+
+    private CompanyServiceImpl companyService;
+
+    @Setup
+    public void setUp() {
+        // appending to the company number does not call the API
+        companyService = new CompanyServiceImpl(null, null, null);
+    }
+
+    @Benchmark
+    public String appendToCompanyNumber() {
+        return companyService.appendToCompanyNumber(companyNumber);
+    }
+}
@@ -0,0 +1,91 @@
+package uk.gov.companieshouse.web.pps.service.navigation;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.servlet.view.UrlBasedViewResolver;
+import org.springframework.web.util.UriTemplate;
+import uk.gov.companieshouse.web.pps.annotation.NextController;
+import uk.gov.companieshouse.web.pps.controller.ConditionalController;
+import uk.gov.companieshouse.web.pps.controller.pps.EnterDetailsController;
+import uk.gov.companieshouse.web.pps.controller.pps.StartController;
+
+/**
+ * Compares the pre-compiled navigation graph in {@link NavigatorService}
+ * against the per-request reflective lookup it replaced, for the
+ * enter-details to view-penalties redirect (two path variables) and the
+ * start redirect (none).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NavigatorServiceBenchmark {
+
+    private static final String COMPANY_NUMBER = "12345678";
+    private static final String PENALTY_REF = "A0000001";
+
+    private NavigatorService navigatorService;
+
+    @Setup
+    public void setUp() {
+        StaticApplicationContext applicationContext = new StaticApplicationContext();
+        applicationContext.refresh();
+        navigatorService = new NavigatorService(applicationContext);
+        navigatorService.afterSingletonsInstantiated();
+    }
+
+    @Benchmark
+    public String compiledGraphWithPathVariables() {
+        return navigatorService.getNextControllerRedirect(EnterDetailsController.class, COMPANY_NUMBER, PENALTY_REF);
+    }
+
+    @Benchmark
+    public String reflectiveWithPathVariables() {
+        return reflectiveNextControllerRedirect(EnterDetailsController.class, COMPANY_NUMBER, PENALTY_REF);
+    }
+
+    @Benchmark
+    public String compiledGraphWithoutPathVariables() {
+        return navigatorService.getNextControllerRedirect(StartController.class);
+    }
+
+    @Benchmark
+    public String reflectiveWithoutPathVariables() {
+        return reflectiveNextControllerRedirect(StartController.class);
+    }
+
+    /**
+     * The request-time path as it was before the navigation graph: annotation
+     * lookups and a fresh {@link UriTemplate} per mapping on every call.
+     */
+    private static String reflectiveNextControllerRedirect(Class<?> clazz, String... pathVars) {
+        NextController nextController = AnnotationUtils.findAnnotation(clazz, NextController.class);
+        Class<?> nextControllerClass = nextController.value();
+        if (ConditionalController.class.isAssignableFrom(nextControllerClass)) {
+            throw new IllegalStateException("Conditional controllers are not benchmarked");
+        }
+
+        RequestMapping requestMapping = AnnotationUtils.findAnnotation(nextControllerClass, RequestMapping.class);
+        for (String mapping : requestMapping.value()) {
+            UriTemplate mappingTemplate = new UriTemplate(mapping);
+            if (pathVars.length == mappingTemplate.getVariableNames().size()) {
+                return UrlBasedViewResolver.REDIRECT_URL_PREFIX + mappingTemplate.expand((Object[]) pathVars);
+            }
+        }
+        throw new IllegalStateException("No mapping found");
+    }
+}
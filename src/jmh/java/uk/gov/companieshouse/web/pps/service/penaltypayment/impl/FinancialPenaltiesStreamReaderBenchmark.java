@@ -0,0 +1,90 @@
+package uk.gov.companieshouse.web.pps.service.penaltypayment.impl;
+
+import static java.lang.Boolean.FALSE;
+import static uk.gov.companieshouse.web.pps.service.penaltypayment.impl.PenaltyPaymentServiceImpl.OTHER_TYPE;
+import static uk.gov.companieshouse.web.pps.service.penaltypayment.impl.PenaltyPaymentServiceImpl.PENALTY_TYPE;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.companieshouse.api.model.financialpenalty.FinancialPenalties;
+import uk.gov.companieshouse.api.model.financialpenalty.FinancialPenalty;
+
+/**
+ * Compares reading a synthetic financial penalties response by binding the
+ * whole {@link FinancialPenalties} graph and then filtering it, against
+ * filtering while parsing with {@link FinancialPenaltiesStreamReader}.
+ * <p>
+ * This is primarily a memory benchmark; compare {@code gc.alloc.rate.norm}
+ * from the GC profiler, which the benchmark profile runs by default:
+ * <pre>
+ * mvn -P benchmark test-compile exec:exec -Djmh.args="-f 1 -prof gc FinancialPenaltiesStreamReaderBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FinancialPenaltiesStreamReaderBenchmark {
+
+    @Param({"10", "1000", "50000"})
+    private int ledgerSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private byte[] body;
+    private String penaltyRef;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(ledgerSize);
+        StringBuilder json = new StringBuilder("{\"etag\":\"etag\",\"items\":[");
+        for (int i = 0; i < ledgerSize; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":\"").append(String.format("A%07d", i / 2))
+                    .append("\",\"etag\":\"0cf6b1a0d3a3d9b43a6d7b2d6e6b1d1c\"")
+                    .append(",\"kind\":\"late-filing-penalty#late-filing-penalty\"")
+                    .append(",\"is_paid\":").append(random.nextInt(4) != 0)
+                    .append(",\"due_date\":\"2024-04-30\"")
+                    .append(",\"made_up_date\":\"").append(1990 + random.nextInt(35)).append("-03-31\"")
+                    .append(",\"original_amount\":150,\"outstanding\":150")
+                    .append(",\"type\":\"").append(i % 2 == 0 ? PENALTY_TYPE : OTHER_TYPE)
+                    .append("\",\"reason\":\"Late filing of accounts\"")
+                    .append(",\"payable_status\":\"OPEN\"}");
+        }
+        json.append("],\"total_results\":").append(ledgerSize).append('}');
+        body = json.toString().getBytes();
+        penaltyRef = String.format("A%07d", (ledgerSize - 1) / 2);
+    }
+
+    @Benchmark
+    public List<FinancialPenalty> bindAndFilter() throws IOException {
+        FinancialPenalties financialPenalties = objectMapper.readValue(body, FinancialPenalties.class);
+        return financialPenalties.getItems().stream()
+                .filter(item -> penaltyRef.equals(item.getId()) || FALSE.equals(item.getPaid()))
+                .toList();
+    }
+
+    @Benchmark
+    public List<FinancialPenalty> streamAndFilter() throws IOException {
+        return FinancialPenaltiesStreamReader.readPenaltyOrUnpaidItems(new ByteArrayInputStream(body), penaltyRef);
+    }
+}
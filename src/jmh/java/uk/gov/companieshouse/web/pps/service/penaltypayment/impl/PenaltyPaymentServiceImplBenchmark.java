@@ -0,0 +1,147 @@
+package uk.gov.companieshouse.web.pps.service.penaltypayment.impl;
+
+import static java.lang.Boolean.FALSE;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import static uk.gov.companieshouse.api.model.financialpenalty.PayableStatus.CLOSED;
+import static uk.gov.companieshouse.api.model.financialpenalty.PayableStatus.DISABLED;
+import static uk.gov.companieshouse.api.model.financialpenalty.PayableStatus.OPEN;
+import static uk.gov.companieshouse.web.pps.service.penaltypayment.impl.PenaltyPaymentServiceImpl.OTHER_TYPE;
+import static uk.gov.companieshouse.web.pps.service.penaltypayment.impl.PenaltyPaymentServiceImpl.PENALTY_TYPE;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.companieshouse.api.ApiClient;
+import uk.gov.companieshouse.api.error.ApiErrorResponseException;
+import uk.gov.companieshouse.api.handler.exception.URIValidationException;
+import uk.gov.companieshouse.api.handler.financialpenalty.e5financialpenalty.FinancialPenaltyResourceHandler;
+import uk.gov.companieshouse.api.handler.financialpenalty.e5financialpenalty.request.FinancialPenaltiesGet;
+import uk.gov.companieshouse.api.http.HttpClient;
+import uk.gov.companieshouse.api.model.ApiResponse;
+import uk.gov.companieshouse.api.model.financialpenalty.FinancialPenalties;
+import uk.gov.companieshouse.api.model.financialpenalty.FinancialPenalty;
+import uk.gov.companieshouse.web.pps.api.ApiClientService;
+import uk.gov.companieshouse.web.pps.api.ApiRequestMetrics;
+import uk.gov.companieshouse.web.pps.cache.ExpiringCache;
+import uk.gov.companieshouse.web.pps.circuitbreaker.CircuitBreakerRegistry;
+import uk.gov.companieshouse.web.pps.config.CircuitBreakerConfigurationProperties;
+import uk.gov.companieshouse.web.pps.exception.ServiceException;
+
+/**
+ * Measures {@link PenaltyPaymentServiceImpl#getFinancialPenalties} selecting
+ * a penalty and its costs from a synthetic ledger, with the API client
+ * stubbed so that only the work done in this application is measured: the
+ * circuit breaker, request metrics, ledger filtering and caching.
+ * <p>
+ * The SDK path filters the whole ledger; the streaming path receives only the
+ * penalty's own and unpaid items, as they are filtered while parsing. The
+ * stubs are stub-only mocks, which do not record their invocations, so their
+ * constant cost is the same in every run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PenaltyPaymentServiceImplBenchmark {
+
+    private static final String COMPANY_NUMBER = "12345678";
+    private static final String GET_FINANCIAL_PENALTIES_URI = "/company/" + COMPANY_NUMBER + "/penalties/LATE_FILING";
+
+    @Param({"10", "1000", "50000"})
+    private int ledgerSize;
+
+    private String penaltyRef;
+    private PenaltyPaymentServiceImpl sdkService;
+    private PenaltyPaymentServiceImpl streamingService;
+
+    @Setup
+    public void setUp() throws ApiErrorResponseException, URIValidationException {
+        Random random = new Random(ledgerSize);
+        List<FinancialPenalty> items = new ArrayList<>(ledgerSize);
+        for (int i = 0; i < ledgerSize; i++) {
+            FinancialPenalty item = new FinancialPenalty();
+            item.setId(String.format("A%07d", i / 2));
+            item.setType(i % 2 == 0 ? PENALTY_TYPE : OTHER_TYPE);
+            item.setPaid(random.nextInt(4) != 0);
+            item.setMadeUpDate(String.format("%d-03-31", 1990 + random.nextInt(35)));
+            item.setPayableStatus(random.nextInt(20) == 0 ? DISABLED : random.nextBoolean() ? OPEN : CLOSED);
+            items.add(item);
+        }
+        // the penalty being paid sits at the end of the ledger
+        penaltyRef = items.getLast().getId();
+        List<FinancialPenalty> penaltyOrUnpaidItems = items.stream()
+                .filter(item -> penaltyRef.equals(item.getId()) || FALSE.equals(item.getPaid()))
+                .toList();
+
+        FinancialPenalties financialPenalties = new FinancialPenalties();
+        financialPenalties.setItems(items);
+        financialPenalties.setTotalResults(ledgerSize);
+
+        ApiClient apiClient = stub(ApiClient.class);
+        HttpClient httpClient = stub(HttpClient.class);
+        FinancialPenaltyResourceHandler financialPenaltyResourceHandler = stub(FinancialPenaltyResourceHandler.class);
+        FinancialPenaltiesGet financialPenaltiesGet = stub(FinancialPenaltiesGet.class);
+        @SuppressWarnings("unchecked")
+        ApiResponse<FinancialPenalties> apiResponse = stub(ApiResponse.class);
+        when(apiClient.getHttpClient()).thenReturn(httpClient);
+        when(httpClient.getRequestId()).thenReturn("request-id");
+        when(apiClient.financialPenalty()).thenReturn(financialPenaltyResourceHandler);
+        when(financialPenaltyResourceHandler.get(GET_FINANCIAL_PENALTIES_URI)).thenReturn(financialPenaltiesGet);
+        when(financialPenaltiesGet.execute()).thenReturn(apiResponse);
+        when(apiResponse.getStatusCode()).thenReturn(200);
+        when(apiResponse.getData()).thenReturn(financialPenalties);
+        ApiClientService apiClientService = stub(ApiClientService.class);
+        when(apiClientService.getPublicApiClient()).thenReturn(apiClient);
+
+        FinancialPenaltiesStreamingClient disabledStreamingClient = stub(FinancialPenaltiesStreamingClient.class);
+        FinancialPenaltiesStreamingClient streamingClient = stub(FinancialPenaltiesStreamingClient.class);
+        when(streamingClient.isEnabled()).thenReturn(true);
+        when(streamingClient.getPenaltyOrUnpaidItems(GET_FINANCIAL_PENALTIES_URI, penaltyRef, "request-id"))
+                .thenReturn(penaltyOrUnpaidItems);
+
+        sdkService = service(apiClientService, disabledStreamingClient);
+        streamingService = service(apiClientService, streamingClient);
+    }
+
+    @Benchmark
+    public List<FinancialPenalty> sdk() throws ServiceException {
+        return sdkService.getFinancialPenalties(COMPANY_NUMBER, penaltyRef);
+    }
+
+    @Benchmark
+    public List<FinancialPenalty> streaming() throws ServiceException {
+        return streamingService.getFinancialPenalties(COMPANY_NUMBER, penaltyRef);
+    }
+
+    private static PenaltyPaymentServiceImpl service(ApiClientService apiClientService,
+            FinancialPenaltiesStreamingClient streamingClient) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new PenaltyPaymentServiceImpl(apiClientService,
+                new ExpiringCache<>(Duration.ofMinutes(2), 100),
+                new CircuitBreakerRegistry(new CircuitBreakerConfigurationProperties(), meterRegistry),
+                streamingClient,
+                new ApiRequestMetrics(meterRegistry));
+    }
+
+    private static <T> T stub(Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+}
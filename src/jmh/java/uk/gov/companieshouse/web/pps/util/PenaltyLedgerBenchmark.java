@@ -0,0 +1,112 @@
+package uk.gov.companieshouse.web.pps.util;
+
+import static java.lang.Boolean.FALSE;
+import static uk.gov.companieshouse.api.model.financialpenalty.PayableStatus.CLOSED;
+import static uk.gov.companieshouse.api.model.financialpenalty.PayableStatus.DISABLED;
+import static uk.gov.companieshouse.api.model.financialpenalty.PayableStatus.OPEN;
+import static uk.gov.companieshouse.web.pps.service.penaltypayment.impl.PenaltyPaymentServiceImpl.OTHER_TYPE;
+import static uk.gov.companieshouse.web.pps.service.penaltypayment.impl.PenaltyPaymentServiceImpl.PENALTY_TYPE;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import uk.gov.companieshouse.api.model.financialpenalty.FinancialPenalty;
+
+/**
+ * Compares selecting a penalty and its costs from a synthetic ledger, and
+ * then making the view penalties decisions, using {@link PenaltyLedger}
+ * against the chained stream filters it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PenaltyLedgerBenchmark {
+
+    @Param({"10", "1000", "50000"})
+    private int ledgerSize;
+
+    private List<FinancialPenalty> items;
+    private String penaltyRef;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(ledgerSize);
+        items = new ArrayList<>(ledgerSize);
+        for (int i = 0; i < ledgerSize; i++) {
+            FinancialPenalty item = new FinancialPenalty();
+            item.setId(String.format("A%07d", i / 2));
+            item.setType(i % 2 == 0 ? PENALTY_TYPE : OTHER_TYPE);
+            item.setPaid(random.nextInt(4) != 0);
+            item.setMadeUpDate(String.format("%d-03-31", 1990 + random.nextInt(35)));
+            item.setPayableStatus(random.nextInt(20) == 0 ? DISABLED : random.nextBoolean() ? OPEN : CLOSED);
+            items.add(item);
+        }
+        // the penalty being paid sits at the end, the worst case for the stream filters
+        penaltyRef = items.getLast().getId();
+    }
+
+    @Benchmark
+    public void ledger(Blackhole blackhole) {
+        List<FinancialPenalty> penaltyAndCosts = PenaltyLedger.of(items).getPenaltyAndCosts(penaltyRef);
+        PenaltyLedger ledger = PenaltyLedger.of(penaltyAndCosts);
+        blackhole.consume(ledger.isPenaltyDisabled(penaltyRef));
+        blackhole.consume(ledger.getOpenPenalty(penaltyRef));
+        blackhole.consume(ledger.getItemsWithId(penaltyRef));
+    }
+
+    @Benchmark
+    public void streams(Blackhole blackhole) {
+        List<FinancialPenalty> penaltyAndCosts = streamPenaltyAndCosts();
+        blackhole.consume(penaltyAndCosts.stream().anyMatch(penalty -> PENALTY_TYPE.equals(penalty.getType())
+                && penaltyRef.equals(penalty.getId())
+                && DISABLED.equals(penalty.getPayableStatus())));
+        blackhole.consume(penaltyAndCosts.stream()
+                .filter(penalty -> penaltyRef.equals(penalty.getId()))
+                .filter(penalty -> OPEN == penalty.getPayableStatus())
+                .filter(penalty -> PENALTY_TYPE.equals(penalty.getType()))
+                .findFirst());
+        blackhole.consume(penaltyAndCosts.stream()
+                .filter(financialPenalty -> penaltyRef.equals(financialPenalty.getId()))
+                .toList());
+    }
+
+    private List<FinancialPenalty> streamPenaltyAndCosts() {
+        var penaltyOrUnpaidItems = items.stream()
+                .filter(financialPenalty -> penaltyRef.equals(financialPenalty.getId())
+                        || FALSE.equals(financialPenalty.getPaid()))
+                .toList();
+        Optional<FinancialPenalty> penaltyOptional = penaltyOrUnpaidItems.stream()
+                .filter(financialPenalty -> penaltyRef.equals(financialPenalty.getId()))
+                .filter(financialPenalty -> PENALTY_TYPE.equals(financialPenalty.getType()))
+                .findFirst();
+        if (penaltyOptional.isEmpty()) {
+            return List.of();
+        }
+        FinancialPenalty penalty = penaltyOptional.get();
+        List<FinancialPenalty> penaltyAndCosts = new ArrayList<>();
+        penaltyAndCosts.add(penalty);
+        penaltyAndCosts.addAll(penaltyOrUnpaidItems.stream()
+                .filter(financialPenalty -> OTHER_TYPE.equals(financialPenalty.getType()))
+                .filter(financialPenalty -> penaltyRef.equals(financialPenalty.getId())
+                        || penalty.getMadeUpDate().equals(financialPenalty.getMadeUpDate()))
+                .toList());
+        return penaltyAndCosts;
+    }
+}
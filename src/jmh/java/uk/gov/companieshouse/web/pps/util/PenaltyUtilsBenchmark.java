@@ -0,0 +1,70 @@
+package uk.gov.companieshouse.web.pps.util;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import uk.gov.companieshouse.web.pps.config.FeatureFlagConfigurationProperties;
+
+/**
+ * Measures the per-request penalty reference decisions: resolving the type
+ * of a penalty reference, formatting an amount for display, and the check
+ * that the reference's penalty type has not been disabled by feature flag,
+ * as made by the view penalties and penalty details services.
+ * <p>
+ * Each operation covers a reference of every type, with SANCTIONS_ROE
+ * disabled as it is by default.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PenaltyUtilsBenchmark {
+
+    private static final String[] PENALTY_REFS = {"A1234567", "p1234567", " U1234567 "};
+    private static final Integer[] AMOUNTS = {0, 150, 1500, 1234567};
+
+    private FeatureFlagChecker featureFlagChecker;
+
+    @Setup
+    public void setUp() {
+        FeatureFlagConfigurationProperties featureFlagConfigurationProperties = new FeatureFlagConfigurationProperties();
+        featureFlagConfigurationProperties.setPenaltyRefEnabled(Map.of(
+                PenaltyReference.SANCTIONS.name(), true,
+                PenaltyReference.SANCTIONS_ROE.name(), false));
+        featureFlagChecker = new FeatureFlagChecker(featureFlagConfigurationProperties);
+    }
+
+    @Benchmark
+    public void getPenaltyReferenceType(Blackhole blackhole) {
+        for (String penaltyRef : PENALTY_REFS) {
+            blackhole.consume(PenaltyUtils.getPenaltyReferenceType(penaltyRef));
+        }
+    }
+
+    @Benchmark
+    public void getFormattedAmount(Blackhole blackhole) {
+        for (Integer amount : AMOUNTS) {
+            blackhole.consume(PenaltyUtils.getFormattedAmount(amount));
+        }
+    }
+
+    @Benchmark
+    public void penaltyTypeDisabled(Blackhole blackhole) {
+        for (String penaltyRef : PENALTY_REFS) {
+            blackhole.consume(Boolean.FALSE.equals(
+                    featureFlagChecker.isPenaltyRefEnabled(PenaltyUtils.getPenaltyReferenceType(penaltyRef))));
+        }
+    }
+}
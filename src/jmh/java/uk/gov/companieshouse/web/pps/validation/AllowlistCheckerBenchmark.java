@@ -0,0 +1,44 @@
+package uk.gov.companieshouse.web.pps.validation;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link AllowlistChecker#checkURL} for a journey URL it allows and
+ * for an external URL it replaces with the landing page. Both outcomes are
+ * logged, so the logging is included in the measurement as it is in a request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AllowlistCheckerBenchmark {
+
+    @Param({"/pay-penalty/company/12345678/penalty/A0000001/view-penalties",
+            "https://example.com/pay-penalty/company/12345678/penalty/A0000001/view-penalties?a=<b>"})
+    private String url;
+
+    private AllowlistChecker allowlistChecker;
+
+    @Setup
+    public void setUp() {
+        allowlistChecker = new AllowlistChecker();
+    }
+
+    @Benchmark
+    public String checkURL() {
+        return allowlistChecker.checkURL(url);
+    }
+}
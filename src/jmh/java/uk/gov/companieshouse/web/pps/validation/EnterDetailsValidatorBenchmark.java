@@ -0,0 +1,104 @@
+package uk.gov.companieshouse.web.pps.validation;
+
+import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.MapBindingResult;
+import uk.gov.companieshouse.web.pps.models.EnterDetails;
+
+import java.util.HashMap;
+
+import static java.util.Locale.UK;
+
+/**
+ * Compares the single-pass {@link EnterDetailsValidator} against the
+ * {@code String.matches} and repeated {@code StringUtils} scans it replaced,
+ * for a valid submission and for each kind of rejection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnterDetailsValidatorBenchmark {
+
+    @Param({"SC123456|A1234567", "SC12345|A1234567", "SC12 3456|A12345!7", "X1234567|P1234567", "|"})
+    private String submission;
+
+    @Param({"LATE_FILING", "SANCTIONS_ROE"})
+    private String penaltyReferenceName;
+
+    private EnterDetailsValidator validator;
+    private ResourceBundle bundle;
+    private EnterDetails enterDetails;
+
+    @Setup
+    public void setUp() {
+        validator = new EnterDetailsValidator();
+        bundle = ResourceBundle.getBundle("ValidationMessages", UK);
+        String[] parts = submission.split("\\|", -1);
+        enterDetails = new EnterDetails();
+        enterDetails.setCompanyNumber(parts[0]);
+        enterDetails.setPenaltyRef(parts[1]);
+        enterDetails.setPenaltyReferenceName(penaltyReferenceName);
+    }
+
+    @Benchmark
+    public BindingResult scanner() {
+        BindingResult bindingResult = new MapBindingResult(new HashMap<>(), "enterDetails");
+        validator.isValid(enterDetails, bindingResult);
+        return bindingResult;
+    }
+
+    @Benchmark
+    public String[] regex() {
+        return new String[]{legacyCompanyNumberMessage(), legacyPenaltyRefMessage()};
+    }
+
+    private String legacyCompanyNumberMessage() {
+        String companyNumber = enterDetails.getCompanyNumber();
+        String name = enterDetails.getPenaltyReferenceName();
+        if (StringUtils.isEmpty(companyNumber)) {
+            return bundle.getString("enterDetails.companyNumber.notValid." + name);
+        } else if (StringUtils.containsAny(companyNumber, " ")) {
+            return bundle.getString("enterDetails.companyNumber.noSpaces." + name);
+        } else if (companyNumber.length() < 8) {
+            return bundle.getString("enterDetails.companyNumber.lessCharacters." + name);
+        } else if (!StringUtils.isAlphanumeric(companyNumber)) {
+            return bundle.getString("enterDetails.companyNumber.nonAlphanumeric." + name);
+        }
+        String regex = "SANCTIONS_ROE".equals(name) ? "^[Oo][Ee]\\d{6}$" : "^([a-zA-Z0-9]{8}|\\d{1,8})$";
+        return companyNumber.matches(regex)
+                ? null
+                : bundle.getString("enterDetails.companyNumber.incorrectFormat." + name);
+    }
+
+    private String legacyPenaltyRefMessage() {
+        String penaltyRef = enterDetails.getPenaltyRef();
+        String name = enterDetails.getPenaltyReferenceName();
+        if (StringUtils.isBlank(penaltyRef)) {
+            return bundle.getString("enterDetails.penaltyRef.notValid");
+        } else if (StringUtils.containsAny(penaltyRef, " ")) {
+            return bundle.getString("enterDetails.penaltyRef.noSpaces");
+        } else if (penaltyRef.length() < 8) {
+            return bundle.getString("enterDetails.penaltyRef.lessCharacters");
+        } else if (!StringUtils.isAlphanumeric(penaltyRef)) {
+            return bundle.getString("enterDetails.penaltyRef.nonAlphanumeric." + name);
+        }
+        String regex = "SANCTIONS_ROE".equals(name) ? "^[Uu]\\d{7}$" : "^[Aa]\\d{7}$";
+        return penaltyRef.matches(regex) ? null : bundle.getString("enterDetails.penaltyRef.incorrectFormat");
+    }
+}
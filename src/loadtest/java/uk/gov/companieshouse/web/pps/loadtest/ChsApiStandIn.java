@@ -0,0 +1,267 @@
+package uk.gov.companieshouse.web.pps.loadtest;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import uk.gov.companieshouse.api.model.company.CompanyProfileApi;
+import uk.gov.companieshouse.api.model.financialpenalty.FinanceHealthcheck;
+import uk.gov.companieshouse.api.model.financialpenalty.FinanceHealthcheckStatus;
+import uk.gov.companieshouse.api.model.financialpenalty.FinancialPenalty;
+import uk.gov.companieshouse.api.model.financialpenalty.PayableFinancialPenalties;
+import uk.gov.companieshouse.api.model.financialpenalty.PayableFinancialPenaltySession;
+import uk.gov.companieshouse.api.model.financialpenalty.Payment;
+import uk.gov.companieshouse.api.model.financialpenalty.TransactionPayableFinancialPenalty;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static uk.gov.companieshouse.api.model.financialpenalty.PayableStatus.CLOSED;
+import static uk.gov.companieshouse.api.model.financialpenalty.PayableStatus.OPEN;
+import static uk.gov.companieshouse.web.pps.service.penaltypayment.impl.PenaltyPaymentServiceImpl.OTHER_TYPE;
+import static uk.gov.companieshouse.web.pps.service.penaltypayment.impl.PenaltyPaymentServiceImpl.PENALTY_TYPE;
+
+/**
+ * An in-process stand-in for the CHS APIs the application calls on the
+ * journey: the company profile, financial penalties, finance healthcheck,
+ * payable penalty and payments endpoints. Each responds after a delay drawn
+ * from its {@link LatencyDistribution}.
+ * <p>
+ * Every company's ledger holds one open, payable penalty and is padded to the
+ * ledger size with paid penalties and costs, so that each journey reaches
+ * payment and the application filters a ledger of the configured size. The
+ * padding is serialised once and shared by every response.
+ * <p>
+ * The payment journey link returned by {@code POST /payments} stands in for
+ * GOV.UK Pay: requesting it redirects straight back to the payment's
+ * redirect URI as paid, with its reference and state.
+ */
+final class ChsApiStandIn implements AutoCloseable {
+
+    static final int PENALTY_AMOUNT = 750;
+    static final String PENALTY_MADE_UP_DATE = "2024-03-31";
+
+    private static final Pattern COMPANY = Pattern.compile("/company/([^/]+)");
+    private static final Pattern PENALTIES = Pattern.compile("/company/([^/]+)/penalties/(LATE_FILING|SANCTIONS|SANCTIONS_ROE)");
+    private static final Pattern PAYABLES = Pattern.compile("/company/([^/]+)/penalties/payable");
+    private static final Pattern PAYABLE = Pattern.compile("/company/([^/]+)/penalties/payable/([^/]+)");
+    private static final Pattern PAYMENT_JOURNEY = Pattern.compile("/payments/([^/]+)/journey");
+    private static final String HEALTHCHECK = "/penalty-payment-api/healthcheck/finance-system";
+    private static final String PAYMENTS = "/payments";
+
+    private static final String REASON = "Late filing of accounts";
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    private final Map<StandInEndpoint, LatencyDistribution> latencies;
+    private final int ledgerSize;
+    private final String ledgerPadding;
+    private final AtomicLong ids = new AtomicLong();
+    private final Map<String, String> payablePenaltyRefs = new ConcurrentHashMap<>();
+    private final Map<String, JsonNode> payments = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpServer server;
+    private final URI baseUri;
+
+    private ChsApiStandIn(LoadTestOptions options, int port) throws IOException {
+        this.latencies = options.latencies();
+        this.ledgerSize = options.ledgerSize();
+        this.ledgerPadding = ledgerPadding(ledgerSize - 1);
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+        this.baseUri = URI.create("http://localhost:" + port);
+    }
+
+    /**
+     * Starts the stand-in on the port of {@code apiUrl}, which the
+     * application is configured to call.
+     */
+    static ChsApiStandIn start(LoadTestOptions options, URI apiUrl) throws IOException {
+        ChsApiStandIn standIn = new ChsApiStandIn(options, apiUrl.getPort());
+        standIn.server.start();
+        return standIn;
+    }
+
+    URI getBaseUri() {
+        return baseUri;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            Matcher matcher;
+            if ("GET".equals(method) && HEALTHCHECK.equals(path)) {
+                latencies.get(StandInEndpoint.HEALTHCHECK).await();
+                respond(exchange, 200, financeHealthcheck());
+            } else if ("POST".equals(method) && PAYMENTS.equals(path)) {
+                latencies.get(StandInEndpoint.PAYMENTS).await();
+                respond(exchange, 201, createPayment(exchange.getRequestBody()));
+            } else if ("GET".equals(method) && (matcher = PAYMENT_JOURNEY.matcher(path)).matches()) {
+                redirectToConfirmation(exchange, matcher.group(1));
+            } else if ("GET".equals(method) && (matcher = PENALTIES.matcher(path)).matches()) {
+                latencies.get(StandInEndpoint.PENALTIES).await();
+                respond(exchange, 200, financialPenalties(matcher.group(1)));
+            } else if ("POST".equals(method) && (matcher = PAYABLES.matcher(path)).matches()) {
+                latencies.get(StandInEndpoint.PAYABLE).await();
+                respond(exchange, 201, createPayable(matcher.group(1), exchange.getRequestBody()));
+            } else if ("GET".equals(method) && (matcher = PAYABLE.matcher(path)).matches()) {
+                latencies.get(StandInEndpoint.PAYABLE).await();
+                respond(exchange, 200, payable(matcher.group(1), matcher.group(2)));
+            } else if ("GET".equals(method) && (matcher = COMPANY.matcher(path)).matches()) {
+                latencies.get(StandInEndpoint.COMPANY).await();
+                respond(exchange, 200, companyProfile(matcher.group(1)));
+            } else {
+                respond(exchange, 404, "{\"error\":\"not found\"}");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private String financeHealthcheck() throws JsonProcessingException {
+        FinanceHealthcheck financeHealthcheck = new FinanceHealthcheck();
+        financeHealthcheck.setMessage(FinanceHealthcheckStatus.HEALTHY.getStatus());
+        return objectMapper.writeValueAsString(financeHealthcheck);
+    }
+
+    private String companyProfile(String companyNumber) throws JsonProcessingException {
+        CompanyProfileApi companyProfileApi = new CompanyProfileApi();
+        companyProfileApi.setCompanyNumber(companyNumber);
+        companyProfileApi.setCompanyName("LOAD TEST " + companyNumber + " LIMITED");
+        return objectMapper.writeValueAsString(companyProfileApi);
+    }
+
+    private String financialPenalties(String companyNumber) throws JsonProcessingException {
+        FinancialPenalty penalty = penalty(JourneyData.penaltyRef(companyNumber), false);
+        penalty.setMadeUpDate(PENALTY_MADE_UP_DATE);
+        String item = objectMapper.writeValueAsString(penalty);
+        return "{\"etag\":\"load-test\",\"items\":[" + ledgerPadding + (ledgerPadding.isEmpty() ? "" : ",")
+                + item + "],\"total_results\":" + ledgerSize + "}";
+    }
+
+    private String createPayable(String companyNumber, InputStream body) throws IOException {
+        JsonNode transaction = objectMapper.readTree(body).path("transactions").path(0);
+        String payableRef = "LT" + ids.incrementAndGet();
+        payablePenaltyRefs.put(payableRef, transaction.path("penalty_ref").asText(""));
+
+        PayableFinancialPenaltySession payableFinancialPenaltySession = new PayableFinancialPenaltySession();
+        payableFinancialPenaltySession.setPayableRef(payableRef);
+        payableFinancialPenaltySession.setLinks(Map.of("self",
+                "/company/" + companyNumber + "/penalties/payable/" + payableRef));
+        return objectMapper.writeValueAsString(payableFinancialPenaltySession);
+    }
+
+    private String payable(String companyNumber, String payableRef) throws JsonProcessingException {
+        String penaltyRef = payablePenaltyRefs.getOrDefault(payableRef, JourneyData.penaltyRef(companyNumber));
+
+        TransactionPayableFinancialPenalty transaction = new TransactionPayableFinancialPenalty();
+        transaction.setPenaltyRef(penaltyRef);
+        transaction.setAmount(PENALTY_AMOUNT);
+        transaction.setType(PENALTY_TYPE);
+        transaction.setMadeUpDate(PENALTY_MADE_UP_DATE);
+        transaction.setReason(REASON);
+        Payment payment = new Payment();
+        payment.setAmount(String.valueOf(PENALTY_AMOUNT));
+
+        PayableFinancialPenalties payableFinancialPenalties = new PayableFinancialPenalties();
+        payableFinancialPenalties.setCustomerCode(companyNumber);
+        payableFinancialPenalties.setPayment(payment);
+        payableFinancialPenalties.setTransactions(List.of(transaction));
+        payableFinancialPenalties.setLinks(Map.of("self", "/company/" + companyNumber + "/penalties/payable/" + payableRef,
+                "resume_journey_uri", "/pay-penalty/company/" + companyNumber + "/penalty/" + penaltyRef
+                        + "/view-penalties"));
+        return objectMapper.writeValueAsString(payableFinancialPenalties);
+    }
+
+    private String createPayment(InputStream body) throws IOException {
+        JsonNode paymentSession = objectMapper.readTree(body);
+        String id = "P" + ids.incrementAndGet();
+        payments.put(id, paymentSession);
+        return objectMapper.writeValueAsString(Map.of(
+                "amount", PENALTY_AMOUNT + ".00",
+                "reference", paymentSession.path("reference").asText(""),
+                "status", "pending",
+                "links", Map.of(
+                        "self", baseUri + PAYMENTS + "/" + id,
+                        "journey", baseUri + PAYMENTS + "/" + id + "/journey")));
+    }
+
+    private void redirectToConfirmation(HttpExchange exchange, String id) throws IOException {
+        JsonNode paymentSession = payments.remove(id);
+        if (paymentSession == null) {
+            respond(exchange, 404, "{\"error\":\"payment not found\"}");
+            return;
+        }
+        String location = paymentSession.path("redirect_uri").asText()
+                + "?ref=" + encode(paymentSession.path("reference").asText())
+                + "&state=" + encode(paymentSession.path("state").asText())
+                + "&status=paid";
+        exchange.getResponseHeaders().set("Location", location);
+        exchange.sendResponseHeaders(302, -1);
+    }
+
+    /**
+     * Paid penalties and costs, under references no company's payable penalty uses.
+     */
+    private String ledgerPadding(int size) throws JsonProcessingException {
+        List<FinancialPenalty> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            FinancialPenalty item = penalty(String.format("A9%06d", i / 2), true);
+            item.setType(i % 2 == 0 ? PENALTY_TYPE : OTHER_TYPE);
+            item.setMadeUpDate(String.format("%d-03-31", 1990 + i % 30));
+            items.add(item);
+        }
+        String json = objectMapper.writeValueAsString(items);
+        return json.substring(1, json.length() - 1);
+    }
+
+    private static FinancialPenalty penalty(String id, boolean paid) {
+        FinancialPenalty penalty = new FinancialPenalty();
+        penalty.setId(id);
+        penalty.setType(PENALTY_TYPE);
+        penalty.setPaid(paid);
+        penalty.setDca(false);
+        penalty.setOriginalAmount(PENALTY_AMOUNT);
+        penalty.setOutstanding(paid ? 0 : PENALTY_AMOUNT);
+        penalty.setDueDate("2024-04-30");
+        penalty.setReason(REASON);
+        penalty.setPayableStatus(paid ? CLOSED : OPEN);
+        return penalty;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+}
@@ -0,0 +1,61 @@
+package uk.gov.companieshouse.web.pps.loadtest;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * The first post form on a page: where it posts to and its hidden inputs,
+ * which include the CSRF token, so that a submission carries them as a
+ * browser would.
+ */
+record HtmlForm(String action, Map<String, String> fields) {
+
+    private static final Pattern FORM = Pattern.compile("<form\\b[^>]*\\bmethod=\"post\"[^>]*>(.*?)</form>",
+            Pattern.DOTALL | Pattern.CASE_INSENSITIVE);
+    private static final Pattern HIDDEN_INPUT = Pattern.compile("<input\\b[^>]*\\btype=\"hidden\"[^>]*>",
+            Pattern.CASE_INSENSITIVE);
+
+    static Optional<HtmlForm> find(String html) {
+        Matcher form = FORM.matcher(html);
+        if (!form.find()) {
+            return Optional.empty();
+        }
+        Optional<String> action = attribute(form.group(), "action");
+        if (action.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Map<String, String> fields = new LinkedHashMap<>();
+        Matcher input = HIDDEN_INPUT.matcher(form.group(1));
+        while (input.find()) {
+            String tag = input.group();
+            attribute(tag, "name").ifPresent(name -> fields.put(name, attribute(tag, "value").orElse("")));
+        }
+        return Optional.of(new HtmlForm(action.get(), fields));
+    }
+
+    /**
+     * @return the form's fields with the given values added, URL encoded as a form body
+     */
+    String encode(Map<String, String> values) {
+        Map<String, String> body = new LinkedHashMap<>(fields);
+        body.putAll(values);
+        return body.entrySet().stream()
+                .map(field -> URLEncoder.encode(field.getKey(), StandardCharsets.UTF_8) + "="
+                        + URLEncoder.encode(field.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+    }
+
+    private static Optional<String> attribute(String tag, String name) {
+        Matcher attribute = Pattern.compile("\\b" + name + "=\"([^\"]*)\"").matcher(tag);
+        return attribute.find() ? Optional.of(HtmlUtils.htmlUnescape(attribute.group(1))) : Optional.empty();
+    }
+}
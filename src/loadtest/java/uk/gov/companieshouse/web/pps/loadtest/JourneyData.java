@@ -0,0 +1,23 @@
+package uk.gov.companieshouse.web.pps.loadtest;
+
+/**
+ * The company numbers and penalty references journeys are made for. Each
+ * company has one payable late filing penalty, whose reference is derived
+ * from its company number, so the stand-in needs no shared state to serve it.
+ */
+final class JourneyData {
+
+    private JourneyData() {
+    }
+
+    /**
+     * @param index from 0 to {@link LoadTestOptions#MAX_COMPANIES} - 1
+     */
+    static String companyNumber(int index) {
+        return String.format("%08d", index + 1);
+    }
+
+    static String penaltyRef(String companyNumber) {
+        return "A0" + companyNumber.substring(companyNumber.length() - 6);
+    }
+}
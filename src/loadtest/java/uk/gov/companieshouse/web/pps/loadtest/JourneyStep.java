@@ -0,0 +1,30 @@
+package uk.gov.companieshouse.web.pps.loadtest;
+
+/**
+ * The requests made on each journey, in order. Every page and form
+ * submission is a step of its own, as their costs differ: submitting enter
+ * details and view penalties calls the APIs, showing their pages mostly
+ * renders.
+ */
+enum JourneyStep {
+
+    START("start"),
+    REF_STARTS_WITH("ref-starts-with"),
+    REF_STARTS_WITH_SUBMIT("ref-starts-with submit"),
+    ENTER_DETAILS("enter-details"),
+    ENTER_DETAILS_SUBMIT("enter-details submit"),
+    VIEW_PENALTIES("view-penalties"),
+    VIEW_PENALTIES_SUBMIT("view-penalties submit"),
+    PAYMENT_REDIRECT("payment redirect"),
+    CONFIRMATION("confirmation");
+
+    private final String label;
+
+    JourneyStep(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,51 @@
+package uk.gov.companieshouse.web.pps.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A log-normal latency distribution, given by its median and 99th percentile
+ * in milliseconds. Upstream latencies are long-tailed, which a fixed or
+ * uniform delay would hide.
+ */
+record LatencyDistribution(double medianMillis, double p99Millis) {
+
+    // the standard normal quantile of the 99th percentile
+    private static final double Z_99 = 2.3263;
+
+    LatencyDistribution {
+        if (medianMillis < 0 || p99Millis < medianMillis) {
+            throw new IllegalArgumentException("Latency must be median,p99 with 0 <= median <= p99");
+        }
+    }
+
+    /**
+     * @param value the median and 99th percentile in milliseconds, such as {@code 40,300}
+     */
+    static LatencyDistribution parse(String value) {
+        String[] parts = value.split(",");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Expected latency as median,p99 but was: " + value);
+        }
+        return new LatencyDistribution(Double.parseDouble(parts[0].strip()), Double.parseDouble(parts[1].strip()));
+    }
+
+    long sampleMillis() {
+        if (medianMillis == 0) {
+            return 0;
+        }
+        double sigma = Math.log(p99Millis / medianMillis) / Z_99;
+        return Math.round(medianMillis * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+    }
+
+    void await() throws InterruptedException {
+        long millis = sampleMillis();
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("p50 %.0fms, p99 %.0fms", medianMillis, p99Millis);
+    }
+}
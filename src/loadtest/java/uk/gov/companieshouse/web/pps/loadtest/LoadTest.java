@@ -0,0 +1,130 @@
+package uk.gov.companieshouse.web.pps.loadtest;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import uk.gov.companieshouse.web.pps.PPSWebApplication;
+
+import java.io.IOException;
+import java.net.URI;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs the penalty payment journey under load, against the application
+ * started in this JVM or against the one at {@code target=}, with the CHS
+ * APIs it calls served by a {@link ChsApiStandIn} on the port of
+ * {@code API_URL}. See the README for the options.
+ * <p>
+ * The journey past the start pages is for signed in users. Each virtual
+ * user is given a signed in session of its own in a
+ * {@link StandInSessionStore}, which the application started here reads its
+ * sessions from, so the payment state is kept in the session as it is in
+ * production unless {@code signed-payment-state=true}. The target's sessions
+ * cannot be seeded, so against a {@code target=} only the steps before sign
+ * in are made.
+ * <p>
+ * Exits with status 1 if more than {@code max-error-rate} of the requests
+ * failed.
+ */
+public final class LoadTest {
+
+    private static final String API_URL = "API_URL";
+
+    private static final Pattern REQUIRED_PLACEHOLDER = Pattern.compile("\\$\\{([A-Z0-9_]+)}");
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        String apiUrl = System.getenv(API_URL);
+        if (apiUrl == null) {
+            throw new IllegalStateException(API_URL + " must be set to the URL the API stand-in is served on");
+        }
+
+        StandInSessionStore sessionStore = options.target().isEmpty() ? new StandInSessionStore() : null;
+        LoadTestReport report;
+        try (ChsApiStandIn standIn = ChsApiStandIn.start(options, URI.create(apiUrl));
+                ConfigurableApplicationContext application = sessionStore != null
+                        ? startApplication(options, sessionStore) : null) {
+            URI target = options.target().orElseGet(() -> URI.create("http://localhost:"
+                    + ((WebServerApplicationContext) application).getWebServer().getPort()));
+            System.out.printf("API stand-in on %s, journeys against %s%n", standIn.getBaseUri(), target);
+            report = run(options, target, Optional.ofNullable(sessionStore));
+        }
+
+        report.print(System.out);
+        System.exit(report.getErrorRate() > options.maxErrorRate() ? 1 : 0);
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestOptions options,
+            StandInSessionStore sessionStore) throws IOException {
+        List<String> args = new ArrayList<>();
+        args.add("--server.port=" + options.appPort());
+        if (options.signedPaymentState()) {
+            byte[] key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            args.add("--payment-state.signed-token-enabled=true");
+            args.add("--payment-state.signing-key=" + HexFormat.of().formatHex(key));
+        }
+        return new SpringApplicationBuilder(PPSWebApplication.class)
+                .properties(placeholderDefaults())
+                .initializers(context -> context.getBeanFactory()
+                        .registerSingleton("standInSessionFilter", sessionStore.filterRegistration()))
+                .run(args.toArray(String[]::new));
+    }
+
+    /**
+     * Defaults for the environment variables that the application's
+     * properties require, such as the CDN host and analytics ids, for those
+     * not set. They are only used if the environment does not set them.
+     */
+    private static Map<String, Object> placeholderDefaults() throws IOException {
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        Map<String, Object> defaults = new HashMap<>();
+        for (String value : properties.stringPropertyNames().stream().map(properties::getProperty).toList()) {
+            Matcher placeholder = REQUIRED_PLACEHOLDER.matcher(value);
+            while (placeholder.find()) {
+                defaults.put(placeholder.group(1), "load-test");
+            }
+        }
+        return defaults;
+    }
+
+    private static LoadTestReport run(LoadTestOptions options, URI target, Optional<StandInSessionStore> sessionStore)
+            throws InterruptedException {
+        Instant measureFrom = Instant.now().plus(options.rampUp()).plus(options.warmUp());
+        Instant stopAt = measureFrom.plus(options.duration());
+        System.out.printf("Starting %d users over %s, measuring from %s until %s%n",
+                options.users(), options.rampUp(), measureFrom, stopAt);
+
+        AtomicLong journeys = new AtomicLong();
+        List<VirtualUser> users = new ArrayList<>(options.users());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.users(); i++) {
+                int index = i;
+                VirtualUser user = new VirtualUser(options, target, measureFrom, stopAt, journeys,
+                        sessionStore.map(store -> store.signIn(index)));
+                users.add(user);
+                executor.execute(user);
+                Thread.sleep(options.rampUp().dividedBy(options.users()));
+            }
+        }
+        return new LoadTestReport(options, users);
+    }
+}
@@ -0,0 +1,86 @@
+package uk.gov.companieshouse.web.pps.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Load test options, given as {@code key=value} arguments, for example
+ * {@code users=50 duration=PT5M ledger-size=1000 latency.penalties=80,600}.
+ * <p>
+ * Latencies are the median and 99th percentile, in milliseconds, of the
+ * delay the API stand-in adds before responding to each endpoint.
+ */
+record LoadTestOptions(
+        int users,
+        Duration rampUp,
+        Duration warmUp,
+        Duration duration,
+        Duration thinkTime,
+        int ledgerSize,
+        int companies,
+        Optional<URI> target,
+        int appPort,
+        boolean signedPaymentState,
+        double maxErrorRate,
+        Map<StandInEndpoint, LatencyDistribution> latencies) {
+
+    // penalty references are A and 7 digits, and the stand-in keeps A9xxxxxx for the rest of the ledger
+    static final int MAX_COMPANIES = 999_999;
+
+    private static final String LATENCY_PREFIX = "latency.";
+
+    private static final Set<String> KEYS = Set.of("users", "ramp-up", "warm-up", "duration", "think-time",
+            "ledger-size", "companies", "target", "app-port", "signed-payment-state",
+            "max-error-rate");
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            int separator = option.indexOf('=');
+            if (separator < 1) {
+                throw new IllegalArgumentException("Expected key=value but was: " + arg);
+            }
+            values.put(option.substring(0, separator), option.substring(separator + 1));
+        }
+
+        Map<StandInEndpoint, LatencyDistribution> latencies = new EnumMap<>(StandInEndpoint.class);
+        for (StandInEndpoint endpoint : StandInEndpoint.values()) {
+            latencies.put(endpoint, LatencyDistribution.parse(
+                    values.getOrDefault(LATENCY_PREFIX + endpoint.getKey(), endpoint.getDefaultLatency())));
+        }
+        for (String key : values.keySet()) {
+            if (!KEYS.contains(key) && latencies.keySet().stream()
+                    .noneMatch(endpoint -> key.equals(LATENCY_PREFIX + endpoint.getKey()))) {
+                throw new IllegalArgumentException("Unknown option: " + key);
+            }
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("users", "20")),
+                Duration.parse(values.getOrDefault("ramp-up", "PT10S")),
+                Duration.parse(values.getOrDefault("warm-up", "PT10S")),
+                Duration.parse(values.getOrDefault("duration", "PT1M")),
+                Duration.parse(values.getOrDefault("think-time", "PT0S")),
+                Integer.parseInt(values.getOrDefault("ledger-size", "10")),
+                Integer.parseInt(values.getOrDefault("companies", "1000")),
+                Optional.ofNullable(values.get("target")).map(URI::create),
+                Integer.parseInt(values.getOrDefault("app-port", "0")),
+                Boolean.parseBoolean(values.getOrDefault("signed-payment-state", "false")),
+                Double.parseDouble(values.getOrDefault("max-error-rate", "0.01")),
+                latencies);
+
+        if (options.users() < 1 || options.ledgerSize() < 1) {
+            throw new IllegalArgumentException("users and ledger-size must be at least 1");
+        }
+        if (options.companies() < 1 || options.companies() > MAX_COMPANIES) {
+            throw new IllegalArgumentException("companies must be between 1 and " + MAX_COMPANIES);
+        }
+        return options;
+    }
+}
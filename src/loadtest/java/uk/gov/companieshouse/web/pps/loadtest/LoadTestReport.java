@@ -0,0 +1,90 @@
+package uk.gov.companieshouse.web.pps.loadtest;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The throughput, latency percentiles and error rate of each journey step,
+ * and of whole journeys, over the measured part of a run.
+ */
+final class LoadTestReport {
+
+    private static final String ROW = "%-24s %9s %9s %9s %9s %9s %9s %8s%n";
+
+    private final LoadTestOptions options;
+    private final Map<JourneyStep, StepLatencies> steps = new EnumMap<>(JourneyStep.class);
+    private final StepLatencies journeys = new StepLatencies();
+
+    LoadTestReport(LoadTestOptions options, List<VirtualUser> users) {
+        this.options = options;
+        for (JourneyStep step : JourneyStep.values()) {
+            steps.put(step, new StepLatencies());
+        }
+        for (VirtualUser user : users) {
+            user.getLatencies().forEach((step, latencies) -> steps.get(step).addAll(latencies));
+            journeys.addAll(user.getJourneyLatencies());
+        }
+    }
+
+    /**
+     * @return the proportion of the requests made by all steps that failed
+     */
+    double getErrorRate() {
+        long requests = 0;
+        long errors = 0;
+        for (StepLatencies latencies : steps.values()) {
+            requests += latencies.getCount() + latencies.getErrorCount();
+            errors += latencies.getErrorCount();
+        }
+        return requests == 0 ? 1 : (double) errors / requests;
+    }
+
+    void print(PrintStream out) {
+        out.printf("%d users for %s after %s ramp-up and %s warm-up, ledger size %d, %d companies%n",
+                options.users(), options.duration(), options.rampUp(), options.warmUp(), options.ledgerSize(),
+                options.companies());
+        out.println("Stand-in latency: " + options.latencies().entrySet().stream()
+                .map(latency -> latency.getKey().getKey() + " " + latency.getValue())
+                .collect(Collectors.joining("; ")));
+        if (options.target().isPresent()) {
+            out.println("Sessions cannot be seeded in the target, so only the steps before sign in were made");
+        } else if (options.signedPaymentState()) {
+            out.println("Payment state was kept in signed tokens");
+        }
+        out.println();
+
+        out.printf(ROW, "step", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors");
+        steps.forEach((step, latencies) -> printRow(out, step.getLabel(), latencies));
+        printRow(out, "journeys", journeys);
+
+        boolean headed = false;
+        for (Map.Entry<JourneyStep, StepLatencies> step : steps.entrySet()) {
+            for (Map.Entry<String, Integer> error : step.getValue().getErrors().entrySet()) {
+                if (!headed) {
+                    out.println();
+                    out.println("Errors");
+                    headed = true;
+                }
+                out.printf("  %s: %s (%d)%n", step.getKey().getLabel(), error.getKey(), error.getValue());
+            }
+        }
+    }
+
+    private void printRow(PrintStream out, String label, StepLatencies latencies) {
+        int requests = latencies.getCount() + latencies.getErrorCount();
+        if (requests == 0) {
+            return;
+        }
+        out.printf(ROW, label,
+                requests,
+                String.format("%.1f", latencies.getCount() / (double) options.duration().toMillis() * 1000),
+                String.format("%.1f", latencies.percentileMillis(50)),
+                String.format("%.1f", latencies.percentileMillis(95)),
+                String.format("%.1f", latencies.percentileMillis(99)),
+                String.format("%.1f", latencies.percentileMillis(100)),
+                String.format("%.2f%%", 100.0 * latencies.getErrorCount() / requests));
+    }
+}
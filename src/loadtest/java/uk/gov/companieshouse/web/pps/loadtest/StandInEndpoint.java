@@ -0,0 +1,30 @@
+package uk.gov.companieshouse.web.pps.loadtest;
+
+/**
+ * The API endpoints served by the {@link ChsApiStandIn}, each with its own
+ * latency distribution.
+ */
+enum StandInEndpoint {
+
+    COMPANY("company", "20,120"),
+    PENALTIES("penalties", "40,300"),
+    HEALTHCHECK("healthcheck", "10,60"),
+    PAYABLE("payable", "30,200"),
+    PAYMENTS("payments", "50,400");
+
+    private final String key;
+    private final String defaultLatency;
+
+    StandInEndpoint(String key, String defaultLatency) {
+        this.key = key;
+        this.defaultLatency = defaultLatency;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getDefaultLatency() {
+        return defaultLatency;
+    }
+}
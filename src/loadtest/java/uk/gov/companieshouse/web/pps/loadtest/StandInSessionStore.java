@@ -0,0 +1,109 @@
+package uk.gov.companieshouse.web.pps.loadtest;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.web.filter.OncePerRequestFilter;
+import uk.gov.companieshouse.session.Session;
+import uk.gov.companieshouse.session.handler.SessionHandler;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static uk.gov.companieshouse.web.pps.service.ServiceConstants.SIGN_IN_INFO;
+
+/**
+ * An in-process stand-in for the session store, holding one signed in
+ * session for each virtual user, so that the journey past sign in can be
+ * made without a session from chs-dev.
+ * <p>
+ * Its filter runs in the application started by the test, just ahead of the
+ * security filters, and puts the session named by the
+ * {@value #COOKIE_NAME} cookie where the session handler's
+ * {@link SessionHandler#getSessionDataFromContext()} finds it. Changes the
+ * application makes to the session, such as the payment state, are made to
+ * the stored session itself, so they are there on the user's next request.
+ */
+final class StandInSessionStore {
+
+    static final String COOKIE_NAME = "LOADTEST_SESSION";
+
+    private final Map<String, Map<String, Object>> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * Stores a signed in session for the given virtual user.
+     *
+     * @return the id of the session, to be sent as the {@value #COOKIE_NAME} cookie
+     */
+    String signIn(int user) {
+        String id = "load-test-" + user;
+        String email = id + "@example.com";
+
+        Map<String, Object> sessionData = new HashMap<>();
+        sessionData.put(SIGN_IN_INFO, new HashMap<>(Map.of(
+                "signed_in", 1,
+                "user_profile", Map.of("id", id, "email", email),
+                "access_token", Map.of("access_token", id, "token_type", "Bearer", "expires_in", 3600))));
+        sessions.put(id, sessionData);
+        return id;
+    }
+
+    /**
+     * The filter that puts each request's stored session in place of the one
+     * the session handler loads.
+     */
+    FilterRegistrationBean<OncePerRequestFilter> filterRegistration() {
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(new SessionFilter());
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    private Optional<Map<String, Object>> find(HttpServletRequest request) {
+        return Optional.ofNullable(request.getCookies()).stream()
+                .flatMap(Arrays::stream)
+                .filter(cookie -> COOKIE_NAME.equals(cookie.getName()))
+                .map(Cookie::getValue)
+                .map(sessions::get)
+                .findFirst();
+    }
+
+    /**
+     * A session over the given data. Only the data is stood in for: storing
+     * the session does nothing, as the data already is the stored session.
+     */
+    private static Session session(Map<String, Object> sessionData) {
+        return (Session) Proxy.newProxyInstance(Session.class.getClassLoader(), new Class<?>[]{Session.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getData" -> sessionData;
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> "StandInSession" + sessionData.keySet();
+                    default -> defaultValue(method.getReturnType());
+                });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        return type.isPrimitive() && type != void.class ? Array.get(Array.newInstance(type, 1), 0) : null;
+    }
+
+    private final class SessionFilter extends OncePerRequestFilter {
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                FilterChain filterChain) throws ServletException, IOException {
+            find(request).ifPresent(sessionData ->
+                    request.setAttribute(SessionHandler.CHS_SESSION_REQUEST_ATT_KEY, session(sessionData)));
+            filterChain.doFilter(request, response);
+        }
+    }
+}
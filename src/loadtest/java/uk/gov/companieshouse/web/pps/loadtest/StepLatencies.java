@@ -0,0 +1,60 @@
+package uk.gov.companieshouse.web.pps.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The latencies of the successful requests for one journey step, and the
+ * reasons its failed requests failed. Each virtual user records into its own,
+ * so recording is not contended; they are merged once the run is over.
+ */
+final class StepLatencies {
+
+    private long[] nanos = new long[256];
+    private int count;
+    private final Map<String, Integer> errors = new TreeMap<>();
+
+    void record(long elapsedNanos) {
+        if (count == nanos.length) {
+            nanos = Arrays.copyOf(nanos, count * 2);
+        }
+        nanos[count++] = elapsedNanos;
+    }
+
+    void recordError(String reason) {
+        errors.merge(reason, 1, Integer::sum);
+    }
+
+    void addAll(StepLatencies other) {
+        for (int i = 0; i < other.count; i++) {
+            record(other.nanos[i]);
+        }
+        other.errors.forEach((reason, occurrences) -> errors.merge(reason, occurrences, Integer::sum));
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    int getErrorCount() {
+        return errors.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    Map<String, Integer> getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return the nearest-rank percentile in milliseconds, or 0 if nothing was recorded
+     */
+    double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(nanos, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * count);
+        return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,234 @@
+package uk.gov.companieshouse.web.pps.loadtest;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.CookiePolicy;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Makes journeys through the application, from the start page to the
+ * payment confirmation, one after another until the run ends. Each virtual
+ * user has its own cookies, as a browser would, and follows redirects itself
+ * so that each request is timed as a step of its own.
+ * <p>
+ * A journey ends at its first failed step: an error status, or a redirect
+ * or page other than the one the journey expects next.
+ */
+final class VirtualUser implements Runnable {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String FORM_CONTENT_TYPE = "application/x-www-form-urlencoded";
+
+    private final LoadTestOptions options;
+    private final URI target;
+    private final Instant measureFrom;
+    private final Instant stopAt;
+    private final AtomicLong journeys;
+    private final boolean signedIn;
+    private final HttpClient httpClient;
+    private final Map<JourneyStep, StepLatencies> latencies = new EnumMap<>(JourneyStep.class);
+    private final StepLatencies journeyLatencies = new StepLatencies();
+
+    /**
+     * @param sessionId the user's session in the {@link StandInSessionStore},
+     *                  if it has one; without one only the steps before sign
+     *                  in are made
+     */
+    VirtualUser(LoadTestOptions options, URI target, Instant measureFrom, Instant stopAt, AtomicLong journeys,
+            Optional<String> sessionId) {
+        this.options = options;
+        this.target = target;
+        this.measureFrom = measureFrom;
+        this.stopAt = stopAt;
+        this.journeys = journeys;
+        this.signedIn = sessionId.isPresent();
+
+        CookieManager cookieManager = new CookieManager(null, CookiePolicy.ACCEPT_ALL);
+        sessionId.ifPresent(value -> {
+            HttpCookie sessionCookie = new HttpCookie(StandInSessionStore.COOKIE_NAME, value);
+            sessionCookie.setPath("/");
+            sessionCookie.setVersion(0);
+            cookieManager.getCookieStore().add(target, sessionCookie);
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .cookieHandler(cookieManager)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+        for (JourneyStep step : JourneyStep.values()) {
+            latencies.put(step, new StepLatencies());
+        }
+    }
+
+    Map<JourneyStep, StepLatencies> getLatencies() {
+        return latencies;
+    }
+
+    StepLatencies getJourneyLatencies() {
+        return journeyLatencies;
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (Instant.now().isBefore(stopAt)) {
+                makeJourney();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            httpClient.close();
+        }
+    }
+
+    private void makeJourney() throws InterruptedException {
+        String companyNumber = JourneyData.companyNumber(
+                (int) (journeys.getAndIncrement() % options.companies()));
+        String penaltyRef = JourneyData.penaltyRef(companyNumber);
+        boolean measured = !Instant.now().isBefore(measureFrom);
+        long journeyStart = System.nanoTime();
+        try {
+            URI location = redirect(JourneyStep.START, get(JourneyStep.START, target.resolve("/pay-penalty")),
+                    "/pay-penalty/ref-starts-with");
+
+            HtmlForm form = page(JourneyStep.REF_STARTS_WITH, get(JourneyStep.REF_STARTS_WITH, location));
+            location = redirect(JourneyStep.REF_STARTS_WITH_SUBMIT, post(JourneyStep.REF_STARTS_WITH_SUBMIT, form,
+                    Map.of("selectedPenaltyReference", "LATE_FILING")), "/pay-penalty/enter-details");
+
+            if (!signedIn) {
+                // the rest of the journey is for signed in users only
+                record(measured, journeyLatencies, journeyStart);
+                return;
+            }
+
+            form = page(JourneyStep.ENTER_DETAILS, get(JourneyStep.ENTER_DETAILS, location));
+            location = redirect(JourneyStep.ENTER_DETAILS_SUBMIT, post(JourneyStep.ENTER_DETAILS_SUBMIT, form,
+                    Map.of("companyNumber", companyNumber, "penaltyRef", penaltyRef)), "/view-penalties");
+
+            form = page(JourneyStep.VIEW_PENALTIES, get(JourneyStep.VIEW_PENALTIES, location));
+            location = redirect(JourneyStep.VIEW_PENALTIES_SUBMIT,
+                    post(JourneyStep.VIEW_PENALTIES_SUBMIT, form, Map.of()), "/journey");
+
+            location = redirect(JourneyStep.PAYMENT_REDIRECT, get(JourneyStep.PAYMENT_REDIRECT, location),
+                    "/confirmation");
+
+            // the application redirects to its CHS URL, which is not where it is being run
+            Step confirmation = get(JourneyStep.CONFIRMATION, target.resolve(location.getRawPath()
+                    + (location.getRawQuery() == null ? "" : "?" + location.getRawQuery())));
+            expect(JourneyStep.CONFIRMATION, confirmation, confirmation.response().statusCode() == 200,
+                    "status " + confirmation.response().statusCode());
+
+            record(measured, journeyLatencies, journeyStart);
+        } catch (StepFailedException ex) {
+            if (measured) {
+                journeyLatencies.recordError("failed at " + ex.step.getLabel());
+            }
+        }
+        if (!options.thinkTime().isZero()) {
+            Thread.sleep(options.thinkTime());
+        }
+    }
+
+    private Step get(JourneyStep step, URI uri) throws StepFailedException, InterruptedException {
+        return send(step, HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT).GET().build());
+    }
+
+    private Step post(JourneyStep step, HtmlForm form, Map<String, String> values)
+            throws StepFailedException, InterruptedException {
+        return send(step, HttpRequest.newBuilder(target.resolve(form.action()))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", FORM_CONTENT_TYPE)
+                .POST(HttpRequest.BodyPublishers.ofString(form.encode(values)))
+                .build());
+    }
+
+    private Step send(JourneyStep step, HttpRequest request) throws StepFailedException, InterruptedException {
+        Instant now = Instant.now();
+        boolean measured = !now.isBefore(measureFrom) && now.isBefore(stopAt);
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            return new Step(response, System.nanoTime() - start, measured);
+        } catch (IOException ex) {
+            if (measured) {
+                latencies.get(step).recordError(ex.getClass().getSimpleName());
+            }
+            throw new StepFailedException(step);
+        }
+    }
+
+    private HtmlForm page(JourneyStep step, Step page) throws StepFailedException {
+        int status = page.response().statusCode();
+        if (status != 200) {
+            throw fail(step, page, status >= 300 && status < 400
+                    ? "redirected to " + page.response().headers().firstValue("Location").map(VirtualUser::path).orElse("")
+                    : "status " + status);
+        }
+        Optional<HtmlForm> form = HtmlForm.find(page.response().body());
+        expect(step, page, form.isPresent(), "no form on page");
+        return form.get();
+    }
+
+    private URI redirect(JourneyStep step, Step redirect, String expectedPath) throws StepFailedException {
+        int status = redirect.response().statusCode();
+        String location = redirect.response().headers().firstValue("Location").orElse("");
+        expect(step, redirect, status >= 300 && status < 400 && path(location).contains(expectedPath),
+                status >= 300 && status < 400 ? "redirected to " + path(location) : "status " + status);
+        return redirect.response().uri().resolve(location);
+    }
+
+    private void expect(JourneyStep step, Step result, boolean expected, String reason) throws StepFailedException {
+        if (!expected) {
+            throw fail(step, result, reason);
+        }
+        if (result.measured()) {
+            latencies.get(step).record(result.elapsedNanos());
+        }
+    }
+
+    private StepFailedException fail(JourneyStep step, Step result, String reason) {
+        if (result.measured()) {
+            latencies.get(step).recordError(reason);
+        }
+        return new StepFailedException(step);
+    }
+
+    private static void record(boolean measured, StepLatencies stepLatencies, long start) {
+        if (measured) {
+            stepLatencies.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * The path of a location, without its query and with company numbers and
+     * penalty and payable references masked, so that error reasons stay few.
+     */
+    private static String path(String location) {
+        int queryStart = location.indexOf('?');
+        String path = queryStart < 0 ? location : location.substring(0, queryStart);
+        return path.replaceAll("/(company|penalty|payable)/[^/]+", "/$1/*");
+    }
+
+    private record Step(HttpResponse<String> response, long elapsedNanos, boolean measured) {
+    }
+
+    private static final class StepFailedException extends Exception {
+
+        private final JourneyStep step;
+
+        private StepFailedException(JourneyStep step) {
+            super(step.getLabel(), null, false, false);
+            this.step = step;
+        }
+    }
+}
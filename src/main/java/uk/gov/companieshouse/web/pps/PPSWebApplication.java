@@ -5,6 +5,9 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import uk.gov.companieshouse.web.pps.interceptor.LoggingInterceptor;
+import uk.gov.companieshouse.web.pps.interceptor.RenderTimingInterceptor;
+import uk.gov.companieshouse.web.pps.interceptor.RenderedPageCacheInterceptor;
+import uk.gov.companieshouse.web.pps.interceptor.SessionChangeInterceptor;
 import uk.gov.companieshouse.web.pps.interceptor.UserDetailsInterceptor;
 
 @SpringBootApplication
@@ -14,11 +17,20 @@ public class PPSWebApplication implements WebMvcConfigurer {
 
     private final UserDetailsInterceptor userDetailsInterceptor;
     private final LoggingInterceptor loggingInterceptor;
+    private final RenderedPageCacheInterceptor renderedPageCacheInterceptor;
+    private final SessionChangeInterceptor sessionChangeInterceptor;
+    private final RenderTimingInterceptor renderTimingInterceptor;
 
     public PPSWebApplication(UserDetailsInterceptor userDetailsInterceptor,
-            LoggingInterceptor loggingInterceptor) {
+            LoggingInterceptor loggingInterceptor,
+            RenderedPageCacheInterceptor renderedPageCacheInterceptor,
+            SessionChangeInterceptor sessionChangeInterceptor,
+            RenderTimingInterceptor renderTimingInterceptor) {
         this.userDetailsInterceptor = userDetailsInterceptor;
         this.loggingInterceptor = loggingInterceptor;
+        this.renderedPageCacheInterceptor = renderedPageCacheInterceptor;
+        this.sessionChangeInterceptor = sessionChangeInterceptor;
+        this.renderTimingInterceptor = renderTimingInterceptor;
     }
 
     public static void main(String[] args) {
@@ -27,6 +39,12 @@ public class PPSWebApplication implements WebMvcConfigurer {
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
+        // afterCompletion runs in reverse order, so this counts session changes last
+        registry.addInterceptor(sessionChangeInterceptor);
+        // postHandle runs in reverse order, so this starts timing just before the view renders
+        registry.addInterceptor(renderTimingInterceptor);
+        // postHandle runs in reverse order, so this sees the model last
+        registry.addInterceptor(renderedPageCacheInterceptor);
         registry.addInterceptor(loggingInterceptor);
         registry.addInterceptor(userDetailsInterceptor)
                 .excludePathPatterns(
@@ -0,0 +1,88 @@
+package uk.gov.companieshouse.web.pps.api;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.api.error.ApiErrorResponseException;
+import uk.gov.companieshouse.api.handler.exception.URIValidationException;
+import uk.gov.companieshouse.api.model.ApiResponse;
+import uk.gov.companieshouse.web.pps.circuitbreaker.UpstreamCall;
+import uk.gov.companieshouse.web.pps.timing.RequestTimings;
+import uk.gov.companieshouse.web.pps.timing.ServerTimingMetric;
+
+/**
+ * Times requests made to upstream APIs into the {@code api.client.requests} timer.
+ * <p>
+ * Each request is tagged with the upstream, the HTTP method and the URI template it
+ * was built from rather than the expanded URI, so that company numbers and penalty
+ * references never become tag values. The outcome and status tags are taken from the
+ * response, or from the error when the API responds with one. Requests that fail
+ * without a response, such as an invalid URI or a broken connection, have the status
+ * {@code CLIENT_ERROR}.
+ * <p>
+ * The time taken is also added to the current request's {@link RequestTimings}
+ * under the given {@link ServerTimingMetric}. SLO buckets for the
+ * timer are set with {@code management.metrics.distribution.slo.api.client.requests}.
+ */
+@Component
+public class ApiRequestMetrics {
+
+    static final String REQUESTS_METER = "api.client.requests";
+
+    private static final String NO_EXCEPTION = "none";
+    private static final String CLIENT_ERROR = "CLIENT_ERROR";
+
+    private final MeterRegistry meterRegistry;
+
+    public ApiRequestMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Wraps an upstream call so that each time it is made it is timed.
+     *
+     * @param serverTiming the part of the request the call is reported under
+     * @param upstream    the API being called, such as a circuit breaker name
+     * @param method      the HTTP method of the request
+     * @param uriTemplate the template the request URI was expanded from
+     * @param call        the call to time
+     * @param <T>         the response type
+     * @return the timed call
+     */
+    public <T> UpstreamCall<T> timed(ServerTimingMetric serverTiming, String upstream, String method,
+            String uriTemplate, UpstreamCall<T> call) {
+        return () -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                T response = call.call();
+                // Calls that don't return the SDK's response only return once they have a 2xx
+                int status = response instanceof ApiResponse<?> apiResponse
+                        ? apiResponse.getStatusCode() : 200;
+                stop(sample, serverTiming, upstream, method, uriTemplate, Outcome.forStatus(status),
+                        String.valueOf(status), NO_EXCEPTION);
+                return response;
+            } catch (ApiErrorResponseException ex) {
+                stop(sample, serverTiming, upstream, method, uriTemplate,
+                        Outcome.forStatus(ex.getStatusCode()), String.valueOf(ex.getStatusCode()),
+                        ex.getClass().getSimpleName());
+                throw ex;
+            } catch (URIValidationException | RuntimeException ex) {
+                stop(sample, serverTiming, upstream, method, uriTemplate, Outcome.UNKNOWN,
+                        CLIENT_ERROR, ex.getClass().getSimpleName());
+                throw ex;
+            }
+        };
+    }
+
+    private void stop(Timer.Sample sample, ServerTimingMetric serverTiming, String upstream,
+            String method, String uriTemplate, Outcome outcome, String status, String exception) {
+        long elapsedNanos = sample.stop(Timer.builder(REQUESTS_METER)
+                .tags(Tags.of("upstream", upstream, "method", method, "uri", uriTemplate,
+                        "outcome", outcome.name(), "status", status, "exception", exception))
+                .description("Time taken by requests to upstream APIs")
+                .register(meterRegistry));
+        RequestTimings.record(serverTiming, elapsedNanos);
+    }
+}
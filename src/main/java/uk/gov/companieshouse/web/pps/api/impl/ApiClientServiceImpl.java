@@ -1,16 +1,155 @@
 package uk.gov.companieshouse.web.pps.api.impl;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import uk.gov.companieshouse.api.ApiClient;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
 import uk.gov.companieshouse.sdk.manager.ApiClientManager;
 import uk.gov.companieshouse.web.pps.api.ApiClientService;
+import uk.gov.companieshouse.web.pps.config.ApiClientConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.springframework.web.context.request.RequestAttributes.SCOPE_REQUEST;
+import static uk.gov.companieshouse.web.pps.PPSWebApplication.APPLICATION_NAME_SPACE;
+
+/**
+ * Leases one {@link ApiClient} per incoming request, so every API call made while handling
+ * a request shares a client built with that request's id rather than building a new one
+ * per call. Calls made outside a request, such as scheduled polling, get a new client.
+ * <p>
+ * The {@code api.client.per.request.*} meters count these {@link ApiClient} objects: how
+ * many were built, how many calls shared the client their request already had, and how
+ * many requests in progress hold one. They say nothing about HTTP connections, as
+ * {@code HttpURLConnection} exposes no statistics for its connection pool or reuse.
+ * <p>
+ * The SDK sends requests over {@code HttpURLConnection}, whose keep-alive connection pool
+ * is shared by the whole JVM. The JDK reads its size per route and idle timeout from the
+ * {@code http.maxConnections} and {@code http.keepAlive.time.server} system properties
+ * once, whenever it first makes a connection, so the start scripts give them as JVM flags.
+ * The values configured in {@code api-client.*} are checked against them at startup, and
+ * any that differ are logged.
+ */
 @Component
 public class ApiClientServiceImpl implements ApiClientService {
 
+    static final String API_CLIENT_ATTRIBUTE = ApiClientServiceImpl.class.getName() + ".apiClient";
+
+    static final String MAX_CONNECTIONS_PROPERTY = "http.maxConnections";
+    static final String KEEP_ALIVE_TIME_PROPERTY = "http.keepAlive.time.server";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(APPLICATION_NAME_SPACE);
+
+    private static final int DEFAULT_MAX_CONNECTIONS = 5;
+    private static final int DEFAULT_KEEP_ALIVE_TIME_SECONDS = 5;
+    private static final String CLIENTS_METER = "api.client.per.request.clients";
+    private static final String RESULT_TAG = "result";
+
+    private final Supplier<ApiClient> apiClientFactory;
+    private final Counter builtClients;
+    private final Counter sharedClients;
+    private final Timer buildTimer;
+    private final AtomicInteger clientsInUse = new AtomicInteger();
+
+    @Autowired
+    public ApiClientServiceImpl(ApiClientConfigurationProperties apiClientConfigurationProperties,
+            MeterRegistry meterRegistry) {
+        this(apiClientConfigurationProperties, meterRegistry, ApiClientManager::getSDK);
+    }
+
+    ApiClientServiceImpl(ApiClientConfigurationProperties apiClientConfigurationProperties,
+            MeterRegistry meterRegistry, Supplier<ApiClient> apiClientFactory) {
+        this.apiClientFactory = apiClientFactory;
+        keepAliveMismatches(apiClientConfigurationProperties).forEach(LOGGER::error);
+
+        this.builtClients = Counter.builder(CLIENTS_METER)
+                .tag(RESULT_TAG, "built")
+                .description("API client objects built, for a request or for a call outside one")
+                .register(meterRegistry);
+        this.sharedClients = Counter.builder(CLIENTS_METER)
+                .tag(RESULT_TAG, "shared")
+                .description("API calls that used the API client object their request already had")
+                .register(meterRegistry);
+        this.buildTimer = Timer.builder("api.client.per.request.build")
+                .description("Time taken to build an API client object")
+                .register(meterRegistry);
+        Gauge.builder("api.client.per.request.active", clientsInUse, AtomicInteger::get)
+                .description("Requests in progress that hold an API client object")
+                .register(meterRegistry);
+    }
+
     @Override
     public ApiClient getPublicApiClient() {
-        return ApiClientManager.getSDK();
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return buildUnleasedClient();
+        }
+
+        // Calls fetched concurrently for the same request share its attributes, so the
+        // lease is made under their lock to build, count and release one client only
+        synchronized (requestAttributes) {
+            try {
+                return leaseForRequest(requestAttributes);
+            } catch (IllegalStateException ex) {
+                // A discarded call can outlive its request, whose attributes are then inactive
+                return buildUnleasedClient();
+            }
+        }
+    }
+
+    private ApiClient leaseForRequest(RequestAttributes requestAttributes) {
+        if (requestAttributes.getAttribute(API_CLIENT_ATTRIBUTE, SCOPE_REQUEST)
+                instanceof ApiClient apiClient) {
+            sharedClients.increment();
+            return apiClient;
+        }
+
+        ApiClient apiClient = buildTimer.record(apiClientFactory);
+        requestAttributes.setAttribute(API_CLIENT_ATTRIBUTE, apiClient, SCOPE_REQUEST);
+        requestAttributes.registerDestructionCallback(API_CLIENT_ATTRIBUTE,
+                clientsInUse::decrementAndGet, SCOPE_REQUEST);
+        builtClients.increment();
+        clientsInUse.incrementAndGet();
+        return apiClient;
+    }
+
+    private ApiClient buildUnleasedClient() {
+        builtClients.increment();
+        return buildTimer.record(apiClientFactory);
+    }
+
+    /**
+     * Describes each keep-alive pool setting the JVM was started with that differs from
+     * the configured one.
+     */
+    static List<String> keepAliveMismatches(
+            ApiClientConfigurationProperties apiClientConfigurationProperties) {
+        List<String> mismatches = new ArrayList<>(2);
+        checkProperty(mismatches, MAX_CONNECTIONS_PROPERTY, DEFAULT_MAX_CONNECTIONS,
+                apiClientConfigurationProperties.getMaxConnectionsPerRoute());
+        checkProperty(mismatches, KEEP_ALIVE_TIME_PROPERTY, DEFAULT_KEEP_ALIVE_TIME_SECONDS,
+                apiClientConfigurationProperties.getIdleTimeout().toSeconds());
+        return mismatches;
+    }
+
+    private static void checkProperty(List<String> mismatches, String key, int defaultValue,
+            long configured) {
+        int actual = Integer.getInteger(key, defaultValue);
+        if (actual != configured) {
+            mismatches.add(String.format(
+                    "JVM system property %s is %d but %d is configured; pass -D%s=%d to the JVM",
+                    key, actual, configured, key, configured));
+        }
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,113 @@
+package uk.gov.companieshouse.web.pps.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A small in-memory cache bounded by both size and age. Entries expire a fixed
+ * time after they were written and, once {@code maxEntries} is reached, the
+ * least recently used entry is evicted to make room for a new one. Hit, miss
+ * and eviction counts are kept for {@link ExpiringCacheMetrics}.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class ExpiringCache<K, V> {
+
+    private final Duration timeToLive;
+    private final int maxEntries;
+    private final Clock clock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ExpiringCache(Duration timeToLive, int maxEntries) {
+        this(timeToLive, maxEntries, Clock.systemUTC());
+    }
+
+    ExpiringCache(Duration timeToLive, int maxEntries, Clock clock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1");
+        }
+        this.timeToLive = Objects.requireNonNull(timeToLive, "timeToLive");
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > ExpiringCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized Optional<V> get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        if (entry.expiresAt().isBefore(clock.instant())) {
+            entries.remove(key);
+            evictions.increment();
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(entry.value());
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, clock.instant().plus(timeToLive)));
+    }
+
+    /**
+     * Puts the value only if the key has no entry, or only an expired one.
+     *
+     * @return whether the value was put
+     */
+    public synchronized boolean putIfAbsent(K key, V value) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && !entry.expiresAt().isBefore(clock.instant())) {
+            return false;
+        }
+        put(key, value);
+        return true;
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Entries removed because the cache was full or because they had expired.
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    private record Entry<V>(V value, Instant expiresAt) {
+    }
+}
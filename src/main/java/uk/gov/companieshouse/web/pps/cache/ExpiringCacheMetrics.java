@@ -0,0 +1,45 @@
+package uk.gov.companieshouse.web.pps.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes the size and hit, miss and eviction counts of an {@link ExpiringCache}
+ * using the same meter names as Micrometer's own cache binders.
+ */
+public class ExpiringCacheMetrics implements MeterBinder {
+
+    private static final String CACHE_TAG = "cache";
+
+    private final ExpiringCache<?, ?> cache;
+    private final String cacheName;
+
+    public ExpiringCacheMetrics(ExpiringCache<?, ?> cache, String cacheName) {
+        this.cache = cache;
+        this.cacheName = cacheName;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", cache, ExpiringCache::hitCount)
+                .tag(CACHE_TAG, cacheName)
+                .tag("result", "hit")
+                .description("The number of times cache lookup methods have returned a cached value")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cache, ExpiringCache::missCount)
+                .tag(CACHE_TAG, cacheName)
+                .tag("result", "miss")
+                .description("The number of times cache lookup methods have not returned a value")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", cache, ExpiringCache::evictionCount)
+                .tag(CACHE_TAG, cacheName)
+                .description("The number of entries evicted because the cache was full or they had expired")
+                .register(registry);
+        Gauge.builder("cache.size", cache, ExpiringCache::size)
+                .tag(CACHE_TAG, cacheName)
+                .description("The number of entries in the cache")
+                .register(registry);
+    }
+}
@@ -0,0 +1,13 @@
+package uk.gov.companieshouse.web.pps.cache;
+
+import java.util.Set;
+
+/**
+ * The HTML of a rendered page, with the strong entity tag and the
+ * last-modified time, in milliseconds, it is served with, and the model
+ * attributes whose placeholders are to be replaced with each request's own
+ * values.
+ */
+public record RenderedPage(byte[] body, String contentType, String etag, long lastModified,
+        Set<String> placeholders) {
+}
@@ -0,0 +1,338 @@
+package uk.gov.companieshouse.web.pps.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+import org.springframework.web.servlet.support.RequestContextUtils;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.HtmlUtils;
+import org.thymeleaf.spring6.view.ThymeleafViewResolver;
+import uk.gov.companieshouse.web.pps.config.CacheConfigurationProperties;
+import uk.gov.companieshouse.web.pps.util.PenaltyUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static uk.gov.companieshouse.web.pps.controller.BaseController.BACK_LINK_ATTR;
+import static uk.gov.companieshouse.web.pps.controller.BaseController.BACK_LINK_URL_ATTR;
+import static uk.gov.companieshouse.web.pps.controller.BaseController.HEADER_TEXT_ATTR;
+import static uk.gov.companieshouse.web.pps.controller.BaseController.HEADER_URL_ATTR;
+import static uk.gov.companieshouse.web.pps.controller.BaseController.HIDE_RECENT_FILINGS_ATTR;
+import static uk.gov.companieshouse.web.pps.controller.BaseController.HIDE_YOUR_DETAILS_ATTR;
+import static uk.gov.companieshouse.web.pps.controller.BaseController.PHASE_BANNER_ATTR;
+import static uk.gov.companieshouse.web.pps.controller.BaseController.PHASE_BANNER_LINK_ATTR;
+import static uk.gov.companieshouse.web.pps.controller.BaseController.PHASE_BANNER_NEW_CONTENT_ATTR;
+import static uk.gov.companieshouse.web.pps.controller.BaseController.USER_BAR_ATTR;
+import static uk.gov.companieshouse.web.pps.controller.BaseController.USER_EMAIL_ATTR;
+import static uk.gov.companieshouse.web.pps.controller.BaseController.USER_SIGN_OUT_URL_ATTR;
+import static uk.gov.companieshouse.web.pps.service.ServiceConstants.COMPANY_NAME_ATTR;
+import static uk.gov.companieshouse.web.pps.service.ServiceConstants.COMPANY_NUMBER_ATTR;
+import static uk.gov.companieshouse.web.pps.service.ServiceConstants.PENALTY_REF_ATTR;
+import static uk.gov.companieshouse.web.pps.service.ServiceConstants.SIGN_OUT_URL_ATTR;
+
+/**
+ * Caches the rendered HTML of pages that only depend on their model, such as
+ * the stop pages, so that repeated requests for them, for example the retry
+ * storm the unscheduled service down page takes during an outage, do not
+ * render the template each time.
+ * <p>
+ * Only the templates listed in {@code cache.rendered-page-templates} are
+ * cached, and only when every model attribute is one of
+ * {@link #LAYOUT_ATTRIBUTES} or {@link #REQUEST_ATTRIBUTES}. The key is the
+ * template, the locale, the penalty reference type and whether the user is
+ * signed in. The layout attributes are the same for every request with the
+ * same key. The request attributes, such as the user's email and the penalty
+ * reference, are not: pages are rendered with a placeholder in their place,
+ * and each request's own values are written into the cached page when it is
+ * served, so one entry serves every user.
+ * <p>
+ * Cached pages are served with a strong entity tag and a last-modified time,
+ * and conditional requests that match get a 304 Not Modified. A page is not
+ * cached if it was not rendered successfully or if it contains the request's
+ * CSRF token.
+ * <p>
+ * Hits, misses and not modified responses are counted per template in
+ * {@code rendered.page.cache.requests}. The cache is held in memory, so the
+ * restart that a configuration change needs also empties it.
+ */
+@Component
+public class RenderedPageCache {
+
+    static final String CACHE_CONTROL = "private, no-cache";
+
+    private static final String TEMPLATE_NAME_ATTR = "templateName";
+    private static final String PENALTY_REFERENCE_ATTR = "penaltyReference";
+
+    /**
+     * Model attributes that are set from configuration and the penalty
+     * reference type, and so are rendered into the cached page.
+     */
+    static final Set<String> LAYOUT_ATTRIBUTES = Set.of(
+            BACK_LINK_ATTR, BACK_LINK_URL_ATTR, USER_BAR_ATTR, USER_SIGN_OUT_URL_ATTR, HEADER_TEXT_ATTR,
+            HEADER_URL_ATTR, HIDE_YOUR_DETAILS_ATTR, HIDE_RECENT_FILINGS_ATTR, PHASE_BANNER_ATTR,
+            PHASE_BANNER_NEW_CONTENT_ATTR, PHASE_BANNER_LINK_ATTR, SIGN_OUT_URL_ATTR, TEMPLATE_NAME_ATTR,
+            PENALTY_REFERENCE_ATTR);
+
+    /**
+     * Model attributes that vary by user or penalty, and so are written into
+     * the cached page for each request.
+     */
+    static final Set<String> REQUEST_ATTRIBUTES = Set.of(
+            USER_EMAIL_ATTR, PENALTY_REF_ATTR, COMPANY_NAME_ATTR, COMPANY_NUMBER_ATTR);
+
+    private static final String REQUESTS_METER = "rendered.page.cache.requests";
+
+    private final ExpiringCache<RenderedPageKey, RenderedPage> cache;
+    private final Set<String> templates;
+    private final ViewResolver viewResolver;
+    private final Clock clock;
+    private final String placeholderPrefix = "rendered-page-" + UUID.randomUUID() + "-";
+    private final Map<String, Counter> hits = new HashMap<>();
+    private final Map<String, Counter> misses = new HashMap<>();
+    private final Map<String, Counter> notModified = new HashMap<>();
+
+    @Autowired
+    public RenderedPageCache(CacheConfigurationProperties cacheConfigurationProperties,
+            ExpiringCache<RenderedPageKey, RenderedPage> renderedPagesCache,
+            ThymeleafViewResolver thymeleafViewResolver, MeterRegistry meterRegistry) {
+        this(cacheConfigurationProperties.getRenderedPageTemplates(), renderedPagesCache, thymeleafViewResolver,
+                meterRegistry, Clock.systemUTC());
+    }
+
+    RenderedPageCache(Collection<String> templates, ExpiringCache<RenderedPageKey, RenderedPage> cache,
+            ViewResolver viewResolver, MeterRegistry meterRegistry, Clock clock) {
+        this.cache = cache;
+        this.templates = Set.copyOf(templates);
+        this.viewResolver = viewResolver;
+        this.clock = clock;
+        for (String template : this.templates) {
+            hits.put(template, counter(meterRegistry, template, "hit"));
+            misses.put(template, counter(meterRegistry, template, "miss"));
+            notModified.put(template, counter(meterRegistry, template, "not-modified"));
+        }
+    }
+
+    /**
+     * Returns the view to render in place of the template named by
+     * {@code modelAndView}: the cached page if there is one, or otherwise the
+     * template's own view with its output captured for the cache. Empty if
+     * the page cannot be cached.
+     */
+    public Optional<View> view(HttpServletRequest request, ModelAndView modelAndView) throws Exception {
+        String template = modelAndView.getViewName();
+        if (template == null || !templates.contains(template) || !isGetOrHead(request)) {
+            return Optional.empty();
+        }
+        Locale locale = RequestContextUtils.getLocale(request);
+        Optional<RenderedPageKey> key = key(template, locale, modelAndView.getModel(), uriVariables(request));
+        if (key.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Optional<RenderedPage> page = cache.get(key.get());
+        if (page.isPresent()) {
+            hits.get(template).increment();
+            return Optional.of(new CachedPageView(template, page.get()));
+        }
+        misses.get(template).increment();
+        View view = viewResolver.resolveViewName(template, locale);
+        return Optional.ofNullable(view).map(resolved -> new CachingPageView(key.get(), resolved));
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    static Optional<RenderedPageKey> key(String template, Locale locale, Map<String, Object> model,
+            Map<String, String> uriVariables) {
+        for (Map.Entry<String, Object> attribute : model.entrySet()) {
+            Object value = attribute.getValue();
+            if (!LAYOUT_ATTRIBUTES.contains(attribute.getKey()) && !REQUEST_ATTRIBUTES.contains(attribute.getKey())
+                    || value != null && !(value instanceof CharSequence || value instanceof Number
+                    || value instanceof Boolean || value instanceof Enum<?>)) {
+                return Optional.empty();
+            }
+        }
+        Optional<String> penaltyReference;
+        try {
+            penaltyReference = penaltyReference(model, uriVariables);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        boolean signedIn = model.get(USER_EMAIL_ATTR) != null && !model.get(USER_EMAIL_ATTR).toString().isEmpty();
+        return Optional.of(new RenderedPageKey(template, locale, penaltyReference.orElse(null), signedIn));
+    }
+
+    /**
+     * The penalty reference type the page was rendered for: the one in the
+     * model, or otherwise the type of the penalty reference in the model or
+     * the request path.
+     */
+    private static Optional<String> penaltyReference(Map<String, Object> model, Map<String, String> uriVariables) {
+        if (model.get(PENALTY_REFERENCE_ATTR) != null) {
+            return Optional.of(model.get(PENALTY_REFERENCE_ATTR).toString());
+        }
+        return Optional.ofNullable(model.get(PENALTY_REF_ATTR))
+                .map(Object::toString)
+                .or(() -> Optional.ofNullable(uriVariables.get(PENALTY_REF_ATTR)))
+                .map(penaltyRef -> PenaltyUtils.getPenaltyReferenceType(penaltyRef).name());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> uriVariables(HttpServletRequest request) {
+        Object uriVariables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return uriVariables instanceof Map<?, ?> ? (Map<String, String>) uriVariables : Map.of();
+    }
+
+    private String placeholder(String attribute) {
+        return placeholderPrefix + attribute;
+    }
+
+    /**
+     * The page with the request's own values written in place of the
+     * placeholders it was rendered with.
+     */
+    private RenderedPage forRequest(RenderedPage page, Map<String, ?> model) {
+        if (page.placeholders().isEmpty()) {
+            return page;
+        }
+        String html = new String(page.body(), StandardCharsets.UTF_8);
+        for (String attribute : page.placeholders()) {
+            Object value = model.get(attribute);
+            html = html.replace(placeholder(attribute), value == null ? "" : HtmlUtils.htmlEscape(value.toString()));
+        }
+        byte[] body = html.getBytes(StandardCharsets.UTF_8);
+        return new RenderedPage(body, page.contentType(), etag(body), page.lastModified(), Set.of());
+    }
+
+    static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(Arrays.copyOf(digest, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void write(String template, RenderedPage page, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        if (new ServletWebRequest(request, response).checkNotModified(page.etag(), page.lastModified())) {
+            notModified.get(template).increment();
+            return;
+        }
+        response.setContentType(page.contentType());
+        response.setContentLength(page.body().length);
+        response.getOutputStream().write(page.body());
+    }
+
+    private static boolean containsCsrfToken(HttpServletRequest request, byte[] body) {
+        if (request.getAttribute(CsrfToken.class.getName()) instanceof CsrfToken csrfToken) {
+            String token = csrfToken.getToken();
+            return token != null && new String(body, StandardCharsets.UTF_8).contains(token);
+        }
+        return false;
+    }
+
+    private static boolean isGetOrHead(HttpServletRequest request) {
+        return "GET".equalsIgnoreCase(request.getMethod()) || "HEAD".equalsIgnoreCase(request.getMethod());
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String template, String result) {
+        return Counter.builder(REQUESTS_METER)
+                .tag("template", template)
+                .tag("result", result)
+                .description("Requests for cacheable pages by whether the rendered page was cached")
+                .register(meterRegistry);
+    }
+
+    private class CachedPageView implements View {
+
+        private final String template;
+        private final RenderedPage page;
+
+        CachedPageView(String template, RenderedPage page) {
+            this.template = template;
+            this.page = page;
+        }
+
+        @Override
+        public String getContentType() {
+            return page.contentType();
+        }
+
+        @Override
+        public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response)
+                throws IOException {
+            write(template, forRequest(page, model), request, response);
+        }
+    }
+
+    private class CachingPageView implements View {
+
+        private final RenderedPageKey key;
+        private final View view;
+
+        CachingPageView(RenderedPageKey key, View view) {
+            this.key = key;
+            this.view = view;
+        }
+
+        @Override
+        public String getContentType() {
+            return view.getContentType();
+        }
+
+        @Override
+        public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response)
+                throws Exception {
+            Map<String, Object> placeholderModel = new HashMap<>(model);
+            Set<String> placeholders = new HashSet<>();
+            for (String attribute : REQUEST_ATTRIBUTES) {
+                if (model.get(attribute) != null) {
+                    placeholderModel.put(attribute, placeholder(attribute));
+                    placeholders.add(attribute);
+                }
+            }
+
+            ContentCachingResponseWrapper capture = new ContentCachingResponseWrapper(response);
+            view.render(placeholderModel, request, capture);
+            byte[] body = capture.getContentAsByteArray();
+            RenderedPage page = new RenderedPage(body, capture.getContentType(), etag(body),
+                    clock.millis() / 1000 * 1000, Set.copyOf(placeholders));
+            RenderedPage requestPage = forRequest(page, model);
+            if (capture.getStatus() != HttpServletResponse.SC_OK
+                    || containsCsrfToken(request, requestPage.body())) {
+                capture.resetBuffer();
+                capture.getOutputStream().write(requestPage.body());
+                capture.copyBodyToResponse();
+                return;
+            }
+            cache.put(key, page);
+            write(key.template(), requestPage, request, response);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package uk.gov.companieshouse.web.pps.cache;
+
+import java.util.Locale;
+
+/**
+ * Identifies a rendered page by its template, the locale it was rendered in,
+ * the penalty reference type it was rendered for, if any, and whether the
+ * user was signed in. Nothing that identifies the user or the penalty is
+ * part of the key.
+ */
+public record RenderedPageKey(String template, Locale locale, String penaltyReference, boolean signedIn) {
+}
@@ -0,0 +1,189 @@
+package uk.gov.companieshouse.web.pps.circuitbreaker;
+
+import uk.gov.companieshouse.api.error.ApiErrorResponseException;
+import uk.gov.companieshouse.api.handler.exception.URIValidationException;
+import uk.gov.companieshouse.web.pps.config.CircuitBreakerConfigurationProperties;
+import uk.gov.companieshouse.web.pps.exception.CircuitBreakerOpenException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Count-based circuit breaker for one upstream API.
+ * <p>
+ * While CLOSED, the outcome of the last {@code windowSize} calls is kept. Once at least
+ * {@code minimumCalls} have been recorded, the breaker OPENs if the failure rate or the
+ * slow call rate reaches its threshold. While OPEN, calls are rejected with a
+ * {@link CircuitBreakerOpenException} without any network I/O. After {@code openDuration}
+ * the breaker goes HALF_OPEN and lets {@code halfOpenProbes} calls through: if they all
+ * succeed it CLOSEs, and any failure OPENs it again.
+ * <p>
+ * A call fails if it throws a runtime exception or an {@link ApiErrorResponseException}
+ * with a 5xx status, unless the caller's predicate says otherwise. 4xx responses and
+ * {@link URIValidationException}s are not held against the upstream.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final CircuitBreakerConfigurationProperties config;
+    private final Clock clock;
+    private final BiConsumer<State, State> transitionListener;
+
+    private final boolean[] failedCalls;
+    private final boolean[] slowCalls;
+    private int windowIndex;
+    private int recordedCalls;
+    private int failureCount;
+    private int slowCount;
+
+    private State state = State.CLOSED;
+    private Instant openedAt;
+    private int halfOpenPermitsIssued;
+    private int halfOpenSuccesses;
+
+    CircuitBreaker(String name, CircuitBreakerConfigurationProperties config, Clock clock,
+            BiConsumer<State, State> transitionListener) {
+        this.name = name;
+        this.config = config;
+        this.clock = clock;
+        this.transitionListener = transitionListener;
+        this.failedCalls = new boolean[config.getWindowSize()];
+        this.slowCalls = new boolean[config.getWindowSize()];
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public <T> T execute(UpstreamCall<T> call)
+            throws ApiErrorResponseException, URIValidationException, CircuitBreakerOpenException {
+        return execute(call, ex -> false);
+    }
+
+    /**
+     * Runs the call if the breaker permits it.
+     *
+     * @param expectedError responses that are part of normal operation, such as the finance
+     *                      healthcheck's 503 during planned maintenance, and must not count
+     *                      as failures
+     */
+    public <T> T execute(UpstreamCall<T> call, Predicate<ApiErrorResponseException> expectedError)
+            throws ApiErrorResponseException, URIValidationException, CircuitBreakerOpenException {
+        if (!config.isEnabled()) {
+            return call.call();
+        }
+        acquirePermission();
+
+        long start = System.nanoTime();
+        try {
+            T result = call.call();
+            onResult(false, start);
+            return result;
+        } catch (ApiErrorResponseException ex) {
+            onResult(ex.getStatusCode() >= 500 && !expectedError.test(ex), start);
+            throw ex;
+        } catch (URIValidationException ex) {
+            releasePermission();
+            throw ex;
+        } catch (RuntimeException ex) {
+            onResult(true, start);
+            throw ex;
+        }
+    }
+
+    private synchronized void acquirePermission() throws CircuitBreakerOpenException {
+        if (state == State.OPEN) {
+            if (clock.instant().isBefore(openedAt.plus(config.getOpenDuration()))) {
+                throw new CircuitBreakerOpenException(name);
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermitsIssued >= config.getHalfOpenProbes()) {
+                throw new CircuitBreakerOpenException(name);
+            }
+            halfOpenPermitsIssued++;
+        }
+    }
+
+    private synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && halfOpenPermitsIssued > 0) {
+            halfOpenPermitsIssued--;
+        }
+    }
+
+    private synchronized void onResult(boolean failed, long startNanos) {
+        boolean slow = Duration.ofNanos(System.nanoTime() - startNanos)
+                .compareTo(config.getSlowCallDuration()) >= 0;
+
+        switch (state) {
+            case HALF_OPEN -> {
+                if (failed || slow) {
+                    transitionTo(State.OPEN);
+                } else if (++halfOpenSuccesses >= config.getHalfOpenProbes()) {
+                    transitionTo(State.CLOSED);
+                }
+            }
+            case CLOSED -> {
+                record(failed, slow);
+                if (recordedCalls >= config.getMinimumCalls() && isOverThreshold()) {
+                    transitionTo(State.OPEN);
+                }
+            }
+            default -> {
+                // A call that started before the breaker opened; its outcome no longer matters
+            }
+        }
+    }
+
+    private void record(boolean failed, boolean slow) {
+        if (recordedCalls == failedCalls.length) {
+            failureCount -= failedCalls[windowIndex] ? 1 : 0;
+            slowCount -= slowCalls[windowIndex] ? 1 : 0;
+        } else {
+            recordedCalls++;
+        }
+        failedCalls[windowIndex] = failed;
+        slowCalls[windowIndex] = slow;
+        failureCount += failed ? 1 : 0;
+        slowCount += slow ? 1 : 0;
+        windowIndex = (windowIndex + 1) % failedCalls.length;
+    }
+
+    private boolean isOverThreshold() {
+        return failureCount * 100 >= config.getFailureRateThreshold() * recordedCalls
+                || slowCount * 100 >= config.getSlowCallRateThreshold() * recordedCalls;
+    }
+
+    private void transitionTo(State newState) {
+        State previous = state;
+        state = newState;
+        switch (newState) {
+            case OPEN -> openedAt = clock.instant();
+            case HALF_OPEN -> {
+                halfOpenPermitsIssued = 0;
+                halfOpenSuccesses = 0;
+            }
+            case CLOSED -> resetWindow();
+        }
+        transitionListener.accept(previous, newState);
+    }
+
+    private void resetWindow() {
+        windowIndex = 0;
+        recordedCalls = 0;
+        failureCount = 0;
+        slowCount = 0;
+    }
+}
@@ -0,0 +1,75 @@
+package uk.gov.companieshouse.web.pps.circuitbreaker;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+import uk.gov.companieshouse.web.pps.PPSWebApplication;
+import uk.gov.companieshouse.web.pps.config.CircuitBreakerConfigurationProperties;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds one {@link CircuitBreaker} per upstream API and publishes their state and state
+ * transitions as metrics.
+ */
+@Component
+public class CircuitBreakerRegistry {
+
+    public static final String PENALTY_PAYMENT_API = "penalty-payment-api";
+    public static final String PAYMENTS_API = "payments-api";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PPSWebApplication.APPLICATION_NAME_SPACE);
+    private static final String NAME_TAG = "name";
+
+    private final CircuitBreakerConfigurationProperties circuitBreakerConfigurationProperties;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CircuitBreakerRegistry(
+            CircuitBreakerConfigurationProperties circuitBreakerConfigurationProperties,
+            MeterRegistry meterRegistry) {
+        this(circuitBreakerConfigurationProperties, meterRegistry, Clock.systemUTC());
+    }
+
+    CircuitBreakerRegistry(
+            CircuitBreakerConfigurationProperties circuitBreakerConfigurationProperties,
+            MeterRegistry meterRegistry, Clock clock) {
+        this.circuitBreakerConfigurationProperties = circuitBreakerConfigurationProperties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    public CircuitBreaker get(String upstream) {
+        return circuitBreakers.computeIfAbsent(upstream, this::create);
+    }
+
+    private CircuitBreaker create(String upstream) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(upstream,
+                circuitBreakerConfigurationProperties, clock,
+                (from, to) -> onTransition(upstream, from, to));
+        Gauge.builder("circuit.breaker.state", circuitBreaker, cb -> cb.getState().ordinal())
+                .tag(NAME_TAG, upstream)
+                .description("Circuit breaker state: 0 closed, 1 open, 2 half open")
+                .register(meterRegistry);
+        return circuitBreaker;
+    }
+
+    private void onTransition(String upstream, CircuitBreaker.State from, CircuitBreaker.State to) {
+        LOGGER.info(String.format("Circuit breaker for %s changed from %s to %s", upstream, from, to));
+        Counter.builder("circuit.breaker.transitions")
+                .tag(NAME_TAG, upstream)
+                .tag("from", from.name())
+                .tag("to", to.name())
+                .description("Circuit breaker state transitions")
+                .register(meterRegistry)
+                .increment();
+    }
+}
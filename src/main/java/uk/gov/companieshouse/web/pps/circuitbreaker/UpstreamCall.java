@@ -0,0 +1,15 @@
+package uk.gov.companieshouse.web.pps.circuitbreaker;
+
+import uk.gov.companieshouse.api.error.ApiErrorResponseException;
+import uk.gov.companieshouse.api.handler.exception.URIValidationException;
+
+/**
+ * A single API SDK request made through a {@link CircuitBreaker}.
+ *
+ * @param <T> the response type
+ */
+@FunctionalInterface
+public interface UpstreamCall<T> {
+
+    T call() throws ApiErrorResponseException, URIValidationException;
+}
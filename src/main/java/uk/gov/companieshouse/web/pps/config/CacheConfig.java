@@ -0,0 +1,70 @@
+package uk.gov.companieshouse.web.pps.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import uk.gov.companieshouse.api.model.financialpenalty.FinancialPenalty;
+import uk.gov.companieshouse.web.pps.cache.ExpiringCache;
+import uk.gov.companieshouse.web.pps.cache.ExpiringCacheMetrics;
+import uk.gov.companieshouse.web.pps.cache.RenderedPage;
+import uk.gov.companieshouse.web.pps.cache.RenderedPageKey;
+
+import java.time.Instant;
+import java.util.List;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public ExpiringCache<String, List<FinancialPenalty>> financialPenaltiesCache(
+            CacheConfigurationProperties cacheConfigurationProperties) {
+        var spec = cacheConfigurationProperties.getFinancialPenalties();
+        return new ExpiringCache<>(spec.getTtl(), spec.getMaxEntries());
+    }
+
+    @Bean
+    public MeterBinder financialPenaltiesCacheMetrics(
+            ExpiringCache<String, List<FinancialPenalty>> financialPenaltiesCache) {
+        return new ExpiringCacheMetrics(financialPenaltiesCache, "financial-penalties");
+    }
+
+    @Bean
+    public ExpiringCache<String, String> companyNameCache(
+            CacheConfigurationProperties cacheConfigurationProperties) {
+        var spec = cacheConfigurationProperties.getCompanyNames();
+        return new ExpiringCache<>(spec.getTtl(), spec.getMaxEntries());
+    }
+
+    @Bean
+    public MeterBinder companyNameCacheMetrics(ExpiringCache<String, String> companyNameCache) {
+        return new ExpiringCacheMetrics(companyNameCache, "company-names");
+    }
+
+    @Bean
+    public ExpiringCache<RenderedPageKey, RenderedPage> renderedPagesCache(
+            CacheConfigurationProperties cacheConfigurationProperties) {
+        var spec = cacheConfigurationProperties.getRenderedPages();
+        return new ExpiringCache<>(spec.getTtl(), spec.getMaxEntries());
+    }
+
+    @Bean
+    public MeterBinder renderedPagesCacheMetrics(
+            ExpiringCache<RenderedPageKey, RenderedPage> renderedPagesCache) {
+        return new ExpiringCacheMetrics(renderedPagesCache, "rendered-pages");
+    }
+
+    @Bean
+    public ExpiringCache<String, Instant> paymentStateNoncesCache(
+            PaymentStateConfigurationProperties paymentStateConfigurationProperties) {
+        // nonces are kept for as long as the tokens carrying them are valid
+        return new ExpiringCache<>(paymentStateConfigurationProperties.getTimeToLive(),
+                paymentStateConfigurationProperties.getMaxNonces());
+    }
+
+    @Bean
+    public MeterBinder paymentStateNoncesCacheMetrics(
+            ExpiringCache<String, Instant> paymentStateNoncesCache) {
+        return new ExpiringCacheMetrics(paymentStateNoncesCache, "payment-state-nonces");
+    }
+
+}
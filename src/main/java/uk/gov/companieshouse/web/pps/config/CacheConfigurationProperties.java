@@ -0,0 +1,81 @@
+package uk.gov.companieshouse.web.pps.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties("cache")
+public class CacheConfigurationProperties {
+
+    private CacheSpec financialPenalties = new CacheSpec(Duration.ofMinutes(2), 1000);
+    private CacheSpec companyNames = new CacheSpec(Duration.ofHours(1), 10000);
+    private CacheSpec renderedPages = new CacheSpec(Duration.ofMinutes(10), 1000);
+    private List<String> renderedPageTemplates = new ArrayList<>();
+
+    public CacheSpec getFinancialPenalties() {
+        return financialPenalties;
+    }
+
+    public void setFinancialPenalties(CacheSpec financialPenalties) {
+        this.financialPenalties = financialPenalties;
+    }
+
+    public CacheSpec getCompanyNames() {
+        return companyNames;
+    }
+
+    public void setCompanyNames(CacheSpec companyNames) {
+        this.companyNames = companyNames;
+    }
+
+    public CacheSpec getRenderedPages() {
+        return renderedPages;
+    }
+
+    public void setRenderedPages(CacheSpec renderedPages) {
+        this.renderedPages = renderedPages;
+    }
+
+    public List<String> getRenderedPageTemplates() {
+        return renderedPageTemplates;
+    }
+
+    public void setRenderedPageTemplates(List<String> renderedPageTemplates) {
+        this.renderedPageTemplates = renderedPageTemplates;
+    }
+
+    public static class CacheSpec {
+
+        private Duration ttl;
+        private int maxEntries;
+
+        public CacheSpec() {
+        }
+
+        public CacheSpec(Duration ttl, int maxEntries) {
+            this.ttl = ttl;
+            this.maxEntries = maxEntries;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+}
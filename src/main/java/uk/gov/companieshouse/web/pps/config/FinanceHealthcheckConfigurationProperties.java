@@ -0,0 +1,40 @@
+package uk.gov.companieshouse.web.pps.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties("finance-healthcheck")
+public class FinanceHealthcheckConfigurationProperties {
+
+    private boolean snapshotEnabled = true;
+    private Duration refreshInterval = Duration.ofSeconds(15);
+    private Duration maxStaleness = Duration.ofSeconds(45);
+
+    public boolean isSnapshotEnabled() {
+        return snapshotEnabled;
+    }
+
+    public void setSnapshotEnabled(boolean snapshotEnabled) {
+        this.snapshotEnabled = snapshotEnabled;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public Duration getMaxStaleness() {
+        return maxStaleness;
+    }
+
+    public void setMaxStaleness(Duration maxStaleness) {
+        this.maxStaleness = maxStaleness;
+    }
+
+}
@@ -0,0 +1,29 @@
+package uk.gov.companieshouse.web.pps.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import uk.gov.companieshouse.web.pps.maintenance.MaintenancePageFilter;
+import uk.gov.companieshouse.web.pps.maintenance.MaintenancePages;
+
+@Configuration
+public class MaintenancePageConfig {
+
+    /**
+     * Registered ahead of the Spring Security filter chain, so requests made
+     * during planned maintenance skip security, session and MVC work.
+     */
+    @Bean
+    public FilterRegistrationBean<MaintenancePageFilter> maintenancePageFilter(
+            MaintenancePageConfigurationProperties maintenancePageConfigurationProperties,
+            MaintenancePages maintenancePages) {
+        var registration = new FilterRegistrationBean<>(new MaintenancePageFilter(maintenancePages,
+                maintenancePageConfigurationProperties.getExcludedPaths()));
+        registration.addUrlPatterns("/pay-penalty/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        registration.setEnabled(maintenancePageConfigurationProperties.isEnabled());
+        return registration;
+    }
+
+}
@@ -0,0 +1,32 @@
+package uk.gov.companieshouse.web.pps.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties("maintenance-page")
+public class MaintenancePageConfigurationProperties {
+
+    private boolean enabled = true;
+    private List<String> excludedPaths = new ArrayList<>(List.of("/pay-penalty/healthcheck", "/pay-penalty/images/"));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getExcludedPaths() {
+        return excludedPaths;
+    }
+
+    public void setExcludedPaths(List<String> excludedPaths) {
+        this.excludedPaths = excludedPaths;
+    }
+
+}
@@ -0,0 +1,49 @@
+package uk.gov.companieshouse.web.pps.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties("payment-state")
+public class PaymentStateConfigurationProperties {
+
+    private boolean signedTokenEnabled = false;
+    private String signingKey = "";
+    private Duration timeToLive = Duration.ofMinutes(90);
+    private int maxNonces = 10000;
+
+    public boolean isSignedTokenEnabled() {
+        return signedTokenEnabled;
+    }
+
+    public void setSignedTokenEnabled(boolean signedTokenEnabled) {
+        this.signedTokenEnabled = signedTokenEnabled;
+    }
+
+    public String getSigningKey() {
+        return signingKey;
+    }
+
+    public void setSigningKey(String signingKey) {
+        this.signingKey = signingKey;
+    }
+
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(Duration timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    public int getMaxNonces() {
+        return maxNonces;
+    }
+
+    public void setMaxNonces(int maxNonces) {
+        this.maxNonces = maxNonces;
+    }
+
+}
@@ -0,0 +1,86 @@
+package uk.gov.companieshouse.web.pps.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties("request-logging")
+public class RequestLoggingConfigurationProperties {
+
+    /**
+     * What a request thread does when the request log buffer is full.
+     */
+    public enum OverflowPolicy {
+        /** Discard the event and count it as dropped. */
+        DROP,
+        /** Wait for the writer to make room. */
+        BLOCK
+    }
+
+    private boolean asyncEnabled = true;
+    private int bufferCapacity = 8192;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+    private Duration shutdownTimeout = Duration.ofSeconds(5);
+    private boolean samplingEnabled = true;
+    private int sampledRequestsPerSecond = 20;
+    private Duration slowRequestThreshold = Duration.ofSeconds(2);
+
+    public boolean isAsyncEnabled() {
+        return asyncEnabled;
+    }
+
+    public void setAsyncEnabled(boolean asyncEnabled) {
+        this.asyncEnabled = asyncEnabled;
+    }
+
+    public int getBufferCapacity() {
+        return bufferCapacity;
+    }
+
+    public void setBufferCapacity(int bufferCapacity) {
+        this.bufferCapacity = bufferCapacity;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public Duration getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    public void setShutdownTimeout(Duration shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    public boolean isSamplingEnabled() {
+        return samplingEnabled;
+    }
+
+    public void setSamplingEnabled(boolean samplingEnabled) {
+        this.samplingEnabled = samplingEnabled;
+    }
+
+    public int getSampledRequestsPerSecond() {
+        return sampledRequestsPerSecond;
+    }
+
+    public void setSampledRequestsPerSecond(int sampledRequestsPerSecond) {
+        this.sampledRequestsPerSecond = sampledRequestsPerSecond;
+    }
+
+    public Duration getSlowRequestThreshold() {
+        return slowRequestThreshold;
+    }
+
+    public void setSlowRequestThreshold(Duration slowRequestThreshold) {
+        this.slowRequestThreshold = slowRequestThreshold;
+    }
+
+}
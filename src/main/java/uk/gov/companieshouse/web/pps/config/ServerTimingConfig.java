@@ -0,0 +1,27 @@
+package uk.gov.companieshouse.web.pps.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import uk.gov.companieshouse.web.pps.timing.ServerTimingFilter;
+
+@Configuration
+public class ServerTimingConfig {
+
+    /**
+     * Registered after the maintenance page filter, which answers without
+     * reaching the controllers, and ahead of the Spring Security filter chain,
+     * so the session is loaded within the timed request.
+     */
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(
+            ServerTimingConfigurationProperties serverTimingConfigurationProperties) {
+        var registration = new FilterRegistrationBean<>(new ServerTimingFilter());
+        registration.addUrlPatterns("/pay-penalty/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        registration.setEnabled(serverTimingConfigurationProperties.isEnabled());
+        return registration;
+    }
+
+}
@@ -0,0 +1,55 @@
+package uk.gov.companieshouse.web.pps.config;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.exporter.logging.otlp.traces.OtlpStdoutSpanExporter;
+import io.opentelemetry.exporter.logging.otlp.traces.OtlpStdoutSpanExporterBuilder;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static uk.gov.companieshouse.web.pps.PPSWebApplication.APPLICATION_NAME_SPACE;
+
+@Configuration
+public class TracingConfig {
+
+    private static final AttributeKey<String> SERVICE_NAME = AttributeKey.stringKey("service.name");
+
+    /**
+     * Spans are exported as OTLP JSON lines, to {@code tracing.export-file}
+     * when one is given and to stdout otherwise. With tracing disabled no spans
+     * are recorded.
+     */
+    @Bean
+    public OpenTelemetry openTelemetry(TracingConfigurationProperties tracingConfigurationProperties)
+            throws IOException {
+        if (!tracingConfigurationProperties.isEnabled()) {
+            return OpenTelemetry.noop();
+        }
+
+        OtlpStdoutSpanExporterBuilder exporter = OtlpStdoutSpanExporter.builder();
+        String exportFile = tracingConfigurationProperties.getExportFile();
+        if (exportFile != null && !exportFile.isBlank()) {
+            exporter.setOutput(Files.newOutputStream(Path.of(exportFile), CREATE, APPEND));
+        }
+        SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .setResource(Resource.getDefault().merge(
+                        Resource.create(Attributes.of(SERVICE_NAME, APPLICATION_NAME_SPACE))))
+                .addSpanProcessor(BatchSpanProcessor.builder(exporter.build()).build())
+                .build();
+        return OpenTelemetrySdk.builder()
+                .setTracerProvider(tracerProvider)
+                .build();
+    }
+
+}
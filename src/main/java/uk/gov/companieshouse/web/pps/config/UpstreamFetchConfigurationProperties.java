@@ -0,0 +1,40 @@
+package uk.gov.companieshouse.web.pps.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties("upstream-fetch")
+public class UpstreamFetchConfigurationProperties {
+
+    private boolean parallelEnabled = true;
+    private Duration timeout = Duration.ofSeconds(10);
+    private int maxConcurrency = 256;
+
+    public boolean isParallelEnabled() {
+        return parallelEnabled;
+    }
+
+    public void setParallelEnabled(boolean parallelEnabled) {
+        this.parallelEnabled = parallelEnabled;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+}
@@ -13,7 +13,7 @@ import uk.gov.companieshouse.web.pps.config.PenaltyConfigurationProperties;
 import uk.gov.companieshouse.web.pps.service.navigation.NavigatorService;
 import uk.gov.companieshouse.web.pps.service.response.PPSServiceResponse;
 import uk.gov.companieshouse.web.pps.session.SessionService;
-import uk.gov.companieshouse.web.pps.util.PenaltyUtils;
+import uk.gov.companieshouse.web.pps.session.UserContext;
 
 import java.util.Map;
 
@@ -80,13 +80,11 @@ public abstract class BaseController {
     }
 
     protected void addUserModel(Model model, String signOutUrl) {
-        String loginEmail = PenaltyUtils.getLoginEmail(sessionService.getSessionDataFromContext());
-        addEmailAttributes(model, signOutUrl, loginEmail);
+        addEmailAttributes(model, signOutUrl, sessionService.getUserContext().email());
     }
 
     protected void addUserModel(Model model, String signOutUrl, Map<String, Object> sessionData) {
-        String loginEmail = PenaltyUtils.getLoginEmail(sessionData);
-        addEmailAttributes(model, signOutUrl, loginEmail);
+        addEmailAttributes(model, signOutUrl, UserContext.fromSessionData(sessionData).email());
     }
 
     private static void addEmailAttributes(Model model, String signOutUrl, String loginEmail) {
@@ -17,8 +17,7 @@ import uk.gov.companieshouse.web.pps.service.navigation.NavigatorService;
 import uk.gov.companieshouse.web.pps.service.response.PPSServiceResponse;
 import uk.gov.companieshouse.web.pps.service.signout.SignOutService;
 import uk.gov.companieshouse.web.pps.session.SessionService;
-
-import java.util.Map;
+import uk.gov.companieshouse.web.pps.session.UserContext;
 
 import static org.springframework.web.servlet.view.UrlBasedViewResolver.REDIRECT_URL_PREFIX;
 import static uk.gov.companieshouse.web.pps.service.ServiceConstants.REFERER;
@@ -51,9 +50,9 @@ public class SignOutController extends BaseController {
 
     @GetMapping
     public String getSignOut(final HttpServletRequest request, Model model) {
-        Map<String, Object> sessionData = sessionService.getSessionDataFromContext();
-        if (!signOutService.isUserSignedIn(sessionData)) {
-            LOGGER.info("No session data present: " + sessionData);
+        UserContext userContext = sessionService.getUserContext();
+        if (!signOutService.isUserSignedIn(userContext)) {
+            LOGGER.info("No signed in user present in session");
             return REDIRECT_URL_PREFIX + penaltyConfigurationProperties.getUnscheduledServiceDownPath();
         }
 
@@ -0,0 +1,13 @@
+package uk.gov.companieshouse.web.pps.exception;
+
+/**
+ * Thrown instead of calling an upstream API while its circuit breaker is open.
+ * As a {@link ServiceException} it is handled like any other upstream failure,
+ * sending the user to the unscheduled service down page.
+ */
+public class CircuitBreakerOpenException extends ServiceException {
+
+    public CircuitBreakerOpenException(String upstream) {
+        super(String.format("Circuit breaker for %s is open, call not attempted", upstream), null);
+    }
+}
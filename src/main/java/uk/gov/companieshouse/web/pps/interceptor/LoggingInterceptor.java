@@ -2,6 +2,8 @@ package uk.gov.companieshouse.web.pps.interceptor;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.HttpHeaders;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.AsyncHandlerInterceptor;
@@ -9,24 +11,166 @@ import org.springframework.web.servlet.ModelAndView;
 import uk.gov.companieshouse.logging.Logger;
 import uk.gov.companieshouse.logging.LoggerFactory;
 import uk.gov.companieshouse.logging.util.RequestLogger;
+import uk.gov.companieshouse.web.pps.config.PenaltyConfigurationProperties;
+import uk.gov.companieshouse.web.pps.config.RequestLoggingConfigurationProperties;
+import uk.gov.companieshouse.web.pps.logging.AdaptiveLogSampler;
+import uk.gov.companieshouse.web.pps.logging.AsyncRequestLogWriter;
+import uk.gov.companieshouse.web.pps.logging.RequestLogEvent;
+import uk.gov.companieshouse.web.pps.timing.RequestTimings;
 
+import java.util.HashMap;
+import java.util.Map;
+
+import static uk.gov.companieshouse.logging.util.LogContextProperties.END_OF_REQUEST_MSG;
+import static uk.gov.companieshouse.logging.util.LogContextProperties.START_OF_REQUEST_MSG;
+import static uk.gov.companieshouse.logging.util.LogContextProperties.START_TIME_KEY;
 import static uk.gov.companieshouse.web.pps.PPSWebApplication.APPLICATION_NAME_SPACE;
+import static uk.gov.companieshouse.web.pps.logging.AdaptiveLogSampler.ALWAYS;
+import static uk.gov.companieshouse.web.pps.logging.AdaptiveLogSampler.NEVER;
 
+/**
+ * Logs the start and end of every request. The request details are captured
+ * on the request thread and written by the {@link AsyncRequestLogWriter}, so
+ * the request does not wait on serialisation or stdout. When asynchronous
+ * request logging is disabled the {@link RequestLogger} defaults are used.
+ * <p>
+ * Start lines are sampled by the {@link AdaptiveLogSampler}, and the end line
+ * of a sampled request is written with the same rate. End lines for server
+ * errors, redirects to the unscheduled service down page, slow requests and
+ * requests that end in an exception are always written. Sampling applies
+ * whether or not logging is asynchronous, but only asynchronous lines carry
+ * the {@code sample_rate} they were written at, and the timings of slow
+ * requests, as the {@link RequestLogger} defaults write fixed fields.
+ */
 @Component
 public class LoggingInterceptor implements AsyncHandlerInterceptor, RequestLogger {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(APPLICATION_NAME_SPACE);
 
+    private static final String REQUEST_ID_HEADER = "X-Request-Id";
+    private static final String SAMPLE_RATE_KEY = "sample_rate";
+    private static final String SAMPLE_RATE_ATTRIBUTE = LoggingInterceptor.class.getName() + ".sampleRate";
+    private static final String END_LOGGED_ATTRIBUTE = LoggingInterceptor.class.getName() + ".endLogged";
+
+    private final AsyncRequestLogWriter requestLogWriter;
+    private final AdaptiveLogSampler logSampler;
+    private final long slowRequestThresholdMillis;
+    private final String unscheduledServiceDownPath;
+
+    public LoggingInterceptor(AsyncRequestLogWriter requestLogWriter,
+            AdaptiveLogSampler logSampler,
+            RequestLoggingConfigurationProperties requestLoggingConfigurationProperties,
+            PenaltyConfigurationProperties penaltyConfigurationProperties) {
+        this.requestLogWriter = requestLogWriter;
+        this.logSampler = logSampler;
+        this.slowRequestThresholdMillis = requestLoggingConfigurationProperties.getSlowRequestThreshold().toMillis();
+        this.unscheduledServiceDownPath = penaltyConfigurationProperties.getUnscheduledServiceDownPath();
+    }
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
 
-        logStartRequestProcessing(request, LOGGER);
+        double sampleRate = logSampler.sample();
+        request.setAttribute(SAMPLE_RATE_ATTRIBUTE, sampleRate);
+
+        if (!requestLogWriter.isEnabled()) {
+            if (sampleRate > NEVER) {
+                logStartRequestProcessing(request, LOGGER);
+            } else {
+                request.getSession().setAttribute(START_TIME_KEY.value(), System.currentTimeMillis());
+            }
+            return true;
+        }
+
+        request.getSession().setAttribute(START_TIME_KEY.value(), System.currentTimeMillis());
+        if (sampleRate > NEVER) {
+            Map<String, Object> data = requestData(request);
+            data.put(SAMPLE_RATE_KEY, sampleRate);
+            requestLogWriter.submit(new RequestLogEvent(request.getHeader(REQUEST_ID_HEADER),
+                    START_OF_REQUEST_MSG.value(), data));
+        }
         return true;
     }
 
     @Override
     public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, @Nullable ModelAndView modelAndView) {
 
-        logEndRequestProcessing(request, response, LOGGER);
+        logEnd(request, response, request.getSession(),
+                isUnscheduledServiceDown(modelAndView == null ? null : modelAndView.getViewName()));
+    }
+
+    /**
+     * Writes the end line for requests that did not reach {@link #postHandle},
+     * such as those completed by an exception handler.
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            @Nullable Exception ex) {
+
+        if (!requestLogWriter.isEnabled() || request.getAttribute(END_LOGGED_ATTRIBUTE) != null) {
+            return;
+        }
+
+        logEnd(request, response, request.getSession(false),
+                ex != null || isUnscheduledServiceDown(response.getHeader(HttpHeaders.LOCATION)));
+    }
+
+    private void logEnd(HttpServletRequest request, HttpServletResponse response, @Nullable HttpSession session,
+            boolean alwaysLog) {
+        request.setAttribute(END_LOGGED_ATTRIBUTE, Boolean.TRUE);
+
+        int status = response.getStatus();
+        Long duration = null;
+        if (session != null && session.getAttribute(START_TIME_KEY.value()) instanceof Long startTime) {
+            duration = System.currentTimeMillis() - startTime;
+        }
+        boolean slow = duration != null && duration >= slowRequestThresholdMillis;
+
+        double sampleRate;
+        if (alwaysLog || slow || status >= 500) {
+            sampleRate = ALWAYS;
+        } else if (request.getAttribute(SAMPLE_RATE_ATTRIBUTE) instanceof Double startSampleRate) {
+            sampleRate = startSampleRate;
+        } else {
+            sampleRate = ALWAYS;
+        }
+        if (sampleRate == NEVER) {
+            return;
+        }
+
+        if (!requestLogWriter.isEnabled()) {
+            logEndRequestProcessing(request, response, LOGGER);
+            return;
+        }
+
+        Map<String, Object> data = requestData(request);
+        data.put("status", status);
+        if (duration != null) {
+            data.put("duration", duration);
+        }
+        if (slow) {
+            RequestTimings.of(request).ifPresent(timings -> data.put("timings", timings.toMillis()));
+        }
+        data.put(SAMPLE_RATE_KEY, sampleRate);
+        requestLogWriter.submit(new RequestLogEvent(request.getHeader(REQUEST_ID_HEADER),
+                END_OF_REQUEST_MSG.value(), data));
+    }
+
+    private boolean isUnscheduledServiceDown(@Nullable String target) {
+        return target != null && unscheduledServiceDownPath != null
+                && target.contains(unscheduledServiceDownPath);
+    }
+
+    private static Map<String, Object> requestData(HttpServletRequest request) {
+        Map<String, Object> data = new HashMap<>(8);
+        putIfPresent(data, "method", request.getMethod());
+        putIfPresent(data, "path", request.getRequestURI());
+        return data;
+    }
+
+    private static void putIfPresent(Map<String, Object> data, String key, Object value) {
+        if (value != null) {
+            data.put(key, value);
+        }
     }
 }
@@ -0,0 +1,57 @@
+package uk.gov.companieshouse.web.pps.interceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import uk.gov.companieshouse.web.pps.timing.RequestTimings;
+import uk.gov.companieshouse.web.pps.timing.ServerTimingMetric;
+
+/**
+ * Records the time taken to render the view into the request's
+ * {@link RequestTimings}, and marks where the handler starts and completes so
+ * that the time spent in the filters around it can be told apart. It must be
+ * registered ahead of every interceptor with a {@code postHandle}, so that it
+ * starts timing once they have run.
+ */
+@Component
+public class RenderTimingInterceptor implements HandlerInterceptor {
+
+    static final String RENDER_START_ATTRIBUTE = RenderTimingInterceptor.class.getName() + ".renderStart";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler) {
+
+        RequestTimings.of(request).ifPresent(RequestTimings::handlerStarted);
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler,
+            @Nullable ModelAndView modelAndView) {
+
+        if (modelAndView != null && RequestTimings.of(request).isPresent()) {
+            request.setAttribute(RENDER_START_ATTRIBUTE, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler,
+            @Nullable Exception ex) {
+
+        RequestTimings.of(request).ifPresent(timings -> {
+            if (request.getAttribute(RENDER_START_ATTRIBUTE) instanceof Long renderStart) {
+                timings.add(ServerTimingMetric.RENDER, System.nanoTime() - renderStart);
+            }
+            timings.handlerCompleted();
+        });
+    }
+}
@@ -0,0 +1,36 @@
+package uk.gov.companieshouse.web.pps.interceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import uk.gov.companieshouse.web.pps.cache.RenderedPageCache;
+
+/**
+ * Swaps the view of a cacheable page for one served from, or captured into,
+ * the {@link RenderedPageCache}. It must be registered before any interceptor
+ * that adds to the model in {@code postHandle}, so that it sees the final
+ * model.
+ */
+@Component
+public class RenderedPageCacheInterceptor implements HandlerInterceptor {
+
+    private final RenderedPageCache renderedPageCache;
+
+    public RenderedPageCacheInterceptor(RenderedPageCache renderedPageCache) {
+        this.renderedPageCache = renderedPageCache;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler,
+            @Nullable ModelAndView modelAndView) throws Exception {
+
+        if (modelAndView != null) {
+            renderedPageCache.view(request, modelAndView).ifPresent(modelAndView::setView);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package uk.gov.companieshouse.web.pps.interceptor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import uk.gov.companieshouse.web.pps.session.SessionChange;
+import uk.gov.companieshouse.web.pps.session.SessionService;
+
+/**
+ * Counts the requests that changed their session data, and those that only
+ * read it, once the request has completed. The session filter stores the
+ * session either way, so the unchanged count is the store writes that could
+ * be saved. It must be registered first, so that it completes after every
+ * other interceptor.
+ */
+@Component
+public class SessionChangeInterceptor implements HandlerInterceptor {
+
+    private static final String CHANGES_METER = "session.changes";
+    private static final String RESULT_TAG = "result";
+
+    private final SessionService sessionService;
+    private final Counter changedSessions;
+    private final Counter unchangedSessions;
+
+    public SessionChangeInterceptor(SessionService sessionService, MeterRegistry meterRegistry) {
+        this.sessionService = sessionService;
+        this.changedSessions = Counter.builder(CHANGES_METER)
+                .tag(RESULT_TAG, "changed")
+                .description("Requests that changed the session data")
+                .register(meterRegistry);
+        this.unchangedSessions = Counter.builder(CHANGES_METER)
+                .tag(RESULT_TAG, "unchanged")
+                .description("Requests that loaded the session data without changing it")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler,
+            @Nullable Exception ex) {
+
+        SessionChange sessionChange = sessionService.getSessionChange();
+        if (sessionChange == SessionChange.CHANGED) {
+            changedSessions.increment();
+        } else if (sessionChange == SessionChange.UNCHANGED) {
+            unchangedSessions.increment();
+        }
+    }
+}
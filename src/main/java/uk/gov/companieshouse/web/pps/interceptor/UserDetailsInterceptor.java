@@ -8,20 +8,15 @@ import org.springframework.web.servlet.AsyncHandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.view.UrlBasedViewResolver;
 import uk.gov.companieshouse.web.pps.session.SessionService;
+import uk.gov.companieshouse.web.pps.session.UserContext;
 
-import java.util.Map;
 import java.util.Optional;
 
-import static uk.gov.companieshouse.web.pps.service.ServiceConstants.SIGN_IN_INFO;
-
 @Component
 public class UserDetailsInterceptor implements AsyncHandlerInterceptor {
 
     private static final String USER_EMAIL = "userEmail";
 
-    private static final String USER_PROFILE_KEY = "user_profile";
-    private static final String EMAIL_KEY = "email";
-
     private final SessionService sessionService;
 
     public UserDetailsInterceptor(SessionService sessionService) {
@@ -39,12 +34,9 @@ public class UserDetailsInterceptor implements AsyncHandlerInterceptor {
                 || (request.getMethod().equalsIgnoreCase("POST")
                 && !isViewRedirectUrlPrefixed(modelAndView)))) {
 
-            Map<String, Object> sessionData = sessionService.getSessionDataFromContext();
-            Map<String, Object> signInInfo = (Map<String, Object>) sessionData.get(SIGN_IN_INFO);
-            if (signInInfo != null) {
-                Map<String, Object> userProfile = (Map<String, Object>) signInInfo
-                        .get(USER_PROFILE_KEY);
-                modelAndView.addObject(USER_EMAIL, userProfile.get(EMAIL_KEY));
+            UserContext userContext = sessionService.getUserContext();
+            if (userContext.signedIn()) {
+                modelAndView.addObject(USER_EMAIL, userContext.email());
             }
         }
     }
@@ -0,0 +1,21 @@
+package uk.gov.companieshouse.web.pps.layout;
+
+import org.thymeleaf.processor.IProcessor;
+import org.thymeleaf.spring6.dialect.SpringStandardDialect;
+
+import java.util.Set;
+
+/**
+ * The Spring standard dialect with all of its processors removed. It still
+ * supplies the expression parser that the layout dialect needs to read
+ * {@code layout:decorate}, but leaves every {@code th:} attribute, inlined
+ * expression and {@code th:block} in place so they survive the merge and are
+ * processed when the merged page is rendered.
+ */
+class LayoutMergeDialect extends SpringStandardDialect {
+
+    @Override
+    public Set<IProcessor> getProcessors(String dialectPrefix) {
+        return Set.of();
+    }
+}
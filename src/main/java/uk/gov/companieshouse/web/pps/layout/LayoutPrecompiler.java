@@ -0,0 +1,108 @@
+package uk.gov.companieshouse.web.pps.layout;
+
+import nz.net.ultraq.thymeleaf.layoutdialect.LayoutDialect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.dialect.IDialect;
+import org.thymeleaf.templateresolver.ITemplateResolver;
+import uk.gov.companieshouse.web.pps.config.PrecompiledLayoutConfigurationProperties;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import static uk.gov.companieshouse.web.pps.layout.PrecompiledLayoutTemplateResolver.CANDIDATE_PREFIX;
+
+/**
+ * Merges a page with the layout it decorates once, instead of on every
+ * render. The merge is done by the layout dialect itself, run in a separate
+ * engine with the {@link LayoutMergeDialect} in place of the standard
+ * dialect, so the output is the decorated page with every {@code th:}
+ * attribute still to be processed. The result is served as an ordinary
+ * template by {@link PrecompiledLayoutTemplateResolver}, and the layout
+ * dialect has nothing left to do when it is rendered.
+ * <p>
+ * A merged page is only a candidate until {@link #activate(String)} is
+ * called. Callers are expected to render the page both ways and only
+ * activate it when the output is identical, see
+ * {@link uk.gov.companieshouse.web.pps.warmup.TemplateWarmUp}.
+ */
+@Component
+public class LayoutPrecompiler {
+
+    private final TemplateEngine templateEngine;
+    private final PrecompiledLayoutTemplateResolver precompiledLayoutTemplateResolver;
+    private final TemplateEngine mergeEngine;
+
+    @Autowired
+    public LayoutPrecompiler(PrecompiledLayoutConfigurationProperties precompiledLayoutConfigurationProperties,
+            TemplateEngine templateEngine, PrecompiledLayoutTemplateResolver precompiledLayoutTemplateResolver) {
+        this.templateEngine = templateEngine;
+        this.precompiledLayoutTemplateResolver = precompiledLayoutTemplateResolver;
+        this.mergeEngine = precompiledLayoutConfigurationProperties.isEnabled()
+                ? createMergeEngine(templateEngine, precompiledLayoutTemplateResolver)
+                : null;
+    }
+
+    public boolean isEnabled() {
+        return mergeEngine != null;
+    }
+
+    /**
+     * Merges the page with its layout and registers the result as a
+     * candidate.
+     *
+     * @return the template name the candidate can be rendered under
+     */
+    public String addCandidate(String template) {
+        if (!isEnabled()) {
+            throw new IllegalStateException("Precompiled layouts are disabled");
+        }
+        String merged = mergeEngine.process(template, new Context(Locale.UK));
+        precompiledLayoutTemplateResolver.addCandidate(template, merged);
+        templateEngine.clearTemplateCacheFor(CANDIDATE_PREFIX + template);
+        return CANDIDATE_PREFIX + template;
+    }
+
+    /**
+     * Serves the candidate in place of the page from now on.
+     */
+    public void activate(String template) {
+        if (precompiledLayoutTemplateResolver.activate(template)) {
+            templateEngine.clearTemplateCacheFor(template);
+            templateEngine.clearTemplateCacheFor(CANDIDATE_PREFIX + template);
+        }
+    }
+
+    /**
+     * Drops the candidate, leaving the page decorated by the layout dialect.
+     */
+    public void discard(String template) {
+        precompiledLayoutTemplateResolver.removeCandidate(template);
+        templateEngine.clearTemplateCacheFor(CANDIDATE_PREFIX + template);
+    }
+
+    private static TemplateEngine createMergeEngine(TemplateEngine templateEngine,
+            PrecompiledLayoutTemplateResolver precompiledLayoutTemplateResolver) {
+        LayoutDialect layoutDialect = null;
+        for (IDialect dialect : templateEngine.getDialects()) {
+            if (dialect instanceof LayoutDialect configured) {
+                layoutDialect = configured;
+            }
+        }
+        if (layoutDialect == null) {
+            return null;
+        }
+
+        Set<ITemplateResolver> templateResolvers = new LinkedHashSet<>(templateEngine.getTemplateResolvers());
+        templateResolvers.remove(precompiledLayoutTemplateResolver);
+
+        TemplateEngine mergeEngine = new TemplateEngine();
+        mergeEngine.setTemplateResolvers(templateResolvers);
+        mergeEngine.setDialects(Set.of(new LayoutMergeDialect(), layoutDialect));
+        mergeEngine.setCacheManager(null);
+        return mergeEngine;
+    }
+}
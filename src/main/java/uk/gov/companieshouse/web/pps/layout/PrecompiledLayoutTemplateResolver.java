@@ -0,0 +1,77 @@
+package uk.gov.companieshouse.web.pps.layout;
+
+import org.springframework.stereotype.Component;
+import org.thymeleaf.IEngineConfiguration;
+import org.thymeleaf.cache.AlwaysValidCacheEntryValidity;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ITemplateResolver;
+import org.thymeleaf.templateresolver.TemplateResolution;
+import org.thymeleaf.templateresource.StringTemplateResource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves pages whose layout has been merged in ahead of time by
+ * {@link LayoutPrecompiler}. It is ordered before the default classpath
+ * resolver and returns nothing for any other template, so those are resolved
+ * as before.
+ * <p>
+ * Merged pages are first registered as candidates, under
+ * {@link #CANDIDATE_PREFIX} plus the page name, and only replace the page
+ * itself once activated.
+ */
+@Component
+public class PrecompiledLayoutTemplateResolver implements ITemplateResolver {
+
+    public static final String CANDIDATE_PREFIX = "precompiled-layout:";
+
+    static final int ORDER = 0;
+
+    private final Map<String, String> candidates = new ConcurrentHashMap<>();
+    private final Map<String, String> active = new ConcurrentHashMap<>();
+
+    @Override
+    public String getName() {
+        return PrecompiledLayoutTemplateResolver.class.getSimpleName();
+    }
+
+    @Override
+    public Integer getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public TemplateResolution resolveTemplate(IEngineConfiguration configuration, String ownerTemplate,
+            String template, Map<String, Object> templateResolutionAttributes) {
+        String source = template.startsWith(CANDIDATE_PREFIX)
+                ? candidates.get(template.substring(CANDIDATE_PREFIX.length()))
+                : active.get(template);
+        if (source == null) {
+            return null;
+        }
+        return new TemplateResolution(new StringTemplateResource(source), true, TemplateMode.HTML, false,
+                AlwaysValidCacheEntryValidity.INSTANCE);
+    }
+
+    public boolean isActive(String template) {
+        return active.containsKey(template);
+    }
+
+    void addCandidate(String template, String source) {
+        candidates.put(template, source);
+    }
+
+    boolean activate(String template) {
+        String source = candidates.remove(template);
+        if (source == null) {
+            return false;
+        }
+        active.put(template, source);
+        return true;
+    }
+
+    void removeCandidate(String template) {
+        candidates.remove(template);
+    }
+}
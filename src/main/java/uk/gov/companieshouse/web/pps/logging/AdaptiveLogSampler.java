@@ -0,0 +1,117 @@
+package uk.gov.companieshouse.web.pps.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.web.pps.config.RequestLoggingConfigurationProperties;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides which requests have their log lines written, so that log volume
+ * stays near {@code request-logging.sampled-requests-per-second} however
+ * busy the service is.
+ * <p>
+ * Requests are counted in one second windows. At the end of each window the
+ * request rate is smoothed into a running estimate and the sample rate is
+ * set to the target divided by that estimate, capped at one, so below the
+ * target every request is logged. Each sampled request carries the rate it
+ * was sampled at so that counts can be re-weighted downstream.
+ * <p>
+ * The current rate is published as {@code request.logging.sample.rate}, and
+ * requests not logged are counted in {@code request.logging.sampled.out}.
+ */
+@Component
+public class AdaptiveLogSampler {
+
+    /** The sample rate given to requests that are always logged. */
+    public static final double ALWAYS = 1.0;
+
+    /** The sample rate given to requests that are not logged. */
+    public static final double NEVER = 0.0;
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final double SMOOTHING = 0.5;
+
+    private final boolean enabled;
+    private final double targetPerSecond;
+    private final LongSupplier nanoTime;
+    private final DoubleSupplier random;
+    private final AtomicLong windowStart;
+    private final LongAdder windowCount = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private volatile double estimatedPerSecond = -1;
+    private volatile double rate = ALWAYS;
+
+    @Autowired
+    public AdaptiveLogSampler(RequestLoggingConfigurationProperties requestLoggingConfigurationProperties,
+            MeterRegistry meterRegistry) {
+        this(requestLoggingConfigurationProperties, meterRegistry, System::nanoTime,
+                () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    AdaptiveLogSampler(RequestLoggingConfigurationProperties requestLoggingConfigurationProperties,
+            MeterRegistry meterRegistry, LongSupplier nanoTime, DoubleSupplier random) {
+        this.enabled = requestLoggingConfigurationProperties.isSamplingEnabled();
+        this.targetPerSecond = Math.max(1, requestLoggingConfigurationProperties.getSampledRequestsPerSecond());
+        this.nanoTime = nanoTime;
+        this.random = random;
+        this.windowStart = new AtomicLong(nanoTime.getAsLong());
+
+        Gauge.builder("request.logging.sample.rate", this, AdaptiveLogSampler::getRate)
+                .description("The fraction of successful, fast requests whose log lines are written")
+                .register(meterRegistry);
+        FunctionCounter.builder("request.logging.sampled.out", sampledOut, LongAdder::sum)
+                .description("Requests whose log lines were not written because of sampling")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts a request and decides whether it is sampled.
+     *
+     * @return the rate the request was sampled at, or {@link #NEVER} if it is not to be logged
+     */
+    public double sample() {
+        if (!enabled) {
+            return ALWAYS;
+        }
+        roll();
+        windowCount.increment();
+
+        double current = rate;
+        if (current >= ALWAYS || random.getAsDouble() < current) {
+            return current;
+        }
+        sampledOut.increment();
+        return NEVER;
+    }
+
+    /**
+     * @return the rate requests are currently sampled at
+     */
+    public double getRate() {
+        return enabled ? rate : ALWAYS;
+    }
+
+    private void roll() {
+        long now = nanoTime.getAsLong();
+        long start = windowStart.get();
+        long elapsed = now - start;
+        if (elapsed < WINDOW_NANOS || !windowStart.compareAndSet(start, now)) {
+            return;
+        }
+        double perSecond = windowCount.sumThenReset() * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+        double estimate = estimatedPerSecond < 0
+                ? perSecond
+                : SMOOTHING * perSecond + (1 - SMOOTHING) * estimatedPerSecond;
+        estimatedPerSecond = estimate;
+        rate = estimate <= targetPerSecond ? ALWAYS : targetPerSecond / estimate;
+    }
+}
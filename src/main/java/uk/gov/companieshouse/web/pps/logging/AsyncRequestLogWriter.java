@@ -0,0 +1,197 @@
+package uk.gov.companieshouse.web.pps.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+import uk.gov.companieshouse.web.pps.config.RequestLoggingConfigurationProperties;
+import uk.gov.companieshouse.web.pps.config.RequestLoggingConfigurationProperties.OverflowPolicy;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import static uk.gov.companieshouse.web.pps.PPSWebApplication.APPLICATION_NAME_SPACE;
+
+/**
+ * Writes request log lines from a single background thread, so that
+ * serialising them and writing to stdout is no longer done on the request
+ * thread. Request threads hand events over through a bounded lock-free
+ * {@link RingBuffer}.
+ * <p>
+ * When the buffer is full, {@code request-logging.overflow-policy} decides
+ * whether the event is dropped and counted in {@code request.logging.dropped},
+ * or whether the request thread waits for room. On shutdown the buffer is
+ * drained, for up to {@code request-logging.shutdown-timeout}, before the
+ * writer stops; anything submitted afterwards is written inline.
+ * <p>
+ * When {@code request-logging.async-enabled} is false no writer is started
+ * and callers log synchronously, as they did before.
+ */
+@Component
+public class AsyncRequestLogWriter implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(APPLICATION_NAME_SPACE);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long WAIT_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final OverflowPolicy overflowPolicy;
+    private final Duration shutdownTimeout;
+    private final Consumer<RequestLogEvent> sink;
+    private final RingBuffer<RequestLogEvent> buffer;
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running;
+    private volatile boolean writerIdle;
+
+    @Autowired
+    public AsyncRequestLogWriter(RequestLoggingConfigurationProperties requestLoggingConfigurationProperties,
+            MeterRegistry meterRegistry) {
+        this(requestLoggingConfigurationProperties, meterRegistry,
+                event -> LOGGER.infoContext(event.requestId(), event.message(), event.data()));
+    }
+
+    AsyncRequestLogWriter(RequestLoggingConfigurationProperties requestLoggingConfigurationProperties,
+            MeterRegistry meterRegistry, Consumer<RequestLogEvent> sink) {
+        this.overflowPolicy = requestLoggingConfigurationProperties.getOverflowPolicy();
+        this.shutdownTimeout = requestLoggingConfigurationProperties.getShutdownTimeout();
+        this.sink = sink;
+        this.buffer = new RingBuffer<>(requestLoggingConfigurationProperties.getBufferCapacity());
+
+        FunctionCounter.builder("request.logging.dropped", dropped, LongAdder::sum)
+                .description("Request log events discarded because the buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("request.logging.buffer.size", buffer, RingBuffer::size)
+                .description("Request log events waiting to be written")
+                .register(meterRegistry);
+
+        if (requestLoggingConfigurationProperties.isAsyncEnabled()) {
+            this.running = true;
+            this.writer = Thread.ofPlatform().name("request-log-writer").daemon(true).unstarted(this::run);
+            this.writer.start();
+        } else {
+            this.writer = null;
+        }
+    }
+
+    /**
+     * Returns {@code true} while events submitted are written in the background.
+     */
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /**
+     * Queues an event for the writer, applying the overflow policy if the
+     * buffer is full. Once the writer has stopped the event is written on the
+     * calling thread.
+     */
+    public void submit(RequestLogEvent event) {
+        if (!running) {
+            write(event);
+            return;
+        }
+        if (!buffer.offer(event)) {
+            if (overflowPolicy == OverflowPolicy.DROP) {
+                dropped.increment();
+                return;
+            }
+            while (!buffer.offer(event)) {
+                if (!running) {
+                    write(event);
+                    return;
+                }
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(WAIT_PARK_NANOS);
+            }
+        }
+        published.incrementAndGet();
+        if (writerIdle) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Waits for every event queued before this call to be written.
+     *
+     * @param timeout the longest to wait
+     * @return {@code true} if the events were written in time
+     */
+    public boolean flush(Duration timeout) {
+        long target = published.get();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (written.get() < target) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            if (writer != null) {
+                LockSupport.unpark(writer);
+            }
+            LockSupport.parkNanos(WAIT_PARK_NANOS);
+        }
+        return true;
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    @Override
+    public void destroy() {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        // Anything the writer did not reach in time, or that raced with shutdown, is written here
+        drain();
+    }
+
+    private void run() {
+        while (running) {
+            if (!drain()) {
+                writerIdle = true;
+                if (running && buffer.isEmpty()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                writerIdle = false;
+            }
+        }
+        drain();
+    }
+
+    private boolean drain() {
+        boolean drained = false;
+        RequestLogEvent event;
+        while ((event = buffer.poll()) != null) {
+            write(event);
+            written.incrementAndGet();
+            drained = true;
+        }
+        return drained;
+    }
+
+    private void write(RequestLogEvent event) {
+        try {
+            sink.accept(event);
+        } catch (RuntimeException ex) {
+            // A bad event must not stop the writer thread
+            LOGGER.error("Unable to write request log event: " + event.message(), ex);
+        }
+    }
+}
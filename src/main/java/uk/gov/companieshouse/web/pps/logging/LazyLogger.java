@@ -0,0 +1,125 @@
+package uk.gov.companieshouse.web.pps.logging;
+
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+import java.util.function.Supplier;
+
+/**
+ * A thin facade over the structured-logging {@link Logger} that only builds
+ * a message when its level is enabled.
+ * <p>
+ * Messages are either a {@link String#format(String, Object...)} pattern
+ * with its arguments, or a {@link Supplier}. The fixed arity overloads avoid
+ * the varargs array, so a disabled call allocates nothing beyond boxing any
+ * primitive arguments outside the {@link Integer} cache. Level checks are
+ * made against the SLF4J logger that the structured logger writes through,
+ * which shares its namespace.
+ */
+public final class LazyLogger {
+
+    private final Logger logger;
+    private final org.slf4j.Logger levelLogger;
+
+    LazyLogger(Logger logger, org.slf4j.Logger levelLogger) {
+        this.logger = logger;
+        this.levelLogger = levelLogger;
+    }
+
+    public static LazyLogger getLogger(String namespace) {
+        return new LazyLogger(LoggerFactory.getLogger(namespace),
+                org.slf4j.LoggerFactory.getLogger(namespace));
+    }
+
+    public boolean isDebugEnabled() {
+        return levelLogger.isDebugEnabled();
+    }
+
+    public boolean isInfoEnabled() {
+        return levelLogger.isInfoEnabled();
+    }
+
+    public void debug(String message) {
+        if (isDebugEnabled()) {
+            logger.debug(message);
+        }
+    }
+
+    public void debug(Supplier<String> message) {
+        if (isDebugEnabled()) {
+            logger.debug(message.get());
+        }
+    }
+
+    public void debug(String format, Object arg) {
+        if (isDebugEnabled()) {
+            logger.debug(String.format(format, arg));
+        }
+    }
+
+    public void debug(String format, Object arg1, Object arg2) {
+        if (isDebugEnabled()) {
+            logger.debug(String.format(format, arg1, arg2));
+        }
+    }
+
+    public void debug(String format, Object arg1, Object arg2, Object arg3) {
+        if (isDebugEnabled()) {
+            logger.debug(String.format(format, arg1, arg2, arg3));
+        }
+    }
+
+    public void debug(String format, Object arg1, Object arg2, Object arg3, Object arg4) {
+        if (isDebugEnabled()) {
+            logger.debug(String.format(format, arg1, arg2, arg3, arg4));
+        }
+    }
+
+    public void debug(String format, Object arg1, Object arg2, Object arg3, Object arg4, Object arg5) {
+        if (isDebugEnabled()) {
+            logger.debug(String.format(format, arg1, arg2, arg3, arg4, arg5));
+        }
+    }
+
+    public void debug(String format, Object... args) {
+        if (isDebugEnabled()) {
+            logger.debug(String.format(format, args));
+        }
+    }
+
+    public void info(String message) {
+        if (isInfoEnabled()) {
+            logger.info(message);
+        }
+    }
+
+    public void info(Supplier<String> message) {
+        if (isInfoEnabled()) {
+            logger.info(message.get());
+        }
+    }
+
+    public void info(String format, Object arg) {
+        if (isInfoEnabled()) {
+            logger.info(String.format(format, arg));
+        }
+    }
+
+    public void info(String format, Object arg1, Object arg2) {
+        if (isInfoEnabled()) {
+            logger.info(String.format(format, arg1, arg2));
+        }
+    }
+
+    public void info(String format, Object arg1, Object arg2, Object arg3) {
+        if (isInfoEnabled()) {
+            logger.info(String.format(format, arg1, arg2, arg3));
+        }
+    }
+
+    public void info(String format, Object... args) {
+        if (isInfoEnabled()) {
+            logger.info(String.format(format, args));
+        }
+    }
+}
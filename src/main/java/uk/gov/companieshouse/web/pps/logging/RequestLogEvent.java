@@ -0,0 +1,15 @@
+package uk.gov.companieshouse.web.pps.logging;
+
+import java.util.Map;
+
+/**
+ * A request log line captured on the request thread, holding everything the
+ * {@link AsyncRequestLogWriter} needs to write it once the request objects
+ * may already have been recycled.
+ *
+ * @param requestId the request id the line is logged against, if any
+ * @param message   the log message
+ * @param data      the structured data logged with the message
+ */
+public record RequestLogEvent(String requestId, String message, Map<String, Object> data) {
+}
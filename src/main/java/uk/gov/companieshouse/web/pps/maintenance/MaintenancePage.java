@@ -0,0 +1,8 @@
+package uk.gov.companieshouse.web.pps.maintenance;
+
+/**
+ * The service unavailable page rendered for one maintenance end time, ready
+ * to be written as it is, with the {@code Retry-After} value to send with it.
+ */
+public record MaintenancePage(String maintenanceEndTime, byte[] body, String contentType, String retryAfter) {
+}
@@ -0,0 +1,65 @@
+package uk.gov.companieshouse.web.pps.maintenance;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Answers every request with the pre-rendered service unavailable page while
+ * the finance system is in planned maintenance, with a 503 and a
+ * {@code Retry-After} of the maintenance end time. Requests for the excluded
+ * paths, such as the healthcheck and static images, and all requests outside
+ * of maintenance, carry on down the filter chain.
+ * <p>
+ * The confirmation page is never answered with the maintenance page: GOV.UK
+ * Pay returns users to it once their payment has been taken, and it only
+ * calls the payable API, not the finance system.
+ */
+public class MaintenancePageFilter extends OncePerRequestFilter {
+
+    private static final PathPattern PAYMENT_RETURN = PathPatternParser.defaultInstance.parse(
+            "/pay-penalty/company/{companyNumber}/penalty/{penaltyRef}/payable/{payableRef}/confirmation");
+
+    private final MaintenancePages maintenancePages;
+    private final List<String> excludedPaths;
+
+    public MaintenancePageFilter(MaintenancePages maintenancePages, List<String> excludedPaths) {
+        this.maintenancePages = maintenancePages;
+        this.excludedPaths = List.copyOf(excludedPaths);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return excludedPaths.stream().anyMatch(path::startsWith)
+                || PAYMENT_RETURN.matches(PathContainer.parsePath(path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        Optional<MaintenancePage> maintenancePage = maintenancePages.current();
+        if (maintenancePage.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        MaintenancePage page = maintenancePage.get();
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, page.retryAfter());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        response.setContentType(page.contentType());
+        response.setContentLength(page.body().length);
+        response.getOutputStream().write(page.body());
+    }
+}
@@ -0,0 +1,152 @@
+package uk.gov.companieshouse.web.pps.maintenance;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+import org.thymeleaf.spring6.view.ThymeleafViewResolver;
+import uk.gov.companieshouse.api.model.financialpenalty.FinanceHealthcheckStatus;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+import uk.gov.companieshouse.web.pps.config.PenaltyConfigurationProperties;
+import uk.gov.companieshouse.web.pps.service.finance.FinanceHealthcheckSnapshot;
+import uk.gov.companieshouse.web.pps.service.finance.impl.FinanceHealthcheckPoller;
+import uk.gov.companieshouse.web.pps.warmup.WarmUpServletRequests;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import static java.util.Locale.UK;
+import static uk.gov.companieshouse.web.pps.PPSWebApplication.APPLICATION_NAME_SPACE;
+import static uk.gov.companieshouse.web.pps.controller.BaseController.BACK_LINK_ATTR;
+import static uk.gov.companieshouse.web.pps.controller.BaseController.HEADER_TEXT_ATTR;
+import static uk.gov.companieshouse.web.pps.controller.BaseController.HEADER_URL_ATTR;
+import static uk.gov.companieshouse.web.pps.controller.BaseController.PHASE_BANNER_ATTR;
+import static uk.gov.companieshouse.web.pps.controller.BaseController.PHASE_BANNER_LINK_ATTR;
+import static uk.gov.companieshouse.web.pps.controller.BaseController.PHASE_BANNER_NEW_CONTENT_ATTR;
+import static uk.gov.companieshouse.web.pps.service.ServiceConstants.DATE_STR;
+import static uk.gov.companieshouse.web.pps.service.ServiceConstants.SERVICE_UNAVAILABLE_VIEW_NAME;
+
+/**
+ * Holds the service unavailable page for the current planned maintenance,
+ * built from the latest {@link FinanceHealthcheckSnapshot}. The page is
+ * rendered once per maintenance end time, with the same model the
+ * controllers give it for a signed out user, and reused until the finance
+ * healthcheck reports a different end time or that maintenance is over.
+ */
+@Component
+public class MaintenancePages {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(APPLICATION_NAME_SPACE);
+
+    private static final String CONTENT_TYPE = "text/html;charset=UTF-8";
+
+    private final FinanceHealthcheckPoller financeHealthcheckPoller;
+    private final ViewResolver viewResolver;
+    private final ApplicationContext applicationContext;
+    private final PenaltyConfigurationProperties penaltyConfigurationProperties;
+    private final MessageSource messageSource;
+    private volatile Rendered rendered;
+
+    @Autowired
+    public MaintenancePages(FinanceHealthcheckPoller financeHealthcheckPoller,
+            ThymeleafViewResolver thymeleafViewResolver, ApplicationContext applicationContext,
+            PenaltyConfigurationProperties penaltyConfigurationProperties, MessageSource messageSource) {
+        this(financeHealthcheckPoller, (ViewResolver) thymeleafViewResolver, applicationContext,
+                penaltyConfigurationProperties, messageSource);
+    }
+
+    MaintenancePages(FinanceHealthcheckPoller financeHealthcheckPoller, ViewResolver viewResolver,
+            ApplicationContext applicationContext, PenaltyConfigurationProperties penaltyConfigurationProperties,
+            MessageSource messageSource) {
+        this.financeHealthcheckPoller = financeHealthcheckPoller;
+        this.viewResolver = viewResolver;
+        this.applicationContext = applicationContext;
+        this.penaltyConfigurationProperties = penaltyConfigurationProperties;
+        this.messageSource = messageSource;
+    }
+
+    /**
+     * Returns the page to serve while the finance system is in planned
+     * maintenance, or empty when it is not, when there is no fresh snapshot
+     * or when the page could not be rendered. In all of those cases requests
+     * are handled as normal.
+     */
+    public Optional<MaintenancePage> current() {
+        Optional<FinanceHealthcheckSnapshot> snapshot = financeHealthcheckPoller.getSnapshot();
+        if (snapshot.isEmpty() || !FinanceHealthcheckStatus.UNHEALTHY_PLANNED_MAINTENANCE.getStatus()
+                .equals(snapshot.get().message())) {
+            return Optional.empty();
+        }
+        String maintenanceEndTime = snapshot.get().maintenanceEndTime();
+        Rendered current = rendered;
+        if (current == null || !Objects.equals(current.maintenanceEndTime(), maintenanceEndTime)) {
+            current = renderFor(maintenanceEndTime);
+        }
+        return Optional.ofNullable(current.page());
+    }
+
+    private synchronized Rendered renderFor(String maintenanceEndTime) {
+        Rendered current = rendered;
+        if (current == null || !Objects.equals(current.maintenanceEndTime(), maintenanceEndTime)) {
+            current = new Rendered(maintenanceEndTime, render(maintenanceEndTime));
+            rendered = current;
+        }
+        return current;
+    }
+
+    private MaintenancePage render(String maintenanceEndTime) {
+        try {
+            if (!(applicationContext instanceof WebApplicationContext webApplicationContext)) {
+                return null;
+            }
+            View view = viewResolver.resolveViewName(SERVICE_UNAVAILABLE_VIEW_NAME, UK);
+            if (view == null) {
+                return null;
+            }
+            StringWriter output = new StringWriter();
+            view.render(model(maintenanceEndTime),
+                    WarmUpServletRequests.request(penaltyConfigurationProperties.getUnscheduledServiceDownPath(),
+                            webApplicationContext.getServletContext(), webApplicationContext),
+                    WarmUpServletRequests.response(new PrintWriter(output)));
+
+            String retryAfter = DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                    OffsetDateTime.parse(maintenanceEndTime).atZoneSameInstant(ZoneOffset.UTC));
+            LOGGER.info(String.format("Rendered maintenance page for planned maintenance ending %s",
+                    maintenanceEndTime));
+            return new MaintenancePage(maintenanceEndTime, output.toString().getBytes(StandardCharsets.UTF_8),
+                    CONTENT_TYPE, retryAfter);
+        } catch (Exception e) {
+            LOGGER.error(String.format("Could not render maintenance page for planned maintenance ending %s",
+                    maintenanceEndTime), e);
+            return null;
+        }
+    }
+
+    private Map<String, Object> model(String maintenanceEndTime) {
+        Map<String, Object> model = new HashMap<>();
+        model.put("templateName", SERVICE_UNAVAILABLE_VIEW_NAME);
+        model.put(DATE_STR, FinanceHealthcheckSnapshot.formatMaintenanceEndTime(maintenanceEndTime));
+        model.put(PHASE_BANNER_ATTR, "Beta");
+        model.put(PHASE_BANNER_NEW_CONTENT_ATTR, "Yes");
+        model.put(PHASE_BANNER_LINK_ATTR, penaltyConfigurationProperties.getSurveyLink());
+        model.put(HEADER_URL_ATTR, penaltyConfigurationProperties.getServiceBannerLink());
+        model.put(HEADER_TEXT_ATTR, messageSource.getMessage("penalty.service.banner.text", null, UK));
+        model.put(BACK_LINK_ATTR, "1");
+        return model;
+    }
+
+    private record Rendered(String maintenanceEndTime, MaintenancePage page) {
+    }
+}
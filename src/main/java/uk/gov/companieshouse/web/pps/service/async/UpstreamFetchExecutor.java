@@ -0,0 +1,121 @@
+package uk.gov.companieshouse.web.pps.service.async;
+
+import io.opentelemetry.context.Context;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import uk.gov.companieshouse.web.pps.config.UpstreamFetchConfigurationProperties;
+import uk.gov.companieshouse.web.pps.exception.ServiceException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs independent upstream API calls for a single page request concurrently on virtual
+ * threads, so the page waits for the slowest call rather than the sum of them. The number
+ * of in-flight calls is capped by {@code upstream-fetch.max-concurrency}.
+ * <p>
+ * When {@code upstream-fetch.parallel-enabled} is false each call runs inline on the
+ * request thread, giving the original sequential behaviour.
+ */
+@Component
+public class UpstreamFetchExecutor implements DisposableBean {
+
+    private final UpstreamFetchConfigurationProperties upstreamFetchConfigurationProperties;
+    private final SimpleAsyncTaskExecutor taskExecutor;
+
+    public UpstreamFetchExecutor(
+            UpstreamFetchConfigurationProperties upstreamFetchConfigurationProperties) {
+        this.upstreamFetchConfigurationProperties = upstreamFetchConfigurationProperties;
+        this.taskExecutor = new SimpleAsyncTaskExecutor("upstream-fetch-");
+        this.taskExecutor.setVirtualThreads(true);
+        this.taskExecutor.setConcurrencyLimit(upstreamFetchConfigurationProperties.getMaxConcurrency());
+        this.taskExecutor.setTaskDecorator(UpstreamFetchExecutor::propagateRequestContext);
+    }
+
+    /**
+     * Returns the time by which every call started for the current request must complete.
+     */
+    public Instant deadline() {
+        return Instant.now().plus(upstreamFetchConfigurationProperties.getTimeout());
+    }
+
+    public <T> Future<T> submit(ServiceCall<T> call) {
+        if (!upstreamFetchConfigurationProperties.isParallelEnabled()) {
+            try {
+                return CompletableFuture.completedFuture(call.call());
+            } catch (ServiceException ex) {
+                return CompletableFuture.failedFuture(ex);
+            }
+        }
+        return taskExecutor.submit(call::call);
+    }
+
+    /**
+     * Waits for the call to complete, rethrowing its {@link ServiceException} or runtime
+     * exception. The call is cancelled if it has not completed by the deadline.
+     */
+    public <T> T join(Future<T> future, Instant deadline) throws ServiceException {
+        long remainingNanos = Math.max(0, Duration.between(Instant.now(), deadline).toNanos());
+        try {
+            return future.get(remainingNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof ServiceException serviceException) {
+                throw serviceException;
+            }
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ServiceException("Upstream call failed", ex.getCause());
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            throw new ServiceException("Upstream call did not complete before the request deadline", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new ServiceException("Interrupted waiting for upstream call", ex);
+        }
+    }
+
+    /**
+     * Discards a call whose result is no longer needed, interrupting it if still running.
+     */
+    public void discard(Future<?> future) {
+        if (!future.isDone()) {
+            future.cancel(true);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        taskExecutor.close();
+    }
+
+    private static Runnable propagateRequestContext(Runnable task) {
+        // The SDK manager reads the request id header from the current request
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        // Spans started by the call are nested under the span that submitted it
+        Runnable tracedTask = Context.current().wrap(task);
+        return () -> {
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            try {
+                tracedTask.run();
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        };
+    }
+
+    @FunctionalInterface
+    public interface ServiceCall<T> {
+
+        T call() throws ServiceException;
+    }
+}
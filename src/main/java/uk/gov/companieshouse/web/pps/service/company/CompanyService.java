@@ -8,4 +8,10 @@ public interface CompanyService {
     String appendToCompanyNumber(String companyNumber);
 
     CompanyProfileApi getCompanyProfile(String companyNumber) throws ServiceException;
+
+    /**
+     * Returns the company name, served from a bounded in-memory cache of company number to
+     * name and only fetching the company profile on a cache miss.
+     */
+    String getCompanyName(String companyNumber) throws ServiceException;
 }
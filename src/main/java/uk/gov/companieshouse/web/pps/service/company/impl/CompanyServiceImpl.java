@@ -5,26 +5,39 @@ import org.springframework.web.util.UriTemplate;
 import uk.gov.companieshouse.api.ApiClient;
 import uk.gov.companieshouse.api.error.ApiErrorResponseException;
 import uk.gov.companieshouse.api.handler.exception.URIValidationException;
+import uk.gov.companieshouse.api.model.ApiResponse;
 import uk.gov.companieshouse.api.model.company.CompanyProfileApi;
-import uk.gov.companieshouse.logging.Logger;
-import uk.gov.companieshouse.logging.LoggerFactory;
 import uk.gov.companieshouse.web.pps.PPSWebApplication;
 import uk.gov.companieshouse.web.pps.api.ApiClientService;
+import uk.gov.companieshouse.web.pps.api.ApiRequestMetrics;
+import uk.gov.companieshouse.web.pps.cache.ExpiringCache;
 import uk.gov.companieshouse.web.pps.exception.ServiceException;
+import uk.gov.companieshouse.web.pps.logging.LazyLogger;
+import uk.gov.companieshouse.web.pps.timing.ServerTimingMetric;
 import uk.gov.companieshouse.web.pps.service.company.CompanyService;
 
+import java.util.Optional;
+
 @Service
 public class CompanyServiceImpl implements CompanyService {
 
     private static final UriTemplate GET_COMPANY_URI =
             new UriTemplate("/company/{companyNumber}");
 
-    protected static final Logger LOGGER = LoggerFactory.getLogger(PPSWebApplication.APPLICATION_NAME_SPACE);
+    private static final String COMPANY_API = "company-api";
+
+    protected static final LazyLogger LOGGER = LazyLogger.getLogger(PPSWebApplication.APPLICATION_NAME_SPACE);
 
     private final ApiClientService apiClientService;
+    private final ExpiringCache<String, String> companyNameCache;
+    private final ApiRequestMetrics apiRequestMetrics;
 
-    public CompanyServiceImpl(ApiClientService apiClientService) {
+    public CompanyServiceImpl(ApiClientService apiClientService,
+            ExpiringCache<String, String> companyNameCache,
+            ApiRequestMetrics apiRequestMetrics) {
         this.apiClientService = apiClientService;
+        this.companyNameCache = companyNameCache;
+        this.apiRequestMetrics = apiRequestMetrics;
     }
 
     @Override
@@ -47,15 +60,32 @@ public class CompanyServiceImpl implements CompanyService {
 
         try {
             String uri = GET_COMPANY_URI.expand(companyNumber).toString();
-            LOGGER.debug(String.format("[%s]: Getting company profile from %s for company number %s", requestId, uri, companyNumber));
-            companyProfileApi = apiClient.company().get(uri).execute().getData();
+            LOGGER.debug("[%s]: Getting company profile from %s for company number %s", requestId, uri, companyNumber);
+            ApiResponse<CompanyProfileApi> apiResponse = apiRequestMetrics.timed(ServerTimingMetric.COMPANY,
+                    COMPANY_API, "GET", GET_COMPANY_URI.toString(),
+                    () -> apiClient.company().get(uri).execute()).call();
+            companyProfileApi = apiResponse.getData();
         } catch (ApiErrorResponseException ex) {
             throw new ServiceException(String.format("[%s]: Error retrieving Company Details", requestId), ex);
         } catch (URIValidationException ex) {
             throw new ServiceException(String.format("[%s]: Invalid URI for Company Details", requestId), ex);
         }
-        LOGGER.debug(String.format("[%s]: Successfully got company profile for company number %s", requestId, companyNumber));
+        LOGGER.debug("[%s]: Successfully got company profile for company number %s", requestId, companyNumber);
 
         return companyProfileApi;
     }
+
+    @Override
+    public String getCompanyName(String companyNumber) throws ServiceException {
+        Optional<String> cachedCompanyName = companyNameCache.get(companyNumber);
+        if (cachedCompanyName.isPresent()) {
+            return cachedCompanyName.get();
+        }
+
+        String companyName = getCompanyProfile(companyNumber).getCompanyName();
+        if (companyName != null) {
+            companyNameCache.put(companyNumber, companyName);
+        }
+        return companyName;
+    }
 }
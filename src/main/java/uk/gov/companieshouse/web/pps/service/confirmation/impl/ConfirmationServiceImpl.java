@@ -9,6 +9,7 @@ import uk.gov.companieshouse.web.pps.config.PenaltyConfigurationProperties;
 import uk.gov.companieshouse.web.pps.exception.ServiceException;
 import uk.gov.companieshouse.web.pps.service.company.CompanyService;
 import uk.gov.companieshouse.web.pps.service.confirmation.ConfirmationService;
+import uk.gov.companieshouse.web.pps.service.payment.PaymentStateTokenService;
 import uk.gov.companieshouse.web.pps.service.penaltypayment.PayablePenaltyService;
 import uk.gov.companieshouse.web.pps.service.response.PPSServiceResponse;
 import uk.gov.companieshouse.web.pps.session.SessionService;
@@ -37,6 +38,7 @@ public class ConfirmationServiceImpl implements ConfirmationService {
     private final PenaltyConfigurationProperties penaltyConfigurationProperties;
     private final CompanyService companyService;
     private final PayablePenaltyService payablePenaltyService;
+    private final PaymentStateTokenService paymentStateTokenService;
 
     static final String REASON_FOR_PENALTY_ATTR = "reasonForPenalty";
     static final String PAYMENT_DATE_ATTR = "paymentDate";
@@ -45,11 +47,13 @@ public class ConfirmationServiceImpl implements ConfirmationService {
     public ConfirmationServiceImpl(SessionService sessionService,
             PenaltyConfigurationProperties penaltyConfigurationProperties,
             CompanyService companyService,
-            PayablePenaltyService payablePenaltyService) {
+            PayablePenaltyService payablePenaltyService,
+            PaymentStateTokenService paymentStateTokenService) {
         this.sessionService = sessionService;
         this.penaltyConfigurationProperties = penaltyConfigurationProperties;
         this.companyService = companyService;
         this.payablePenaltyService = payablePenaltyService;
+        this.paymentStateTokenService = paymentStateTokenService;
     }
 
     @Override
@@ -58,12 +62,16 @@ public class ConfirmationServiceImpl implements ConfirmationService {
 
         PPSServiceResponse serviceResponse = new PPSServiceResponse();
 
-        if (isPaymentStateMissing()) {
-            return getErrorResponse(
-                    "Payment state value is not present in session, Expected: " + paymentState);
+        Optional<String> errorMessage;
+        if (paymentStateTokenService.isEnabled()) {
+            errorMessage = paymentStateTokenService.verify(companyNumber, penaltyRef, payableRef, paymentState);
+        } else {
+            if (isPaymentStateMissing()) {
+                return getErrorResponse(
+                        "Payment state value is not present in session, Expected: " + paymentState);
+            }
+            errorMessage = sessionStateTamperedWith(paymentState);
         }
-
-        Optional<String> errorMessage = sessionStateTamperedWith(paymentState);
         if (errorMessage.isPresent()) {
             return getErrorResponse(errorMessage.get());
         }
@@ -126,12 +134,11 @@ public class ConfirmationServiceImpl implements ConfirmationService {
 
     private Map<String, Object> createModelUpdate(String companyNumber, String penaltyRef,
             TransactionPayableFinancialPenalty payableResourceTransaction) throws ServiceException {
-        var companyProfileApi = companyService.getCompanyProfile(companyNumber);
         Map<String, Object> modelUpdate = new HashMap<>();
         modelUpdate.put(PENALTY_REF_ATTR, penaltyRef);
         modelUpdate.put(PENALTY_REFERENCE_NAME_ATTR,
                 PenaltyUtils.getPenaltyReferenceType(penaltyRef).name());
-        modelUpdate.put(COMPANY_NAME_ATTR, companyProfileApi.getCompanyName());
+        modelUpdate.put(COMPANY_NAME_ATTR, companyService.getCompanyName(companyNumber));
         modelUpdate.put(COMPANY_NUMBER_ATTR, companyNumber);
         modelUpdate.put(REASON_FOR_PENALTY_ATTR, payableResourceTransaction.getReason());
         modelUpdate.put(PAYMENT_DATE_ATTR, PenaltyUtils.getPaymentDateDisplay());
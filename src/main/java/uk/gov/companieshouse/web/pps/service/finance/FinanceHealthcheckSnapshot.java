@@ -0,0 +1,61 @@
+package uk.gov.companieshouse.web.pps.service.finance;
+
+import uk.gov.companieshouse.api.model.financialpenalty.FinanceHealthcheck;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Immutable copy of the last finance system healthcheck result, taken by
+ * {@code FinanceHealthcheckPoller}.
+ */
+public record FinanceHealthcheckSnapshot(String message, String maintenanceEndTime,
+                                         Instant fetchedAt) {
+
+    private static final DateTimeFormatter MAINTENANCE_END_TIME_FORMAT =
+            DateTimeFormatter.ofPattern("h:mm a 'on' EEEE d MMMM yyyy", Locale.UK);
+    private static final ZoneId MAINTENANCE_END_TIME_ZONE = ZoneId.of("Europe/London");
+
+    public FinanceHealthcheckSnapshot {
+        Objects.requireNonNull(fetchedAt, "fetchedAt");
+    }
+
+    public static FinanceHealthcheckSnapshot of(FinanceHealthcheck financeHealthcheck,
+            Instant fetchedAt) {
+        return new FinanceHealthcheckSnapshot(financeHealthcheck.getMessage(),
+                financeHealthcheck.getMaintenanceEndTime(), fetchedAt);
+    }
+
+    public boolean isOlderThan(Duration maxStaleness, Instant now) {
+        return fetchedAt.plus(maxStaleness).isBefore(now);
+    }
+
+    /**
+     * Returns a new {@link FinanceHealthcheck} so callers never share the
+     * mutable API model held by other requests.
+     */
+    public FinanceHealthcheck toFinanceHealthcheck() {
+        FinanceHealthcheck financeHealthcheck = new FinanceHealthcheck();
+        financeHealthcheck.setMessage(message);
+        financeHealthcheck.setMaintenanceEndTime(maintenanceEndTime);
+        return financeHealthcheck;
+    }
+
+    /**
+     * Formats a maintenance end time from the finance healthcheck, an ISO
+     * offset date time, the way the service unavailable page shows it.
+     *
+     * @throws DateTimeParseException if the end time cannot be parsed
+     */
+    public static String formatMaintenanceEndTime(String maintenanceEndTime) {
+        return OffsetDateTime.parse(maintenanceEndTime)
+                .atZoneSameInstant(MAINTENANCE_END_TIME_ZONE)
+                .format(MAINTENANCE_END_TIME_FORMAT);
+    }
+}
@@ -0,0 +1,82 @@
+package uk.gov.companieshouse.web.pps.service.finance.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.api.model.financialpenalty.FinanceHealthcheck;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+import uk.gov.companieshouse.web.pps.PPSWebApplication;
+import uk.gov.companieshouse.web.pps.config.FinanceHealthcheckConfigurationProperties;
+import uk.gov.companieshouse.web.pps.exception.ServiceException;
+import uk.gov.companieshouse.web.pps.service.finance.FinanceHealthcheckSnapshot;
+import uk.gov.companieshouse.web.pps.service.penaltypayment.PenaltyPaymentService;
+
+import java.time.Clock;
+import java.util.Optional;
+
+/**
+ * Polls the finance system healthcheck on a fixed delay and keeps the latest
+ * result in memory, so page requests can read it without calling the API.
+ * A poll that fails is logged here and leaves the last good result in place
+ * until it is older than the max staleness, after which requests call the API
+ * themselves.
+ */
+@Component
+public class FinanceHealthcheckPoller {
+
+    protected static final Logger LOGGER = LoggerFactory
+            .getLogger(PPSWebApplication.APPLICATION_NAME_SPACE);
+
+    private final FinanceHealthcheckConfigurationProperties financeHealthcheckConfigurationProperties;
+    private final PenaltyPaymentService penaltyPaymentService;
+    private final Clock clock;
+
+    private volatile FinanceHealthcheckSnapshot snapshot;
+
+    @Autowired
+    public FinanceHealthcheckPoller(
+            FinanceHealthcheckConfigurationProperties financeHealthcheckConfigurationProperties,
+            PenaltyPaymentService penaltyPaymentService) {
+        this(financeHealthcheckConfigurationProperties, penaltyPaymentService, Clock.systemUTC());
+    }
+
+    FinanceHealthcheckPoller(
+            FinanceHealthcheckConfigurationProperties financeHealthcheckConfigurationProperties,
+            PenaltyPaymentService penaltyPaymentService, Clock clock) {
+        this.financeHealthcheckConfigurationProperties = financeHealthcheckConfigurationProperties;
+        this.penaltyPaymentService = penaltyPaymentService;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${finance-healthcheck.refresh-interval:PT15S}")
+    public void refresh() {
+        if (!financeHealthcheckConfigurationProperties.isSnapshotEnabled()) {
+            return;
+        }
+        try {
+            FinanceHealthcheck financeHealthcheck = penaltyPaymentService.checkFinanceSystemAvailableTime();
+            snapshot = FinanceHealthcheckSnapshot.of(financeHealthcheck, clock.instant());
+            LOGGER.debug("Finance health check snapshot refreshed: " + financeHealthcheck.getMessage());
+        } catch (ServiceException | RuntimeException ex) {
+            // Leave the previous snapshot to age out; requests fall back to calling the API
+            LOGGER.error("Finance health check poll failed: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Returns the latest snapshot, or empty if polling is disabled, has not
+     * completed yet, or the snapshot is older than the configured max staleness.
+     */
+    public Optional<FinanceHealthcheckSnapshot> getSnapshot() {
+        if (!financeHealthcheckConfigurationProperties.isSnapshotEnabled()) {
+            return Optional.empty();
+        }
+        FinanceHealthcheckSnapshot current = snapshot;
+        if (current == null || current.isOlderThan(
+                financeHealthcheckConfigurationProperties.getMaxStaleness(), clock.instant())) {
+            return Optional.empty();
+        }
+        return Optional.of(current);
+    }
+}
@@ -8,15 +8,12 @@ import uk.gov.companieshouse.logging.LoggerFactory;
 import uk.gov.companieshouse.web.pps.PPSWebApplication;
 import uk.gov.companieshouse.web.pps.config.PenaltyConfigurationProperties;
 import uk.gov.companieshouse.web.pps.exception.ServiceException;
+import uk.gov.companieshouse.web.pps.service.finance.FinanceHealthcheckSnapshot;
 import uk.gov.companieshouse.web.pps.service.finance.FinanceServiceHealthCheck;
 import uk.gov.companieshouse.web.pps.service.penaltypayment.PenaltyPaymentService;
 import uk.gov.companieshouse.web.pps.service.response.PPSServiceResponse;
 
-import java.time.OffsetDateTime;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -34,12 +31,15 @@ public class FinanceServiceHealthCheckImpl implements FinanceServiceHealthCheck
 
     private final PenaltyConfigurationProperties penaltyConfigurationProperties;
     private final PenaltyPaymentService penaltyPaymentService;
+    private final FinanceHealthcheckPoller financeHealthcheckPoller;
 
     public FinanceServiceHealthCheckImpl(
             PenaltyConfigurationProperties penaltyConfigurationProperties,
-            PenaltyPaymentService penaltyPaymentService) {
+            PenaltyPaymentService penaltyPaymentService,
+            FinanceHealthcheckPoller financeHealthcheckPoller) {
         this.penaltyConfigurationProperties = penaltyConfigurationProperties;
         this.penaltyPaymentService = penaltyPaymentService;
+        this.financeHealthcheckPoller = financeHealthcheckPoller;
     }
 
     @Override
@@ -48,7 +48,7 @@ public class FinanceServiceHealthCheckImpl implements FinanceServiceHealthCheck
         String redirectPathUnscheduledServiceDown = REDIRECT_URL_PREFIX +
                 penaltyConfigurationProperties.getUnscheduledServiceDownPath();
         try {
-            FinanceHealthcheck financeHealthcheck = penaltyPaymentService.checkFinanceSystemAvailableTime();
+            FinanceHealthcheck financeHealthcheck = getFinanceHealthcheck();
             if (financeHealthcheck.getMessage()
                     .equals(FinanceHealthcheckStatus.HEALTHY.getStatus())) {
                 getHealthy(startId, financeHealthcheck.getMessage()).ifPresent(
@@ -73,7 +73,7 @@ public class FinanceServiceHealthCheckImpl implements FinanceServiceHealthCheck
         PPSServiceResponse serviceResponse = new PPSServiceResponse();
 
         try {
-            FinanceHealthcheck financeHealthcheck = penaltyPaymentService.checkFinanceSystemAvailableTime();
+            FinanceHealthcheck financeHealthcheck = getFinanceHealthcheck();
             if (financeHealthcheck.getMessage()
                     .equals(FinanceHealthcheckStatus.UNHEALTHY_PLANNED_MAINTENANCE.getStatus())) {
                 return getRedirectPath(financeHealthcheck, redirectPathUnscheduledServiceDown);
@@ -87,6 +87,18 @@ public class FinanceServiceHealthCheckImpl implements FinanceServiceHealthCheck
         return serviceResponse;
     }
 
+    /**
+     * Reads the poller's snapshot when it is fresh and only calls the finance
+     * healthcheck API when the snapshot is missing or stale.
+     */
+    private FinanceHealthcheck getFinanceHealthcheck() throws ServiceException {
+        Optional<FinanceHealthcheckSnapshot> snapshot = financeHealthcheckPoller.getSnapshot();
+        if (snapshot.isEmpty()) {
+            return penaltyPaymentService.checkFinanceSystemAvailableTime();
+        }
+        return snapshot.get().toFinanceHealthcheck();
+    }
+
     private Optional<String> getHealthy(Integer startId, String message) {
         LOGGER.debug("Financial health check: " + message);
         if (Objects.nonNull(startId) && startId == 0) {
@@ -116,11 +128,8 @@ public class FinanceServiceHealthCheckImpl implements FinanceServiceHealthCheck
     }
 
     private Optional<String> getParsedDateTime(final String endTime) {
-        DateTimeFormatter inputDateFormat = DateTimeFormatter.ofPattern("h:mm a 'on' EEEE d MMMM yyyy", Locale.UK);
         try {
-            return Optional.of(OffsetDateTime.parse(endTime)
-                    .atZoneSameInstant(ZoneId.of("Europe/London"))
-                    .format(inputDateFormat));
+            return Optional.of(FinanceHealthcheckSnapshot.formatMaintenanceEndTime(endTime));
         } catch (DateTimeParseException ex) {
             LOGGER.error(ex.getMessage(), ex);
             return Optional.empty();
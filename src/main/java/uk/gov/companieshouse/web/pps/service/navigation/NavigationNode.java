@@ -0,0 +1,244 @@
+package uk.gov.companieshouse.web.pps.service.navigation;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.util.UriTemplate;
+import org.springframework.web.util.UriUtils;
+import uk.gov.companieshouse.web.pps.annotation.NextController;
+import uk.gov.companieshouse.web.pps.annotation.PreviousController;
+import uk.gov.companieshouse.web.pps.controller.ConditionalController;
+import uk.gov.companieshouse.web.pps.exception.MissingAnnotationException;
+import uk.gov.companieshouse.web.pps.exception.NavigationException;
+
+/**
+ * An immutable, pre-compiled view of the navigation annotations on a single
+ * controller class. The {@link NextController}, {@link PreviousController}
+ * and {@link RequestMapping} annotations are read once and the request
+ * mappings are parsed into {@link CompiledMapping}s indexed by their path
+ * variable count, so that navigation at request time needs no reflection or
+ * template parsing.
+ * <p>
+ * Missing annotations are recorded rather than rejected so that the
+ * {@link NavigatorService} can raise the same exceptions, at the same point
+ * in the journey, as it did when the annotations were read per request.
+ */
+final class NavigationNode {
+
+    private static final CompiledMapping[] NO_MAPPINGS = new CompiledMapping[0];
+
+    private final Class<?> controllerClass;
+    private final Class<?> nextControllerClass;
+    private final Class<?> previousControllerClass;
+    private final boolean conditional;
+    private final boolean requestMappingPresent;
+    private final CompiledMapping[] mappingsByVariableCount;
+
+    private NavigationNode(Class<?> controllerClass, Class<?> nextControllerClass,
+            Class<?> previousControllerClass, boolean requestMappingPresent,
+            CompiledMapping[] mappingsByVariableCount) {
+        this.controllerClass = controllerClass;
+        this.nextControllerClass = nextControllerClass;
+        this.previousControllerClass = previousControllerClass;
+        this.conditional = ConditionalController.class.isAssignableFrom(controllerClass);
+        this.requestMappingPresent = requestMappingPresent;
+        this.mappingsByVariableCount = mappingsByVariableCount;
+    }
+
+    /**
+     * Reads the navigation annotations from {@code clazz} and compiles its
+     * request mappings. Where several mappings share a path variable count
+     * the first one declared wins, matching the order in which they were
+     * previously scanned.
+     *
+     * @param clazz the controller class to compile
+     * @return the compiled node
+     */
+    static NavigationNode compile(Class<?> clazz) {
+        NextController next = AnnotationUtils.findAnnotation(clazz, NextController.class);
+        PreviousController previous = AnnotationUtils.findAnnotation(clazz, PreviousController.class);
+        RequestMapping requestMapping = AnnotationUtils.findAnnotation(clazz, RequestMapping.class);
+
+        CompiledMapping[] mappings = NO_MAPPINGS;
+        if (requestMapping != null) {
+            for (String mapping : requestMapping.value()) {
+                CompiledMapping compiled = CompiledMapping.compile(mapping);
+                int variableCount = compiled.variableCount();
+                if (variableCount >= mappings.length) {
+                    CompiledMapping[] grown = new CompiledMapping[variableCount + 1];
+                    System.arraycopy(mappings, 0, grown, 0, mappings.length);
+                    mappings = grown;
+                }
+                if (mappings[variableCount] == null) {
+                    mappings[variableCount] = compiled;
+                }
+            }
+        }
+
+        return new NavigationNode(clazz,
+                next == null ? null : next.value(),
+                previous == null ? null : previous.value(),
+                requestMapping != null,
+                mappings);
+    }
+
+    Class<?> getControllerClass() {
+        return controllerClass;
+    }
+
+    boolean isConditional() {
+        return conditional;
+    }
+
+    /**
+     * Checks that this controller can be navigated to.
+     *
+     * @throws MissingAnnotationException if the controller has no {@link RequestMapping}, or one without a value
+     */
+    void requireMapping() {
+        if (!requestMappingPresent) {
+            throw new MissingAnnotationException("Missing @RequestMapping annotation on " + controllerClass);
+        }
+        if (mappingsByVariableCount.length == 0) {
+            throw new MissingAnnotationException("Missing @RequestMapping value on " + controllerClass);
+        }
+    }
+
+    /**
+     * Returns the class of the controller adjacent to this one in the given
+     * direction.
+     *
+     * @param direction the direction to follow
+     * @return the next or previous controller class
+     * @throws MissingAnnotationException if the relevant annotation is absent
+     */
+    Class<?> getAdjacentControllerClass(NavigatorService.Direction direction) {
+        if (direction == NavigatorService.Direction.FORWARD) {
+            if (nextControllerClass == null) {
+                throw new MissingAnnotationException("Missing @NextController annotation on " + controllerClass);
+            }
+            return nextControllerClass;
+        }
+        if (previousControllerClass == null) {
+            throw new MissingAnnotationException("Missing @PreviousController annotation on " + controllerClass);
+        }
+        return previousControllerClass;
+    }
+
+    /**
+     * Returns {@code true} if this controller declares an adjacent controller
+     * in the given direction.
+     */
+    boolean hasAdjacentControllerClass(NavigatorService.Direction direction) {
+        return direction == NavigatorService.Direction.FORWARD
+                ? nextControllerClass != null
+                : previousControllerClass != null;
+    }
+
+    /**
+     * Expands the mapping whose path variable count matches the number of
+     * {@code pathVars} supplied.
+     *
+     * @param pathVars the path variables, in template order
+     * @return the expanded, encoded path
+     * @throws MissingAnnotationException if the controller has no usable {@link RequestMapping}
+     * @throws NavigationException if no mapping takes that many path variables
+     */
+    String expand(String... pathVars) {
+        requireMapping();
+        if (pathVars.length >= mappingsByVariableCount.length
+                || mappingsByVariableCount[pathVars.length] == null) {
+            throw new NavigationException("No mapping found that matches the number of path variables provided");
+        }
+        return mappingsByVariableCount[pathVars.length].expand(pathVars);
+    }
+
+    /**
+     * A {@link RequestMapping} path split into its literal segments once, so
+     * that expansion is a single {@link StringBuilder} pass. The output is the
+     * same as {@link UriTemplate#expand(Object...)}: literals and variable
+     * values are path-encoded, and {@code null} values expand to an empty
+     * string.
+     */
+    static final class CompiledMapping {
+
+        private final String[] literals;
+        private final int literalLength;
+
+        private CompiledMapping(String[] literals) {
+            this.literals = literals;
+            int length = 0;
+            for (String literal : literals) {
+                length += literal.length();
+            }
+            this.literalLength = length;
+        }
+
+        static CompiledMapping compile(String mapping) {
+            List<String> literals = new ArrayList<>();
+            StringBuilder literal = new StringBuilder();
+            int depth = 0;
+            for (int i = 0; i < mapping.length(); i++) {
+                char c = mapping.charAt(i);
+                if (c == '{') {
+                    if (depth == 0) {
+                        literals.add(UriUtils.encodePath(literal.toString(), UTF_8));
+                        literal.setLength(0);
+                    }
+                    depth++;
+                } else if (c == '}' && depth > 0) {
+                    depth--;
+                } else if (depth == 0) {
+                    literal.append(c);
+                }
+            }
+            literals.add(UriUtils.encodePath(literal.toString(), UTF_8));
+
+            CompiledMapping compiled = new CompiledMapping(literals.toArray(new String[0]));
+            int expected = new UriTemplate(mapping).getVariableNames().size();
+            if (compiled.variableCount() != expected) {
+                throw new NavigationException("Unable to compile @RequestMapping path " + mapping);
+            }
+            return compiled;
+        }
+
+        int variableCount() {
+            return literals.length - 1;
+        }
+
+        String expand(String... pathVars) {
+            int length = literalLength;
+            for (String pathVar : pathVars) {
+                length += pathVar == null ? 0 : pathVar.length();
+            }
+            StringBuilder builder = new StringBuilder(length);
+            builder.append(literals[0]);
+            for (int i = 0; i < pathVars.length; i++) {
+                appendEncoded(builder, pathVars[i]);
+                builder.append(literals[i + 1]);
+            }
+            return builder.toString();
+        }
+
+        private static void appendEncoded(StringBuilder builder, String value) {
+            if (value == null) {
+                return;
+            }
+            for (int i = 0; i < value.length(); i++) {
+                if (!isUnreserved(value.charAt(i))) {
+                    builder.append(UriUtils.encodePath(value, UTF_8));
+                    return;
+                }
+            }
+            builder.append(value);
+        }
+
+        private static boolean isUnreserved(char c) {
+            return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '.' || c == '_' || c == '~';
+        }
+    }
+}
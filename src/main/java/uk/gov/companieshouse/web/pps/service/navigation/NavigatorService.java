@@ -1,11 +1,17 @@
 package uk.gov.companieshouse.web.pps.service.navigation;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.context.ApplicationContext;
-import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.stereotype.Controller;
 import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.servlet.view.UrlBasedViewResolver;
-import org.springframework.web.util.UriTemplate;
 import uk.gov.companieshouse.web.pps.annotation.NextController;
 import uk.gov.companieshouse.web.pps.annotation.PreviousController;
 import uk.gov.companieshouse.web.pps.controller.ConditionalController;
@@ -17,86 +23,101 @@ import uk.gov.companieshouse.web.pps.exception.ServiceException;
  * The {@code NavigatorService} class provides support methods for handling
  * navigation between controllers and for generating redirects or retrieving
  * controller @{link RequestMapping} paths.
+ * <p>
+ * Once all singletons are instantiated the navigation annotations on every
+ * {@link Controller} bean are compiled into an immutable graph of
+ * {@link NavigationNode}s and each declared chain is validated, so that a
+ * broken journey fails at startup rather than on the first request. Classes
+ * outside that graph are compiled on first use and memoised.
  *
  * @see NextController
  * @see PreviousController
  */
 @Service
-public class NavigatorService {
+public class NavigatorService implements SmartInitializingSingleton {
 
     private final ApplicationContext applicationContext;
 
     private static final int EXPECTED_PATH_VAR_COUNT = 3;
 
+    private volatile Map<Class<?>, NavigationNode> navigationGraph = Map.of();
+
+    private final Map<Class<?>, NavigationNode> lateCompiledNodes = new ConcurrentHashMap<>();
+
     public NavigatorService(ApplicationContext applicationContext) {
         this.applicationContext = applicationContext;
     }
 
     /**
-     * Searches the controller chain for the next or previous controller in the
-     * web journey. The controller search begins at the controller {@code clazz}
-     * in the chain and the scan will be performed in the direction specified.
+     * Compiles the navigation graph from the {@link Controller} beans in the
+     * application context and validates every chain they declare.
      *
-     * @param clazz     the controller class in the chain to begin the scan at
-     * @param direction the direction to follow when scanning the controller chain
-     * @return the next or previous controller class in the chain dependent on {@code direction}
+     * @throws MissingAnnotationException if a controller in a chain has no usable {@link RequestMapping}
+     * @throws NavigationException if a chain of conditional controllers loops back on itself
      */
-    private Class<?> getControllerClass(Class<?> clazz, Direction direction) {
-
-        Class<?> controllerClass;
+    @Override
+    public void afterSingletonsInstantiated() {
+        Map<Class<?>, NavigationNode> graph = new HashMap<>();
+        for (String beanName : applicationContext.getBeanNamesForAnnotation(Controller.class)) {
+            Class<?> beanType = applicationContext.getType(beanName);
+            if (beanType != null) {
+                Class<?> controllerClass = ClassUtils.getUserClass(beanType);
+                graph.put(controllerClass, NavigationNode.compile(controllerClass));
+            }
+        }
 
-        if (direction == Direction.FORWARD) {
-            controllerClass = getNextControllerClass(clazz);
-        } else {
-            controllerClass = getPreviousControllerClass(clazz);
+        for (NavigationNode node : Map.copyOf(graph).values()) {
+            for (Direction direction : Direction.values()) {
+                if (node.hasAdjacentControllerClass(direction)) {
+                    validateChain(graph, node, direction);
+                }
+            }
         }
 
-        return controllerClass;
+        navigationGraph = Map.copyOf(graph);
     }
 
     /**
-     * Returns the class of the next controller in the chain that follows
-     * the controller class {@code clazz}.
-     *
-     * @param clazz the controller class in the chain to begin the scan at
-     * @return the next controller class in the chain
+     * Walks the chain from {@code node} in {@code direction} through every
+     * conditional controller that could be skipped, checking that each
+     * controller that may be navigated to has a usable {@link RequestMapping}.
      */
-    private Class<?> getNextControllerClass(Class<?> clazz) {
-        NextController nextControllerAnnotation = AnnotationUtils.findAnnotation(clazz, NextController.class);
-        if (nextControllerAnnotation == null) {
-            throw new MissingAnnotationException("Missing @NextController annotation on " + clazz);
+    private void validateChain(Map<Class<?>, NavigationNode> graph, NavigationNode node, Direction direction) {
+        Set<Class<?>> visited = new HashSet<>();
+        NavigationNode target = graph.computeIfAbsent(node.getAdjacentControllerClass(direction), NavigationNode::compile);
+
+        while (true) {
+            target.requireMapping();
+            if (!target.isConditional() || !target.hasAdjacentControllerClass(direction)) {
+                return;
+            }
+            if (!visited.add(target.getControllerClass())) {
+                throw new NavigationException("Conditional controller chain starting at "
+                        + node.getControllerClass() + " loops back on " + target.getControllerClass());
+            }
+            target = graph.computeIfAbsent(target.getAdjacentControllerClass(direction), NavigationNode::compile);
         }
+    }
 
-        Class<?> classFound = nextControllerAnnotation.value();
-
-        if (classFound == null) {
-            throw new NavigationException("getNextControllerClass: No next controller to navigate to " + clazz);
+    private NavigationNode getNode(Class<?> clazz) {
+        NavigationNode node = navigationGraph.get(clazz);
+        if (node == null) {
+            node = lateCompiledNodes.computeIfAbsent(clazz, NavigationNode::compile);
         }
-
-        return classFound;
+        return node;
     }
 
     /**
-     * Returns the class of the previous controller in the chain that precedes
-     * the controller class {@code clazz}.
+     * Searches the controller chain for the next or previous controller in the
+     * web journey. The controller search begins at the controller {@code clazz}
+     * in the chain and the scan will be performed in the direction specified.
      *
-     * @param clazz the controller class in the chain to begin the scan at
-     * @return the previous controller class in the chain
+     * @param clazz     the controller class in the chain to begin the scan at
+     * @param direction the direction to follow when scanning the controller chain
+     * @return the next or previous controller class in the chain dependent on {@code direction}
      */
-    private Class<?> getPreviousControllerClass(Class<?> clazz) {
-        PreviousController previousControllerAnnotation = AnnotationUtils
-                .findAnnotation(clazz, PreviousController.class);
-        if (previousControllerAnnotation == null) {
-            throw new MissingAnnotationException("Missing @PreviousController annotation on " + clazz);
-        }
-
-        Class<?> classValue = previousControllerAnnotation.value();
-
-        if (classValue == null) {
-            throw new NavigationException("getPreviousControllerClass: No previous controller to navigate to " + clazz);
-        }
-
-        return classValue;
+    private Class<?> getControllerClass(Class<?> clazz, Direction direction) {
+        return getNode(clazz).getAdjacentControllerClass(direction);
     }
 
     /**
@@ -162,27 +183,7 @@ public class NavigatorService {
 
         Class<?> nextControllerClass = findControllerClass(clazz, Direction.FORWARD, pathVars);
 
-        RequestMapping requestMappingAnnotation = AnnotationUtils
-                .findAnnotation(nextControllerClass, RequestMapping.class);
-        if (requestMappingAnnotation == null) {
-            throw new MissingAnnotationException("Missing @RequestMapping annotation on " + nextControllerClass);
-        }
-
-        String[] mappings = requestMappingAnnotation.value();
-
-        if (mappings.length == 0) {
-            throw new MissingAnnotationException("Missing @RequestMapping value on " + nextControllerClass);
-        }
-
-        for (String mapping : mappings) {
-            UriTemplate mappingTemplate = new UriTemplate(mapping);
-
-            if (pathVars.length == mappingTemplate.getVariableNames().size()) {
-                return UrlBasedViewResolver.REDIRECT_URL_PREFIX + mappingTemplate.expand((Object[]) pathVars);
-            }
-        }
-
-        throw new NavigationException("No mapping found that matches the number of path variables provided");
+        return UrlBasedViewResolver.REDIRECT_URL_PREFIX + getNode(nextControllerClass).expand(pathVars);
     }
 
     /**
@@ -200,27 +201,7 @@ public class NavigatorService {
 
         Class<?> previousControllerClass = findControllerClass(clazz, Direction.BACKWARD, pathVars);
 
-        RequestMapping requestMappingAnnotation = AnnotationUtils
-                .findAnnotation(previousControllerClass, RequestMapping.class);
-        if (requestMappingAnnotation == null) {
-            throw new MissingAnnotationException("Missing @RequestMapping annotation on " + previousControllerClass);
-        }
-
-        String[] mappings = requestMappingAnnotation.value();
-
-        if (mappings.length == 0) {
-            throw new MissingAnnotationException("Missing @RequestMapping value on " + previousControllerClass);
-        }
-
-        for (String mapping : mappings) {
-            UriTemplate mappingTemplate = new UriTemplate(mapping);
-
-            if (pathVars.length == mappingTemplate.getVariableNames().size()) {
-                return mappingTemplate.expand((Object[]) pathVars).toString();
-            }
-        }
-
-        throw new NavigationException("No mapping found that matches the number of path variables provided");
+        return getNode(previousControllerClass).expand(pathVars);
     }
 
     /**
@@ -233,7 +214,7 @@ public class NavigatorService {
         return ConditionalController.class.isAssignableFrom(clazz);
     }
 
-    private enum Direction {
+    enum Direction {
         FORWARD,
         BACKWARD
     }
@@ -0,0 +1,32 @@
+package uk.gov.companieshouse.web.pps.service.payment;
+
+import java.util.Optional;
+
+/**
+ * Issues and verifies signed payment state tokens, which let the payment
+ * state sent to GOV.UK Pay be checked on return without keeping it in the
+ * session.
+ */
+public interface PaymentStateTokenService {
+
+    /**
+     * Whether payment state is carried in a signed token rather than in the
+     * session.
+     */
+    boolean isEnabled();
+
+    /**
+     * Issues a payment state token bound to the given penalty payment.
+     */
+    String issue(String companyNumber, String penaltyRef, String payableRef);
+
+    /**
+     * Verifies a payment state token returned from GOV.UK Pay. A token can
+     * only be verified once.
+     *
+     * @return a message describing why the token was rejected, or empty if it
+     * is valid
+     */
+    Optional<String> verify(String companyNumber, String penaltyRef, String payableRef,
+            String paymentState);
+}
@@ -13,9 +13,14 @@ import uk.gov.companieshouse.logging.Logger;
 import uk.gov.companieshouse.logging.LoggerFactory;
 import uk.gov.companieshouse.web.pps.PPSWebApplication;
 import uk.gov.companieshouse.web.pps.api.ApiClientService;
+import uk.gov.companieshouse.web.pps.api.ApiRequestMetrics;
+import uk.gov.companieshouse.web.pps.circuitbreaker.CircuitBreaker;
+import uk.gov.companieshouse.web.pps.circuitbreaker.CircuitBreakerRegistry;
 import uk.gov.companieshouse.web.pps.exception.ServiceException;
 import uk.gov.companieshouse.web.pps.service.payment.PaymentService;
+import uk.gov.companieshouse.web.pps.service.payment.PaymentStateTokenService;
 import uk.gov.companieshouse.web.pps.session.SessionService;
+import uk.gov.companieshouse.web.pps.timing.ServerTimingMetric;
 
 import java.util.Arrays;
 import java.util.UUID;
@@ -29,6 +34,12 @@ public class PaymentServiceImpl implements PaymentService {
 
     private final SessionService sessionService;
 
+    private final PaymentStateTokenService paymentStateTokenService;
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final ApiRequestMetrics apiRequestMetrics;
+
     private final String chsUrl;
 
     private final String apiUrl;
@@ -46,9 +57,14 @@ public class PaymentServiceImpl implements PaymentService {
     protected static final Logger LOGGER = LoggerFactory
             .getLogger(PPSWebApplication.APPLICATION_NAME_SPACE);
 
-    public PaymentServiceImpl(ApiClientService apiClientService, SessionService sessionService, EnvironmentReader environmentReader) {
+    public PaymentServiceImpl(ApiClientService apiClientService, SessionService sessionService,
+            PaymentStateTokenService paymentStateTokenService, EnvironmentReader environmentReader,
+            CircuitBreakerRegistry circuitBreakerRegistry, ApiRequestMetrics apiRequestMetrics) {
         this.apiClientService = apiClientService;
         this.sessionService = sessionService;
+        this.paymentStateTokenService = paymentStateTokenService;
+        this.circuitBreaker = circuitBreakerRegistry.get(CircuitBreakerRegistry.PAYMENTS_API);
+        this.apiRequestMetrics = apiRequestMetrics;
         this.chsUrl = environmentReader.getMandatoryString(CHS_URL);
         this.apiUrl = environmentReader.getMandatoryString(API_URL);
     }
@@ -62,7 +78,10 @@ public class PaymentServiceImpl implements PaymentService {
 
         ApiClient apiClient = apiClientService.getPublicApiClient();
         String requestId = apiClient.getHttpClient().getRequestId();
-        String paymentState = UUID.randomUUID().toString();
+        String paymentState = paymentStateTokenService.isEnabled()
+                ? paymentStateTokenService.issue(companyNumber, penaltyRef,
+                        payableFinancialPenaltySession.getPayableRef())
+                : UUID.randomUUID().toString();
 
         PaymentSessionApi paymentSessionApi = new PaymentSessionApi();
         String redirectUrl = chsUrl
@@ -86,11 +105,15 @@ public class PaymentServiceImpl implements PaymentService {
         try {
             LOGGER.debug(String.format("[%s]: Sending request to API to create payment session for company number %s amd penalty ref %s",
                     requestId, companyNumber, penaltyRef));
-            ApiResponse<PaymentApi> apiResponse = apiClient.payment().create(PAYMENT_URL, paymentSessionApi).execute();
+            ApiResponse<PaymentApi> apiResponse = circuitBreaker.execute(apiRequestMetrics.timed(ServerTimingMetric.PAYMENT_SESSION,
+                    CircuitBreakerRegistry.PAYMENTS_API, "POST", PAYMENT_URL,
+                    () -> apiClient.payment().create(PAYMENT_URL, paymentSessionApi).execute()));
             LOGGER.debug(String.format("[%s]: Successfully created payment session for company number %s and penalty ref %s",
                     requestId, companyNumber, penaltyRef));
 
-            setPaymentStateOnSession(paymentState);
+            if (!paymentStateTokenService.isEnabled()) {
+                setPaymentStateOnSession(paymentState);
+            }
 
             return apiResponse.getData().getLinks().get(JOURNEY_LINK);
         } catch (ApiErrorResponseException e) {
@@ -0,0 +1,134 @@
+package uk.gov.companieshouse.web.pps.service.payment.impl;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import uk.gov.companieshouse.web.pps.cache.ExpiringCache;
+import uk.gov.companieshouse.web.pps.config.PaymentStateConfigurationProperties;
+import uk.gov.companieshouse.web.pps.service.payment.PaymentStateTokenService;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Payment state tokens take the form {@code expiresAt.nonce.signature}, where
+ * the signature is an HMAC-SHA256 over the company number, penalty reference,
+ * payable reference, expiry and nonce. Those references are not carried in
+ * the token: they come from the confirmation URL, so a token issued for one
+ * penalty payment does not verify against another.
+ * <p>
+ * Verified nonces are remembered until the tokens carrying them expire, so a
+ * token cannot be replayed to this instance. The set of nonces is bounded and
+ * held in memory.
+ */
+@Service
+public class PaymentStateTokenServiceImpl implements PaymentStateTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SIGNING_KEY_BYTES = 32;
+    private static final int NONCE_BYTES = 16;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final boolean enabled;
+    private final SecretKeySpec signingKey;
+    private final Duration timeToLive;
+    private final ExpiringCache<String, Instant> usedNonces;
+    private final Clock clock;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Autowired
+    public PaymentStateTokenServiceImpl(PaymentStateConfigurationProperties paymentStateConfigurationProperties,
+            ExpiringCache<String, Instant> paymentStateNoncesCache) {
+        this(paymentStateConfigurationProperties, paymentStateNoncesCache, Clock.systemUTC());
+    }
+
+    PaymentStateTokenServiceImpl(PaymentStateConfigurationProperties paymentStateConfigurationProperties,
+            ExpiringCache<String, Instant> paymentStateNoncesCache, Clock clock) {
+        this.enabled = paymentStateConfigurationProperties.isSignedTokenEnabled();
+        this.timeToLive = paymentStateConfigurationProperties.getTimeToLive();
+        this.usedNonces = paymentStateNoncesCache;
+        this.clock = clock;
+
+        byte[] key = Objects.toString(paymentStateConfigurationProperties.getSigningKey(), "")
+                .getBytes(StandardCharsets.UTF_8);
+        if (enabled && key.length < MIN_SIGNING_KEY_BYTES) {
+            throw new IllegalStateException("payment-state.signing-key must be at least "
+                    + MIN_SIGNING_KEY_BYTES + " bytes when signed payment state tokens are enabled");
+        }
+        this.signingKey = key.length == 0 ? null : new SecretKeySpec(key, ALGORITHM);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public String issue(String companyNumber, String penaltyRef, String payableRef) {
+        byte[] nonce = new byte[NONCE_BYTES];
+        secureRandom.nextBytes(nonce);
+        String expiresAt = Long.toString(clock.instant().plus(timeToLive).getEpochSecond());
+        String encodedNonce = ENCODER.encodeToString(nonce);
+        byte[] signature = sign(companyNumber, penaltyRef, payableRef, expiresAt, encodedNonce);
+        return expiresAt + "." + encodedNonce + "." + ENCODER.encodeToString(signature);
+    }
+
+    @Override
+    public Optional<String> verify(String companyNumber, String penaltyRef, String payableRef,
+            String paymentState) {
+        String[] parts = Objects.toString(paymentState, "").split("\\.", -1);
+        if (parts.length != 3 || !StringUtils.isNumeric(parts[0]) || parts[1].isEmpty()) {
+            return Optional.of("Payment state is not a valid token, possible tampering of payment state "
+                    + "Received: " + paymentState);
+        }
+
+        byte[] signature;
+        try {
+            signature = DECODER.decode(parts[2]);
+        } catch (IllegalArgumentException e) {
+            signature = new byte[0];
+        }
+        byte[] expected = sign(companyNumber, penaltyRef, payableRef, parts[0], parts[1]);
+        if (!MessageDigest.isEqual(expected, signature)) {
+            return Optional.of("Payment state signature is not as expected, possible tampering of payment state "
+                    + "Received: " + paymentState);
+        }
+
+        Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(parts[0]));
+        if (clock.instant().isAfter(expiresAt)) {
+            return Optional.of("Payment state expired at " + expiresAt + ", Received: " + paymentState);
+        }
+
+        if (!usedNonces.putIfAbsent(parts[1], expiresAt)) {
+            return Optional.of("Payment state has already been used, possible replay of payment state "
+                    + "Received: " + paymentState);
+        }
+        return Optional.empty();
+    }
+
+    private byte[] sign(String companyNumber, String penaltyRef, String payableRef, String expiresAt,
+            String nonce) {
+        if (signingKey == null) {
+            throw new IllegalStateException("No payment-state.signing-key is configured");
+        }
+        String payload = String.join("\n", companyNumber, penaltyRef, payableRef, expiresAt, nonce);
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(signingKey);
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign payment state", e);
+        }
+    }
+}
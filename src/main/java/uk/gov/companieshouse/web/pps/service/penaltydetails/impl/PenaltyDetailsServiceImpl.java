@@ -5,11 +5,10 @@ import org.springframework.context.MessageSource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.view.UrlBasedViewResolver;
 import uk.gov.companieshouse.api.model.financialpenalty.FinancialPenalty;
-import uk.gov.companieshouse.logging.Logger;
-import uk.gov.companieshouse.logging.LoggerFactory;
 import uk.gov.companieshouse.web.pps.PPSWebApplication;
 import uk.gov.companieshouse.web.pps.config.PenaltyConfigurationProperties;
 import uk.gov.companieshouse.web.pps.exception.ServiceException;
+import uk.gov.companieshouse.web.pps.logging.LazyLogger;
 import uk.gov.companieshouse.web.pps.models.EnterDetails;
 import uk.gov.companieshouse.web.pps.service.company.CompanyService;
 import uk.gov.companieshouse.web.pps.service.finance.FinanceServiceHealthCheck;
@@ -18,13 +17,14 @@ import uk.gov.companieshouse.web.pps.service.penaltydetails.PenaltyDetailsServic
 import uk.gov.companieshouse.web.pps.service.penaltypayment.PenaltyPaymentService;
 import uk.gov.companieshouse.web.pps.service.response.PPSServiceResponse;
 import uk.gov.companieshouse.web.pps.util.FeatureFlagChecker;
+import uk.gov.companieshouse.web.pps.util.PenaltyLedger;
 import uk.gov.companieshouse.web.pps.util.PenaltyReference;
-import uk.gov.companieshouse.web.pps.util.PenaltyUtils;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static java.lang.Boolean.FALSE;
 import static java.lang.Boolean.TRUE;
@@ -42,7 +42,7 @@ import static uk.gov.companieshouse.web.pps.util.PenaltyReference.SANCTIONS;
 @Service
 public class PenaltyDetailsServiceImpl implements PenaltyDetailsService {
 
-    protected static final Logger LOGGER = LoggerFactory.getLogger(
+    protected static final LazyLogger LOGGER = LazyLogger.getLogger(
             PPSWebApplication.APPLICATION_NAME_SPACE);
     private static final String ONLINE_PAYMENT_UNAVAILABLE = "/online-payment-unavailable";
     private static final String PAYABLE_PENALTY = "Payable penalty ";
@@ -134,63 +134,60 @@ public class PenaltyDetailsServiceImpl implements PenaltyDetailsService {
 
     private Optional<String> getPostDetailsRedirectPath(List<FinancialPenalty> penaltyAndCosts,
             String companyNumber, String penaltyRef, Class<?> clazz) {
-        if (PenaltyUtils.penaltyTypeDisabled(penaltyAndCosts, penaltyRef)) {
-            String msg = String.format("Online payment unavailable for penalty type, company number %s and penalty reference: %s", companyNumber, penaltyRef);
-            return logAndGetRedirectUrl(msg, ONLINE_PAYMENT_UNAVAILABLE, companyNumber, penaltyRef);
+        PenaltyLedger ledger = PenaltyLedger.of(penaltyAndCosts);
+        if (ledger.isPenaltyDisabled(penaltyRef)) {
+            return logAndGetRedirectUrl(() -> String.format(
+                    "Online payment unavailable for penalty type, company number %s and penalty reference: %s",
+                    companyNumber, penaltyRef), ONLINE_PAYMENT_UNAVAILABLE, companyNumber, penaltyRef);
         }
 
-        var payablePenalties = penaltyAndCosts.stream()
-                .filter(financialPenalty -> penaltyRef.equals(financialPenalty.getId()))
-                .toList();
+        var payablePenalties = ledger.getItemsWithId(penaltyRef);
         if (payablePenalties.isEmpty()) {
-            String msg = String.format(
+            return logAndGetRedirectUrl(() -> String.format(
                     "No payable penalties for company number %s and penalty ref %s", companyNumber,
-                    penaltyRef);
-            return logAndGetRedirectUrl(msg, null, companyNumber, penaltyRef);
+                    penaltyRef), null, companyNumber, penaltyRef);
         }
 
         var payablePenalty = payablePenalties.getFirst();
 
         if (CLOSED_INSTALMENT_PLAN == payablePenalty.getPayableStatus()) {
-            String msg = PAYABLE_PENALTY + payablePenalty.getId() + " is closed with instalment plan";
-            return logAndGetRedirectUrl(msg, INSTALMENT_PLAN, companyNumber, penaltyRef);
+            return logAndGetRedirectUrl(
+                    () -> PAYABLE_PENALTY + payablePenalty.getId() + " is closed with instalment plan",
+                    INSTALMENT_PLAN, companyNumber, penaltyRef);
         }
-        if (penaltyAndCosts.size() > 1) {
-            String msg = String.format(
+        if (ledger.size() > 1) {
+            return logAndGetRedirectUrl(() -> String.format(
                     "Online payment unavailable as there is not a single payable penalty. "
                             + "There are %s penalty and costs for company number %s and penalty reference: %s",
-                    penaltyAndCosts.size(), companyNumber, penaltyRef);
-            return logAndGetRedirectUrl(msg, ONLINE_PAYMENT_UNAVAILABLE, companyNumber, penaltyRef);
+                    ledger.size(), companyNumber, penaltyRef), ONLINE_PAYMENT_UNAVAILABLE, companyNumber, penaltyRef);
         }
 
         if (CLOSED_PENDING_ALLOCATION == payablePenalty.getPayableStatus()) {
-            String msg = PAYABLE_PENALTY + payablePenalty.getId() + " is closed pending allocation";
-            return logAndGetRedirectUrl(msg, PENALTY_PAYMENT_IN_PROGRESS, companyNumber,
-                    penaltyRef);
+            return logAndGetRedirectUrl(
+                    () -> PAYABLE_PENALTY + payablePenalty.getId() + " is closed pending allocation",
+                    PENALTY_PAYMENT_IN_PROGRESS, companyNumber, penaltyRef);
         }
         if (TRUE.equals(payablePenalty.getPaid())) {
-            String msg = PAYABLE_PENALTY + payablePenalty.getId() + " is paid";
-            return logAndGetRedirectUrl(msg, PENALTY_PAID, companyNumber, penaltyRef);
+            return logAndGetRedirectUrl(() -> PAYABLE_PENALTY + payablePenalty.getId() + " is paid",
+                    PENALTY_PAID, companyNumber, penaltyRef);
         }
         if (TRUE.equals(payablePenalty.getDca())) {
-            String msg = PAYABLE_PENALTY + payablePenalty.getId() + " is with DCA";
-            return logAndGetRedirectUrl(msg, PENALTY_IN_DCA, companyNumber, penaltyRef);
+            return logAndGetRedirectUrl(() -> PAYABLE_PENALTY + payablePenalty.getId() + " is with DCA",
+                    PENALTY_IN_DCA, companyNumber, penaltyRef);
         }
         if (CLOSED == payablePenalty.getPayableStatus()
                 || !payablePenalty.getOriginalAmount().equals(payablePenalty.getOutstanding())) {
-            String msg = String.format(
+            return logAndGetRedirectUrl(() -> String.format(
                     "Payable penalty %s payable status is %s, type is %s, original amount is %s, outstanding amount is %s",
                     payablePenalty.getId(), payablePenalty.getPayableStatus(),
                     payablePenalty.getType(),
                     payablePenalty.getOriginalAmount().toString(),
-                    payablePenalty.getOutstanding().toString());
-            return logAndGetRedirectUrl(msg, ONLINE_PAYMENT_UNAVAILABLE, companyNumber, penaltyRef);
+                    payablePenalty.getOutstanding().toString()), ONLINE_PAYMENT_UNAVAILABLE, companyNumber, penaltyRef);
         }
 
-        LOGGER.debug(
-                String.format("Penalty %s is payable, payableStatus: %s, isPaid: %s, isDca: %s",
-                        penaltyRef, payablePenalty.getPayableStatus(), payablePenalty.getPaid(),
-                        payablePenalty.getDca()));
+        LOGGER.debug("Penalty %s is payable, payableStatus: %s, isPaid: %s, isDca: %s",
+                penaltyRef, payablePenalty.getPayableStatus(), payablePenalty.getPaid(),
+                payablePenalty.getDca());
 
         return Optional.of(
                 navigatorService.getNextControllerRedirect(clazz, companyNumber, penaltyRef));
@@ -214,7 +211,7 @@ public class PenaltyDetailsServiceImpl implements PenaltyDetailsService {
         return attributes;
     }
 
-    private Optional<String> logAndGetRedirectUrl(String msg, String redirectEndPoint,
+    private Optional<String> logAndGetRedirectUrl(Supplier<String> msg, String redirectEndPoint,
             String companyNumber, String penaltyRef) {
         LOGGER.info(msg);
         return StringUtils.isEmpty(redirectEndPoint)
@@ -10,6 +10,13 @@ public interface PenaltyPaymentService {
 
     List<FinancialPenalty> getFinancialPenalties(String companyNumber, String penaltyRef) throws ServiceException;
 
+    /**
+     * Returns the penalty and costs fetched earlier in the journey for this company number and
+     * penalty ref if they are still within the cache TTL, otherwise fetches them from the API.
+     * Must not be used where a payment is about to be taken.
+     */
+    List<FinancialPenalty> getCachedFinancialPenalties(String companyNumber, String penaltyRef) throws ServiceException;
+
     FinanceHealthcheck checkFinanceSystemAvailableTime() throws ServiceException;
 
 }
@@ -0,0 +1,66 @@
+package uk.gov.companieshouse.web.pps.service.penaltypayment.impl;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import uk.gov.companieshouse.api.model.financialpenalty.FinancialPenalties;
+import uk.gov.companieshouse.api.model.financialpenalty.FinancialPenalty;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.lang.Boolean.FALSE;
+
+/**
+ * Reads a {@link FinancialPenalties} response body token by token, binding
+ * one item at a time and keeping only the items that selecting a penalty and
+ * its costs can use: those with the penalty reference as their id, and those
+ * that are unpaid. Everything else is discarded as soon as it is read, so the
+ * heap held per request grows with the matched items rather than the size of
+ * the company's ledger.
+ */
+final class FinancialPenaltiesStreamReader {
+
+    private static final String ITEMS_FIELD = "items";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private FinancialPenaltiesStreamReader() {
+    }
+
+    /**
+     * @param body       the response body, which is closed once read
+     * @param penaltyRef the penalty reference being looked up
+     * @return the items with the penalty reference as their id or that are unpaid, in response order
+     * @throws IOException if the body cannot be read or is not a financial penalties object
+     */
+    static List<FinancialPenalty> readPenaltyOrUnpaidItems(InputStream body, String penaltyRef)
+            throws IOException {
+        List<FinancialPenalty> penaltyOrUnpaidItems = new ArrayList<>();
+
+        try (JsonParser parser = OBJECT_MAPPER.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Financial penalties response is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (ITEMS_FIELD.equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        FinancialPenalty item = OBJECT_MAPPER.readValue(parser, FinancialPenalty.class);
+                        if (penaltyRef.equals(item.getId()) || FALSE.equals(item.getPaid())) {
+                            penaltyOrUnpaidItems.add(item);
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return penaltyOrUnpaidItems;
+    }
+}
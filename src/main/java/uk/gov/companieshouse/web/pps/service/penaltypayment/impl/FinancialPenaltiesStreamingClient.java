@@ -0,0 +1,110 @@
+package uk.gov.companieshouse.web.pps.service.penaltypayment.impl;
+
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpResponseException;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.api.error.ApiErrorResponseException;
+import uk.gov.companieshouse.api.model.financialpenalty.FinancialPenalty;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.web.pps.config.ApiClientConfigurationProperties;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Fetches financial penalties from the API and filters them while the
+ * response is parsed, rather than building the whole {@code FinancialPenalties}
+ * graph through the SDK. Used instead of the SDK when
+ * {@code api-client.streaming-enabled} is set.
+ * <p>
+ * Requests are authenticated with the API key in the same way as the SDK's
+ * public API client. Error responses are raised as
+ * {@link ApiErrorResponseException}s so they are handled, and counted by the
+ * circuit breaker, exactly as SDK errors are.
+ */
+@Component
+public class FinancialPenaltiesStreamingClient {
+
+    private static final String API_URL = "API_URL";
+    private static final String CHS_API_KEY = "CHS_API_KEY";
+    private static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    private final boolean enabled;
+    private final Duration requestTimeout;
+    private final String apiUrl;
+    private final String authorization;
+    private final HttpClient httpClient;
+
+    public FinancialPenaltiesStreamingClient(ApiClientConfigurationProperties apiClientConfigurationProperties,
+            EnvironmentReader environmentReader) {
+        this.enabled = apiClientConfigurationProperties.isStreamingEnabled();
+        this.requestTimeout = apiClientConfigurationProperties.getRequestTimeout();
+        if (enabled) {
+            this.apiUrl = environmentReader.getMandatoryString(API_URL);
+            this.authorization = "Basic " + Base64.getEncoder().encodeToString(
+                    (environmentReader.getMandatoryString(CHS_API_KEY) + ":").getBytes(StandardCharsets.UTF_8));
+            this.httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(requestTimeout)
+                    .build();
+        } else {
+            this.apiUrl = null;
+            this.authorization = null;
+            this.httpClient = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param uri        the financial penalties path, relative to the API URL
+     * @param penaltyRef the penalty reference being looked up
+     * @param requestId  the request id to pass on to the API
+     * @return the items with the penalty reference as their id or that are unpaid
+     * @throws ApiErrorResponseException if the API responds with an error status
+     * @throws UncheckedIOException      if the request cannot be sent or the response cannot be read
+     */
+    public List<FinancialPenalty> getPenaltyOrUnpaidItems(String uri, String penaltyRef, String requestId)
+            throws ApiErrorResponseException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(apiUrl + uri))
+                .timeout(requestTimeout)
+                .header("Authorization", authorization)
+                .header("Accept", "application/json")
+                .GET();
+        if (requestId != null && !requestId.isEmpty()) {
+            request.header(REQUEST_ID_HEADER, requestId);
+        }
+
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request.build(),
+                    HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                if (response.statusCode() >= 400) {
+                    throw new ApiErrorResponseException(
+                            new HttpResponseException.Builder(response.statusCode(), null, new HttpHeaders())
+                                    .setContent(new String(body.readAllBytes(), StandardCharsets.UTF_8)));
+                }
+                return FinancialPenaltiesStreamReader.readPenaltyOrUnpaidItems(body, penaltyRef);
+            }
+        } catch (ApiErrorResponseException ex) {
+            throw ex;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException("Interrupted fetching financial penalties"));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -10,11 +10,14 @@ import uk.gov.companieshouse.api.model.financialpenalty.FinancialPenaltySession;
 import uk.gov.companieshouse.api.model.financialpenalty.PayableFinancialPenalties;
 import uk.gov.companieshouse.api.model.financialpenalty.PayableFinancialPenaltySession;
 import uk.gov.companieshouse.api.model.financialpenalty.Transaction;
-import uk.gov.companieshouse.logging.Logger;
-import uk.gov.companieshouse.logging.LoggerFactory;
 import uk.gov.companieshouse.web.pps.PPSWebApplication;
 import uk.gov.companieshouse.web.pps.api.ApiClientService;
+import uk.gov.companieshouse.web.pps.api.ApiRequestMetrics;
+import uk.gov.companieshouse.web.pps.circuitbreaker.CircuitBreaker;
+import uk.gov.companieshouse.web.pps.circuitbreaker.CircuitBreakerRegistry;
 import uk.gov.companieshouse.web.pps.exception.ServiceException;
+import uk.gov.companieshouse.web.pps.logging.LazyLogger;
+import uk.gov.companieshouse.web.pps.timing.ServerTimingMetric;
 import uk.gov.companieshouse.web.pps.service.penaltypayment.PayablePenaltyService;
 
 import java.util.Collections;
@@ -28,34 +31,42 @@ public class PayablePenaltyServiceImpl implements PayablePenaltyService {
     private static final UriTemplate POST_PAYABLE_URI =
             new UriTemplate("/company/{companyNumber}/penalties/payable");
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(PPSWebApplication.APPLICATION_NAME_SPACE);
+    private static final LazyLogger LOGGER = LazyLogger.getLogger(PPSWebApplication.APPLICATION_NAME_SPACE);
 
     private final ApiClientService apiClientService;
+    private final CircuitBreaker circuitBreaker;
+    private final ApiRequestMetrics apiRequestMetrics;
 
-    public PayablePenaltyServiceImpl(ApiClientService apiClientService) {
+    public PayablePenaltyServiceImpl(ApiClientService apiClientService,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            ApiRequestMetrics apiRequestMetrics) {
         this.apiClientService = apiClientService;
+        this.circuitBreaker = circuitBreakerRegistry.get(CircuitBreakerRegistry.PENALTY_PAYMENT_API);
+        this.apiRequestMetrics = apiRequestMetrics;
     }
 
     @Override
     public PayableFinancialPenalties getPayableFinancialPenalties(String companyNumber, String payableRef) throws ServiceException {
         ApiClient apiClient = apiClientService.getPublicApiClient();
         String requestId = apiClient.getHttpClient().getRequestId();
-        PayableFinancialPenalties payableFinancialPenalties;
+        ApiResponse<PayableFinancialPenalties> apiResponse;
 
         try {
             String uri = GET_PAYABLE_URI.expand(companyNumber, payableRef).toString();
-            LOGGER.debug(String.format("[%s]: Sending request to API [%s] to fetch  payable financial penalties for company number %s and payable ref %s",
-                    requestId, uri, companyNumber, payableRef));
-            payableFinancialPenalties = apiClient.payableFinancialPenalty().get(uri).execute().getData();
+            LOGGER.debug("[%s]: Sending request to API [%s] to fetch  payable financial penalties for company number %s and payable ref %s",
+                    requestId, uri, companyNumber, payableRef);
+            apiResponse = circuitBreaker.execute(apiRequestMetrics.timed(ServerTimingMetric.PAYABLE,
+                    CircuitBreakerRegistry.PENALTY_PAYMENT_API, "GET", GET_PAYABLE_URI.toString(),
+                    () -> apiClient.payableFinancialPenalty().get(uri).execute()));
         } catch (ApiErrorResponseException ex) {
             throw new ServiceException(String.format("[%s]: Error retrieving payable financial penalties from API", requestId), ex);
         } catch (URIValidationException ex) {
             throw new ServiceException(String.format("[%s]: Invalid URI for payable financial penalties", requestId), ex);
         }
-        LOGGER.debug(String.format("[%s]: Successfully fetched payable financial penalties for company number %s and payable ref %s",
-                requestId, companyNumber, payableRef));
+        LOGGER.debug("[%s]: Successfully fetched payable financial penalties for company number %s and payable ref %s",
+                requestId, companyNumber, payableRef);
 
-        return payableFinancialPenalties;
+        return apiResponse.getData();
     }
 
     @Override
@@ -68,16 +79,18 @@ public class PayablePenaltyServiceImpl implements PayablePenaltyService {
         try {
             String uri = POST_PAYABLE_URI.expand(companyNumber, penaltyRef).toString();
             FinancialPenaltySession financialPenaltySession = generateFinancialPenaltySessionData(penaltyRef, amount);
-            LOGGER.debug(String.format("[%s]: Sending request to API [%s] to create payable financial penalty session for company number %s, penalty ref %s and amount %d",
-                    requestId, uri, companyNumber, penaltyRef, amount));
-            apiResponse = apiClient.payableFinancialPenalty().create(uri, financialPenaltySession).execute();
+            LOGGER.debug("[%s]: Sending request to API [%s] to create payable financial penalty session for company number %s, penalty ref %s and amount %d",
+                    requestId, uri, companyNumber, penaltyRef, amount);
+            apiResponse = circuitBreaker.execute(apiRequestMetrics.timed(ServerTimingMetric.PAYABLE_SESSION,
+                    CircuitBreakerRegistry.PENALTY_PAYMENT_API, "POST", POST_PAYABLE_URI.toString(),
+                    () -> apiClient.payableFinancialPenalty().create(uri, financialPenaltySession).execute()));
         } catch (ApiErrorResponseException ex) {
             throw new ServiceException(String.format("[%s]: Error creating payable financial penalty session", requestId), ex);
         } catch (URIValidationException ex) {
             throw new ServiceException(String.format("[%s]: Invalid URI for payable financial penalty", requestId), ex);
         }
-        LOGGER.debug(String.format("[%s]: Successfully created payable financial penalty session for company number %s, penalty ref %s and amount %d",
-                requestId, companyNumber, penaltyRef, amount));
+        LOGGER.debug("[%s]: Successfully created payable financial penalty session for company number %s, penalty ref %s and amount %d",
+                requestId, companyNumber, penaltyRef, amount);
 
         return apiResponse.getData();
     }
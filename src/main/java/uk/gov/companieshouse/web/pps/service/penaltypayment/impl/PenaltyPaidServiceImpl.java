@@ -39,10 +39,9 @@ public class PenaltyPaidServiceImpl implements PenaltyPaidService {
     }
 
     private Map<String, Object> createModelUpdate(String companyNumber, String penaltyRef) throws ServiceException {
-        var companyProfileApi = companyService.getCompanyProfile(companyNumber);
         Map<String, Object> modelUpdate = new HashMap<>();
         modelUpdate.put(PENALTY_REF_ATTR, penaltyRef);
-        modelUpdate.put(COMPANY_NAME_ATTR, companyProfileApi.getCompanyName());
+        modelUpdate.put(COMPANY_NAME_ATTR, companyService.getCompanyName(companyNumber));
         return modelUpdate;
     }
 
@@ -10,21 +10,24 @@ import uk.gov.companieshouse.api.handler.exception.URIValidationException;
 import uk.gov.companieshouse.api.model.financialpenalty.FinanceHealthcheck;
 import uk.gov.companieshouse.api.model.financialpenalty.FinancialPenalties;
 import uk.gov.companieshouse.api.model.financialpenalty.FinancialPenalty;
-import uk.gov.companieshouse.logging.Logger;
-import uk.gov.companieshouse.logging.LoggerFactory;
 import uk.gov.companieshouse.web.pps.PPSWebApplication;
 import uk.gov.companieshouse.web.pps.api.ApiClientService;
+import uk.gov.companieshouse.web.pps.api.ApiRequestMetrics;
+import uk.gov.companieshouse.web.pps.cache.ExpiringCache;
+import uk.gov.companieshouse.web.pps.circuitbreaker.CircuitBreaker;
+import uk.gov.companieshouse.web.pps.circuitbreaker.CircuitBreakerRegistry;
 import uk.gov.companieshouse.web.pps.exception.ServiceException;
+import uk.gov.companieshouse.web.pps.logging.LazyLogger;
+import uk.gov.companieshouse.web.pps.timing.ServerTimingMetric;
 import uk.gov.companieshouse.web.pps.service.penaltypayment.PenaltyPaymentService;
+import uk.gov.companieshouse.web.pps.util.PenaltyLedger;
 import uk.gov.companieshouse.web.pps.util.PenaltyUtils;
 
-import java.util.ArrayList;
+import java.io.UncheckedIOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
-import static java.lang.Boolean.FALSE;
-
 @Service
 public class PenaltyPaymentServiceImpl implements PenaltyPaymentService {
 
@@ -38,69 +41,100 @@ public class PenaltyPaymentServiceImpl implements PenaltyPaymentService {
     public static final String OTHER_TYPE = "other";
 
     private static final String MESSAGE_JSON_OBJECT_KEY = "message";
-    private static final Logger LOGGER = LoggerFactory.getLogger(PPSWebApplication.APPLICATION_NAME_SPACE);
+    private static final LazyLogger LOGGER = LazyLogger.getLogger(PPSWebApplication.APPLICATION_NAME_SPACE);
 
     private final ApiClientService apiClientService;
-
-    public PenaltyPaymentServiceImpl(ApiClientService apiClientService) {
+    private final ExpiringCache<String, List<FinancialPenalty>> financialPenaltiesCache;
+    private final CircuitBreaker circuitBreaker;
+    private final FinancialPenaltiesStreamingClient streamingClient;
+    private final ApiRequestMetrics apiRequestMetrics;
+
+    public PenaltyPaymentServiceImpl(ApiClientService apiClientService,
+            ExpiringCache<String, List<FinancialPenalty>> financialPenaltiesCache,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            FinancialPenaltiesStreamingClient streamingClient,
+            ApiRequestMetrics apiRequestMetrics) {
         this.apiClientService = apiClientService;
+        this.financialPenaltiesCache = financialPenaltiesCache;
+        this.circuitBreaker = circuitBreakerRegistry.get(CircuitBreakerRegistry.PENALTY_PAYMENT_API);
+        this.streamingClient = streamingClient;
+        this.apiRequestMetrics = apiRequestMetrics;
     }
 
     @Override
     public List<FinancialPenalty> getFinancialPenalties(String companyNumber, String penaltyRef) throws ServiceException {
+        List<FinancialPenalty> penaltyAndCosts = List.copyOf(fetchFinancialPenalties(companyNumber, penaltyRef));
+        financialPenaltiesCache.put(getCacheKey(companyNumber, penaltyRef), penaltyAndCosts);
+        return penaltyAndCosts;
+    }
+
+    @Override
+    public List<FinancialPenalty> getCachedFinancialPenalties(String companyNumber, String penaltyRef) throws ServiceException {
+        Optional<List<FinancialPenalty>> cachedPenaltyAndCosts =
+                financialPenaltiesCache.get(getCacheKey(companyNumber, penaltyRef));
+        if (cachedPenaltyAndCosts.isPresent()) {
+            LOGGER.debug("Using cached financial penalties for company number %s and penalty ref %s",
+                    companyNumber, penaltyRef);
+            return cachedPenaltyAndCosts.get();
+        }
+        return getFinancialPenalties(companyNumber, penaltyRef);
+    }
+
+    private String getCacheKey(String companyNumber, String penaltyRef) {
+        return companyNumber + "/" + penaltyRef;
+    }
+
+    private List<FinancialPenalty> fetchFinancialPenalties(String companyNumber, String penaltyRef) throws ServiceException {
         ApiClient apiClient = apiClientService.getPublicApiClient();
         String requestId = apiClient.getHttpClient().getRequestId();
-        FinancialPenalties financialPenalties;
+        List<FinancialPenalty> items;
 
         try {
             String penaltyReferenceType = PenaltyUtils.getPenaltyReferenceType(penaltyRef).name();
             String uri = GET_FINANCIAL_PENALTIES_URI.expand(companyNumber, penaltyReferenceType).toString();
-            LOGGER.debug(String.format("[%s]: Sending request to API [%s] to fetch financial penalties (%s) for company number %s and penalty ref %s",
-                requestId, uri, penaltyReferenceType, companyNumber, penaltyRef));
-            financialPenalties = apiClient.financialPenalty().get(uri).execute().getData();
-        } catch (ApiErrorResponseException ex) {
+            LOGGER.debug("[%s]: Sending request to API [%s] to fetch financial penalties (%s) for company number %s and penalty ref %s",
+                requestId, uri, penaltyReferenceType, companyNumber, penaltyRef);
+            if (streamingClient.isEnabled()) {
+                // Only the penalty's own and unpaid items are kept while the response is parsed
+                items = circuitBreaker.execute(apiRequestMetrics.timed(ServerTimingMetric.PENALTIES,
+                        CircuitBreakerRegistry.PENALTY_PAYMENT_API, "GET", GET_FINANCIAL_PENALTIES_URI.toString(),
+                        () -> streamingClient.getPenaltyOrUnpaidItems(uri, penaltyRef, requestId)));
+            } else {
+                items = getItems(circuitBreaker.execute(apiRequestMetrics.timed(ServerTimingMetric.PENALTIES,
+                        CircuitBreakerRegistry.PENALTY_PAYMENT_API, "GET", GET_FINANCIAL_PENALTIES_URI.toString(),
+                        () -> apiClient.financialPenalty().get(uri).execute())).getData());
+            }
+        } catch (ApiErrorResponseException | UncheckedIOException ex) {
             throw new ServiceException(String.format("[%s]: Error retrieving financial penalties from API", requestId), ex);
         } catch (IllegalArgumentException | URIValidationException ex) {
             throw new ServiceException(String.format("[%s]: Invalid URI for financial penalties", requestId), ex);
         }
 
-        if (financialPenalties.getTotalResults() == 0) {
-            LOGGER.debug(String.format("[%s]: No financial penalties results for company number %s and penalty ref %s",
-                    requestId, companyNumber, penaltyRef));
+        if (items.isEmpty()) {
+            LOGGER.debug("[%s]: No financial penalties results for company number %s and penalty ref %s",
+                    requestId, companyNumber, penaltyRef);
             return Collections.emptyList();
         }
-        LOGGER.debug(String.format("[%s]: Request to fetch financial penalties successful for company number %s and penalty ref %s",
-                requestId, companyNumber, penaltyRef));
-
-        var penaltyOrUnpaidItems = financialPenalties.getItems().stream()
-                .filter(financialPenalty -> penaltyRef.equals(financialPenalty.getId())
-                        || FALSE.equals(financialPenalty.getPaid()))
-                .toList();
-        LOGGER.debug(String.format("[%s]: %d Penalty or unpaid items for company number %s and penalty ref %s",
-                requestId, penaltyOrUnpaidItems.size(), companyNumber, penaltyRef));
-
-        Optional<FinancialPenalty> penaltyOptional = penaltyOrUnpaidItems.stream()
-                .filter(financialPenalty -> penaltyRef.equals(financialPenalty.getId()))
-                .filter(financialPenalty -> PENALTY_TYPE.equals(financialPenalty.getType()))
-                .findFirst();
-
-        if (penaltyOptional.isPresent()) {
-            FinancialPenalty penalty = penaltyOptional.get();
-            var unpaidLegalCosts = penaltyOrUnpaidItems.stream()
-                    .filter(financialPenalty -> OTHER_TYPE.equals(financialPenalty.getType()))
-                    .filter(financialPenalty -> penaltyRef.equals(financialPenalty.getId())
-                            || penalty.getMadeUpDate().equals(financialPenalty.getMadeUpDate()))
-                    .toList();
-
-            var penaltyAndCosts = new ArrayList<FinancialPenalty>();
-            penaltyAndCosts.add(penalty);
-            penaltyAndCosts.addAll(unpaidLegalCosts);
-
-            LOGGER.debug(String.format("[%s]: %d Penalty and costs for company number %s and penalty ref %s",
-                    requestId, penaltyAndCosts.size(), companyNumber, penaltyRef));
-            return penaltyAndCosts;
+        LOGGER.debug("[%s]: Request to fetch financial penalties successful for company number %s and penalty ref %s",
+                requestId, companyNumber, penaltyRef);
+
+        PenaltyLedger ledger = PenaltyLedger.of(items);
+        LOGGER.debug("[%s]: %d Penalty or unpaid items for company number %s and penalty ref %s",
+                requestId, ledger.countPenaltyOrUnpaidItems(penaltyRef), companyNumber, penaltyRef);
+
+        List<FinancialPenalty> penaltyAndCosts = ledger.getPenaltyAndCosts(penaltyRef);
+        if (!penaltyAndCosts.isEmpty()) {
+            LOGGER.debug("[%s]: %d Penalty and costs for company number %s and penalty ref %s",
+                    requestId, penaltyAndCosts.size(), companyNumber, penaltyRef);
+        }
+        return penaltyAndCosts;
+    }
+
+    private List<FinancialPenalty> getItems(FinancialPenalties financialPenalties) {
+        if (financialPenalties.getTotalResults() == 0 || financialPenalties.getItems() == null) {
+            return Collections.emptyList();
         }
-        return Collections.emptyList();
+        return financialPenalties.getItems();
     }
 
     @Override
@@ -111,9 +145,13 @@ public class PenaltyPaymentServiceImpl implements PenaltyPaymentService {
 
         try {
             String uri = FINANCE_HEALTHCHECK_URI.toString();
-            financeHealthcheck = apiClient.financeHealthcheckResourceHandler().get(uri).execute().getData();
+            // A 503 is how the healthcheck reports planned maintenance, not an upstream failure
+            financeHealthcheck = circuitBreaker.execute(apiRequestMetrics.timed(ServerTimingMetric.HEALTH_CHECK,
+                    CircuitBreakerRegistry.PENALTY_PAYMENT_API, "GET", uri,
+                    () -> apiClient.financeHealthcheckResourceHandler().get(uri).execute()),
+                    ex -> ex.getStatusCode() == 503).getData();
         } catch (ApiErrorResponseException ex) {
-            LOGGER.debug(String.format("[%s]: Error status code: %d, Error message: %s", requestId, ex.getStatusCode(), ex.getMessage()));
+            LOGGER.debug("[%s]: Error status code: %d, Error message: %s", requestId, ex.getStatusCode(), ex.getMessage());
             if (ex.getStatusCode() == 503) {
                 // Generate a financeHealthcheck object to return from the exception
 
@@ -1,11 +1,10 @@
 package uk.gov.companieshouse.web.pps.service.signout;
 
 import uk.gov.companieshouse.web.pps.service.response.PPSServiceResponse;
-
-import java.util.Map;
+import uk.gov.companieshouse.web.pps.session.UserContext;
 
 public interface SignOutService {
-    boolean isUserSignedIn(Map<String, Object> sessionData);
+    boolean isUserSignedIn(UserContext userContext);
 
     PPSServiceResponse resolveBackLink(String referrer);
 
@@ -5,11 +5,11 @@ import org.springframework.stereotype.Service;
 import uk.gov.companieshouse.web.pps.config.PenaltyConfigurationProperties;
 import uk.gov.companieshouse.web.pps.service.response.PPSServiceResponse;
 import uk.gov.companieshouse.web.pps.service.signout.SignOutService;
+import uk.gov.companieshouse.web.pps.session.UserContext;
 import uk.gov.companieshouse.web.pps.validation.AllowlistChecker;
 
 import java.util.Map;
 
-import static uk.gov.companieshouse.web.pps.service.ServiceConstants.SIGN_IN_INFO;
 import static uk.gov.companieshouse.web.pps.service.ServiceConstants.URL_PRIOR_SIGN_OUT;
 
 @Service
@@ -25,8 +25,8 @@ public class SignOutServiceImpl implements SignOutService {
     }
 
     @Override
-    public boolean isUserSignedIn(Map<String, Object> sessionData) {
-        return sessionData != null && sessionData.containsKey(SIGN_IN_INFO);
+    public boolean isUserSignedIn(UserContext userContext) {
+        return userContext != null && userContext.signedIn();
     }
 
     @Override
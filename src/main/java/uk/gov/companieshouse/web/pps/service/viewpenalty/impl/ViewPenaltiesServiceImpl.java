@@ -2,14 +2,13 @@ package uk.gov.companieshouse.web.pps.service.viewpenalty.impl;
 
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.view.UrlBasedViewResolver;
-import uk.gov.companieshouse.api.model.company.CompanyProfileApi;
 import uk.gov.companieshouse.api.model.financialpenalty.FinancialPenalty;
 import uk.gov.companieshouse.api.model.financialpenalty.PayableFinancialPenaltySession;
-import uk.gov.companieshouse.logging.Logger;
-import uk.gov.companieshouse.logging.LoggerFactory;
 import uk.gov.companieshouse.web.pps.PPSWebApplication;
 import uk.gov.companieshouse.web.pps.config.PenaltyConfigurationProperties;
 import uk.gov.companieshouse.web.pps.exception.ServiceException;
+import uk.gov.companieshouse.web.pps.logging.LazyLogger;
+import uk.gov.companieshouse.web.pps.service.async.UpstreamFetchExecutor;
 import uk.gov.companieshouse.web.pps.service.company.CompanyService;
 import uk.gov.companieshouse.web.pps.service.finance.FinanceServiceHealthCheck;
 import uk.gov.companieshouse.web.pps.service.payment.PaymentService;
@@ -18,17 +17,19 @@ import uk.gov.companieshouse.web.pps.service.penaltypayment.PenaltyPaymentServic
 import uk.gov.companieshouse.web.pps.service.response.PPSServiceResponse;
 import uk.gov.companieshouse.web.pps.service.viewpenalty.ViewPenaltiesService;
 import uk.gov.companieshouse.web.pps.util.FeatureFlagChecker;
+import uk.gov.companieshouse.web.pps.util.PenaltyLedger;
 import uk.gov.companieshouse.web.pps.util.PenaltyReference;
 import uk.gov.companieshouse.web.pps.util.PenaltyUtils;
 
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Future;
 
 import static java.lang.Boolean.FALSE;
 import static org.springframework.web.servlet.view.UrlBasedViewResolver.REDIRECT_URL_PREFIX;
-import static uk.gov.companieshouse.api.model.financialpenalty.PayableStatus.OPEN;
 import static uk.gov.companieshouse.web.pps.service.ServiceConstants.AMOUNT_ATTR;
 import static uk.gov.companieshouse.web.pps.service.ServiceConstants.BACK_LINK_URL_ATTR;
 import static uk.gov.companieshouse.web.pps.service.ServiceConstants.COMPANY_NAME_ATTR;
@@ -36,13 +37,11 @@ import static uk.gov.companieshouse.web.pps.service.ServiceConstants.PENALTY_REF
 import static uk.gov.companieshouse.web.pps.service.ServiceConstants.PENALTY_REF_ATTR;
 import static uk.gov.companieshouse.web.pps.service.ServiceConstants.REASON_ATTR;
 import static uk.gov.companieshouse.web.pps.service.ServiceConstants.SIGN_OUT_URL_ATTR;
-import static uk.gov.companieshouse.web.pps.service.penaltypayment.impl.PenaltyPaymentServiceImpl.PENALTY_TYPE;
 
 @Service
 public class ViewPenaltiesServiceImpl implements ViewPenaltiesService {
 
-    protected static final Logger LOGGER = LoggerFactory
-            .getLogger(PPSWebApplication.APPLICATION_NAME_SPACE);
+    protected static final LazyLogger LOGGER = LazyLogger.getLogger(PPSWebApplication.APPLICATION_NAME_SPACE);
     private static final String ONLINE_PAYMENT_UNAVAILABLE = "online-payment-unavailable";
 
     private final PayablePenaltyService payablePenaltyService;
@@ -52,6 +51,7 @@ public class ViewPenaltiesServiceImpl implements ViewPenaltiesService {
     private final PenaltyConfigurationProperties penaltyConfigurationProperties;
     private final FeatureFlagChecker featureFlagChecker;
     private final FinanceServiceHealthCheck financeServiceHealthCheck;
+    private final UpstreamFetchExecutor upstreamFetchExecutor;
 
     public ViewPenaltiesServiceImpl(
             PayablePenaltyService payablePenaltyService,
@@ -60,7 +60,8 @@ public class ViewPenaltiesServiceImpl implements ViewPenaltiesService {
             PenaltyPaymentService penaltyPaymentService,
             PenaltyConfigurationProperties penaltyConfigurationProperties,
             FeatureFlagChecker featureFlagChecker,
-            FinanceServiceHealthCheck financeServiceHealthCheck) {
+            FinanceServiceHealthCheck financeServiceHealthCheck,
+            UpstreamFetchExecutor upstreamFetchExecutor) {
 
         this.payablePenaltyService = payablePenaltyService;
         this.paymentService = paymentService;
@@ -69,6 +70,7 @@ public class ViewPenaltiesServiceImpl implements ViewPenaltiesService {
         this.penaltyConfigurationProperties = penaltyConfigurationProperties;
         this.featureFlagChecker = featureFlagChecker;
         this.financeServiceHealthCheck = financeServiceHealthCheck;
+        this.upstreamFetchExecutor = upstreamFetchExecutor;
     }
 
     @Override
@@ -91,42 +93,64 @@ public class ViewPenaltiesServiceImpl implements ViewPenaltiesService {
             }
             setBackUrl(serviceResponse, penaltyReference.get());
 
-            List<FinancialPenalty> penaltyAndCosts = penaltyPaymentService.getFinancialPenalties(
-                    companyNumber, penaltyRef);
-
-            LOGGER.debug(String.format(
-                    "Checking if online payment for penalty %s is available for company number %s",
-                    penaltyRef, companyNumber));
-
-            if (PenaltyUtils.penaltyTypeDisabled(penaltyAndCosts, penaltyRef)) {
-                serviceResponse.setUrl(buildOnlinePaymentUnavailablePath(companyNumber, penaltyRef));
-                return serviceResponse;
+            // Fetch the company name alongside the penalties; it is discarded on a stop screen
+            Instant deadline = upstreamFetchExecutor.deadline();
+            Future<String> companyName = upstreamFetchExecutor.submit(
+                    () -> companyService.getCompanyName(companyNumber));
+            try {
+                // Reuses the penalties fetched by enter details; the POST re-fetches before paying
+                Future<List<FinancialPenalty>> penaltyAndCostsFuture = upstreamFetchExecutor.submit(
+                        () -> penaltyPaymentService.getCachedFinancialPenalties(companyNumber, penaltyRef));
+                List<FinancialPenalty> penaltyAndCosts = upstreamFetchExecutor.join(
+                        penaltyAndCostsFuture, deadline);
+
+                return checkPenaltyAndSetModel(serviceResponse, companyNumber, penaltyRef,
+                        penaltyAndCosts, companyName, deadline);
+            } finally {
+                upstreamFetchExecutor.discard(companyName);
             }
+        }
+        return serviceResponse;
+    }
 
-            // User can only pay for a penalty with no associated legal costs
-            if (isPenaltyRefMultiplePenalty(penaltyAndCosts, companyNumber, penaltyRef)) {
-                return setServiceDownUrl(serviceResponse);
-            }
+    private PPSServiceResponse checkPenaltyAndSetModel(
+            PPSServiceResponse serviceResponse,
+            String companyNumber,
+            String penaltyRef,
+            List<FinancialPenalty> penaltyAndCosts,
+            Future<String> companyName,
+            Instant deadline) throws ServiceException {
+        LOGGER.debug(
+                "Checking if online payment for penalty %s is available for company number %s",
+                penaltyRef, companyNumber);
 
-            Optional<FinancialPenalty> payablePenaltyOptional = getOpenPenalty(penaltyAndCosts,
-                    penaltyRef);
-            if (payablePenaltyOptional.isEmpty()) {
-                loggingPenaltyRefNoOpenPenalty(companyNumber, penaltyRef);
-                return setServiceDownUrl(serviceResponse);
-            }
+        PenaltyLedger ledger = PenaltyLedger.of(penaltyAndCosts);
+        if (ledger.isPenaltyDisabled(penaltyRef)) {
+            serviceResponse.setUrl(buildOnlinePaymentUnavailablePath(companyNumber, penaltyRef));
+            return serviceResponse;
+        }
 
-            FinancialPenalty payablePenalty = payablePenaltyOptional.get();
-            if (!isOutstandingAmountMatch(payablePenalty)) {
-                return setServiceDownUrl(serviceResponse);
-            }
+        // User can only pay for a penalty with no associated legal costs
+        if (isPenaltyRefMultiplePenalty(ledger, companyNumber, penaltyRef)) {
+            return setServiceDownUrl(serviceResponse);
+        }
 
-            setModelForViewPenalties(serviceResponse, companyNumber, penaltyRef, payablePenalty);
+        Optional<FinancialPenalty> payablePenaltyOptional = ledger.getOpenPenalty(penaltyRef);
+        if (payablePenaltyOptional.isEmpty()) {
+            loggingPenaltyRefNoOpenPenalty(companyNumber, penaltyRef);
+            return setServiceDownUrl(serviceResponse);
+        }
 
-            LOGGER.debug(
-                    String.format(
-                            "Online payment for penalty %s is available for company number %s",
-                            penaltyRef, companyNumber));
+        FinancialPenalty payablePenalty = payablePenaltyOptional.get();
+        if (!isOutstandingAmountMatch(payablePenalty)) {
+            return setServiceDownUrl(serviceResponse);
         }
+
+        setModelForViewPenalties(serviceResponse, penaltyRef, payablePenalty,
+                upstreamFetchExecutor.join(companyName, deadline));
+
+        LOGGER.debug("Online payment for penalty %s is available for company number %s",
+                penaltyRef, companyNumber);
         return serviceResponse;
     }
 
@@ -138,29 +162,28 @@ public class ViewPenaltiesServiceImpl implements ViewPenaltiesService {
         List<FinancialPenalty> penaltyAndCosts = penaltyPaymentService.getFinancialPenalties(
                 companyNumber, penaltyRef);
 
-        LOGGER.debug(String.format(
+        LOGGER.debug(
                 "Checking if online payment for penalty %s is available for company number %s",
-                penaltyRef, companyNumber));
+                penaltyRef, companyNumber);
 
-        if (PenaltyUtils.penaltyTypeDisabled(penaltyAndCosts, penaltyRef)) {
+        PenaltyLedger ledger = PenaltyLedger.of(penaltyAndCosts);
+        if (ledger.isPenaltyDisabled(penaltyRef)) {
             return buildOnlinePaymentUnavailablePath(companyNumber, penaltyRef);
         }
 
-        if (isPenaltyRefMultiplePenalty(penaltyAndCosts, companyNumber, penaltyRef)) {
+        if (isPenaltyRefMultiplePenalty(ledger, companyNumber, penaltyRef)) {
             return redirectPathUnscheduledServiceDown;
         }
 
-        Optional<FinancialPenalty> payablePenaltyOptional = getOpenPenalty(penaltyAndCosts,
-                penaltyRef);
+        Optional<FinancialPenalty> payablePenaltyOptional = ledger.getOpenPenalty(penaltyRef);
 
         if (payablePenaltyOptional.isEmpty()) {
             loggingPenaltyRefNoOpenPenalty(companyNumber, penaltyRef);
             return redirectPathUnscheduledServiceDown;
         }
 
-        LOGGER.debug(
-                String.format("Online payment for penalty %s is available for company number %s",
-                        penaltyRef, companyNumber));
+        LOGGER.debug("Online payment for penalty %s is available for company number %s",
+                penaltyRef, companyNumber);
 
         PayableFinancialPenaltySession payableFinancialPenaltySession = payablePenaltyService.createPayableFinancialPenaltySession(
                 companyNumber,
@@ -171,23 +194,13 @@ public class ViewPenaltiesServiceImpl implements ViewPenaltiesService {
                 payableFinancialPenaltySession, companyNumber, penaltyRef) + "?summary=false";
     }
 
-    private Optional<FinancialPenalty> getOpenPenalty(List<FinancialPenalty> penaltyAndCosts,
-            String penaltyRef) {
-        return penaltyAndCosts.stream()
-                .filter(penalty -> penaltyRef.equals(penalty.getId()))
-                .filter(penalty -> OPEN == penalty.getPayableStatus())
-                .filter(penalty -> PENALTY_TYPE.equals(penalty.getType()))
-                .findFirst();
-    }
-
     private void setModelForViewPenalties(
             PPSServiceResponse serviceResponse,
-            String companyNumber,
             String penaltyRef,
-            FinancialPenalty payablePenalty) throws ServiceException {
-        CompanyProfileApi companyProfileApi = companyService.getCompanyProfile(companyNumber);
+            FinancialPenalty payablePenalty,
+            String companyName) {
         Map<String, Object> modelAttributes = new HashMap<>();
-        modelAttributes.put(COMPANY_NAME_ATTR, companyProfileApi.getCompanyName());
+        modelAttributes.put(COMPANY_NAME_ATTR, companyName);
         modelAttributes.put(PENALTY_REF_ATTR, penaltyRef);
         modelAttributes.put(PENALTY_REFERENCE_NAME_ATTR,
                 PenaltyUtils.getPenaltyReferenceType(penaltyRef).name());
@@ -198,13 +211,13 @@ public class ViewPenaltiesServiceImpl implements ViewPenaltiesService {
     }
 
     private boolean isPenaltyRefMultiplePenalty(
-            List<FinancialPenalty> penaltyAndCosts,
+            PenaltyLedger ledger,
             String companyNumber,
             String penaltyRef) {
-        if (penaltyAndCosts.size() > 1) {
-            LOGGER.info(String.format(
+        if (ledger.size() > 1) {
+            LOGGER.info(
                     "Online payment unavailable as there is not a single payable penalty. There are %s penalty and costs for company number %s and penalty ref %s",
-                    penaltyAndCosts.size(), companyNumber, penaltyRef));
+                    ledger.size(), companyNumber, penaltyRef);
             return true;
         }
         return false;
@@ -214,16 +227,16 @@ public class ViewPenaltiesServiceImpl implements ViewPenaltiesService {
             String companyNumber,
             String penaltyRef
     ) {
-        LOGGER.info(String.format(
+        LOGGER.info(
                 "Online payment unavailable as there is no open penalty for company number %s and penalty ref %s",
-                companyNumber, penaltyRef));
+                companyNumber, penaltyRef);
     }
 
     private boolean isOutstandingAmountMatch(FinancialPenalty payablePenalty) {
         if (!payablePenalty.getOriginalAmount().equals(payablePenalty.getOutstanding())) {
-            LOGGER.info(String.format(
+            LOGGER.info(
                     "Penalty %s is not valid for online payment. Online partial payment of penalty is not allowed",
-                    payablePenalty.getId()));
+                    payablePenalty.getId());
             return false;
         }
         return true;
@@ -232,17 +245,15 @@ public class ViewPenaltiesServiceImpl implements ViewPenaltiesService {
     private Optional<PenaltyReference> getPenaltyReference(String penaltyRef, String companyNumber)
             throws IllegalArgumentException {
         PenaltyReference penaltyReference = PenaltyUtils.getPenaltyReferenceType(penaltyRef);
-        LOGGER.debug(
-                String.format("Checking if penalty ref type %s is enabled for company number %s",
-                        penaltyReference.name(), companyNumber));
+        LOGGER.debug("Checking if penalty ref type %s is enabled for company number %s",
+                penaltyReference.name(), companyNumber);
         if (FALSE.equals(featureFlagChecker.isPenaltyRefEnabled(penaltyReference))) {
-            LOGGER.debug(
-                    String.format("Penalty reference type %s not enabled for company number %s",
-                            penaltyReference.name(), companyNumber));
+            LOGGER.debug("Penalty reference type %s not enabled for company number %s",
+                    penaltyReference.name(), companyNumber);
             return Optional.empty();
         }
-        LOGGER.debug(String.format("Penalty ref type %s is enabled for company number %s",
-                penaltyReference.name(), companyNumber));
+        LOGGER.debug("Penalty ref type %s is enabled for company number %s",
+                penaltyReference.name(), companyNumber);
         return Optional.of(penaltyReference);
     }
 
@@ -0,0 +1,80 @@
+package uk.gov.companieshouse.web.pps.session;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A view of the session data for one request that records whether anything
+ * in it really changed. Reads and changes go straight through to the session
+ * data, so the session filter stores every change made during the request.
+ * <p>
+ * A put of the value already held, or a remove of a key that is not there,
+ * is not a change. Changes must be made through {@link #put}, {@link #remove}
+ * or {@link #clear}: the entry, key and value views are read only, and
+ * changes made inside nested values are not seen.
+ */
+public class DirtyTrackingSessionData extends AbstractMap<String, Object> {
+
+    private final Map<String, Object> sessionData;
+    private boolean dirty;
+
+    public DirtyTrackingSessionData(Map<String, Object> sessionData) {
+        this.sessionData = Objects.requireNonNull(sessionData, "sessionData");
+    }
+
+    /**
+     * Returns whether the session data has changed since it was loaded.
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    @Override
+    public Object get(Object key) {
+        return sessionData.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return sessionData.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return sessionData.size();
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        if (sessionData.containsKey(key) && Objects.equals(sessionData.get(key), value)) {
+            return value;
+        }
+        dirty = true;
+        return sessionData.put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (!sessionData.containsKey(key)) {
+            return null;
+        }
+        dirty = true;
+        return sessionData.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        if (!sessionData.isEmpty()) {
+            dirty = true;
+            sessionData.clear();
+        }
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return Collections.unmodifiableMap(sessionData).entrySet();
+    }
+}
@@ -0,0 +1,16 @@
+package uk.gov.companieshouse.web.pps.session;
+
+/**
+ * Whether a request changed its session data.
+ */
+public enum SessionChange {
+
+    /** The request did not load the session data. */
+    NOT_LOADED,
+
+    /** The session data was loaded but not changed. */
+    UNCHANGED,
+
+    /** The session data was changed. */
+    CHANGED
+}
@@ -15,4 +15,26 @@ public interface SessionService {
      * @return a map of session data
      */
     Map<String, Object> getSessionDataFromContext();
+
+    /**
+     * Returns the signed in user for the current session. Implementations
+     * resolve this once per request, so it can be asked for freely by
+     * controllers, interceptors and services alike.
+     *
+     * @return the user context for the current session
+     */
+    default UserContext getUserContext() {
+        return UserContext.fromSessionData(getSessionDataFromContext());
+    }
+
+    /**
+     * Returns whether the current request changed its session data.
+     * Implementations that hand out the session's own data do not track
+     * changes.
+     *
+     * @return what the current request did to its session data
+     */
+    default SessionChange getSessionChange() {
+        return SessionChange.NOT_LOADED;
+    }
 }
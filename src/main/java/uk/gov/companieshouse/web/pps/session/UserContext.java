@@ -0,0 +1,49 @@
+package uk.gov.companieshouse.web.pps.session;
+
+import java.util.Map;
+
+import static uk.gov.companieshouse.web.pps.service.ServiceConstants.SIGN_IN_INFO;
+
+/**
+ * The signed in user for the current request, read once from the session
+ * data so callers do not have to walk the nested sign in maps themselves.
+ *
+ * @param signedIn whether the session holds sign in info
+ * @param email    the signed in user's email address, or an empty string
+ *                 when there is none
+ */
+public record UserContext(boolean signedIn, String email) {
+
+    public static final UserContext SIGNED_OUT = new UserContext(false, "");
+
+    private static final String USER_PROFILE_KEY = "user_profile";
+    private static final String EMAIL_KEY = "email";
+
+    public UserContext {
+        email = email == null ? "" : email;
+    }
+
+    /**
+     * Reads the user from the {@code signin_info} → {@code user_profile} →
+     * {@code email} entries of the given session data.
+     *
+     * @param sessionData the session data, which may be null
+     * @return the user context for that session data
+     */
+    public static UserContext fromSessionData(Map<String, Object> sessionData) {
+        if (sessionData == null || !sessionData.containsKey(SIGN_IN_INFO)) {
+            return SIGNED_OUT;
+        }
+        String email = null;
+        if (sessionData.get(SIGN_IN_INFO) instanceof Map<?, ?> signInInfo
+                && signInInfo.get(USER_PROFILE_KEY) instanceof Map<?, ?> userProfile
+                && userProfile.get(EMAIL_KEY) != null) {
+            email = userProfile.get(EMAIL_KEY).toString();
+        }
+        return new UserContext(true, email);
+    }
+
+    public boolean hasEmail() {
+        return !email.isEmpty();
+    }
+}
@@ -1,20 +1,94 @@
 package uk.gov.companieshouse.web.pps.session.impl;
 
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import uk.gov.companieshouse.session.handler.SessionHandler;
+import uk.gov.companieshouse.web.pps.session.DirtyTrackingSessionData;
+import uk.gov.companieshouse.web.pps.session.SessionChange;
 import uk.gov.companieshouse.web.pps.session.SessionService;
+import uk.gov.companieshouse.web.pps.session.UserContext;
 
 import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.springframework.web.context.request.RequestAttributes.SCOPE_REQUEST;
 
 @Component
 public class SessionServiceImpl implements SessionService {
 
+    static final String USER_CONTEXT_ATTRIBUTE = UserContext.class.getName();
+    static final String SESSION_DATA_ATTRIBUTE = DirtyTrackingSessionData.class.getName();
+
+    private final Supplier<Map<String, Object>> sessionDataLoader;
+
+    public SessionServiceImpl() {
+        this(SessionHandler::getSessionDataFromContext);
+    }
+
+    SessionServiceImpl(Supplier<Map<String, Object>> sessionDataLoader) {
+        this.sessionDataLoader = sessionDataLoader;
+    }
+
     /**
      * {@inheritDoc}
+     * <p>
+     * Within a request the same {@link DirtyTrackingSessionData} is returned
+     * on every call, so that {@link #getSessionChange()} can tell whether the
+     * request changed it. Outside of a request the session's own data is
+     * returned.
      */
     @Override
     public Map<String, Object> getSessionDataFromContext() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return sessionDataLoader.get();
+        }
+        Object sessionData = requestAttributes.getAttribute(SESSION_DATA_ATTRIBUTE, SCOPE_REQUEST);
+        if (sessionData == null) {
+            Map<String, Object> loaded = sessionDataLoader.get();
+            if (loaded == null) {
+                return null;
+            }
+            sessionData = new DirtyTrackingSessionData(loaded);
+            requestAttributes.setAttribute(SESSION_DATA_ATTRIBUTE, sessionData, SCOPE_REQUEST);
+        }
+        return (DirtyTrackingSessionData) sessionData;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The user context is read from the session data the first time it is
+     * asked for in a request and kept as a request attribute for the rest of
+     * that request. Outside of a request it is read from the session data on
+     * every call.
+     */
+    @Override
+    public UserContext getUserContext() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return UserContext.fromSessionData(getSessionDataFromContext());
+        }
+        UserContext userContext = (UserContext) requestAttributes.getAttribute(USER_CONTEXT_ATTRIBUTE, SCOPE_REQUEST);
+        if (userContext == null) {
+            userContext = UserContext.fromSessionData(getSessionDataFromContext());
+            requestAttributes.setAttribute(USER_CONTEXT_ATTRIBUTE, userContext, SCOPE_REQUEST);
+        }
+        return userContext;
+    }
 
-        return SessionHandler.getSessionDataFromContext();
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SessionChange getSessionChange() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null
+                || !(requestAttributes.getAttribute(SESSION_DATA_ATTRIBUTE, SCOPE_REQUEST)
+                instanceof DirtyTrackingSessionData sessionData)) {
+            return SessionChange.NOT_LOADED;
+        }
+        return sessionData.isDirty() ? SessionChange.CHANGED : SessionChange.UNCHANGED;
     }
 }
@@ -0,0 +1,158 @@
+package uk.gov.companieshouse.web.pps.timing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.springframework.web.context.request.RequestAttributes.SCOPE_REQUEST;
+
+/**
+ * Accumulates the time a single request spends in each {@link ServerTimingMetric}.
+ * <p>
+ * One is kept as a request attribute by the {@link ServerTimingFilter}, and the
+ * service layer adds to it through {@link #record(ServerTimingMetric, long)}, which
+ * does nothing outside of a request or when the filter is disabled. Upstream calls
+ * made concurrently for the same request may add to it from other threads, so the
+ * time for a metric is the total across its calls rather than wall clock time.
+ * <p>
+ * The session is loaded from and stored back to the session store by the
+ * session filter, not by this application, so it is reported as part of the
+ * time spent in the filters before and after the handler.
+ */
+public final class RequestTimings {
+
+    public static final String ATTRIBUTE = RequestTimings.class.getName();
+
+    private static final ServerTimingMetric[] METRICS = ServerTimingMetric.values();
+    private static final long NANOS_PER_TENTH_MILLI = 100_000L;
+    private static final long NOT_REACHED = Long.MIN_VALUE;
+
+    private final AtomicLongArray nanos = new AtomicLongArray(METRICS.length);
+    private final AtomicIntegerArray counts = new AtomicIntegerArray(METRICS.length);
+    private final long startNanos = System.nanoTime();
+    private long handlerStartNanos = NOT_REACHED;
+    private long handlerEndNanos = NOT_REACHED;
+
+    /**
+     * Returns the timings of the current request, if it is being timed.
+     */
+    public static Optional<RequestTimings> current() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null
+                && requestAttributes.getAttribute(ATTRIBUTE, SCOPE_REQUEST) instanceof RequestTimings timings) {
+            return Optional.of(timings);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the timings of the given request, if it is being timed.
+     */
+    public static Optional<RequestTimings> of(HttpServletRequest request) {
+        return request.getAttribute(ATTRIBUTE) instanceof RequestTimings timings
+                ? Optional.of(timings) : Optional.empty();
+    }
+
+    /**
+     * Adds to the time the current request has spent in a metric, if it is being timed.
+     */
+    public static void record(ServerTimingMetric metric, long elapsedNanos) {
+        current().ifPresent(timings -> timings.add(metric, elapsedNanos));
+    }
+
+    public void add(ServerTimingMetric metric, long elapsedNanos) {
+        nanos.addAndGet(metric.ordinal(), elapsedNanos);
+        counts.incrementAndGet(metric.ordinal());
+    }
+
+    /**
+     * Marks the handler as started. Only the first call counts, so that an
+     * error dispatch does not move the mark.
+     */
+    public void handlerStarted() {
+        if (handlerStartNanos == NOT_REACHED) {
+            handlerStartNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Marks the handler, and any error dispatch after it, as completed.
+     */
+    public void handlerCompleted() {
+        handlerEndNanos = System.nanoTime();
+    }
+
+    /**
+     * Adds the time spent in the filters, from when these timings were
+     * created until the handler started and from when it completed until
+     * now, if the request reached a handler.
+     */
+    public void filtersCompleted() {
+        if (handlerStartNanos != NOT_REACHED && handlerEndNanos != NOT_REACHED) {
+            add(ServerTimingMetric.FILTERS,
+                    (handlerStartNanos - startNanos) + (System.nanoTime() - handlerEndNanos));
+        }
+    }
+
+    public long getNanos(ServerTimingMetric metric) {
+        return nanos.get(metric.ordinal());
+    }
+
+    public boolean isEmpty() {
+        for (int i = 0; i < METRICS.length; i++) {
+            if (counts.get(i) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Formats the recorded metrics as a {@code Server-Timing} header value, with
+     * durations in milliseconds.
+     */
+    public String toServerTiming() {
+        StringBuilder serverTiming = new StringBuilder(256);
+        for (ServerTimingMetric metric : METRICS) {
+            if (counts.get(metric.ordinal()) == 0) {
+                continue;
+            }
+            if (!serverTiming.isEmpty()) {
+                serverTiming.append(", ");
+            }
+            serverTiming.append(metric.getMetricName())
+                    .append(";desc=\"").append(metric.getDescription()).append('"')
+                    .append(";dur=");
+            appendMillis(serverTiming, getNanos(metric));
+        }
+        return serverTiming.toString();
+    }
+
+    /**
+     * Returns the recorded metrics by name, with durations in milliseconds.
+     */
+    public Map<String, Double> toMillis() {
+        Map<String, Double> millis = new LinkedHashMap<>();
+        for (ServerTimingMetric metric : METRICS) {
+            if (counts.get(metric.ordinal()) > 0) {
+                millis.put(metric.getMetricName(), tenthsOfMillis(getNanos(metric)) / 10.0);
+            }
+        }
+        return millis;
+    }
+
+    private static void appendMillis(StringBuilder builder, long elapsedNanos) {
+        long tenths = tenthsOfMillis(elapsedNanos);
+        builder.append(tenths / 10).append('.').append(tenths % 10);
+    }
+
+    private static long tenthsOfMillis(long elapsedNanos) {
+        return Math.max(0, elapsedNanos) / NANOS_PER_TENTH_MILLI;
+    }
+}
@@ -0,0 +1,52 @@
+package uk.gov.companieshouse.web.pps.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Times each request into a {@link RequestTimings} and adds its
+ * {@code Server-Timing} header to HTML responses.
+ * <p>
+ * Rendering is timed after the view has written the page, by when a streamed
+ * response would already have been sent, so the body is held until the chain
+ * completes and the header is added before it is written. Responses that are
+ * not HTML, and requests that recorded nothing, are written as they are.
+ * <p>
+ * Every response it filters is buffered, including those that turn out not
+ * to be HTML, and cacheable pages are buffered again while they are captured,
+ * so the filter is off unless {@code server-timing.enabled} is set.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        RequestTimings timings = new RequestTimings();
+        request.setAttribute(RequestTimings.ATTRIBUTE, timings);
+
+        ContentCachingResponseWrapper bufferedResponse = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, bufferedResponse);
+        } finally {
+            timings.filtersCompleted();
+            if (isHtml(bufferedResponse) && !timings.isEmpty() && !response.isCommitted()) {
+                response.setHeader(SERVER_TIMING_HEADER, timings.toServerTiming());
+            }
+            bufferedResponse.copyBodyToResponse();
+        }
+    }
+
+    private static boolean isHtml(HttpServletResponse response) {
+        String contentType = response.getContentType();
+        return contentType != null && contentType.startsWith(MediaType.TEXT_HTML_VALUE);
+    }
+}
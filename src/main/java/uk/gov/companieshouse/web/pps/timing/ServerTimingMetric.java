@@ -0,0 +1,33 @@
+package uk.gov.companieshouse.web.pps.timing;
+
+/**
+ * The parts of a request whose time is reported in its {@code Server-Timing}
+ * header, in the order they are listed.
+ */
+public enum ServerTimingMetric {
+
+    HEALTH_CHECK("health", "Finance health check"),
+    PENALTIES("penalties", "Financial penalties fetch"),
+    COMPANY("company", "Company profile fetch"),
+    PAYABLE("payable", "Payable penalty fetch"),
+    PAYABLE_SESSION("payable-session", "Payable session creation"),
+    PAYMENT_SESSION("payment-session", "Payment session creation"),
+    FILTERS("filters", "Security and session filters"),
+    RENDER("render", "Page rendering");
+
+    private final String metricName;
+    private final String description;
+
+    ServerTimingMetric(String metricName, String description) {
+        this.metricName = metricName;
+        this.description = description;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,149 @@
+package uk.gov.companieshouse.web.pps.tracing;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.servlet.view.UrlBasedViewResolver;
+import uk.gov.companieshouse.web.pps.service.response.PPSServiceResponse;
+import uk.gov.companieshouse.web.pps.util.PenaltyUtils;
+
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.regex.Pattern;
+
+import static uk.gov.companieshouse.web.pps.PPSWebApplication.APPLICATION_NAME_SPACE;
+
+/**
+ * Starts a root span for each controller action, and a span nested under it
+ * for each call to a service implementation made while handling it. Service
+ * calls made outside of a controller action, such as scheduled polling, are
+ * not traced.
+ * <p>
+ * Spans carry the type of the penalty reference the call was made for, never
+ * the reference or company number themselves, and the outcome of the
+ * decision: the journey step redirected to, such as {@code penalty-in-dca},
+ * or, for controller actions only, the view rendered. Services return
+ * values such as company names, payment URLs and state tokens, so their
+ * outcome is only taken from a {@link PPSServiceResponse} redirect.
+ * Exceptions are recorded by type only, as their messages may carry either.
+ */
+@Aspect
+@Component
+public class JourneyTracingAspect {
+
+    static final AttributeKey<String> PENALTY_REFERENCE_TYPE = AttributeKey.stringKey("pps.penalty_reference_type");
+    static final AttributeKey<String> OUTCOME = AttributeKey.stringKey("pps.outcome");
+    static final AttributeKey<String> VIEW = AttributeKey.stringKey("pps.view");
+    static final AttributeKey<String> EXCEPTION_TYPE = AttributeKey.stringKey("exception.type");
+
+    private static final String PENALTY_REF_PARAMETER = "penaltyRef";
+
+    // Journey steps are lower case words, unlike penalty references and company numbers
+    private static final Pattern JOURNEY_STEP = Pattern.compile("[a-z]+(?:-[a-z]+)*");
+
+    private final Tracer tracer;
+
+    public JourneyTracingAspect(OpenTelemetry openTelemetry) {
+        this.tracer = openTelemetry.getTracer(APPLICATION_NAME_SPACE);
+    }
+
+    @Around("within(uk.gov.companieshouse.web.pps.controller.pps..*)"
+            + " && (@annotation(org.springframework.web.bind.annotation.GetMapping)"
+            + " || @annotation(org.springframework.web.bind.annotation.PostMapping))")
+    public Object traceControllerAction(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, SpanKind.SERVER, Context.root(), JourneyTracingAspect::recordControllerOutcome);
+    }
+
+    @Around("within(uk.gov.companieshouse.web.pps.service..impl.*)")
+    public Object traceServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        Context parent = Context.current();
+        if (!Span.fromContext(parent).getSpanContext().isValid()) {
+            return joinPoint.proceed();
+        }
+        return trace(joinPoint, SpanKind.INTERNAL, parent, JourneyTracingAspect::recordServiceOutcome);
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, SpanKind spanKind, Context parent,
+            BiConsumer<Span, Object> outcomeRecorder) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Span span = tracer.spanBuilder(ClassUtils.getUserClass(joinPoint.getTarget()).getSimpleName()
+                        + "." + signature.getName())
+                .setParent(parent)
+                .setSpanKind(spanKind)
+                .startSpan();
+        penaltyReferenceType(signature, joinPoint.getArgs())
+                .ifPresent(type -> span.setAttribute(PENALTY_REFERENCE_TYPE, type));
+
+        try (Scope ignored = span.makeCurrent()) {
+            Object result = joinPoint.proceed();
+            outcomeRecorder.accept(span, result);
+            return result;
+        } catch (Throwable ex) {
+            span.setAttribute(EXCEPTION_TYPE, ex.getClass().getName());
+            span.setStatus(StatusCode.ERROR, ex.getClass().getSimpleName());
+            throw ex;
+        } finally {
+            span.end();
+        }
+    }
+
+    private static Optional<String> penaltyReferenceType(MethodSignature signature, Object[] args) {
+        String[] parameterNames = signature.getParameterNames();
+        if (parameterNames == null) {
+            return Optional.empty();
+        }
+        for (int i = 0; i < parameterNames.length && i < args.length; i++) {
+            if (PENALTY_REF_PARAMETER.equals(parameterNames[i]) && args[i] instanceof String penaltyRef) {
+                try {
+                    return Optional.of(PenaltyUtils.getPenaltyReferenceType(penaltyRef).name());
+                } catch (IllegalArgumentException ex) {
+                    return Optional.empty();
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static void recordControllerOutcome(Span span, Object result) {
+        if (result instanceof String viewName) {
+            if (isRedirect(viewName)) {
+                journeyStep(viewName).ifPresent(step -> span.setAttribute(OUTCOME, step));
+            } else {
+                span.setAttribute(VIEW, viewName);
+            }
+        }
+    }
+
+    private static void recordServiceOutcome(Span span, Object result) {
+        if (result instanceof PPSServiceResponse serviceResponse) {
+            serviceResponse.getUrl().filter(JourneyTracingAspect::isRedirect)
+                    .flatMap(JourneyTracingAspect::journeyStep)
+                    .ifPresent(step -> span.setAttribute(OUTCOME, step));
+        }
+    }
+
+    private static boolean isRedirect(String url) {
+        return url.startsWith(UrlBasedViewResolver.REDIRECT_URL_PREFIX);
+    }
+
+    /**
+     * Returns the last path segment of a redirect, if it names a journey step.
+     */
+    static Optional<String> journeyStep(String url) {
+        int end = url.indexOf('?');
+        String path = end < 0 ? url : url.substring(0, end);
+        String step = path.substring(path.lastIndexOf('/') + 1);
+        return JOURNEY_STEP.matcher(step).matches() ? Optional.of(step) : Optional.empty();
+    }
+}
@@ -0,0 +1,199 @@
+package uk.gov.companieshouse.web.pps.util;
+
+import uk.gov.companieshouse.api.model.financialpenalty.FinancialPenalty;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.lang.Boolean.FALSE;
+import static uk.gov.companieshouse.api.model.financialpenalty.PayableStatus.DISABLED;
+import static uk.gov.companieshouse.api.model.financialpenalty.PayableStatus.OPEN;
+import static uk.gov.companieshouse.web.pps.service.penaltypayment.impl.PenaltyPaymentServiceImpl.OTHER_TYPE;
+import static uk.gov.companieshouse.web.pps.service.penaltypayment.impl.PenaltyPaymentServiceImpl.PENALTY_TYPE;
+
+/**
+ * An index over a company's financial penalty items, built in a single pass,
+ * so that the decisions made while paying a penalty are lookups rather than
+ * repeated scans of the ledger.
+ * <p>
+ * Items are indexed by id, and unpaid legal costs by made up date. The first
+ * penalty, first open penalty and whether any penalty is disabled are
+ * recorded per id as the items are read. Every lookup preserves the order of
+ * the items in the ledger.
+ */
+public final class PenaltyLedger {
+
+    private final List<FinancialPenalty> items;
+    private final Map<String, IdEntry> entriesById;
+    private final Map<String, List<Integer>> unpaidCostPositionsByMadeUpDate;
+    private final int unpaidCount;
+
+    private PenaltyLedger(List<FinancialPenalty> items, Map<String, IdEntry> entriesById,
+            Map<String, List<Integer>> unpaidCostPositionsByMadeUpDate, int unpaidCount) {
+        this.items = items;
+        this.entriesById = entriesById;
+        this.unpaidCostPositionsByMadeUpDate = unpaidCostPositionsByMadeUpDate;
+        this.unpaidCount = unpaidCount;
+    }
+
+    /**
+     * Indexes {@code financialPenalties} in one pass.
+     *
+     * @param financialPenalties the ledger items, which may be {@code null}
+     * @return the ledger
+     */
+    public static PenaltyLedger of(List<FinancialPenalty> financialPenalties) {
+        if (financialPenalties == null || financialPenalties.isEmpty()) {
+            return new PenaltyLedger(List.of(), Map.of(), Map.of(), 0);
+        }
+
+        List<FinancialPenalty> items = Collections.unmodifiableList(new ArrayList<>(financialPenalties));
+        Map<String, IdEntry> entriesById = new HashMap<>();
+        Map<String, List<Integer>> unpaidCostPositionsByMadeUpDate = new HashMap<>();
+        int unpaidCount = 0;
+
+        for (int position = 0; position < items.size(); position++) {
+            FinancialPenalty item = items.get(position);
+            boolean unpaid = FALSE.equals(item.getPaid());
+            boolean cost = OTHER_TYPE.equals(item.getType());
+
+            if (unpaid) {
+                unpaidCount++;
+                if (cost && item.getMadeUpDate() != null) {
+                    unpaidCostPositionsByMadeUpDate
+                            .computeIfAbsent(item.getMadeUpDate(), date -> new ArrayList<>())
+                            .add(position);
+                }
+            }
+            if (item.getId() != null) {
+                entriesById.computeIfAbsent(item.getId(), id -> new IdEntry()).add(item, position, unpaid, cost);
+            }
+        }
+
+        return new PenaltyLedger(items, entriesById, unpaidCostPositionsByMadeUpDate, unpaidCount);
+    }
+
+    public List<FinancialPenalty> getItems() {
+        return items;
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * @return the items with the given id, in ledger order
+     */
+    public List<FinancialPenalty> getItemsWithId(String id) {
+        IdEntry entry = getEntry(id);
+        return entry == null ? List.of() : Collections.unmodifiableList(entry.items);
+    }
+
+    /**
+     * @return the first item of penalty type with the given id
+     */
+    public Optional<FinancialPenalty> getPenalty(String id) {
+        IdEntry entry = getEntry(id);
+        return entry == null ? Optional.empty() : Optional.ofNullable(entry.penalty);
+    }
+
+    /**
+     * @return the first item of penalty type with the given id that is open for payment
+     */
+    public Optional<FinancialPenalty> getOpenPenalty(String id) {
+        IdEntry entry = getEntry(id);
+        return entry == null ? Optional.empty() : Optional.ofNullable(entry.openPenalty);
+    }
+
+    /**
+     * @return true if any item of penalty type with the given id is disabled for payment
+     */
+    public boolean isPenaltyDisabled(String id) {
+        IdEntry entry = getEntry(id);
+        return entry != null && entry.penaltyDisabled;
+    }
+
+    /**
+     * @return the number of items that either have the given id or are unpaid
+     */
+    public int countPenaltyOrUnpaidItems(String id) {
+        IdEntry entry = getEntry(id);
+        return unpaidCount + (entry == null ? 0 : entry.notUnpaidCount);
+    }
+
+    /**
+     * Returns the penalty with the given id followed by the legal costs
+     * associated with it: costs with the same id, and unpaid costs with the
+     * same made up date as the penalty.
+     *
+     * @param penaltyRef the penalty reference
+     * @return the penalty and its costs, or an empty list if there is no such penalty
+     */
+    public List<FinancialPenalty> getPenaltyAndCosts(String penaltyRef) {
+        IdEntry entry = getEntry(penaltyRef);
+        if (entry == null || entry.penalty == null) {
+            return List.of();
+        }
+
+        List<Integer> byId = entry.costPositions;
+        List<Integer> byMadeUpDate = entry.penalty.getMadeUpDate() == null
+                ? List.of()
+                : unpaidCostPositionsByMadeUpDate.getOrDefault(entry.penalty.getMadeUpDate(), List.of());
+
+        List<FinancialPenalty> penaltyAndCosts = new ArrayList<>(1 + byId.size() + byMadeUpDate.size());
+        penaltyAndCosts.add(entry.penalty);
+
+        // merge the two ascending position lists, keeping ledger order and dropping duplicates
+        int i = 0;
+        int j = 0;
+        while (i < byId.size() || j < byMadeUpDate.size()) {
+            int next;
+            if (j == byMadeUpDate.size() || (i < byId.size() && byId.get(i) <= byMadeUpDate.get(j))) {
+                next = byId.get(i++);
+                if (j < byMadeUpDate.size() && byMadeUpDate.get(j) == next) {
+                    j++;
+                }
+            } else {
+                next = byMadeUpDate.get(j++);
+            }
+            penaltyAndCosts.add(items.get(next));
+        }
+        return penaltyAndCosts;
+    }
+
+    private IdEntry getEntry(String id) {
+        return id == null ? null : entriesById.get(id);
+    }
+
+    private static final class IdEntry {
+
+        private final List<FinancialPenalty> items = new ArrayList<>(1);
+        private final List<Integer> costPositions = new ArrayList<>(0);
+        private FinancialPenalty penalty;
+        private FinancialPenalty openPenalty;
+        private boolean penaltyDisabled;
+        private int notUnpaidCount;
+
+        private void add(FinancialPenalty item, int position, boolean unpaid, boolean cost) {
+            items.add(item);
+            if (!unpaid) {
+                notUnpaidCount++;
+            }
+            if (cost) {
+                costPositions.add(position);
+            } else if (PENALTY_TYPE.equals(item.getType())) {
+                if (penalty == null) {
+                    penalty = item;
+                }
+                if (openPenalty == null && OPEN == item.getPayableStatus()) {
+                    openPenalty = item;
+                }
+                penaltyDisabled |= DISABLED.equals(item.getPayableStatus());
+            }
+        }
+    }
+}
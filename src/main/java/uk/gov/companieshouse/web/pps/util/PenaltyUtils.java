@@ -1,19 +1,14 @@
 package uk.gov.companieshouse.web.pps.util;
 
 import org.apache.commons.lang3.StringUtils;
-import uk.gov.companieshouse.api.model.financialpenalty.FinancialPenalty;
+import uk.gov.companieshouse.web.pps.session.UserContext;
 
 import java.text.DecimalFormat;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
-import static uk.gov.companieshouse.api.model.financialpenalty.PayableStatus.DISABLED;
-import static uk.gov.companieshouse.web.pps.service.ServiceConstants.SIGN_IN_INFO;
-import static uk.gov.companieshouse.web.pps.service.penaltypayment.impl.PenaltyPaymentServiceImpl.PENALTY_TYPE;
-
 public final class PenaltyUtils {
 
     private static final DecimalFormat AMOUNT_FORMATTER = new DecimalFormat("#,###");
@@ -26,14 +21,7 @@ public final class PenaltyUtils {
     }
 
     public static String getLoginEmail(final Map<String, Object> sessionData) {
-        Map<?, ?> signInInfo = (Map<?, ?>) sessionData.get(SIGN_IN_INFO);
-        if (signInInfo != null) {
-            Map<?, ?> userProfile = (Map<?, ?>) signInInfo.get("user_profile");
-            if (userProfile != null && userProfile.get("email") != null) {
-                return userProfile.get("email").toString();
-            }
-        }
-        return "";
+        return UserContext.fromSessionData(sessionData).email();
     }
 
     public static String getPaymentDateDisplay() {
@@ -50,12 +38,5 @@ public final class PenaltyUtils {
         String refStartsWith = penaltyRef.strip().substring(0, 1).toUpperCase();
         return PenaltyReference.fromStartsWith(refStartsWith);
     }
-
-    public static boolean penaltyTypeDisabled(List<FinancialPenalty> penalties, String penaltyRef) {
-        return penalties.stream().anyMatch(penalty ->
-                PENALTY_TYPE.equals(penalty.getType()) // is a penalty
-                        && penaltyRef.equals(penalty.getId()) // is target penalty
-                        && DISABLED.equals(penalty.getPayableStatus())); // is disabled
-    }
 }
 
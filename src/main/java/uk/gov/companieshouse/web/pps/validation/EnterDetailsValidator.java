@@ -1,30 +1,53 @@
 package uk.gov.companieshouse.web.pps.validation;
 
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.BindingResult;
 import uk.gov.companieshouse.web.pps.models.EnterDetails;
 import uk.gov.companieshouse.web.pps.util.PenaltyReference;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.ResourceBundle;
 
 import static java.util.Locale.UK;
 import static java.util.ResourceBundle.getBundle;
-import static uk.gov.companieshouse.web.pps.util.PenaltyReference.SANCTIONS_ROE;
 
 @Component
 public class EnterDetailsValidator {
 
-    private static final String COMPANY_NUMBER_REGEX = "^([a-zA-Z0-9]{8}|\\d{1,8})$";
-    private static final String OVERSEAS_ENTITY_ID_REGEX = "^[Oo][Ee]\\d{6}$";
-    private static final String LATE_FILING_PENALTY_REF_REGEX = "^[Aa]\\d{7}$";
-    private static final String SANCTIONS_PENALTY_REF_REGEX = "^[Pp]\\d{7}$";
-    private static final String SANCTIONS_ROE_PENALTY_REF_REGEX = "^[Uu]\\d{7}$";
+    private static final String COMPANY_NUMBER_FIELD = "companyNumber";
+    private static final String PENALTY_REF_FIELD = "penaltyRef";
+
+    private static final Map<String, PenaltyReference> PENALTY_REFERENCES_BY_NAME = penaltyReferencesByName();
 
     private final ResourceBundle bundle;
 
+    /** Messages resolved once per penalty reference type, indexed by {@link Rejection#ordinal()}. */
+    private final Map<PenaltyReference, String[]> companyNumberMessages = new EnumMap<>(PenaltyReference.class);
+    private final Map<PenaltyReference, String[]> penaltyRefMessages = new EnumMap<>(PenaltyReference.class);
+
     public EnterDetailsValidator() {
         this.bundle = getBundle("ValidationMessages", UK);
+
+        for (PenaltyReference penaltyReference : PenaltyReference.values()) {
+            String[] companyNumber = new String[Rejection.values().length];
+            String[] penaltyRef = new String[Rejection.values().length];
+            for (Rejection rejection : Rejection.values()) {
+                if (rejection == Rejection.NONE) {
+                    continue;
+                }
+                String segment = rejection.getMessageKeySegment();
+                companyNumber[rejection.ordinal()] = bundle.getString(
+                        "enterDetails.companyNumber." + segment + "." + penaltyReference.name());
+                penaltyRef[rejection.ordinal()] = bundle.getString(rejection == Rejection.NON_ALPHANUMERIC
+                        ? "enterDetails.penaltyRef." + segment + "." + penaltyReference.name()
+                        : "enterDetails.penaltyRef." + segment);
+            }
+            companyNumberMessages.put(penaltyReference, companyNumber);
+            penaltyRefMessages.put(penaltyReference, penaltyRef);
+        }
     }
 
     public void isValid(final EnterDetails enterDetails, final BindingResult bindingResult) {
@@ -34,93 +57,63 @@ public class EnterDetailsValidator {
 
     public void isValidCompanyNumber(final EnterDetails enterDetails,
             final BindingResult bindingResult) {
-        String companyNumberField = "companyNumber";
         String penaltyReferenceName = enterDetails.getPenaltyReferenceName();
+        PenaltyReference penaltyReference = PENALTY_REFERENCES_BY_NAME.get(penaltyReferenceName);
 
-        // company number is empty
-        if (StringUtils.isEmpty(enterDetails.getCompanyNumber())) {
-            String key =
-                    "enterDetails.companyNumber.notValid." + enterDetails.getPenaltyReferenceName();
-            bindingResult.rejectValue(companyNumberField, companyNumberField,
-                    bundle.getString(key));
-        }
-        // company number contains space
-        else if (StringUtils.containsAny(enterDetails.getCompanyNumber(), " ")) {
-            String key =
-                    "enterDetails.companyNumber.noSpaces." + enterDetails.getPenaltyReferenceName();
-            bindingResult.rejectValue(companyNumberField, companyNumberField,
-                    bundle.getString(key));
-        }
-        // company number less than 8 characters
-        else if (enterDetails.getCompanyNumber().length() < 8) {
-            String key =
-                    "enterDetails.companyNumber.lessCharacters."
-                            + enterDetails.getPenaltyReferenceName();
-            bindingResult.rejectValue(companyNumberField, companyNumberField,
-                    bundle.getString(key));
-        }
-        // company number contains non alphanumeric characters
-        else if (!StringUtils.isAlphanumeric(enterDetails.getCompanyNumber())) {
-            String key =
-                    "enterDetails.companyNumber.nonAlphanumeric."
-                            + enterDetails.getPenaltyReferenceName();
-            bindingResult.rejectValue(companyNumberField, companyNumberField,
-                    bundle.getString(key));
-        }
-        // company number in incorrect format
-        else {
-            String regex = SANCTIONS_ROE.name().equals(penaltyReferenceName)
-                    ? OVERSEAS_ENTITY_ID_REGEX
-                    : COMPANY_NUMBER_REGEX;
-            if (!enterDetails.getCompanyNumber().matches(regex)) {
-                String key = "enterDetails.companyNumber.incorrectFormat."
-                        + enterDetails.getPenaltyReferenceName();
-                bindingResult.rejectValue(companyNumberField, companyNumberField,
-                        bundle.getString(key));
-            }
+        Rejection rejection = IdentifierFormat.forCompanyNumber(penaltyReference)
+                .scan(enterDetails.getCompanyNumber(), false);
+        if (rejection == Rejection.NONE) {
+            return;
         }
+
+        String message = penaltyReference == null
+                // unknown type: resolve as before so a missing key still fails the same way
+                ? bundle.getString("enterDetails.companyNumber." + rejection.getMessageKeySegment()
+                        + "." + penaltyReferenceName)
+                : companyNumberMessages.get(penaltyReference)[rejection.ordinal()];
+        bindingResult.rejectValue(COMPANY_NUMBER_FIELD, COMPANY_NUMBER_FIELD, message);
     }
 
     public void isValidPenaltyRef(final EnterDetails enterDetails,
             final BindingResult bindingResult) {
-        String penaltyRef = enterDetails.getPenaltyRef();
-        String penaltyRefField = "penaltyRef";
         String penaltyReferenceName = enterDetails.getPenaltyReferenceName();
+        PenaltyReference penaltyReference = PENALTY_REFERENCES_BY_NAME.get(penaltyReferenceName);
 
-        // penalty reference is empty
-        if (StringUtils.isBlank(penaltyRef)) {
-            bindingResult.rejectValue(penaltyRefField, penaltyRefField,
-                    bundle.getString("enterDetails.penaltyRef.notValid"));
-        }
-        // penalty reference contains space
-        else if (StringUtils.containsAny(penaltyRef, " ")) {
-            bindingResult.rejectValue(penaltyRefField, penaltyRefField,
-                    bundle.getString("enterDetails.penaltyRef.noSpaces"));
+        if (penaltyReference == null) {
+            rejectPenaltyRefForUnknownType(enterDetails.getPenaltyRef(), penaltyReferenceName, bindingResult);
+            return;
         }
-        // penalty reference less than 8 characters
-        else if (penaltyRef.length() < 8) {
-            bindingResult.rejectValue(penaltyRefField, penaltyRefField,
-                    bundle.getString("enterDetails.penaltyRef.lessCharacters"));
+
+        Rejection rejection = IdentifierFormat.forPenaltyRef(penaltyReference)
+                .scan(enterDetails.getPenaltyRef(), true);
+        if (rejection != Rejection.NONE) {
+            bindingResult.rejectValue(PENALTY_REF_FIELD, PENALTY_REF_FIELD,
+                    penaltyRefMessages.get(penaltyReference)[rejection.ordinal()]);
         }
-        // penalty reference contains non alphanumeric characters
-        else if (!StringUtils.isAlphanumeric(enterDetails.getPenaltyRef())) {
-            String key =
-                    "enterDetails.penaltyRef.nonAlphanumeric."
-                            + enterDetails.getPenaltyReferenceName();
-            bindingResult.rejectValue(penaltyRefField, penaltyRefField,
-                    bundle.getString(key));
+    }
+
+    /**
+     * Keeps the behaviour for a missing or unrecognised penalty reference
+     * type: the type-independent checks still produce their messages, while
+     * the type-specific ones fail as the key or enum lookup always did.
+     */
+    private void rejectPenaltyRefForUnknownType(String penaltyRef, String penaltyReferenceName,
+            BindingResult bindingResult) {
+        Rejection rejection = IdentifierFormat.LATE_FILING_PENALTY_REF.scan(penaltyRef, true);
+        switch (rejection) {
+            case NOT_VALID, NO_SPACES, LESS_CHARACTERS -> bindingResult.rejectValue(PENALTY_REF_FIELD,
+                    PENALTY_REF_FIELD, bundle.getString("enterDetails.penaltyRef." + rejection.getMessageKeySegment()));
+            case NON_ALPHANUMERIC -> bindingResult.rejectValue(PENALTY_REF_FIELD, PENALTY_REF_FIELD,
+                    bundle.getString("enterDetails.penaltyRef.nonAlphanumeric." + penaltyReferenceName));
+            default -> PenaltyReference.valueOf(penaltyReferenceName);
         }
-        // penalty reference in incorrect format
-        else {
-            String regex = switch (PenaltyReference.valueOf(penaltyReferenceName)) {
-                case LATE_FILING -> LATE_FILING_PENALTY_REF_REGEX;
-                case SANCTIONS -> SANCTIONS_PENALTY_REF_REGEX;
-                case SANCTIONS_ROE -> SANCTIONS_ROE_PENALTY_REF_REGEX;
-            };
-            if (!penaltyRef.matches(regex)) {
-                bindingResult.rejectValue(penaltyRefField, penaltyRefField,
-                        bundle.getString("enterDetails.penaltyRef.incorrectFormat"));
-            }
+    }
+
+    private static Map<String, PenaltyReference> penaltyReferencesByName() {
+        Map<String, PenaltyReference> byName = new HashMap<>();
+        for (PenaltyReference penaltyReference : PenaltyReference.values()) {
+            byName.put(penaltyReference.name(), penaltyReference);
         }
+        return Collections.unmodifiableMap(byName);
     }
 }
@@ -0,0 +1,114 @@
+package uk.gov.companieshouse.web.pps.validation;
+
+import uk.gov.companieshouse.web.pps.util.PenaltyReference;
+
+/**
+ * The accepted shapes of the identifiers entered on the enter details page,
+ * with a single-pass scanner that classifies an input into the first
+ * {@link Rejection} that applies. The scanner applies the same rules as the
+ * regular expressions it replaced:
+ * <ul>
+ *     <li>company number: {@code ^([a-zA-Z0-9]{8}|\d{1,8})$}</li>
+ *     <li>overseas entity ID: {@code ^[Oo][Ee]\d{6}$}</li>
+ *     <li>penalty references: {@code ^[Aa]\d{7}$}, {@code ^[Pp]\d{7}$} and {@code ^[Uu]\d{7}$}</li>
+ * </ul>
+ * The earlier checks match {@code StringUtils.isEmpty}/{@code isBlank},
+ * {@code containsAny(" ")}, {@code length() < 8} and {@code isAlphanumeric}.
+ */
+enum IdentifierFormat {
+    COMPANY_NUMBER(""),
+    OVERSEAS_ENTITY_ID("OE"),
+    LATE_FILING_PENALTY_REF("A"),
+    SANCTIONS_PENALTY_REF("P"),
+    SANCTIONS_ROE_PENALTY_REF("U");
+
+    static final int EXPECTED_LENGTH = 8;
+
+    /** Upper case letters that must lead the identifier, case-insensitively, before the digits. */
+    private final String prefix;
+
+    IdentifierFormat(String prefix) {
+        this.prefix = prefix;
+    }
+
+    static IdentifierFormat forCompanyNumber(PenaltyReference penaltyReference) {
+        return penaltyReference == PenaltyReference.SANCTIONS_ROE ? OVERSEAS_ENTITY_ID : COMPANY_NUMBER;
+    }
+
+    static IdentifierFormat forPenaltyRef(PenaltyReference penaltyReference) {
+        return switch (penaltyReference) {
+            case LATE_FILING -> LATE_FILING_PENALTY_REF;
+            case SANCTIONS -> SANCTIONS_PENALTY_REF;
+            case SANCTIONS_ROE -> SANCTIONS_ROE_PENALTY_REF;
+        };
+    }
+
+    /**
+     * Classifies {@code input} in one traversal.
+     *
+     * @param input             the value entered, which may be {@code null}
+     * @param whitespaceIsEmpty whether an all-whitespace value counts as empty
+     * @return the first rejection that applies, or {@link Rejection#NONE}
+     */
+    Rejection scan(String input, boolean whitespaceIsEmpty) {
+        if (input == null || input.isEmpty()) {
+            return Rejection.NOT_VALID;
+        }
+
+        int length = input.length();
+        boolean hasSpace = false;
+        boolean allWhitespace = true;
+        boolean allLetterOrDigit = true;
+        boolean allAsciiAlphanumeric = true;
+        boolean allAsciiDigits = true;
+        boolean prefixAndDigits = length == EXPECTED_LENGTH;
+
+        for (int i = 0; i < length; i++) {
+            char c = input.charAt(i);
+            boolean asciiDigit = c >= '0' && c <= '9';
+            boolean asciiLetter = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+
+            if (c == ' ') {
+                hasSpace = true;
+            }
+            if (allWhitespace && !Character.isWhitespace(c)) {
+                allWhitespace = false;
+            }
+            if (allLetterOrDigit && !asciiDigit && !asciiLetter && !Character.isLetterOrDigit(c)) {
+                allLetterOrDigit = false;
+            }
+            allAsciiDigits &= asciiDigit;
+            allAsciiAlphanumeric &= asciiDigit || asciiLetter;
+            if (prefixAndDigits) {
+                prefixAndDigits = i < prefix.length()
+                        ? (c & ~0x20) == prefix.charAt(i) && asciiLetter
+                        : asciiDigit;
+            }
+        }
+
+        if (whitespaceIsEmpty && allWhitespace) {
+            return Rejection.NOT_VALID;
+        }
+        if (hasSpace) {
+            return Rejection.NO_SPACES;
+        }
+        if (length < EXPECTED_LENGTH) {
+            return Rejection.LESS_CHARACTERS;
+        }
+        if (!allLetterOrDigit) {
+            return Rejection.NON_ALPHANUMERIC;
+        }
+        return matchesFormat(length, allAsciiAlphanumeric, allAsciiDigits, prefixAndDigits)
+                ? Rejection.NONE
+                : Rejection.INCORRECT_FORMAT;
+    }
+
+    private boolean matchesFormat(int length, boolean allAsciiAlphanumeric,
+            boolean allAsciiDigits, boolean prefixAndDigits) {
+        if (this == COMPANY_NUMBER) {
+            return (length == EXPECTED_LENGTH && allAsciiAlphanumeric)
+                    || (length <= EXPECTED_LENGTH && allAsciiDigits);
+        }
+        return prefixAndDigits;
+    }
+}
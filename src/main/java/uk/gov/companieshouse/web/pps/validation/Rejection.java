@@ -0,0 +1,24 @@
+package uk.gov.companieshouse.web.pps.validation;
+
+/**
+ * The reason an enter details input was rejected, in the order the checks
+ * are applied. {@link #NONE} means the input is valid.
+ */
+enum Rejection {
+    NONE(null),
+    NOT_VALID("notValid"),
+    NO_SPACES("noSpaces"),
+    LESS_CHARACTERS("lessCharacters"),
+    NON_ALPHANUMERIC("nonAlphanumeric"),
+    INCORRECT_FORMAT("incorrectFormat");
+
+    private final String messageKeySegment;
+
+    Rejection(String messageKeySegment) {
+        this.messageKeySegment = messageKeySegment;
+    }
+
+    String getMessageKeySegment() {
+        return messageKeySegment;
+    }
+}
@@ -0,0 +1,322 @@
+package uk.gov.companieshouse.web.pps.warmup;
+
+import jakarta.servlet.ServletContext;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+import org.thymeleaf.spring6.view.ThymeleafViewResolver;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+import uk.gov.companieshouse.web.pps.config.TemplateWarmUpConfigurationProperties;
+import uk.gov.companieshouse.web.pps.layout.LayoutPrecompiler;
+import uk.gov.companieshouse.web.pps.models.EnterDetails;
+import uk.gov.companieshouse.web.pps.models.PenaltyReferenceChoice;
+import uk.gov.companieshouse.web.pps.util.PenaltyReference;
+
+import java.beans.PropertyDescriptor;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static uk.gov.companieshouse.web.pps.PPSWebApplication.APPLICATION_NAME_SPACE;
+import static uk.gov.companieshouse.web.pps.controller.BaseController.HEADER_TEXT_ATTR;
+import static uk.gov.companieshouse.web.pps.controller.BaseController.HEADER_URL_ATTR;
+import static uk.gov.companieshouse.web.pps.controller.BaseController.HIDE_RECENT_FILINGS_ATTR;
+import static uk.gov.companieshouse.web.pps.controller.BaseController.HIDE_YOUR_DETAILS_ATTR;
+import static uk.gov.companieshouse.web.pps.controller.BaseController.PHASE_BANNER_ATTR;
+import static uk.gov.companieshouse.web.pps.controller.BaseController.PHASE_BANNER_LINK_ATTR;
+import static uk.gov.companieshouse.web.pps.controller.BaseController.PHASE_BANNER_NEW_CONTENT_ATTR;
+import static uk.gov.companieshouse.web.pps.controller.BaseController.USER_BAR_ATTR;
+import static uk.gov.companieshouse.web.pps.controller.BaseController.USER_EMAIL_ATTR;
+import static uk.gov.companieshouse.web.pps.controller.BaseController.USER_SIGN_OUT_URL_ATTR;
+
+/**
+ * Parses and renders every page template once the application has started,
+ * so that the first real requests do not pay for template parsing, expression
+ * compilation and the layout decoration. Each template is rendered
+ * {@code template-warm-up.iterations} times against a representative model
+ * and the time taken is logged.
+ * <p>
+ * When precompiled layouts are enabled, each page is first merged with its
+ * layout by the {@link LayoutPrecompiler} and rendered both ways, signed out
+ * and signed in, and for form pages with errors as well; the merged page only
+ * replaces the decorated one when the output is byte-for-byte identical for
+ * every one of those models.
+ * <p>
+ * {@link TemplateWarmUpHealthIndicator} reports the service as out of service
+ * until this has finished, so it is not sent traffic while still cold. A
+ * template that fails to render is logged and skipped rather than holding
+ * readiness back.
+ */
+@Component
+public class TemplateWarmUp {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(APPLICATION_NAME_SPACE);
+
+    private static final String ENTER_DETAILS = "enterDetails";
+    private static final String PENALTY_REFERENCE_CHOICE = "penaltyReferenceChoice";
+    private static final String COMPANY_NAME = "Warm Up Limited";
+    private static final String COMPANY_NUMBER = "12345678";
+    private static final String PENALTY_REF = "A0000001";
+    private static final Map<String, Object> SIGNED_IN_ATTRIBUTES = Map.of(
+            USER_BAR_ATTR, "1",
+            HIDE_YOUR_DETAILS_ATTR, "1",
+            HIDE_RECENT_FILINGS_ATTR, "1",
+            USER_EMAIL_ATTR, "warm-up@example.com",
+            USER_SIGN_OUT_URL_ATTR, "/signout");
+
+    private final TemplateWarmUpConfigurationProperties templateWarmUpConfigurationProperties;
+    private final ViewResolver viewResolver;
+    private final ApplicationContext applicationContext;
+    private final LayoutPrecompiler layoutPrecompiler;
+    private volatile boolean complete;
+
+    @Autowired
+    public TemplateWarmUp(TemplateWarmUpConfigurationProperties templateWarmUpConfigurationProperties,
+            ThymeleafViewResolver thymeleafViewResolver, ApplicationContext applicationContext,
+            LayoutPrecompiler layoutPrecompiler) {
+        this(templateWarmUpConfigurationProperties, (ViewResolver) thymeleafViewResolver, applicationContext,
+                layoutPrecompiler);
+    }
+
+    TemplateWarmUp(TemplateWarmUpConfigurationProperties templateWarmUpConfigurationProperties,
+            ViewResolver viewResolver, ApplicationContext applicationContext, LayoutPrecompiler layoutPrecompiler) {
+        this.templateWarmUpConfigurationProperties = templateWarmUpConfigurationProperties;
+        this.viewResolver = viewResolver;
+        this.applicationContext = applicationContext;
+        this.layoutPrecompiler = layoutPrecompiler;
+        this.complete = !templateWarmUpConfigurationProperties.isEnabled();
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (complete) {
+            return;
+        }
+        Thread thread = new Thread(this::warmUp, "template-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void warmUp() {
+        try {
+            if (!(applicationContext instanceof WebApplicationContext webApplicationContext)
+                    || webApplicationContext.getServletContext() == null) {
+                LOGGER.info("Skipping template warm-up as there is no servlet context");
+                return;
+            }
+            int iterations = Math.max(1, templateWarmUpConfigurationProperties.getIterations());
+            long start = System.nanoTime();
+            warmUpModels().forEach((viewName, model) ->
+                    warmUp(viewName, model, iterations, webApplicationContext));
+            LOGGER.info(String.format("Template warm-up completed in %d ms",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        } finally {
+            complete = true;
+        }
+    }
+
+    private void warmUp(String viewName, Map<String, Object> model, int iterations,
+            WebApplicationContext webApplicationContext) {
+        if (layoutPrecompiler.isEnabled()) {
+            precompileLayout(viewName, model, webApplicationContext);
+        }
+        ServletContext servletContext = webApplicationContext.getServletContext();
+        try {
+            long start = System.nanoTime();
+            long firstRender = 0;
+            for (int i = 0; i < iterations; i++) {
+                View view = viewResolver.resolveViewName(viewName, Locale.UK);
+                if (view == null) {
+                    LOGGER.error(String.format("Template warm-up could not resolve view %s", viewName));
+                    return;
+                }
+                view.render(new HashMap<>(model),
+                        WarmUpServletRequests.request("/warm-up/" + viewName, servletContext,
+                                webApplicationContext),
+                        WarmUpServletRequests.response());
+                if (i == 0) {
+                    firstRender = System.nanoTime() - start;
+                }
+            }
+            LOGGER.info(String.format("Warmed up template %s: first render %d ms, %d renders in %d ms",
+                    viewName, TimeUnit.NANOSECONDS.toMillis(firstRender), iterations,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        } catch (Exception e) {
+            LOGGER.error(String.format("Template warm-up failed for %s", viewName), e);
+        }
+    }
+
+    private void precompileLayout(String viewName, Map<String, Object> model,
+            WebApplicationContext webApplicationContext) {
+        try {
+            String candidate = layoutPrecompiler.addCandidate(viewName);
+            boolean identical = true;
+            for (Map<String, Object> comparisonModel : comparisonModels(model)) {
+                String decorated = render(viewName, comparisonModel, webApplicationContext);
+                String precompiled = render(candidate, comparisonModel, webApplicationContext);
+                if (decorated == null || !decorated.equals(precompiled)) {
+                    identical = false;
+                    break;
+                }
+            }
+            if (identical) {
+                layoutPrecompiler.activate(viewName);
+                LOGGER.info(String.format("Using precompiled layout for template %s", viewName));
+            } else {
+                layoutPrecompiler.discard(viewName);
+                LOGGER.info(String.format(
+                        "Precompiled layout for template %s does not match the decorated page, keeping the layout dialect",
+                        viewName));
+            }
+        } catch (Exception e) {
+            layoutPrecompiler.discard(viewName);
+            LOGGER.error(String.format("Could not precompile the layout for template %s", viewName), e);
+        }
+    }
+
+    private String render(String viewName, Map<String, Object> model,
+            WebApplicationContext webApplicationContext) throws Exception {
+        View view = viewResolver.resolveViewName(viewName, Locale.UK);
+        if (view == null) {
+            return null;
+        }
+        StringWriter output = new StringWriter();
+        view.render(new HashMap<>(model),
+                WarmUpServletRequests.request("/warm-up/" + viewName, webApplicationContext.getServletContext(),
+                        webApplicationContext),
+                WarmUpServletRequests.response(new PrintWriter(output)));
+        return output.toString();
+    }
+
+    /**
+     * The models a page must render identically under, decorated and merged,
+     * before its precompiled layout is used: signed out, signed in and, when
+     * the page has a form, with a global error and an error on every field.
+     */
+    static List<Map<String, Object>> comparisonModels(Map<String, Object> model) {
+        Map<String, Object> signedOut = new HashMap<>(model);
+        SIGNED_IN_ATTRIBUTES.keySet().forEach(signedOut::remove);
+        Map<String, Object> signedIn = new HashMap<>(signedOut);
+        signedIn.putAll(SIGNED_IN_ATTRIBUTES);
+
+        List<Map<String, Object>> models = new ArrayList<>(List.of(signedOut, signedIn));
+        Map<String, Object> withErrors = new HashMap<>(signedOut);
+        boolean hasForm = false;
+        for (Map.Entry<String, Object> attribute : signedOut.entrySet()) {
+            if (attribute.getValue() instanceof BindingResult bindingResult) {
+                withErrors.put(attribute.getKey(), withErrors(bindingResult));
+                hasForm = true;
+            }
+        }
+        if (hasForm) {
+            models.add(withErrors);
+        }
+        return models;
+    }
+
+    private static BindingResult withErrors(BindingResult bindingResult) {
+        BindingResult errors = new BeanPropertyBindingResult(bindingResult.getTarget(),
+                bindingResult.getObjectName());
+        errors.reject("warm.up", "There is a problem");
+        BeanWrapper target = new BeanWrapperImpl(bindingResult.getTarget());
+        for (PropertyDescriptor property : target.getPropertyDescriptors()) {
+            if (target.isWritableProperty(property.getName())) {
+                errors.rejectValue(property.getName(), "warm.up", "Enter a valid value");
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * The models rendered for each template, keyed by view name. These carry
+     * the attributes the controllers would set, so every expression in the
+     * template is evaluated at least once.
+     */
+    public static Map<String, Map<String, Object>> warmUpModels() {
+        Map<String, Map<String, Object>> models = new LinkedHashMap<>();
+
+        EnterDetails enterDetails = new EnterDetails();
+        enterDetails.setPenaltyReferenceName(PenaltyReference.LATE_FILING.name());
+        models.put("pps/details", model("details",
+                ENTER_DETAILS, enterDetails,
+                BindingResult.MODEL_KEY_PREFIX + ENTER_DETAILS,
+                new BeanPropertyBindingResult(enterDetails, ENTER_DETAILS),
+                "penaltyReferenceStartsWith", PenaltyReference.LATE_FILING.getStartsWith()));
+
+        PenaltyReferenceChoice penaltyReferenceChoice = new PenaltyReferenceChoice();
+        models.put("pps/penaltyRefStartsWith", model("penaltyRefStartsWith",
+                PENALTY_REFERENCE_CHOICE, penaltyReferenceChoice,
+                BindingResult.MODEL_KEY_PREFIX + PENALTY_REFERENCE_CHOICE,
+                new BeanPropertyBindingResult(penaltyReferenceChoice, PENALTY_REFERENCE_CHOICE),
+                "availablePenaltyReference", Arrays.asList(PenaltyReference.values())));
+
+        models.put("pps/viewPenalties", model("viewPenalties",
+                "companyName", COMPANY_NAME,
+                "companyNumber", COMPANY_NUMBER,
+                "outstanding", "£150",
+                "penaltyReferenceName", PenaltyReference.LATE_FILING.name(),
+                "penaltyRef", PENALTY_REF,
+                "reasonForPenalty", "Late filing of accounts"));
+
+        models.put("pps/confirmationPage", model("confirmationPage",
+                "companyName", COMPANY_NAME,
+                "companyNumber", COMPANY_NUMBER,
+                "payAnotherPenaltyGoalId", "0",
+                "payAnotherPenaltyUrl", "/pay-penalty",
+                "paymentDate", "1 January 2025",
+                "penaltyAmount", "150",
+                "penaltyReferenceName", PenaltyReference.LATE_FILING.name(),
+                "penaltyRef", PENALTY_REF,
+                "reasonForPenalty", "Late filing of accounts",
+                "userEmail", "warm-up@example.com"));
+
+        models.put("pps/instalmentPlan", model("instalmentPlan",
+                "penaltyReference", PenaltyReference.LATE_FILING.name()));
+        models.put("pps/onlinePaymentUnavailable", model("onlinePaymentUnavailable",
+                "penaltyReference", PenaltyReference.LATE_FILING.name()));
+        models.put("pps/penaltyPaid", model("penaltyPaid", "penaltyRef", PENALTY_REF));
+        models.put("pps/penaltyInDCA", model("penaltyInDCA"));
+        models.put("pps/penaltyPaymentInProgress", model("penaltyPaymentInProgress"));
+        models.put("pps/serviceUnavailable", model("serviceUnavailable", "date", "1 January 2025"));
+        models.put("pps/unscheduledServiceDown", model("unscheduledServiceDown"));
+        models.put("pps/signOut", model("signOut", "backLink", "/pay-penalty"));
+        models.put("pps/pageNotFound", model("pageNotFound"));
+
+        return models;
+    }
+
+    private static Map<String, Object> model(String templateName, Object... attributes) {
+        Map<String, Object> model = new HashMap<>();
+        model.put("templateName", "pps/" + templateName);
+        model.put(PHASE_BANNER_ATTR, "Beta");
+        model.put(PHASE_BANNER_NEW_CONTENT_ATTR, "Yes");
+        model.put(PHASE_BANNER_LINK_ATTR, "");
+        model.put(HEADER_TEXT_ATTR, "Pay a penalty");
+        model.put(HEADER_URL_ATTR, "");
+        for (int i = 0; i < attributes.length; i += 2) {
+            model.put((String) attributes[i], attributes[i + 1]);
+        }
+        return model;
+    }
+}
@@ -0,0 +1,24 @@
+package uk.gov.companieshouse.web.pps.warmup;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the health check out of service until {@link TemplateWarmUp} has
+ * rendered every template, so that instances only receive traffic once warm.
+ */
+@Component
+public class TemplateWarmUpHealthIndicator implements HealthIndicator {
+
+    private final TemplateWarmUp templateWarmUp;
+
+    public TemplateWarmUpHealthIndicator(TemplateWarmUp templateWarmUp) {
+        this.templateWarmUp = templateWarmUp;
+    }
+
+    @Override
+    public Health health() {
+        return templateWarmUp.isComplete() ? Health.up().build() : Health.outOfService().build();
+    }
+}
@@ -0,0 +1,101 @@
+package uk.gov.companieshouse.web.pps.warmup;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Stand-in servlet requests and responses for rendering views outside of a
+ * real request. The request answers with the attributes set on it and the
+ * values of a plain GET of {@code path}; the response writes to the given
+ * writer, or discards whatever is written to it. Any other method returns the zero value of its type.
+ */
+public final class WarmUpServletRequests {
+
+    private WarmUpServletRequests() {
+    }
+
+    public static HttpServletRequest request(String path, ServletContext servletContext,
+            WebApplicationContext webApplicationContext) {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE, webApplicationContext);
+
+        return (HttpServletRequest) Proxy.newProxyInstance(WarmUpServletRequests.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getAttribute" -> attributes.get((String) args[0]);
+                    case "setAttribute" -> attributes.put((String) args[0], args[1]);
+                    case "removeAttribute" -> attributes.remove((String) args[0]);
+                    case "getAttributeNames" -> Collections.enumeration(List.copyOf(attributes.keySet()));
+                    case "getServletContext" -> servletContext;
+                    case "getMethod" -> "GET";
+                    case "getRequestURI", "getServletPath" -> path;
+                    case "getRequestURL" -> new StringBuffer("http://localhost").append(path);
+                    case "getContextPath", "getPathInfo" -> "";
+                    case "getScheme" -> "http";
+                    case "getServerName" -> "localhost";
+                    case "getServerPort" -> 80;
+                    case "getProtocol" -> "HTTP/1.1";
+                    case "getCharacterEncoding" -> StandardCharsets.UTF_8.name();
+                    case "getLocale" -> Locale.UK;
+                    case "getLocales" -> Collections.enumeration(List.of(Locale.UK));
+                    case "getDispatcherType" -> DispatcherType.REQUEST;
+                    case "getParameterMap" -> Map.of();
+                    case "toString" -> "WarmUpRequest[" + path + "]";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> zeroValue(method.getReturnType());
+                });
+    }
+
+    public static HttpServletResponse response() {
+        return response(new PrintWriter(Writer.nullWriter()));
+    }
+
+    public static HttpServletResponse response(PrintWriter writer) {
+        return (HttpServletResponse) Proxy.newProxyInstance(WarmUpServletRequests.class.getClassLoader(),
+                new Class<?>[]{HttpServletResponse.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getWriter" -> writer;
+                    case "getCharacterEncoding" -> StandardCharsets.UTF_8.name();
+                    case "getLocale" -> Locale.UK;
+                    case "getStatus" -> HttpServletResponse.SC_OK;
+                    case "encodeURL", "encodeRedirectURL" -> args[0];
+                    case "toString" -> "WarmUpResponse";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> zeroValue(method.getReturnType());
+                });
+    }
+
+    private static Object zeroValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == Enumeration.class) {
+            return Collections.emptyEnumeration();
+        }
+        if (type == Map.class) {
+            return Map.of();
+        }
+        return null;
+    }
+}
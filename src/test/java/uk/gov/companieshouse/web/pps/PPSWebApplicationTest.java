@@ -10,6 +10,9 @@ import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import uk.gov.companieshouse.web.pps.interceptor.LoggingInterceptor;
+import uk.gov.companieshouse.web.pps.interceptor.RenderTimingInterceptor;
+import uk.gov.companieshouse.web.pps.interceptor.RenderedPageCacheInterceptor;
+import uk.gov.companieshouse.web.pps.interceptor.SessionChangeInterceptor;
 import uk.gov.companieshouse.web.pps.interceptor.UserDetailsInterceptor;
 
 import static org.mockito.Mockito.spy;
@@ -24,6 +27,15 @@ class PPSWebApplicationTest {
     @Mock
     private UserDetailsInterceptor userDetailsInterceptor;
 
+    @Mock
+    private RenderedPageCacheInterceptor renderedPageCacheInterceptor;
+
+    @Mock
+    private SessionChangeInterceptor sessionChangeInterceptor;
+
+    @Mock
+    private RenderTimingInterceptor renderTimingInterceptor;
+
     @Spy
     private InterceptorRegistry registry;
 
@@ -47,5 +59,8 @@ class PPSWebApplicationTest {
 
         verify(registry).addInterceptor(captorLoggingInterceptor.capture());
         verify(registry).addInterceptor(captorUserDetails.capture());
+        verify(registry).addInterceptor(renderedPageCacheInterceptor);
+        verify(registry).addInterceptor(sessionChangeInterceptor);
+        verify(registry).addInterceptor(renderTimingInterceptor);
     }
 }
@@ -0,0 +1,139 @@
+package uk.gov.companieshouse.web.pps.api;
+
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpResponseException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import uk.gov.companieshouse.api.error.ApiErrorResponseException;
+import uk.gov.companieshouse.api.handler.exception.URIValidationException;
+import uk.gov.companieshouse.api.model.ApiResponse;
+import uk.gov.companieshouse.web.pps.timing.RequestTimings;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static uk.gov.companieshouse.web.pps.timing.ServerTimingMetric.PAYABLE;
+
+class ApiRequestMetricsTest {
+
+    private static final String UPSTREAM = "penalty-payment-api";
+    private static final String URI_TEMPLATE = "/company/{companyNumber}/penalties/payable/{payableRef}";
+
+    private MeterRegistry meterRegistry;
+
+    private ApiRequestMetrics apiRequestMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        apiRequestMetrics = new ApiRequestMetrics(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Timed call - tagged with the status of the API response")
+    void timesApiResponse() throws Exception {
+        @SuppressWarnings("unchecked")
+        ApiResponse<String> apiResponse = mock(ApiResponse.class);
+        when(apiResponse.getStatusCode()).thenReturn(201);
+
+        assertSame(apiResponse,
+                apiRequestMetrics.timed(PAYABLE, UPSTREAM, "POST", URI_TEMPLATE, () -> apiResponse).call());
+
+        Timer timer = timer("POST", "SUCCESS", "201", "none");
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    @DisplayName("Timed call - responses other than the SDK's are tagged as 200")
+    void timesOtherResponse() throws Exception {
+        assertEquals("items",
+                apiRequestMetrics.timed(PAYABLE, UPSTREAM, "GET", URI_TEMPLATE, () -> "items").call());
+
+        assertEquals(1, timer("GET", "SUCCESS", "200", "none").count());
+    }
+
+    @Test
+    @DisplayName("Timed call - API errors tagged with their status and rethrown")
+    void timesApiError() {
+        ApiErrorResponseException apiError = new ApiErrorResponseException(
+                new HttpResponseException.Builder(503, "error", new HttpHeaders()));
+
+        assertSame(apiError, assertThrows(ApiErrorResponseException.class,
+                () -> apiRequestMetrics.timed(PAYABLE, UPSTREAM, "GET", URI_TEMPLATE, () -> {
+                    throw apiError;
+                }).call()));
+
+        assertEquals(1, timer("GET", "SERVER_ERROR", "503", "ApiErrorResponseException").count());
+    }
+
+    @Test
+    @DisplayName("Timed call - failures without a response tagged as a client error")
+    void timesFailureWithoutResponse() {
+        assertThrows(URIValidationException.class,
+                () -> apiRequestMetrics.timed(PAYABLE, UPSTREAM, "GET", URI_TEMPLATE, () -> {
+                    throw new URIValidationException("invalid");
+                }).call());
+        assertThrows(UncheckedIOException.class,
+                () -> apiRequestMetrics.timed(PAYABLE, UPSTREAM, "GET", URI_TEMPLATE, () -> {
+                    throw new UncheckedIOException(new IOException("reset"));
+                }).call());
+
+        assertEquals(1, timer("GET", "UNKNOWN", "CLIENT_ERROR", "URIValidationException").count());
+        assertEquals(1, timer("GET", "UNKNOWN", "CLIENT_ERROR", "UncheckedIOException").count());
+    }
+
+    @Test
+    @DisplayName("Timed call - not recorded until it is made")
+    void recordsOnlyWhenCalled() {
+        apiRequestMetrics.timed(PAYABLE, UPSTREAM, "GET", URI_TEMPLATE, () -> "items");
+
+        assertNull(meterRegistry.find(ApiRequestMetrics.REQUESTS_METER).timer());
+    }
+
+    @Test
+    @DisplayName("Timed call - time added to the request timings")
+    void recordsRequestTiming() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestTimings timings = new RequestTimings();
+        request.setAttribute(RequestTimings.ATTRIBUTE, timings);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        apiRequestMetrics.timed(PAYABLE, UPSTREAM, "GET", URI_TEMPLATE, () -> "items").call();
+
+        assertTrue(timings.toMillis().containsKey(PAYABLE.getMetricName()));
+        assertEquals((long) timer("GET", "SUCCESS", "200", "none").totalTime(TimeUnit.NANOSECONDS),
+                timings.getNanos(PAYABLE));
+    }
+
+    private Timer timer(String method, String outcome, String status, String exception) {
+        return meterRegistry.get(ApiRequestMetrics.REQUESTS_METER)
+                .tag("upstream", UPSTREAM)
+                .tag("method", method)
+                .tag("uri", URI_TEMPLATE)
+                .tag("outcome", outcome)
+                .tag("status", status)
+                .tag("exception", exception)
+                .timer();
+    }
+}
@@ -0,0 +1,200 @@
+package uk.gov.companieshouse.web.pps.api.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import uk.gov.companieshouse.api.ApiClient;
+import uk.gov.companieshouse.web.pps.config.ApiClientConfigurationProperties;
+import uk.org.webcompere.systemstubs.jupiter.SystemStub;
+import uk.org.webcompere.systemstubs.jupiter.SystemStubsExtension;
+import uk.org.webcompere.systemstubs.properties.SystemProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@ExtendWith(SystemStubsExtension.class)
+class ApiClientServiceImplTest {
+
+    @SystemStub
+    private SystemProperties systemProperties;
+
+    private MeterRegistry meterRegistry;
+
+    private ApiClientConfigurationProperties properties;
+
+    private final AtomicInteger clientsBuilt = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ApiClientConfigurationProperties();
+        properties.setMaxConnectionsPerRoute(25);
+        properties.setIdleTimeout(Duration.ofSeconds(40));
+        systemProperties.remove(ApiClientServiceImpl.MAX_CONNECTIONS_PROPERTY);
+        systemProperties.remove(ApiClientServiceImpl.KEEP_ALIVE_TIME_PROPERTY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Reuses one client for all calls made while handling a request")
+    void reusesClientWithinRequest() {
+        ServletRequestAttributes requestAttributes =
+                new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        ApiClientServiceImpl apiClientService = apiClientService();
+
+        ApiClient first = apiClientService.getPublicApiClient();
+        ApiClient second = apiClientService.getPublicApiClient();
+
+        assertSame(first, second);
+        assertEquals(1, clientsBuilt.get());
+        assertEquals(1, clients("built"));
+        assertEquals(1, clients("shared"));
+        assertEquals(1, meterRegistry.get("api.client.per.request.active").gauge().value());
+
+        requestAttributes.requestCompleted();
+
+        assertEquals(0, meterRegistry.get("api.client.per.request.active").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Leases one client for calls made concurrently while handling a request")
+    void leasesOneClientForConcurrentCalls() throws Exception {
+        ServletRequestAttributes requestAttributes =
+                new ServletRequestAttributes(new MockHttpServletRequest());
+        ApiClientServiceImpl apiClientService = apiClientService();
+        int calls = 32;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ApiClient>> clients = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < calls; i++) {
+                clients.add(executor.submit(() -> {
+                    RequestContextHolder.setRequestAttributes(requestAttributes);
+                    start.await();
+                    return apiClientService.getPublicApiClient();
+                }));
+            }
+            start.countDown();
+            for (Future<ApiClient> client : clients) {
+                assertSame(clients.getFirst().get(), client.get());
+            }
+        }
+
+        assertEquals(1, clientsBuilt.get());
+        assertEquals(1, clients("built"));
+        assertEquals(calls - 1, clients("shared"));
+        assertEquals(1, meterRegistry.get("api.client.per.request.active").gauge().value());
+
+        requestAttributes.requestCompleted();
+
+        assertEquals(0, meterRegistry.get("api.client.per.request.active").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Builds a client without leasing it for a call that outlives its request")
+    void buildsClientAfterRequestCompleted() {
+        ServletRequestAttributes requestAttributes =
+                new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        requestAttributes.requestCompleted();
+        ApiClientServiceImpl apiClientService = apiClientService();
+
+        apiClientService.getPublicApiClient();
+
+        assertEquals(1, clientsBuilt.get());
+        assertEquals(0, meterRegistry.get("api.client.per.request.active").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Builds a new client for each request")
+    void buildsClientPerRequest() {
+        ApiClientServiceImpl apiClientService = apiClientService();
+
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest()));
+        ApiClient first = apiClientService.getPublicApiClient();
+
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest()));
+        ApiClient second = apiClientService.getPublicApiClient();
+
+        assertNotSame(first, second);
+        assertEquals(2, clients("built"));
+    }
+
+    @Test
+    @DisplayName("Builds a new client for each call made outside a request")
+    void buildsClientOutsideRequest() {
+        ApiClientServiceImpl apiClientService = apiClientService();
+
+        assertNotSame(apiClientService.getPublicApiClient(), apiClientService.getPublicApiClient());
+        assertEquals(2, clients("built"));
+        assertEquals(2, meterRegistry.get("api.client.per.request.build").timer().count());
+    }
+
+    @Test
+    @DisplayName("Does not set the JVM keep-alive pool settings, which the JDK may already have read")
+    void doesNotSetKeepAliveSettings() {
+        apiClientService();
+
+        assertNull(System.getProperty(ApiClientServiceImpl.MAX_CONNECTIONS_PROPERTY));
+        assertNull(System.getProperty(ApiClientServiceImpl.KEEP_ALIVE_TIME_PROPERTY));
+    }
+
+    @Test
+    @DisplayName("Finds no mismatch when the JVM was started with the configured keep-alive pool settings")
+    void keepAliveSettingsMatch() {
+        systemProperties.set(ApiClientServiceImpl.MAX_CONNECTIONS_PROPERTY, "25");
+        systemProperties.set(ApiClientServiceImpl.KEEP_ALIVE_TIME_PROPERTY, "40");
+
+        assertEquals(List.of(), ApiClientServiceImpl.keepAliveMismatches(properties));
+    }
+
+    @Test
+    @DisplayName("Reports keep-alive pool settings the JVM was started with that differ from configuration")
+    void keepAliveSettingsMismatch() {
+        systemProperties.set(ApiClientServiceImpl.MAX_CONNECTIONS_PROPERTY, "8");
+
+        List<String> mismatches = ApiClientServiceImpl.keepAliveMismatches(properties);
+
+        assertEquals(2, mismatches.size());
+        assertTrue(mismatches.get(0).contains("http.maxConnections is 8 but 25 is configured"));
+        assertTrue(mismatches.get(1).contains("http.keepAlive.time.server is 5 but 40 is configured"));
+    }
+
+    private ApiClientServiceImpl apiClientService() {
+        return new ApiClientServiceImpl(properties, meterRegistry, () -> {
+            clientsBuilt.incrementAndGet();
+            return mock(ApiClient.class);
+        });
+    }
+
+    private double clients(String result) {
+        return meterRegistry.get("api.client.per.request.clients").tag("result", result).counter().count();
+    }
+}
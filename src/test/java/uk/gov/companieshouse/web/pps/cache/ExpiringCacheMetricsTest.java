@@ -0,0 +1,35 @@
+package uk.gov.companieshouse.web.pps.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ExpiringCacheMetricsTest {
+
+    @Test
+    @DisplayName("Binds cache gets, evictions and size to the registry")
+    void bindsCacheMeters() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(Duration.ofMinutes(2), 1);
+        MeterRegistry registry = new SimpleMeterRegistry();
+        new ExpiringCacheMetrics(cache, "company-names").bindTo(registry);
+
+        cache.put("first", "1");
+        cache.get("first");
+        cache.get("missing");
+        cache.put("second", "2");
+
+        assertEquals(1, registry.get("cache.gets").tags("cache", "company-names", "result", "hit")
+                .functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tags("cache", "company-names", "result", "miss")
+                .functionCounter().count());
+        assertEquals(1, registry.get("cache.evictions").tag("cache", "company-names")
+                .functionCounter().count());
+        assertEquals(1, registry.get("cache.size").tag("cache", "company-names")
+                .gauge().value());
+    }
+}
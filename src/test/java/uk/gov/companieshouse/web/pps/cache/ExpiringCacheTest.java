@@ -0,0 +1,128 @@
+package uk.gov.companieshouse.web.pps.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpiringCacheTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-31T12:00:00Z");
+
+    @Test
+    @DisplayName("Returns a value until its time to live has passed")
+    void expiresAfterTimeToLive() {
+        MutableClock clock = new MutableClock(NOW);
+        ExpiringCache<String, String> cache = new ExpiringCache<>(Duration.ofMinutes(2), 10, clock);
+
+        cache.put("key", "value");
+
+        clock.instant = NOW.plus(Duration.ofMinutes(2));
+        assertEquals("value", cache.get("key").orElseThrow());
+
+        clock.instant = NOW.plus(Duration.ofMinutes(2)).plusMillis(1);
+        assertFalse(cache.get("key").isPresent());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Evicts the least recently used entry when full")
+    void evictsLeastRecentlyUsed() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(Duration.ofMinutes(2), 2,
+                new MutableClock(NOW));
+
+        cache.put("first", "1");
+        cache.put("second", "2");
+        cache.get("first");
+        cache.put("third", "3");
+
+        assertTrue(cache.get("first").isPresent());
+        assertFalse(cache.get("second").isPresent());
+        assertTrue(cache.get("third").isPresent());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    @DisplayName("Counts hits, misses and evictions")
+    void countsHitsMissesAndEvictions() {
+        MutableClock clock = new MutableClock(NOW);
+        ExpiringCache<String, String> cache = new ExpiringCache<>(Duration.ofMinutes(2), 1, clock);
+
+        cache.get("first");
+        cache.put("first", "1");
+        cache.get("first");
+        cache.put("second", "2");
+        clock.instant = NOW.plus(Duration.ofMinutes(3));
+        cache.get("second");
+
+        assertEquals(1, cache.hitCount());
+        assertEquals(2, cache.missCount());
+        assertEquals(2, cache.evictionCount());
+    }
+
+    @Test
+    @DisplayName("Invalidate removes the entry")
+    void invalidateRemovesEntry() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(Duration.ofMinutes(2), 2);
+
+        cache.put("key", "value");
+        cache.invalidate("key");
+
+        assertFalse(cache.get("key").isPresent());
+    }
+
+    @Test
+    @DisplayName("Put if absent only puts over a missing or expired entry")
+    void putIfAbsentOnlyPutsOverMissingOrExpiredEntry() {
+        MutableClock clock = new MutableClock(NOW);
+        ExpiringCache<String, String> cache = new ExpiringCache<>(Duration.ofMinutes(2), 10, clock);
+
+        assertTrue(cache.putIfAbsent("key", "first"));
+        assertFalse(cache.putIfAbsent("key", "second"));
+        assertEquals("first", cache.get("key").orElseThrow());
+
+        clock.instant = NOW.plus(Duration.ofMinutes(3));
+        assertTrue(cache.putIfAbsent("key", "third"));
+        assertEquals("third", cache.get("key").orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Rejects a max entries of less than one")
+    void rejectsInvalidMaxEntries() {
+        Duration ttl = Duration.ofMinutes(2);
+        assertThrows(IllegalArgumentException.class, () -> new ExpiringCache<>(ttl, 0));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package uk.gov.companieshouse.web.pps.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RenderedPageCacheTest {
+
+    private static final String TEMPLATE = "pps/unscheduledServiceDown";
+    private static final String PATH = "/pay-penalty/unscheduled-service-down";
+    private static final String PAGE = "<html><body>Sorry, there is a problem with this service</body></html>";
+    private static final Instant NOW = Instant.parse("2025-01-31T12:00:00.250Z");
+
+    @Mock
+    private ViewResolver viewResolver;
+
+    @Mock
+    private View view;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RenderedPageCache renderedPageCache;
+
+    @BeforeEach
+    void setUp() {
+        renderedPageCache = new RenderedPageCache(List.of(TEMPLATE),
+                new ExpiringCache<>(Duration.ofMinutes(10), 100), viewResolver, meterRegistry,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("A page is rendered once and then served from the cache with a strong ETag")
+    void rendersOnceThenServesFromCache() throws Exception {
+        when(viewResolver.resolveViewName(TEMPLATE, Locale.ENGLISH)).thenReturn(view);
+        renderPage(view, 200, PAGE);
+
+        MockHttpServletResponse first = render(get(), modelAndView(Map.of()));
+        MockHttpServletResponse second = render(get(), modelAndView(Map.of()));
+
+        assertEquals(PAGE, first.getContentAsString());
+        assertEquals(PAGE, second.getContentAsString());
+        assertEquals(RenderedPageCache.etag(PAGE.getBytes()), second.getHeader(HttpHeaders.ETAG));
+        assertTrue(second.getHeader(HttpHeaders.ETAG).matches("\"[0-9a-f]{32}\""));
+        assertEquals(first.getHeader(HttpHeaders.ETAG), second.getHeader(HttpHeaders.ETAG));
+        assertEquals(NOW.toEpochMilli() / 1000 * 1000, second.getDateHeader(HttpHeaders.LAST_MODIFIED));
+        assertEquals(RenderedPageCache.CACHE_CONTROL, second.getHeader(HttpHeaders.CACHE_CONTROL));
+        verify(view, times(1)).render(anyMap(), any(), any());
+        assertEquals(1.0, requests("hit"));
+        assertEquals(1.0, requests("miss"));
+    }
+
+    @Test
+    @DisplayName("A request with a matching If-None-Match gets a 304 with no body")
+    void notModified() throws Exception {
+        when(viewResolver.resolveViewName(TEMPLATE, Locale.ENGLISH)).thenReturn(view);
+        renderPage(view, 200, PAGE);
+        String etag = render(get(), modelAndView(Map.of())).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse response = render(request, modelAndView(Map.of()));
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+        assertEquals(1.0, requests("not-modified"));
+    }
+
+    @Test
+    @DisplayName("Pages are cached separately by penalty reference type and whether the user is signed in")
+    void keyedByPenaltyReferenceAndSignIn() throws Exception {
+        when(viewResolver.resolveViewName(TEMPLATE, Locale.ENGLISH)).thenReturn(view);
+        renderPage(view, 200, PAGE);
+
+        render(get(), modelAndView(Map.of("penaltyReference", "LATE_FILING")));
+        render(get(), modelAndView(Map.of("penaltyReference", "SANCTIONS")));
+        render(get(), modelAndView(Map.of("penaltyReference", "SANCTIONS", "userEmail", "test@example.com")));
+        render(get(), modelAndView(Map.of("penaltyReference", "SANCTIONS")));
+
+        verify(view, times(3)).render(anyMap(), any(), any());
+        assertEquals(3, renderedPageCache.size());
+    }
+
+    @Test
+    @DisplayName("Signed in users with different emails share one entry and each see their own email")
+    void sharedBetweenUsers() throws Exception {
+        when(viewResolver.resolveViewName(TEMPLATE, Locale.ENGLISH)).thenReturn(view);
+        renderModelValue(view, "userEmail");
+
+        MockHttpServletResponse first = render(get(), modelAndView(Map.of("userEmail", "first@example.com")));
+        MockHttpServletResponse second = render(get(), modelAndView(Map.of("userEmail", "second@example.com")));
+
+        assertEquals("<p>first@example.com</p>", first.getContentAsString());
+        assertEquals("<p>second@example.com</p>", second.getContentAsString());
+        assertNotEquals(first.getHeader(HttpHeaders.ETAG), second.getHeader(HttpHeaders.ETAG));
+        verify(view, times(1)).render(anyMap(), any(), any());
+        assertEquals(1, renderedPageCache.size());
+        assertEquals(1.0, requests("hit"));
+    }
+
+    @Test
+    @DisplayName("Penalties of the same type share one entry and each page shows its own escaped reference")
+    void sharedBetweenPenalties() throws Exception {
+        when(viewResolver.resolveViewName(TEMPLATE, Locale.ENGLISH)).thenReturn(view);
+        renderModelValue(view, "penaltyRef");
+
+        MockHttpServletResponse first = render(get(), modelAndView(Map.of("penaltyRef", "A0000001")));
+        MockHttpServletResponse second = render(get(), modelAndView(Map.of("penaltyRef", "A<b>")));
+        render(get(), modelAndView(Map.of("penaltyRef", "P0000001")));
+
+        assertEquals("<p>A0000001</p>", first.getContentAsString());
+        assertEquals("<p>A&lt;b&gt;</p>", second.getContentAsString());
+        verify(view, times(2)).render(anyMap(), any(), any());
+        assertEquals(2, renderedPageCache.size());
+    }
+
+    @Test
+    @DisplayName("Templates that are not listed, other methods, unknown attributes and complex models are not cached")
+    void notCacheable() throws Exception {
+        ModelAndView otherTemplate = new ModelAndView("pps/viewPenalties");
+        MockHttpServletRequest post = new MockHttpServletRequest("POST", PATH);
+
+        assertEquals(Optional.empty(), renderedPageCache.view(get(), otherTemplate));
+        assertEquals(Optional.empty(), renderedPageCache.view(post, modelAndView(Map.of())));
+        assertEquals(Optional.empty(),
+                renderedPageCache.view(get(), modelAndView(Map.of("paymentId", "pay-123"))));
+        assertEquals(Optional.empty(),
+                renderedPageCache.view(get(), modelAndView(Map.of("penaltyRef", List.of("A0000001")))));
+        assertEquals(Optional.empty(),
+                renderedPageCache.view(get(), modelAndView(Map.of("penaltyRef", "Z0000001"))));
+        verifyNoInteractions(viewResolver);
+    }
+
+    @Test
+    @DisplayName("A page that was not rendered successfully is passed through and not cached")
+    void errorNotCached() throws Exception {
+        when(viewResolver.resolveViewName(TEMPLATE, Locale.ENGLISH)).thenReturn(view);
+        renderPage(view, 500, "error");
+
+        MockHttpServletResponse response = render(get(), modelAndView(Map.of()));
+
+        assertEquals(500, response.getStatus());
+        assertEquals("error", response.getContentAsString());
+        assertEquals(0, renderedPageCache.size());
+    }
+
+    @Test
+    @DisplayName("A page containing the request's CSRF token is not cached")
+    void csrfTokenNotCached() throws Exception {
+        when(viewResolver.resolveViewName(TEMPLATE, Locale.ENGLISH)).thenReturn(view);
+        renderPage(view, 200, "<input name=\"_csrf\" value=\"secret-token\">");
+        MockHttpServletRequest request = get();
+        request.setAttribute(CsrfToken.class.getName(), new DefaultCsrfToken("X-CSRF-TOKEN", "_csrf", "secret-token"));
+
+        MockHttpServletResponse response = render(request, modelAndView(Map.of()));
+
+        assertEquals("<input name=\"_csrf\" value=\"secret-token\">", response.getContentAsString());
+        assertEquals(0, renderedPageCache.size());
+    }
+
+    private MockHttpServletResponse render(MockHttpServletRequest request, ModelAndView modelAndView)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        View cacheView = renderedPageCache.view(request, modelAndView).orElseThrow();
+        cacheView.render(modelAndView.getModel(), request, response);
+        return response;
+    }
+
+    private static MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", PATH);
+    }
+
+    private static ModelAndView modelAndView(Map<String, ?> model) {
+        return new ModelAndView(TEMPLATE, model);
+    }
+
+    private static void renderPage(View view, int status, String page) throws Exception {
+        doAnswer(invocation -> {
+            HttpServletResponse response = invocation.getArgument(2);
+            response.setStatus(status);
+            response.setContentType("text/html;charset=UTF-8");
+            response.getWriter().write(page);
+            return null;
+        }).when(view).render(anyMap(), any(), any());
+    }
+
+    private static void renderModelValue(View view, String attribute) throws Exception {
+        doAnswer(invocation -> {
+            Map<String, ?> model = invocation.getArgument(0);
+            HttpServletResponse response = invocation.getArgument(2);
+            response.setContentType("text/html;charset=UTF-8");
+            response.getWriter().write("<p>" + model.get(attribute) + "</p>");
+            return null;
+        }).when(view).render(anyMap(), any(), any());
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("rendered.page.cache.requests")
+                .tag("template", TEMPLATE)
+                .tag("result", result)
+                .counter().count();
+    }
+}
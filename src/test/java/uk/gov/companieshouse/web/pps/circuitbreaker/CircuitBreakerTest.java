@@ -0,0 +1,197 @@
+package uk.gov.companieshouse.web.pps.circuitbreaker;
+
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpResponseException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.api.error.ApiErrorResponseException;
+import uk.gov.companieshouse.web.pps.config.CircuitBreakerConfigurationProperties;
+import uk.gov.companieshouse.web.pps.exception.CircuitBreakerOpenException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static uk.gov.companieshouse.web.pps.circuitbreaker.CircuitBreaker.State.CLOSED;
+import static uk.gov.companieshouse.web.pps.circuitbreaker.CircuitBreaker.State.HALF_OPEN;
+import static uk.gov.companieshouse.web.pps.circuitbreaker.CircuitBreaker.State.OPEN;
+
+class CircuitBreakerTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-31T12:00:00Z");
+    private static final String UPSTREAM = "penalty-payment-api";
+
+    private CircuitBreakerConfigurationProperties properties;
+    private MutableClock clock;
+    private MeterRegistry meterRegistry;
+    private CircuitBreaker circuitBreaker;
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        properties = new CircuitBreakerConfigurationProperties();
+        properties.setWindowSize(4);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(50);
+        properties.setOpenDuration(Duration.ofSeconds(30));
+        properties.setHalfOpenProbes(2);
+        clock = new MutableClock(NOW);
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new CircuitBreakerRegistry(properties, meterRegistry, clock).get(UPSTREAM);
+    }
+
+    @Test
+    @DisplayName("Opens once the failure rate reaches the threshold and then rejects calls")
+    void opensOnFailureRate() throws Exception {
+        succeed();
+        succeed();
+        fail(500);
+        assertEquals(CLOSED, circuitBreaker.getState());
+
+        fail(500);
+
+        assertEquals(OPEN, circuitBreaker.getState());
+        assertThrows(CircuitBreakerOpenException.class, this::succeed);
+        assertEquals(4, upstreamCalls.get());
+    }
+
+    @Test
+    @DisplayName("Opens once the slow call rate reaches the threshold")
+    void opensOnSlowCallRate() throws Exception {
+        properties.setSlowCallDuration(Duration.ZERO);
+        properties.setSlowCallRateThreshold(100);
+
+        for (int i = 0; i < 4; i++) {
+            succeed();
+        }
+
+        assertEquals(OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("Client errors do not count as failures")
+    void clientErrorsAreNotFailures() {
+        for (int i = 0; i < 4; i++) {
+            fail(404);
+        }
+
+        assertEquals(CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("Expected errors do not count as failures")
+    void expectedErrorsAreNotFailures() {
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ApiErrorResponseException.class, () -> circuitBreaker.execute(
+                    () -> {
+                        throw apiError(503);
+                    },
+                    ex -> ex.getStatusCode() == 503));
+        }
+
+        assertEquals(CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("Closes after the half open probes succeed")
+    void closesAfterSuccessfulProbes() throws Exception {
+        open();
+
+        clock.instant = NOW.plus(Duration.ofSeconds(30));
+        succeed();
+        assertEquals(HALF_OPEN, circuitBreaker.getState());
+        succeed();
+
+        assertEquals(CLOSED, circuitBreaker.getState());
+        assertEquals(1, meterRegistry.get("circuit.breaker.transitions")
+                .tags("name", UPSTREAM, "from", "HALF_OPEN", "to", "CLOSED").counter().count());
+        assertEquals(0, meterRegistry.get("circuit.breaker.state").tag("name", UPSTREAM)
+                .gauge().value());
+    }
+
+    @Test
+    @DisplayName("Reopens when a half open probe fails")
+    void reopensWhenProbeFails() {
+        open();
+
+        clock.instant = NOW.plus(Duration.ofSeconds(31));
+        fail(502);
+
+        assertEquals(OPEN, circuitBreaker.getState());
+        assertThrows(CircuitBreakerOpenException.class, this::succeed);
+        assertEquals(1, meterRegistry.get("circuit.breaker.transitions")
+                .tags("name", UPSTREAM, "from", "HALF_OPEN", "to", "OPEN").counter().count());
+    }
+
+    @Test
+    @DisplayName("Passes every call through when disabled")
+    void disabledPassesCallsThrough() throws Exception {
+        properties.setEnabled(false);
+        for (int i = 0; i < 8; i++) {
+            fail(500);
+        }
+
+        succeed();
+
+        assertEquals(CLOSED, circuitBreaker.getState());
+        assertEquals(9, upstreamCalls.get());
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            fail(500);
+        }
+        assertEquals(OPEN, circuitBreaker.getState());
+    }
+
+    private void succeed() throws Exception {
+        circuitBreaker.execute(() -> {
+            upstreamCalls.incrementAndGet();
+            return "ok";
+        });
+    }
+
+    private void fail(int statusCode) {
+        assertThrows(ApiErrorResponseException.class, () -> circuitBreaker.execute(() -> {
+            upstreamCalls.incrementAndGet();
+            throw apiError(statusCode);
+        }));
+    }
+
+    private static ApiErrorResponseException apiError(int statusCode) {
+        return new ApiErrorResponseException(
+                new HttpResponseException.Builder(statusCode, "error", new HttpHeaders()));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -21,6 +21,7 @@ import uk.gov.companieshouse.web.pps.service.navigation.NavigatorService;
 import uk.gov.companieshouse.web.pps.service.penaltydetails.PenaltyDetailsService;
 import uk.gov.companieshouse.web.pps.service.response.PPSServiceResponse;
 import uk.gov.companieshouse.web.pps.session.SessionService;
+import uk.gov.companieshouse.web.pps.session.UserContext;
 import uk.gov.companieshouse.web.pps.util.PenaltyReference;
 import uk.gov.companieshouse.web.pps.validation.EnterDetailsValidator;
 
@@ -111,6 +112,7 @@ class EnterDetailsControllerTest {
 
         var startsWith = penaltyReference.getStartsWith();
 
+        when(mockSessionService.getUserContext()).thenReturn(UserContext.SIGNED_OUT);
         when(mockPenaltyDetailsService.getEnterDetails(startsWith)).thenReturn(serviceResponse);
 
         this.mockMvc.perform(get(ENTER_DETAILS_PATH)
@@ -187,6 +189,7 @@ class EnterDetailsControllerTest {
         var serviceResponse = buildServiceResponse(true, true);
         serviceResponse.setUrl(NEXT_CONTROLLER_PATH);
 
+        when(mockSessionService.getUserContext()).thenReturn(UserContext.SIGNED_OUT);
         when(mockPenaltyDetailsService.postEnterDetails(any(), anyBoolean(), any()))
                 .thenReturn(serviceResponse);
 
@@ -204,6 +207,7 @@ class EnterDetailsControllerTest {
 
         var serviceResponse = buildServiceResponse(true, true);
 
+        when(mockSessionService.getUserContext()).thenReturn(UserContext.SIGNED_OUT);
         when(mockPenaltyDetailsService.postEnterDetails(any(), anyBoolean(), any())).thenReturn(serviceResponse);
 
         this.mockMvc.perform(post(ENTER_DETAILS_PATH)
@@ -223,6 +227,7 @@ class EnterDetailsControllerTest {
 
         PPSServiceResponse serviceResponse = buildServiceResponse(true, true);
 
+        when(mockSessionService.getUserContext()).thenReturn(UserContext.SIGNED_OUT);
         when(mockPenaltyDetailsService.postEnterDetails(any(), anyBoolean(), any())).thenReturn(serviceResponse);
 
         this.mockMvc.perform(post(ENTER_DETAILS_PATH)
@@ -13,7 +13,9 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import uk.gov.companieshouse.web.pps.config.PenaltyConfigurationProperties;
 import uk.gov.companieshouse.web.pps.service.navigation.NavigatorService;
 import uk.gov.companieshouse.web.pps.session.SessionService;
+import uk.gov.companieshouse.web.pps.session.UserContext;
 
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -52,6 +54,8 @@ class OnlinePaymentUnavailableControllerTest {
                 mockPenaltyConfigurationProperties,
                 mockMessageSource);
         this.mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        when(mockSessionService.getUserContext()).thenReturn(UserContext.SIGNED_OUT);
     }
 
     @Test
@@ -13,8 +13,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import uk.gov.companieshouse.web.pps.config.PenaltyConfigurationProperties;
 import uk.gov.companieshouse.web.pps.service.navigation.NavigatorService;
 import uk.gov.companieshouse.web.pps.session.SessionService;
-
-import java.util.Map;
+import uk.gov.companieshouse.web.pps.session.UserContext;
 
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -23,7 +22,6 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 import static uk.gov.companieshouse.web.pps.controller.BaseController.USER_BAR_ATTR;
 import static uk.gov.companieshouse.web.pps.controller.pps.PageNotFoundController.PAGE_NOT_FOUND_TEMPLATE_NAME;
-import static uk.gov.companieshouse.web.pps.service.ServiceConstants.SIGN_IN_INFO;
 
 @ExtendWith(MockitoExtension.class)
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -60,10 +58,7 @@ class PageNotFoundControllerTest {
     @DisplayName("Get Page Not Found - success path")
     void getRequestSuccess() throws Exception {
 
-        when(mockSessionService.getSessionDataFromContext()).thenReturn(
-                Map.of(SIGN_IN_INFO,
-                        Map.of("user_profile",
-                                Map.of("email", "test@example.com"))));
+        when(mockSessionService.getUserContext()).thenReturn(new UserContext(true, "test@example.com"));
 
         this.mockMvc.perform(get(PAGE_NOT_FOUND_PATH))
                 .andExpect(status().isOk())
@@ -18,6 +18,7 @@ import uk.gov.companieshouse.web.pps.service.navigation.NavigatorService;
 import uk.gov.companieshouse.web.pps.service.penaltypayment.PenaltyPaidService;
 import uk.gov.companieshouse.web.pps.service.response.PPSServiceResponse;
 import uk.gov.companieshouse.web.pps.session.SessionService;
+import uk.gov.companieshouse.web.pps.session.UserContext;
 import uk.gov.companieshouse.web.pps.util.PenaltyTestData;
 
 import java.util.Collections;
@@ -93,6 +94,7 @@ class PenaltyPaidControllerTest {
     void getRequestSuccess(PenaltyTestData penaltyTestData) throws Exception {
         PPSServiceResponse response = getPpsServiceResponse(penaltyTestData);
 
+        when(mockSessionService.getUserContext()).thenReturn(UserContext.SIGNED_OUT);
         when(mockPenaltyPaidService.getPaid(penaltyTestData.customerCode(),
                 penaltyTestData.penaltyRef())).thenReturn(response);
 
@@ -13,6 +13,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import uk.gov.companieshouse.web.pps.config.PenaltyConfigurationProperties;
 import uk.gov.companieshouse.web.pps.service.navigation.NavigatorService;
 import uk.gov.companieshouse.web.pps.session.SessionService;
+import uk.gov.companieshouse.web.pps.session.UserContext;
 
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -56,6 +57,8 @@ class PenaltyPaymentInProgressControllerTest {
                 mockPenaltyConfigurationProperties,
                 mockMessageSource);
         this.mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        when(mockSessionService.getUserContext()).thenReturn(UserContext.SIGNED_OUT);
     }
 
     @Test
@@ -17,6 +17,7 @@ import uk.gov.companieshouse.web.pps.service.navigation.NavigatorService;
 import uk.gov.companieshouse.web.pps.service.penaltyrefstartswith.PenaltyRefStartsWithService;
 import uk.gov.companieshouse.web.pps.service.response.PPSServiceResponse;
 import uk.gov.companieshouse.web.pps.session.SessionService;
+import uk.gov.companieshouse.web.pps.session.UserContext;
 import uk.gov.companieshouse.web.pps.util.PenaltyReference;
 
 import java.util.HashMap;
@@ -145,6 +146,7 @@ class PenaltyRefStartsWithControllerTest {
         mockServiceResponse.setModelAttributes(setModelForPostPenaltyRefStartWithError());
         mockServiceResponse.setBaseModelAttributes(setBackUrl());
 
+        when(mockSessionService.getUserContext()).thenReturn(UserContext.SIGNED_OUT);
         when(mockPenaltyRefStartsWithService.postPenaltyRefStartsWithError()).thenReturn(mockServiceResponse);
 
         this.mockMvc.perform(post(mockPenaltyConfigurationProperties.getRefStartsWithPath()))
@@ -163,6 +165,7 @@ class PenaltyRefStartsWithControllerTest {
         mockServiceResponse.setBaseModelAttributes(setBackUrl());
         mockServiceResponse.setUrl(setUpEnterDetailsUrl(LATE_FILING));
 
+        when(mockSessionService.getUserContext()).thenReturn(UserContext.SIGNED_OUT);
         when(mockPenaltyRefStartsWithService.postPenaltyRefStartsWithNext(any(PenaltyReferenceChoice.class))).thenReturn(mockServiceResponse);
 
         this.mockMvc.perform(post(mockPenaltyConfigurationProperties.getRefStartsWithPath())
@@ -179,6 +182,7 @@ class PenaltyRefStartsWithControllerTest {
         mockServiceResponse.setBaseModelAttributes(setBackUrl());
         mockServiceResponse.setUrl(setUpEnterDetailsUrl(SANCTIONS));
 
+        when(mockSessionService.getUserContext()).thenReturn(UserContext.SIGNED_OUT);
         when(mockPenaltyRefStartsWithService.postPenaltyRefStartsWithNext(any(PenaltyReferenceChoice.class))).thenReturn(mockServiceResponse);
 
         this.mockMvc.perform(post(mockPenaltyConfigurationProperties.getRefStartsWithPath())
@@ -195,6 +199,7 @@ class PenaltyRefStartsWithControllerTest {
         mockServiceResponse.setBaseModelAttributes(setBackUrl());
         mockServiceResponse.setUrl(setUpEnterDetailsUrl(SANCTIONS_ROE));
 
+        when(mockSessionService.getUserContext()).thenReturn(UserContext.SIGNED_OUT);
         when(mockPenaltyRefStartsWithService.postPenaltyRefStartsWithNext(any(PenaltyReferenceChoice.class))).thenReturn(mockServiceResponse);
 
         this.mockMvc.perform(post(mockPenaltyConfigurationProperties.getRefStartsWithPath())
@@ -15,9 +15,9 @@ import uk.gov.companieshouse.web.pps.service.navigation.NavigatorService;
 import uk.gov.companieshouse.web.pps.service.response.PPSServiceResponse;
 import uk.gov.companieshouse.web.pps.service.signout.SignOutService;
 import uk.gov.companieshouse.web.pps.session.SessionService;
+import uk.gov.companieshouse.web.pps.session.UserContext;
 
 import java.util.HashMap;
-import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.nullable;
@@ -50,8 +50,8 @@ class SignOutControllerTest {
     private MessageSource mockMessageSource;
     @Mock
     private SignOutService mockSignOutService;
-    @Mock
-    private Map<String, Object> sessionData;
+
+    private final UserContext userContext = new UserContext(true, "test@example.com");
 
     private static final String SIGNED_OUT_URL = System.getProperty("ACCOUNT_LOCAL_URL");
     private static final String SIGN_OUT_PATH = "/pay-penalty/sign-out";
@@ -75,8 +75,8 @@ class SignOutControllerTest {
     @Test
     @DisplayName("GET Sign out - success with no referer")
     void getRequestSuccess() throws Exception {
-        when(mockSessionService.getSessionDataFromContext()).thenReturn(sessionData);
-        when(mockSignOutService.isUserSignedIn(sessionData)).thenReturn(true);
+        when(mockSessionService.getUserContext()).thenReturn(userContext);
+        when(mockSignOutService.isUserSignedIn(userContext)).thenReturn(true);
         when(mockSignOutService.resolveBackLink(nullable(String.class))).thenReturn(new PPSServiceResponse());
         when(mockPenaltyConfigurationProperties.getPayPenaltyPath()).thenReturn("/pay-penalty");
 
@@ -92,8 +92,8 @@ class SignOutControllerTest {
         PPSServiceResponse response = new PPSServiceResponse();
         response.setUrl(PREVIOUS_PATH);
 
-        when(mockSessionService.getSessionDataFromContext()).thenReturn(sessionData);
-        when(mockSignOutService.isUserSignedIn(sessionData)).thenReturn(true);
+        when(mockSessionService.getUserContext()).thenReturn(userContext);
+        when(mockSignOutService.isUserSignedIn(userContext)).thenReturn(true);
         when(mockSignOutService.resolveBackLink(anyString())).thenReturn(response);
 
         mockMvc.perform(get(SIGN_OUT_PATH).header(REFERER, PREVIOUS_PATH))
@@ -105,8 +105,8 @@ class SignOutControllerTest {
     @Test
     @DisplayName("GET Sign out - referer is sign out itself")
     void getCheckSignOutIsReferer() throws Exception {
-        when(mockSessionService.getSessionDataFromContext()).thenReturn(sessionData);
-        when(mockSignOutService.isUserSignedIn(sessionData)).thenReturn(true);
+        when(mockSessionService.getUserContext()).thenReturn(userContext);
+        when(mockSignOutService.isUserSignedIn(userContext)).thenReturn(true);
         when(mockSignOutService.resolveBackLink(anyString()))
                 .thenReturn(new PPSServiceResponse());
 
@@ -118,8 +118,8 @@ class SignOutControllerTest {
     @Test
     @DisplayName("GET Sign out - user not signed in or no session")
     void noSuccessGet() throws Exception {
-        when(mockSessionService.getSessionDataFromContext()).thenReturn(sessionData);
-        when(mockSignOutService.isUserSignedIn(sessionData)).thenReturn(false);
+        when(mockSessionService.getUserContext()).thenReturn(userContext);
+        when(mockSignOutService.isUserSignedIn(userContext)).thenReturn(false);
         when(mockPenaltyConfigurationProperties.getUnscheduledServiceDownPath()).thenReturn(UNSCHEDULED_DOWN_PATH);
 
         mockMvc.perform(get(SIGN_OUT_PATH))
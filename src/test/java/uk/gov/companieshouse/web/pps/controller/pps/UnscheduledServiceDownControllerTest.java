@@ -13,8 +13,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import uk.gov.companieshouse.web.pps.config.PenaltyConfigurationProperties;
 import uk.gov.companieshouse.web.pps.service.navigation.NavigatorService;
 import uk.gov.companieshouse.web.pps.session.SessionService;
-
-import java.util.Map;
+import uk.gov.companieshouse.web.pps.session.UserContext;
 
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -23,7 +22,6 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 import static uk.gov.companieshouse.web.pps.controller.BaseController.USER_BAR_ATTR;
 import static uk.gov.companieshouse.web.pps.controller.pps.UnscheduledServiceDownController.UNSCHEDULED_SERVICE_DOWN_TEMPLATE_NAME;
-import static uk.gov.companieshouse.web.pps.service.ServiceConstants.SIGN_IN_INFO;
 import static uk.gov.companieshouse.web.pps.util.PPSTestUtility.UNSCHEDULED_SERVICE_DOWN_PATH;
 
 @ExtendWith(MockitoExtension.class)
@@ -59,10 +57,7 @@ class UnscheduledServiceDownControllerTest {
     @DisplayName("Get Unscheduled Service Down - success path")
     void getRequestSuccess() throws Exception {
 
-        when(mockSessionService.getSessionDataFromContext()).thenReturn(
-                Map.of(SIGN_IN_INFO,
-                        Map.of("user_profile",
-                                Map.of("email", "test@gmail.com"))));
+        when(mockSessionService.getUserContext()).thenReturn(new UserContext(true, "test@gmail.com"));
 
         this.mockMvc.perform(get(UNSCHEDULED_SERVICE_DOWN_PATH))
                 .andExpect(status().isOk())
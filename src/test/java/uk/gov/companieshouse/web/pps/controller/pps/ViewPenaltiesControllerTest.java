@@ -18,6 +18,7 @@ import uk.gov.companieshouse.web.pps.service.navigation.NavigatorService;
 import uk.gov.companieshouse.web.pps.service.response.PPSServiceResponse;
 import uk.gov.companieshouse.web.pps.service.viewpenalty.ViewPenaltiesService;
 import uk.gov.companieshouse.web.pps.session.SessionService;
+import uk.gov.companieshouse.web.pps.session.UserContext;
 import uk.gov.companieshouse.web.pps.util.PenaltyTestData;
 import uk.gov.companieshouse.web.pps.util.PenaltyUtils;
 
@@ -122,6 +123,7 @@ class ViewPenaltiesControllerTest {
         serviceResponse.setBaseModelAttributes(baseModelAttributes);
         serviceResponse.setModelAttributes(modelAttributes);
 
+        when(mockSessionService.getUserContext()).thenReturn(UserContext.SIGNED_OUT);
         when(mockViewPenaltiesService.viewPenalties(penaltyTestData.customerCode(),
                 penaltyTestData.penaltyRef())).thenReturn(serviceResponse);
 
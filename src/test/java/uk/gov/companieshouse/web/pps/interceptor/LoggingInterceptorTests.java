@@ -6,23 +6,35 @@ import jakarta.servlet.http.HttpSession;
 import org.apache.http.HttpStatus;
 import org.json.JSONException;
 import org.json.JSONObject;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.servlet.ModelAndView;
 import uk.gov.companieshouse.logging.util.LogContextProperties;
+import uk.gov.companieshouse.web.pps.config.PenaltyConfigurationProperties;
+import uk.gov.companieshouse.web.pps.config.RequestLoggingConfigurationProperties;
+import uk.gov.companieshouse.web.pps.logging.AdaptiveLogSampler;
+import uk.gov.companieshouse.web.pps.logging.AsyncRequestLogWriter;
+import uk.gov.companieshouse.web.pps.timing.RequestTimings;
+import uk.gov.companieshouse.web.pps.timing.ServerTimingMetric;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.time.Duration;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -30,6 +42,9 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class LoggingInterceptorTests {
 
+    private static final String UNSCHEDULED_SERVICE_DOWN_PATH = "/pay-penalty/unscheduled-service-down";
+    private static final String SAMPLE_RATE_ATTRIBUTE = LoggingInterceptor.class.getName() + ".sampleRate";
+
     @Mock
     private HttpServletRequest httpServletRequest;
 
@@ -39,7 +54,7 @@ class LoggingInterceptorTests {
     @Mock
     private HttpSession session;
 
-    @InjectMocks
+    private AsyncRequestLogWriter requestLogWriter;
     private LoggingInterceptor loggingInterceptor;
     private ByteArrayOutputStream out;
 
@@ -48,6 +63,12 @@ class LoggingInterceptorTests {
         when(httpServletRequest.getSession()).thenReturn(session);
         out = new ByteArrayOutputStream();
         System.setOut(new PrintStream(out));
+        createInterceptor(new RequestLoggingConfigurationProperties(), null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        requestLogWriter.destroy();
     }
 
     @Test
@@ -76,7 +97,190 @@ class LoggingInterceptorTests {
         assertThat(data, containsString("status\":200"));
     }
 
+    @Test
+    @DisplayName("Tests the start of the request is logged with its sample rate")
+    void preHandleSampled() throws JSONException {
+        useSampler(0.25);
+        loggingInterceptor.preHandle(httpServletRequest, httpServletResponse, new Object());
+        verify(httpServletRequest).setAttribute(SAMPLE_RATE_ATTRIBUTE, 0.25);
+        String data = this.getOutputJson().toString();
+        assertThat(data, containsString(LogContextProperties.START_OF_REQUEST_MSG.value()));
+        assertThat(data, containsString("\"sample_rate\":0.25"));
+    }
+
+    @Test
+    @DisplayName("Tests the start of the request is not logged when it is sampled out")
+    void preHandleSampledOut() {
+        useSampler(0.0);
+        loggingInterceptor.preHandle(httpServletRequest, httpServletResponse, new Object());
+        assertTrue(requestLogWriter.flush(Duration.ofSeconds(5)));
+        assertEquals("", out.toString());
+    }
+
+    @Test
+    @DisplayName("Tests the end of a sampled out request is not logged")
+    void postHandleSampledOut() {
+        when(httpServletRequest.getAttribute(SAMPLE_RATE_ATTRIBUTE)).thenReturn(0.0);
+        when(session.getAttribute(LogContextProperties.START_TIME_KEY.value()))
+                .thenReturn(System.currentTimeMillis());
+        when(httpServletResponse.getStatus()).thenReturn(HttpStatus.SC_OK);
+        loggingInterceptor.postHandle(httpServletRequest, httpServletResponse, new Object(),
+                new ModelAndView("view"));
+        assertTrue(requestLogWriter.flush(Duration.ofSeconds(5)));
+        assertEquals("", out.toString());
+    }
+
+    @Test
+    @DisplayName("Tests the end of a sampled out request is logged when it is a server error")
+    void postHandleServerError() throws JSONException {
+        lenient().when(httpServletRequest.getAttribute(SAMPLE_RATE_ATTRIBUTE)).thenReturn(0.0);
+        when(httpServletResponse.getStatus()).thenReturn(HttpStatus.SC_INTERNAL_SERVER_ERROR);
+        loggingInterceptor.postHandle(httpServletRequest, httpServletResponse, new Object(),
+                new ModelAndView("error"));
+        String data = this.getOutputJson().toString();
+        assertThat(data, containsString(LogContextProperties.END_OF_REQUEST_MSG.value()));
+        assertThat(data, containsString("\"sample_rate\":1"));
+    }
+
+    @Test
+    @DisplayName("Tests the end of a slow request is logged with its timings")
+    void postHandleSlowRequest() throws JSONException {
+        RequestTimings timings = new RequestTimings();
+        timings.add(ServerTimingMetric.PENALTIES, 2_500_000_000L);
+        when(httpServletRequest.getAttribute(RequestTimings.ATTRIBUTE)).thenReturn(timings);
+        when(session.getAttribute(LogContextProperties.START_TIME_KEY.value()))
+                .thenReturn(System.currentTimeMillis() - 3000);
+        when(httpServletResponse.getStatus()).thenReturn(HttpStatus.SC_OK);
+        loggingInterceptor.postHandle(httpServletRequest, httpServletResponse, new Object(),
+                new ModelAndView("view"));
+        String data = this.getOutputJson().toString();
+        assertThat(data, containsString(LogContextProperties.END_OF_REQUEST_MSG.value()));
+        assertThat(data, containsString("\"penalties\":2500"));
+    }
+
+    @Test
+    @DisplayName("Tests the end of a sampled out request is logged when it redirects to unscheduled service down")
+    void postHandleUnscheduledServiceDown() throws JSONException {
+        lenient().when(httpServletRequest.getAttribute(SAMPLE_RATE_ATTRIBUTE)).thenReturn(0.0);
+        when(httpServletResponse.getStatus()).thenReturn(HttpStatus.SC_OK);
+        loggingInterceptor.postHandle(httpServletRequest, httpServletResponse, new Object(),
+                new ModelAndView("redirect:" + UNSCHEDULED_SERVICE_DOWN_PATH));
+        String data = this.getOutputJson().toString();
+        assertThat(data, containsString(LogContextProperties.END_OF_REQUEST_MSG.value()));
+    }
+
+    @Test
+    @DisplayName("Tests the end of a request completed by an exception handler is logged")
+    void afterCompletionWithoutPostHandle() throws JSONException {
+        useSampler(0.0);
+        loggingInterceptor.preHandle(httpServletRequest, httpServletResponse, new Object());
+        when(httpServletRequest.getSession(false)).thenReturn(session);
+        when(httpServletResponse.getStatus()).thenReturn(HttpStatus.SC_MOVED_TEMPORARILY);
+        when(httpServletResponse.getHeader("Location")).thenReturn(UNSCHEDULED_SERVICE_DOWN_PATH);
+        lenient().when(httpServletRequest.getAttribute(SAMPLE_RATE_ATTRIBUTE)).thenReturn(0.0);
+        loggingInterceptor.afterCompletion(httpServletRequest, httpServletResponse, new Object(), null);
+        String data = this.getOutputJson().toString();
+        assertThat(data, containsString(LogContextProperties.END_OF_REQUEST_MSG.value()));
+        assertThat(data, containsString("status\":302"));
+    }
+
+    @Test
+    @DisplayName("Tests the interceptor logs the start of the request synchronously when async logging is disabled")
+    void preHandleSynchronous() throws JSONException {
+        useSynchronousLogging();
+        loggingInterceptor.preHandle(httpServletRequest, httpServletResponse, new Object());
+        verify(session, times(1)).setAttribute(eq(LogContextProperties.START_TIME_KEY.value()), anyLong());
+        String data = new JSONObject(out.toString()).toString();
+        assertThat(data, containsString(LogContextProperties.START_OF_REQUEST_MSG.value()));
+    }
+
+    @Test
+    @DisplayName("Tests the interceptor logs the end of the request synchronously when async logging is disabled")
+    void postHandleSynchronous() throws JSONException {
+        useSynchronousLogging();
+        when(session.getAttribute(LogContextProperties.START_TIME_KEY.value()))
+                .thenReturn(System.currentTimeMillis());
+        when(httpServletResponse.getStatus()).thenReturn(HttpStatus.SC_OK);
+        loggingInterceptor.postHandle(httpServletRequest, httpServletResponse, new Object(),
+                new ModelAndView());
+        String data = new JSONObject(out.toString()).toString();
+        assertThat(data, containsString(LogContextProperties.END_OF_REQUEST_MSG.value()));
+        assertThat(data, containsString("status\":200"));
+    }
+
+    @Test
+    @DisplayName("Tests the start of the request is not logged synchronously when it is sampled out")
+    void preHandleSynchronousSampledOut() {
+        useSynchronousLogging(sampler(0.0));
+        loggingInterceptor.preHandle(httpServletRequest, httpServletResponse, new Object());
+        verify(httpServletRequest).setAttribute(SAMPLE_RATE_ATTRIBUTE, 0.0);
+        verify(session, times(1)).setAttribute(eq(LogContextProperties.START_TIME_KEY.value()), anyLong());
+        assertEquals("", out.toString());
+    }
+
+    @Test
+    @DisplayName("Tests the end of a sampled out request is not logged synchronously")
+    void postHandleSynchronousSampledOut() {
+        useSynchronousLogging();
+        when(httpServletRequest.getAttribute(SAMPLE_RATE_ATTRIBUTE)).thenReturn(0.0);
+        when(session.getAttribute(LogContextProperties.START_TIME_KEY.value()))
+                .thenReturn(System.currentTimeMillis());
+        when(httpServletResponse.getStatus()).thenReturn(HttpStatus.SC_OK);
+        loggingInterceptor.postHandle(httpServletRequest, httpServletResponse, new Object(),
+                new ModelAndView("view"));
+        assertEquals("", out.toString());
+    }
+
+    @Test
+    @DisplayName("Tests the end of a sampled out request is logged synchronously when it is a server error")
+    void postHandleSynchronousServerError() throws JSONException {
+        useSynchronousLogging();
+        lenient().when(httpServletRequest.getAttribute(SAMPLE_RATE_ATTRIBUTE)).thenReturn(0.0);
+        when(session.getAttribute(LogContextProperties.START_TIME_KEY.value()))
+                .thenReturn(System.currentTimeMillis());
+        when(httpServletResponse.getStatus()).thenReturn(HttpStatus.SC_INTERNAL_SERVER_ERROR);
+        loggingInterceptor.postHandle(httpServletRequest, httpServletResponse, new Object(),
+                new ModelAndView("error"));
+        String data = new JSONObject(out.toString()).toString();
+        assertThat(data, containsString(LogContextProperties.END_OF_REQUEST_MSG.value()));
+        assertThat(data, containsString("status\":500"));
+    }
+
+    private void useSynchronousLogging() {
+        useSynchronousLogging(null);
+    }
+
+    private void useSynchronousLogging(AdaptiveLogSampler logSampler) {
+        RequestLoggingConfigurationProperties properties = new RequestLoggingConfigurationProperties();
+        properties.setAsyncEnabled(false);
+        requestLogWriter.destroy();
+        createInterceptor(properties, logSampler);
+    }
+
+    private void createInterceptor(RequestLoggingConfigurationProperties properties,
+            AdaptiveLogSampler logSampler) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PenaltyConfigurationProperties penaltyConfigurationProperties = new PenaltyConfigurationProperties();
+        penaltyConfigurationProperties.setUnscheduledServiceDownPath(UNSCHEDULED_SERVICE_DOWN_PATH);
+        requestLogWriter = new AsyncRequestLogWriter(properties, meterRegistry);
+        loggingInterceptor = new LoggingInterceptor(requestLogWriter,
+                logSampler == null ? new AdaptiveLogSampler(properties, meterRegistry) : logSampler,
+                properties, penaltyConfigurationProperties);
+    }
+
+    private void useSampler(double sampleRate) {
+        requestLogWriter.destroy();
+        createInterceptor(new RequestLoggingConfigurationProperties(), sampler(sampleRate));
+    }
+
+    private static AdaptiveLogSampler sampler(double sampleRate) {
+        AdaptiveLogSampler logSampler = mock(AdaptiveLogSampler.class);
+        lenient().when(logSampler.sample()).thenReturn(sampleRate);
+        return logSampler;
+    }
+
     private JSONObject getOutputJson() throws JSONException {
+        assertTrue(requestLogWriter.flush(Duration.ofSeconds(5)));
         return new JSONObject(out.toString());
     }
 }
@@ -0,0 +1,65 @@
+package uk.gov.companieshouse.web.pps.interceptor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.ModelAndView;
+import uk.gov.companieshouse.web.pps.timing.RequestTimings;
+import uk.gov.companieshouse.web.pps.timing.ServerTimingMetric;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RenderTimingInterceptorTests {
+
+    private RenderTimingInterceptor renderTimingInterceptor;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private RequestTimings timings;
+
+    @BeforeEach
+    void setUp() {
+        renderTimingInterceptor = new RenderTimingInterceptor();
+        request = new MockHttpServletRequest();
+        response = new MockHttpServletResponse();
+        timings = new RequestTimings();
+        request.setAttribute(RequestTimings.ATTRIBUTE, timings);
+    }
+
+    @Test
+    @DisplayName("Records the time from postHandle to completion as rendering")
+    void recordsRender() {
+        renderTimingInterceptor.postHandle(request, response, new Object(), new ModelAndView("view"));
+        renderTimingInterceptor.afterCompletion(request, response, new Object(), null);
+
+        assertTrue(timings.toMillis().containsKey(ServerTimingMetric.RENDER.getMetricName()));
+    }
+
+    @Test
+    @DisplayName("Marks the handler so the time spent in the filters around it is recorded")
+    void marksHandler() {
+        assertTrue(renderTimingInterceptor.preHandle(request, response, new Object()));
+        renderTimingInterceptor.afterCompletion(request, response, new Object(), null);
+        timings.filtersCompleted();
+
+        assertTrue(timings.toMillis().containsKey(ServerTimingMetric.FILTERS.getMetricName()));
+    }
+
+    @Test
+    @DisplayName("Records nothing for a request that has no view to render")
+    void noView() {
+        renderTimingInterceptor.postHandle(request, response, new Object(), null);
+        renderTimingInterceptor.afterCompletion(request, response, new Object(), null);
+
+        assertTrue(timings.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Records nothing for a request that did not reach postHandle")
+    void noPostHandle() {
+        renderTimingInterceptor.afterCompletion(request, response, new Object(), new IllegalStateException());
+
+        assertTrue(timings.isEmpty());
+    }
+}
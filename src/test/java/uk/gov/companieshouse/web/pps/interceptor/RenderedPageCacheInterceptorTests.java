@@ -0,0 +1,73 @@
+package uk.gov.companieshouse.web.pps.interceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.View;
+import uk.gov.companieshouse.web.pps.cache.RenderedPageCache;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RenderedPageCacheInterceptorTests {
+
+    private static final String TEMPLATE = "pps/pageNotFound";
+
+    @Mock
+    private HttpServletRequest httpServletRequest;
+
+    @Mock
+    private HttpServletResponse httpServletResponse;
+
+    @Mock
+    private RenderedPageCache renderedPageCache;
+
+    @InjectMocks
+    private RenderedPageCacheInterceptor renderedPageCacheInterceptor;
+
+    @Test
+    @DisplayName("Post handle - the view is replaced by the rendered page cache view")
+    void postHandleReplacesView() throws Exception {
+        ModelAndView modelAndView = new ModelAndView(TEMPLATE);
+        View cachedView = mock(View.class);
+        when(renderedPageCache.view(httpServletRequest, modelAndView)).thenReturn(Optional.of(cachedView));
+
+        renderedPageCacheInterceptor.postHandle(httpServletRequest, httpServletResponse, new Object(),
+                modelAndView);
+
+        assertEquals(cachedView, modelAndView.getView());
+    }
+
+    @Test
+    @DisplayName("Post handle - the view is kept when the page cannot be cached")
+    void postHandleKeepsView() throws Exception {
+        ModelAndView modelAndView = new ModelAndView(TEMPLATE);
+        when(renderedPageCache.view(httpServletRequest, modelAndView)).thenReturn(Optional.empty());
+
+        renderedPageCacheInterceptor.postHandle(httpServletRequest, httpServletResponse, new Object(),
+                modelAndView);
+
+        assertEquals(TEMPLATE, modelAndView.getViewName());
+        assertNull(modelAndView.getView());
+    }
+
+    @Test
+    @DisplayName("Post handle - nothing to do without a model and view")
+    void postHandleWithoutModelAndView() throws Exception {
+        renderedPageCacheInterceptor.postHandle(httpServletRequest, httpServletResponse, new Object(), null);
+
+        verifyNoInteractions(renderedPageCache);
+    }
+}
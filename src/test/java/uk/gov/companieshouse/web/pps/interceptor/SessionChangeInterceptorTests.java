@@ -0,0 +1,75 @@
+package uk.gov.companieshouse.web.pps.interceptor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.web.pps.session.SessionChange;
+import uk.gov.companieshouse.web.pps.session.SessionService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SessionChangeInterceptorTests {
+
+    @Mock
+    private HttpServletRequest httpServletRequest;
+
+    @Mock
+    private HttpServletResponse httpServletResponse;
+
+    @Mock
+    private SessionService sessionService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SessionChangeInterceptor sessionChangeInterceptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sessionChangeInterceptor = new SessionChangeInterceptor(sessionService, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Counts a request that changed the session data")
+    void changed() {
+        when(sessionService.getSessionChange()).thenReturn(SessionChange.CHANGED);
+
+        sessionChangeInterceptor.afterCompletion(httpServletRequest, httpServletResponse, new Object(), null);
+
+        assertEquals(1.0, changes("changed"));
+        assertEquals(0.0, changes("unchanged"));
+    }
+
+    @Test
+    @DisplayName("Counts a request that only read the session data")
+    void unchanged() {
+        when(sessionService.getSessionChange()).thenReturn(SessionChange.UNCHANGED);
+
+        sessionChangeInterceptor.afterCompletion(httpServletRequest, httpServletResponse, new Object(), null);
+
+        assertEquals(0.0, changes("changed"));
+        assertEquals(1.0, changes("unchanged"));
+    }
+
+    @Test
+    @DisplayName("Counts nothing when the session data was not loaded")
+    void notLoaded() {
+        when(sessionService.getSessionChange()).thenReturn(SessionChange.NOT_LOADED);
+
+        sessionChangeInterceptor.afterCompletion(httpServletRequest, httpServletResponse, new Object(), null);
+
+        assertEquals(0.0, changes("changed"));
+        assertEquals(0.0, changes("unchanged"));
+    }
+
+    private double changes(String result) {
+        return meterRegistry.get("session.changes").tag("result", result).counter().count();
+    }
+}
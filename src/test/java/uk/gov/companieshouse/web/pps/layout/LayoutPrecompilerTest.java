@@ -0,0 +1,187 @@
+package uk.gov.companieshouse.web.pps.layout;
+
+import nz.net.ultraq.thymeleaf.layoutdialect.LayoutDialect;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.thymeleaf.IEngineConfiguration;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.AbstractConfigurableTemplateResolver;
+import org.thymeleaf.templateresource.ITemplateResource;
+import org.thymeleaf.templateresource.StringTemplateResource;
+import uk.gov.companieshouse.web.pps.config.PrecompiledLayoutConfigurationProperties;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.gov.companieshouse.web.pps.layout.PrecompiledLayoutTemplateResolver.CANDIDATE_PREFIX;
+
+class LayoutPrecompilerTest {
+
+    private static final String PAGE = "pps/page";
+
+    private static final Map<String, String> TEMPLATES = Map.of(
+            "layouts/baseLayout", """
+                    <!DOCTYPE html>
+                    <html xmlns:th="http://www.thymeleaf.org"
+                          xmlns:layout="http://www.ultraq.net.nz/thymeleaf/layout" lang="en">
+                    <head>
+                        <meta charset="utf-8">
+                        <title>Layout title</title>
+                        <link rel="stylesheet" th:href="${stylesheet}">
+                    </head>
+                    <body>
+                    <header th:text="${header}">Header</header>
+                    <main layout:fragment="content">Default content</main>
+                    <footer th:insert="~{fragments/footer :: footer}"></footer>
+                    </body>
+                    </html>
+                    """,
+            "fragments/footer", """
+                    <div th:fragment="footer">Footer <span th:text="${header}"></span></div>
+                    """,
+            PAGE, """
+                    <!DOCTYPE html>
+                    <html xmlns:th="http://www.thymeleaf.org"
+                          xmlns:layout="http://www.ultraq.net.nz/thymeleaf/layout"
+                          layout:decorate="~{layouts/baseLayout}">
+                    <head>
+                        <title>Page title</title>
+                    </head>
+                    <div id="page-content" layout:fragment="content">
+                        <p th:text="${message}">Message</p>
+                        <p th:if="${showExtra}">Extra &amp; more</p>
+                        <p>[[${message}]]</p>
+                    </div>
+                    </html>
+                    """);
+
+    private SpringTemplateEngine templateEngine;
+    private PrecompiledLayoutTemplateResolver precompiledLayoutTemplateResolver;
+    private PrecompiledLayoutConfigurationProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        AbstractConfigurableTemplateResolver templates = new AbstractConfigurableTemplateResolver() {
+            @Override
+            protected ITemplateResource computeTemplateResource(IEngineConfiguration configuration,
+                    String ownerTemplate, String template, String resourceName, String characterEncoding,
+                    Map<String, Object> templateResolutionAttributes) {
+                return new StringTemplateResource(TEMPLATES.get(template));
+            }
+        };
+        templates.setTemplateMode(TemplateMode.HTML);
+        templates.setOrder(1);
+
+        precompiledLayoutTemplateResolver = new PrecompiledLayoutTemplateResolver();
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.addTemplateResolver(templates);
+        templateEngine.addTemplateResolver(precompiledLayoutTemplateResolver);
+        templateEngine.addDialect(new LayoutDialect());
+
+        properties = new PrecompiledLayoutConfigurationProperties();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    @DisplayName("A merged page renders the same HTML as the page decorated by the layout dialect")
+    void candidateRendersIdentically(boolean showExtra) {
+        LayoutPrecompiler layoutPrecompiler = new LayoutPrecompiler(properties, templateEngine,
+                precompiledLayoutTemplateResolver);
+
+        String candidate = layoutPrecompiler.addCandidate(PAGE);
+
+        assertEquals(CANDIDATE_PREFIX + PAGE, candidate);
+        assertEquals(render(PAGE, showExtra), render(candidate, showExtra));
+    }
+
+    @Test
+    @DisplayName("The merged page has no layout attributes left and keeps its Thymeleaf attributes")
+    void mergedSource() throws IOException {
+        new LayoutPrecompiler(properties, templateEngine, precompiledLayoutTemplateResolver).addCandidate(PAGE);
+
+        String merged = source(CANDIDATE_PREFIX + PAGE);
+
+        assertFalse(merged.contains("layout:"));
+        assertTrue(merged.contains("Page title"));
+        assertTrue(merged.contains("th:text=\"${message}\""));
+        assertTrue(merged.contains("th:insert=\"~{fragments/footer :: footer}\""));
+        assertTrue(merged.contains("[[${message}]]"));
+    }
+
+    @Test
+    @DisplayName("An activated page is served from the merged template")
+    void activate() {
+        LayoutPrecompiler layoutPrecompiler = new LayoutPrecompiler(properties, templateEngine,
+                precompiledLayoutTemplateResolver);
+        String decorated = render(PAGE, true);
+
+        layoutPrecompiler.addCandidate(PAGE);
+        layoutPrecompiler.activate(PAGE);
+
+        assertTrue(precompiledLayoutTemplateResolver.isActive(PAGE));
+        assertEquals(decorated, render(PAGE, true));
+        assertNull(precompiledLayoutTemplateResolver.resolveTemplate(null, null, CANDIDATE_PREFIX + PAGE, null));
+    }
+
+    @Test
+    @DisplayName("A discarded candidate leaves the page decorated by the layout dialect")
+    void discard() {
+        LayoutPrecompiler layoutPrecompiler = new LayoutPrecompiler(properties, templateEngine,
+                precompiledLayoutTemplateResolver);
+
+        layoutPrecompiler.addCandidate(PAGE);
+        layoutPrecompiler.discard(PAGE);
+        layoutPrecompiler.activate(PAGE);
+
+        assertFalse(precompiledLayoutTemplateResolver.isActive(PAGE));
+        assertNull(precompiledLayoutTemplateResolver.resolveTemplate(null, null, CANDIDATE_PREFIX + PAGE, null));
+    }
+
+    @Test
+    @DisplayName("Other templates are left to the next resolver")
+    void otherTemplates() {
+        assertNull(precompiledLayoutTemplateResolver.resolveTemplate(null, null, "fragments/footer", null));
+    }
+
+    @Test
+    @DisplayName("Nothing is merged when precompiled layouts are disabled")
+    void disabled() {
+        properties.setEnabled(false);
+        LayoutPrecompiler layoutPrecompiler = new LayoutPrecompiler(properties, templateEngine,
+                precompiledLayoutTemplateResolver);
+
+        assertFalse(layoutPrecompiler.isEnabled());
+        assertThrows(IllegalStateException.class, () -> layoutPrecompiler.addCandidate(PAGE));
+    }
+
+    private String render(String template, boolean showExtra) {
+        Context context = new Context(Locale.UK);
+        context.setVariable("message", "Hello <world>");
+        context.setVariable("showExtra", showExtra);
+        context.setVariable("header", "Pay a penalty");
+        context.setVariable("stylesheet", "/css/app.css");
+        return templateEngine.process(template, context);
+    }
+
+    private String source(String template) throws IOException {
+        try (Reader reader = precompiledLayoutTemplateResolver.resolveTemplate(null, null, template, null)
+                .getTemplateResource().reader()) {
+            StringWriter source = new StringWriter();
+            reader.transferTo(source);
+            return source.toString();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package uk.gov.companieshouse.web.pps.logging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.web.pps.config.RequestLoggingConfigurationProperties;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static uk.gov.companieshouse.web.pps.logging.AdaptiveLogSampler.ALWAYS;
+import static uk.gov.companieshouse.web.pps.logging.AdaptiveLogSampler.NEVER;
+
+class AdaptiveLogSamplerTest {
+
+    private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong nanoTime = new AtomicLong();
+    private RequestLoggingConfigurationProperties properties;
+    private double random;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RequestLoggingConfigurationProperties();
+        properties.setSampledRequestsPerSecond(10);
+        random = 0.5;
+    }
+
+    @Test
+    @DisplayName("Every request is logged while the request rate is below the target")
+    void belowTarget() {
+        AdaptiveLogSampler sampler = sampler();
+
+        runWindow(sampler, 8);
+        runWindow(sampler, 8);
+
+        assertEquals(ALWAYS, sampler.getRate());
+        assertEquals(ALWAYS, sampler.sample());
+    }
+
+    @Test
+    @DisplayName("The sample rate falls to the target over the request rate once the target is exceeded")
+    void aboveTarget() {
+        AdaptiveLogSampler sampler = sampler();
+
+        runWindow(sampler, 100);
+        random = 0.05;
+
+        assertEquals(0.1, sampler.sample(), 1e-9);
+        assertEquals(0.1, meterRegistry.get("request.logging.sample.rate").gauge().value(), 1e-9);
+
+        random = 0.5;
+        assertEquals(NEVER, sampler.sample());
+        assertEquals(1.0, meterRegistry.get("request.logging.sampled.out").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("The request rate estimate is smoothed across windows")
+    void smoothed() {
+        AdaptiveLogSampler sampler = sampler();
+
+        runWindow(sampler, 100);
+        runWindow(sampler, 20);
+        sampler.sample();
+
+        // estimate is 0.5 * 20 + 0.5 * 100 = 60 requests a second
+        assertEquals(10.0 / 60, sampler.getRate(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Every request is logged when sampling is disabled")
+    void disabled() {
+        properties.setSamplingEnabled(false);
+        AdaptiveLogSampler sampler = sampler();
+
+        runWindow(sampler, 1000);
+        random = 0.99;
+
+        assertEquals(ALWAYS, sampler.sample());
+        assertEquals(ALWAYS, sampler.getRate());
+    }
+
+    private AdaptiveLogSampler sampler() {
+        return new AdaptiveLogSampler(properties, meterRegistry, nanoTime::get, () -> random);
+    }
+
+    private void runWindow(AdaptiveLogSampler sampler, int requests) {
+        for (int i = 0; i < requests; i++) {
+            sampler.sample();
+        }
+        nanoTime.addAndGet(ONE_SECOND);
+    }
+}
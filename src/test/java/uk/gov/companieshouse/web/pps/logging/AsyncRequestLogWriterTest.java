@@ -0,0 +1,174 @@
+package uk.gov.companieshouse.web.pps.logging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.web.pps.config.RequestLoggingConfigurationProperties;
+import uk.gov.companieshouse.web.pps.config.RequestLoggingConfigurationProperties.OverflowPolicy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncRequestLogWriterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<RequestLogEvent> writtenEvents = new CopyOnWriteArrayList<>();
+
+    @Test
+    @DisplayName("Events are written by the background writer thread in order")
+    void writesInBackground() {
+        List<String> threadNames = new CopyOnWriteArrayList<>();
+        AsyncRequestLogWriter writer = new AsyncRequestLogWriter(properties(16, OverflowPolicy.DROP),
+                meterRegistry, event -> {
+                    threadNames.add(Thread.currentThread().getName());
+                    writtenEvents.add(event);
+                });
+
+        for (int i = 0; i < 10; i++) {
+            writer.submit(event(i));
+        }
+
+        assertTrue(writer.flush(Duration.ofSeconds(5)));
+        assertEquals(10, writtenEvents.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("message " + i, writtenEvents.get(i).message());
+        }
+        assertTrue(threadNames.stream().allMatch("request-log-writer"::equals));
+        writer.destroy();
+    }
+
+    @Test
+    @DisplayName("Events are dropped and counted when the buffer is full under the DROP policy")
+    void dropsWhenFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch writing = new CountDownLatch(1);
+        AsyncRequestLogWriter writer = new AsyncRequestLogWriter(properties(2, OverflowPolicy.DROP),
+                meterRegistry, blockingSink(writing, release));
+
+        writer.submit(event(0));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        // the writer is held on event 0, so two fit in the buffer and the rest are dropped
+        for (int i = 1; i <= 5; i++) {
+            writer.submit(event(i));
+        }
+
+        assertEquals(3, writer.droppedCount());
+        assertEquals(3.0, meterRegistry.get("request.logging.dropped").functionCounter().count());
+
+        release.countDown();
+        assertTrue(writer.flush(Duration.ofSeconds(5)));
+        assertEquals(3, writtenEvents.size());
+        writer.destroy();
+    }
+
+    @Test
+    @DisplayName("Request threads wait for room when the buffer is full under the BLOCK policy")
+    void blocksWhenFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch writing = new CountDownLatch(1);
+        AsyncRequestLogWriter writer = new AsyncRequestLogWriter(properties(2, OverflowPolicy.BLOCK),
+                meterRegistry, blockingSink(writing, release));
+
+        writer.submit(event(0));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        writer.submit(event(1));
+        writer.submit(event(2));
+
+        Thread producer = new Thread(() -> writer.submit(event(3)));
+        producer.start();
+        producer.join(200);
+        assertTrue(producer.isAlive());
+
+        release.countDown();
+        producer.join(5000);
+        assertFalse(producer.isAlive());
+        assertTrue(writer.flush(Duration.ofSeconds(5)));
+        assertEquals(4, writtenEvents.size());
+        assertEquals(0, writer.droppedCount());
+        writer.destroy();
+    }
+
+    @Test
+    @DisplayName("Queued events are flushed on shutdown and later events are written inline")
+    void flushesOnShutdown() {
+        AsyncRequestLogWriter writer = new AsyncRequestLogWriter(properties(1024, OverflowPolicy.DROP),
+                meterRegistry, writtenEvents::add);
+        for (int i = 0; i < 500; i++) {
+            writer.submit(event(i));
+        }
+
+        writer.destroy();
+
+        assertEquals(500, writtenEvents.size());
+        assertFalse(writer.isEnabled());
+        RequestLogEvent late = event(500);
+        writer.submit(late);
+        assertSame(late, writtenEvents.getLast());
+    }
+
+    @Test
+    @DisplayName("Events are written inline when async logging is disabled")
+    void disabled() {
+        RequestLoggingConfigurationProperties properties = properties(16, OverflowPolicy.DROP);
+        properties.setAsyncEnabled(false);
+        AsyncRequestLogWriter writer = new AsyncRequestLogWriter(properties, meterRegistry, writtenEvents::add);
+
+        assertFalse(writer.isEnabled());
+        writer.submit(event(0));
+
+        assertEquals(1, writtenEvents.size());
+        assertTrue(writer.flush(Duration.ZERO));
+    }
+
+    @Test
+    @DisplayName("A failing event does not stop the writer")
+    void survivesSinkFailure() {
+        AsyncRequestLogWriter writer = new AsyncRequestLogWriter(properties(16, OverflowPolicy.DROP),
+                meterRegistry, event -> {
+                    if ("message 0".equals(event.message())) {
+                        throw new IllegalStateException("boom");
+                    }
+                    writtenEvents.add(event);
+                });
+
+        writer.submit(event(0));
+        writer.submit(event(1));
+
+        assertTrue(writer.flush(Duration.ofSeconds(5)));
+        assertEquals(1, writtenEvents.size());
+        writer.destroy();
+    }
+
+    private Consumer<RequestLogEvent> blockingSink(CountDownLatch writing, CountDownLatch release) {
+        return event -> {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            writtenEvents.add(event);
+        };
+    }
+
+    private static RequestLoggingConfigurationProperties properties(int capacity, OverflowPolicy overflowPolicy) {
+        RequestLoggingConfigurationProperties properties = new RequestLoggingConfigurationProperties();
+        properties.setBufferCapacity(capacity);
+        properties.setOverflowPolicy(overflowPolicy);
+        return properties;
+    }
+
+    private static RequestLogEvent event(int i) {
+        return new RequestLogEvent("request-" + i, "message " + i, Map.of());
+    }
+}
@@ -0,0 +1,83 @@
+package uk.gov.companieshouse.web.pps.logging;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.logging.Logger;
+
+import java.util.function.Supplier;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LazyLoggerTest {
+
+    @Mock
+    private Logger logger;
+
+    @Mock
+    private org.slf4j.Logger levelLogger;
+
+    @Mock
+    private Supplier<String> message;
+
+    private LazyLogger lazyLogger;
+
+    @BeforeEach
+    void setUp() {
+        lazyLogger = new LazyLogger(logger, levelLogger);
+    }
+
+    @Test
+    @DisplayName("Debug messages are formatted and logged when debug is enabled")
+    void debugEnabled() {
+        when(levelLogger.isDebugEnabled()).thenReturn(true);
+        when(message.get()).thenReturn("supplied");
+
+        lazyLogger.debug("[%s]: %d items for company number %s and penalty ref %s",
+                "request", 3, "12345678", "A0000001");
+        lazyLogger.debug(message);
+
+        verify(logger).debug("[request]: 3 items for company number 12345678 and penalty ref A0000001");
+        verify(logger).debug("supplied");
+    }
+
+    @Test
+    @DisplayName("Debug messages are neither built nor logged when debug is disabled")
+    void debugDisabled() {
+        when(levelLogger.isDebugEnabled()).thenReturn(false);
+
+        lazyLogger.debug("%s %s %s %s %s %s", "a", "b", "c", "d", "e", "f");
+        lazyLogger.debug(message);
+
+        verify(message, never()).get();
+        verifyNoInteractions(logger);
+    }
+
+    @Test
+    @DisplayName("Info messages are formatted and logged when info is enabled")
+    void infoEnabled() {
+        when(levelLogger.isInfoEnabled()).thenReturn(true);
+
+        lazyLogger.info("Penalty %s is not valid for online payment", "A0000001");
+
+        verify(logger).info("Penalty A0000001 is not valid for online payment");
+    }
+
+    @Test
+    @DisplayName("Info messages are neither built nor logged when info is disabled")
+    void infoDisabled() {
+        when(levelLogger.isInfoEnabled()).thenReturn(false);
+
+        lazyLogger.info(message);
+
+        verify(message, never()).get();
+        verifyNoInteractions(logger);
+    }
+}
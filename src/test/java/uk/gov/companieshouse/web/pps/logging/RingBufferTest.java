@@ -0,0 +1,100 @@
+package uk.gov.companieshouse.web.pps.logging;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RingBufferTest {
+
+    @Test
+    @DisplayName("Capacity is rounded up to a power of two")
+    void capacity() {
+        assertEquals(1, new RingBuffer<>(1).capacity());
+        assertEquals(4, new RingBuffer<>(3).capacity());
+        assertEquals(8, new RingBuffer<>(8).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(0));
+    }
+
+    @Test
+    @DisplayName("Elements are polled in the order offered and a full buffer rejects offers")
+    void fifoAndFull() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, buffer.poll());
+        }
+        assertNull(buffer.poll());
+        assertTrue(buffer.isEmpty());
+
+        // wraps around the slots
+        for (int i = 0; i < 10; i++) {
+            assertTrue(buffer.offer(i));
+            assertEquals(i, buffer.poll());
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent producers and consumers neither lose nor duplicate elements")
+    void concurrentProducersAndConsumers() throws InterruptedException {
+        int producers = 4;
+        int consumers = 2;
+        int perProducer = 50_000;
+        RingBuffer<Integer> buffer = new RingBuffer<>(64);
+        ConcurrentLinkedQueue<Integer> consumed = new ConcurrentLinkedQueue<>();
+        AtomicInteger remaining = new AtomicInteger(producers * perProducer);
+        CountDownLatch done = new CountDownLatch(producers + consumers);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            }));
+        }
+        for (int c = 0; c < consumers; c++) {
+            threads.add(new Thread(() -> {
+                while (remaining.get() > 0) {
+                    Integer element = buffer.poll();
+                    if (element != null) {
+                        consumed.add(element);
+                        remaining.decrementAndGet();
+                    } else {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            }));
+        }
+        threads.forEach(Thread::start);
+        done.await();
+
+        boolean[] seen = new boolean[producers * perProducer];
+        for (int element : consumed) {
+            assertFalse(seen[element], "duplicate " + element);
+            seen[element] = true;
+        }
+        assertEquals(producers * perProducer, consumed.size());
+        assertTrue(buffer.isEmpty());
+    }
+}
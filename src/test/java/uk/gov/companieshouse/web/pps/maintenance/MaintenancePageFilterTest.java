@@ -0,0 +1,108 @@
+package uk.gov.companieshouse.web.pps.maintenance;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MaintenancePageFilterTest {
+
+    private static final String PAGE = "<html>Service unavailable</html>";
+
+    @Mock
+    private MaintenancePages maintenancePages;
+
+    private MaintenancePageFilter maintenancePageFilter;
+    private MockHttpServletResponse response;
+    private MockFilterChain filterChain;
+
+    @BeforeEach
+    void setUp() {
+        maintenancePageFilter = new MaintenancePageFilter(maintenancePages,
+                List.of("/pay-penalty/healthcheck", "/pay-penalty/images/"));
+        response = new MockHttpServletResponse();
+        filterChain = new MockFilterChain();
+    }
+
+    @Test
+    @DisplayName("During planned maintenance the maintenance page is served without going down the chain")
+    void servesMaintenancePage() throws Exception {
+        when(maintenancePages.current()).thenReturn(Optional.of(new MaintenancePage("2025-01-31T14:00:00Z",
+                PAGE.getBytes(StandardCharsets.UTF_8), "text/html;charset=UTF-8", "Fri, 31 Jan 2025 14:00:00 GMT")));
+
+        maintenancePageFilter.doFilter(request("/pay-penalty/company/12345678/penalty/A0000001/view-penalties"),
+                response, filterChain);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("Fri, 31 Jan 2025 14:00:00 GMT", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals("no-store", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals(PAGE, response.getContentAsString(StandardCharsets.UTF_8));
+        assertNull(filterChain.getRequest());
+    }
+
+    @Test
+    @DisplayName("Outside of planned maintenance requests carry on down the chain")
+    void passesThrough() throws Exception {
+        when(maintenancePages.current()).thenReturn(Optional.empty());
+
+        maintenancePageFilter.doFilter(request("/pay-penalty/ref-starts-with"), response, filterChain);
+
+        assertEquals(200, response.getStatus());
+        assertNotNull(filterChain.getRequest());
+    }
+
+    @Test
+    @DisplayName("The healthcheck and static images are never answered with the maintenance page")
+    void excludedPaths() throws Exception {
+        maintenancePageFilter.doFilter(request("/pay-penalty/healthcheck"), response, filterChain);
+        maintenancePageFilter.doFilter(request("/pay-penalty/images/penalty-notice.png"), new MockHttpServletResponse(),
+                new MockFilterChain());
+
+        assertNotNull(filterChain.getRequest());
+        verifyNoInteractions(maintenancePages);
+    }
+
+    @Test
+    @DisplayName("Users returning from GOV.UK Pay still get their payment confirmation")
+    void paymentReturnExcluded() throws Exception {
+        maintenancePageFilter.doFilter(request("/pay-penalty/company/12345678/penalty/A0000001/payable/LP0000001"
+                + "/confirmation"), response, filterChain);
+
+        assertNotNull(filterChain.getRequest());
+        verifyNoInteractions(maintenancePages);
+    }
+
+    @Test
+    @DisplayName("Only the confirmation page is excluded below a payable penalty")
+    void paymentReturnOnly() throws Exception {
+        when(maintenancePages.current()).thenReturn(Optional.of(new MaintenancePage("2025-01-31T14:00:00Z",
+                PAGE.getBytes(StandardCharsets.UTF_8), "text/html;charset=UTF-8", "Fri, 31 Jan 2025 14:00:00 GMT")));
+
+        maintenancePageFilter.doFilter(request("/pay-penalty/company/12345678/penalty/A0000001/payable/LP0000001"
+                + "/confirmation/other"), response, filterChain);
+
+        assertEquals(503, response.getStatus());
+        assertNull(filterChain.getRequest());
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        return new MockHttpServletRequest("GET", path);
+    }
+}
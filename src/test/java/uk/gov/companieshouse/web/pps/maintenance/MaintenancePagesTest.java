@@ -0,0 +1,156 @@
+package uk.gov.companieshouse.web.pps.maintenance;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.MessageSource;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+import uk.gov.companieshouse.api.model.financialpenalty.FinanceHealthcheckStatus;
+import uk.gov.companieshouse.web.pps.config.PenaltyConfigurationProperties;
+import uk.gov.companieshouse.web.pps.service.finance.FinanceHealthcheckSnapshot;
+import uk.gov.companieshouse.web.pps.service.finance.impl.FinanceHealthcheckPoller;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.companieshouse.web.pps.service.ServiceConstants.DATE_STR;
+import static uk.gov.companieshouse.web.pps.service.ServiceConstants.SERVICE_UNAVAILABLE_VIEW_NAME;
+
+@ExtendWith(MockitoExtension.class)
+class MaintenancePagesTest {
+
+    private static final String MAINTENANCE_END_TIME = "2025-01-31T14:00:00Z";
+    private static final String PAGE = "<html>Service unavailable</html>";
+    private static final Instant NOW = Instant.parse("2025-01-31T12:00:00Z");
+
+    @Mock
+    private FinanceHealthcheckPoller financeHealthcheckPoller;
+
+    @Mock
+    private ViewResolver viewResolver;
+
+    @Mock
+    private View view;
+
+    @Mock
+    private WebApplicationContext webApplicationContext;
+
+    @Mock
+    private ServletContext servletContext;
+
+    @Mock
+    private PenaltyConfigurationProperties penaltyConfigurationProperties;
+
+    @Mock
+    private MessageSource messageSource;
+
+    private MaintenancePages maintenancePages;
+
+    @BeforeEach
+    void setUp() {
+        maintenancePages = new MaintenancePages(financeHealthcheckPoller, viewResolver, webApplicationContext,
+                penaltyConfigurationProperties, messageSource);
+    }
+
+    @Test
+    @DisplayName("No page when the finance system is healthy")
+    void healthy() {
+        when(financeHealthcheckPoller.getSnapshot()).thenReturn(Optional.of(
+                new FinanceHealthcheckSnapshot(FinanceHealthcheckStatus.HEALTHY.getStatus(), null, NOW)));
+
+        assertTrue(maintenancePages.current().isEmpty());
+        verifyNoInteractions(viewResolver);
+    }
+
+    @Test
+    @DisplayName("No page when there is no fresh snapshot")
+    void noSnapshot() {
+        when(financeHealthcheckPoller.getSnapshot()).thenReturn(Optional.empty());
+
+        assertTrue(maintenancePages.current().isEmpty());
+        verifyNoInteractions(viewResolver);
+    }
+
+    @Test
+    @DisplayName("The service unavailable page is rendered once for a planned maintenance")
+    void plannedMaintenance() throws Exception {
+        givenMaintenanceUntil(MAINTENANCE_END_TIME);
+        givenServiceUnavailablePage();
+
+        MaintenancePage page = maintenancePages.current().orElseThrow();
+
+        assertEquals(PAGE, new String(page.body(), StandardCharsets.UTF_8));
+        assertEquals("text/html;charset=UTF-8", page.contentType());
+        assertEquals("Fri, 31 Jan 2025 14:00:00 GMT", page.retryAfter());
+        assertSame(page, maintenancePages.current().orElseThrow());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> model = ArgumentCaptor.forClass(Map.class);
+        verify(view, times(1)).render(model.capture(), any(), any());
+        assertEquals(FinanceHealthcheckSnapshot.formatMaintenanceEndTime(MAINTENANCE_END_TIME),
+                model.getValue().get(DATE_STR));
+        assertEquals(SERVICE_UNAVAILABLE_VIEW_NAME, model.getValue().get("templateName"));
+    }
+
+    @Test
+    @DisplayName("The page is rendered again when the maintenance end time changes")
+    void endTimeChanges() throws Exception {
+        givenServiceUnavailablePage();
+
+        givenMaintenanceUntil(MAINTENANCE_END_TIME);
+        MaintenancePage first = maintenancePages.current().orElseThrow();
+        givenMaintenanceUntil("2025-01-31T16:30:00Z");
+        MaintenancePage second = maintenancePages.current().orElseThrow();
+
+        assertEquals("Fri, 31 Jan 2025 14:00:00 GMT", first.retryAfter());
+        assertEquals("Fri, 31 Jan 2025 16:30:00 GMT", second.retryAfter());
+        verify(view, times(2)).render(anyMap(), any(), any());
+    }
+
+    @Test
+    @DisplayName("No page, and no repeated attempts, when the maintenance end time cannot be parsed")
+    void unparseableEndTime() {
+        givenMaintenanceUntil("later");
+        when(viewResolver.resolveViewName(SERVICE_UNAVAILABLE_VIEW_NAME, Locale.UK)).thenReturn(view);
+
+        assertTrue(maintenancePages.current().isEmpty());
+        assertTrue(maintenancePages.current().isEmpty());
+        verify(viewResolver, times(1)).resolveViewName(SERVICE_UNAVAILABLE_VIEW_NAME, Locale.UK);
+    }
+
+    private void givenMaintenanceUntil(String maintenanceEndTime) {
+        when(financeHealthcheckPoller.getSnapshot()).thenReturn(Optional.of(new FinanceHealthcheckSnapshot(
+                FinanceHealthcheckStatus.UNHEALTHY_PLANNED_MAINTENANCE.getStatus(), maintenanceEndTime, NOW)));
+    }
+
+    private void givenServiceUnavailablePage() throws Exception {
+        when(webApplicationContext.getServletContext()).thenReturn(servletContext);
+        when(viewResolver.resolveViewName(SERVICE_UNAVAILABLE_VIEW_NAME, Locale.UK)).thenReturn(view);
+        when(messageSource.getMessage("penalty.service.banner.text", null, Locale.UK)).thenReturn("Pay a penalty");
+        doAnswer(invocation -> {
+            invocation.<HttpServletResponse>getArgument(2).getWriter().write(PAGE);
+            return null;
+        }).when(view).render(anyMap(), any(), any());
+    }
+}
@@ -0,0 +1,146 @@
+package uk.gov.companieshouse.web.pps.service.async;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.context.Scope;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.web.pps.config.UpstreamFetchConfigurationProperties;
+import uk.gov.companieshouse.web.pps.exception.ServiceException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UpstreamFetchExecutorTest {
+
+    private UpstreamFetchExecutor upstreamFetchExecutor;
+
+    @AfterEach
+    void tearDown() {
+        upstreamFetchExecutor.destroy();
+    }
+
+    @Test
+    @DisplayName("Runs calls concurrently on another thread when parallel fetch is enabled")
+    void runsCallsConcurrently() throws Exception {
+        upstreamFetchExecutor = new UpstreamFetchExecutor(properties(true, Duration.ofSeconds(5)));
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        Instant deadline = upstreamFetchExecutor.deadline();
+        Future<String> first = upstreamFetchExecutor.submit(() -> awaitBoth(bothStarted, "first"));
+        Future<String> second = upstreamFetchExecutor.submit(() -> awaitBoth(bothStarted, "second"));
+
+        assertEquals("first", upstreamFetchExecutor.join(first, deadline));
+        assertEquals("second", upstreamFetchExecutor.join(second, deadline));
+    }
+
+    @Test
+    @DisplayName("Runs calls in the trace context of the request that submitted them")
+    void propagatesTraceContext() throws Exception {
+        upstreamFetchExecutor = new UpstreamFetchExecutor(properties(true, Duration.ofSeconds(5)));
+        ContextKey<String> key = ContextKey.named("journey");
+
+        Future<String> future;
+        try (Scope ignored = Context.current().with(key, "view-penalties").makeCurrent()) {
+            future = upstreamFetchExecutor.submit(() -> Context.current().get(key));
+        }
+
+        assertEquals("view-penalties", upstreamFetchExecutor.join(future, upstreamFetchExecutor.deadline()));
+    }
+
+    @Test
+    @DisplayName("Runs calls inline on the request thread when parallel fetch is disabled")
+    void runsCallsInline() throws Exception {
+        upstreamFetchExecutor = new UpstreamFetchExecutor(properties(false, Duration.ofSeconds(5)));
+        Thread requestThread = Thread.currentThread();
+
+        Future<Thread> future = upstreamFetchExecutor.submit(Thread::currentThread);
+
+        assertTrue(future.isDone());
+        assertSame(requestThread, upstreamFetchExecutor.join(future, upstreamFetchExecutor.deadline()));
+    }
+
+    @Test
+    @DisplayName("Rethrows the ServiceException thrown by the call")
+    void rethrowsServiceException() {
+        upstreamFetchExecutor = new UpstreamFetchExecutor(properties(true, Duration.ofSeconds(5)));
+        ServiceException cause = new ServiceException("API error", null);
+
+        Future<String> future = upstreamFetchExecutor.submit(() -> {
+            throw cause;
+        });
+        Instant deadline = upstreamFetchExecutor.deadline();
+
+        assertSame(cause, assertThrows(ServiceException.class,
+                () -> upstreamFetchExecutor.join(future, deadline)));
+    }
+
+    @Test
+    @DisplayName("Cancels a call that misses the request deadline")
+    void cancelsCallAfterDeadline() {
+        upstreamFetchExecutor = new UpstreamFetchExecutor(properties(true, Duration.ofMillis(50)));
+        CountDownLatch neverReleased = new CountDownLatch(1);
+
+        Instant deadline = upstreamFetchExecutor.deadline();
+        Future<String> future = upstreamFetchExecutor.submit(() -> {
+            awaitQuietly(neverReleased);
+            return "late";
+        });
+
+        assertThrows(ServiceException.class, () -> upstreamFetchExecutor.join(future, deadline));
+        assertTrue(future.isCancelled());
+    }
+
+    @Test
+    @DisplayName("Discard cancels a call whose result is no longer needed")
+    void discardCancelsCall() {
+        upstreamFetchExecutor = new UpstreamFetchExecutor(properties(true, Duration.ofSeconds(5)));
+        CountDownLatch neverReleased = new CountDownLatch(1);
+
+        Future<String> future = upstreamFetchExecutor.submit(() -> {
+            awaitQuietly(neverReleased);
+            return "unused";
+        });
+        upstreamFetchExecutor.discard(future);
+
+        assertTrue(future.isCancelled());
+    }
+
+    private static String awaitBoth(CountDownLatch bothStarted, String result) throws ServiceException {
+        bothStarted.countDown();
+        try {
+            if (!bothStarted.await(5, TimeUnit.SECONDS)) {
+                throw new ServiceException("Calls did not run concurrently", null);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException("Interrupted", ex);
+        }
+        return result;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static UpstreamFetchConfigurationProperties properties(boolean parallelEnabled,
+            Duration timeout) {
+        UpstreamFetchConfigurationProperties properties = new UpstreamFetchConfigurationProperties();
+        properties.setParallelEnabled(parallelEnabled);
+        properties.setTimeout(timeout);
+        return properties;
+    }
+}
@@ -1,5 +1,6 @@
 package uk.gov.companieshouse.web.pps.service.company.impl;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,11 +17,17 @@ import uk.gov.companieshouse.api.http.HttpClient;
 import uk.gov.companieshouse.api.model.ApiResponse;
 import uk.gov.companieshouse.api.model.company.CompanyProfileApi;
 import uk.gov.companieshouse.web.pps.api.ApiClientService;
+import uk.gov.companieshouse.web.pps.api.ApiRequestMetrics;
+import uk.gov.companieshouse.web.pps.cache.ExpiringCache;
 import uk.gov.companieshouse.web.pps.exception.ServiceException;
 import uk.gov.companieshouse.web.pps.service.company.CompanyService;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,6 +57,8 @@ class CompanyServiceImplTest {
 
     private CompanyService companyService;
 
+    private ExpiringCache<String, String> companyNameCache;
+
     private static final String COMPANY_NUMBER_WITH_LETTERS = "SE123456";
 
     private static final String COMPANY_NUMBER_WITH_EIGHT_DIGITS = "12345678";
@@ -60,9 +69,13 @@ class CompanyServiceImplTest {
 
     private static final String APPENDED_SIX_DIGIT_COMPANY_NUMBER = "00123456";
 
+    private static final String COMPANY_NAME = "TEST_COMPANY";
+
     @BeforeEach
     void setUp() {
-        companyService = new CompanyServiceImpl(apiClientService);
+        companyNameCache = new ExpiringCache<>(Duration.ofHours(1), 10);
+        companyService = new CompanyServiceImpl(apiClientService, companyNameCache,
+                new ApiRequestMetrics(new SimpleMeterRegistry()));
     }
 
     @Test
@@ -149,4 +162,45 @@ class CompanyServiceImplTest {
                 companyService.getCompanyProfile(COMPANY_NUMBER_WITH_EIGHT_DIGITS));
     }
 
+    @Test
+    @DisplayName("Get Company Name - Fetches the profile once and then serves the name from the cache")
+    void getCompanyNameCachesName() throws ServiceException, ApiErrorResponseException, URIValidationException {
+
+        initGetCompany();
+
+        when(companyGet.execute()).thenReturn(responseWithData);
+
+        when(responseWithData.getData()).thenReturn(companyProfile);
+
+        when(companyProfile.getCompanyName()).thenReturn(COMPANY_NAME);
+
+        when(apiClient.getHttpClient()).thenReturn(httpClient);
+
+        when(httpClient.getRequestId()).thenReturn("");
+
+        assertEquals(COMPANY_NAME, companyService.getCompanyName(COMPANY_NUMBER_WITH_EIGHT_DIGITS));
+        assertEquals(COMPANY_NAME, companyService.getCompanyName(COMPANY_NUMBER_WITH_EIGHT_DIGITS));
+
+        verify(companyGet, times(1)).execute();
+        assertEquals(1, companyNameCache.hitCount());
+        assertEquals(1, companyNameCache.missCount());
+    }
+
+    @Test
+    @DisplayName("Get Company Name - Throws ServiceException and caches nothing when the profile lookup fails")
+    void getCompanyNameThrowsServiceException() throws ApiErrorResponseException, URIValidationException {
+
+        initGetCompany();
+
+        when(companyGet.execute()).thenThrow(ApiErrorResponseException.class);
+
+        when(apiClient.getHttpClient()).thenReturn(httpClient);
+
+        when(httpClient.getRequestId()).thenReturn("");
+
+        assertThrows(ServiceException.class, () ->
+                companyService.getCompanyName(COMPANY_NUMBER_WITH_EIGHT_DIGITS));
+        assertEquals(0, companyNameCache.size());
+    }
+
 }
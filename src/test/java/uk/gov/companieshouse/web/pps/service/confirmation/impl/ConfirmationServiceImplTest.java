@@ -9,6 +9,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.companieshouse.api.model.financialpenalty.PayableFinancialPenalties;
 import uk.gov.companieshouse.web.pps.config.PenaltyConfigurationProperties;
 import uk.gov.companieshouse.web.pps.service.company.CompanyService;
+import uk.gov.companieshouse.web.pps.service.payment.PaymentStateTokenService;
 import uk.gov.companieshouse.web.pps.service.penaltypayment.PayablePenaltyService;
 import uk.gov.companieshouse.web.pps.session.SessionService;
 import uk.gov.companieshouse.web.pps.util.PPSTestUtility;
@@ -16,10 +17,12 @@ import uk.gov.companieshouse.web.pps.util.PPSTestUtility;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.web.servlet.view.UrlBasedViewResolver.REDIRECT_URL_PREFIX;
 import static uk.gov.companieshouse.web.pps.service.ServiceConstants.COMPANY_NAME_ATTR;
@@ -59,6 +62,9 @@ class ConfirmationServiceImplTest {
     @Mock
     private PenaltyConfigurationProperties mockPenaltyConfigurationProperties;
 
+    @Mock
+    private PaymentStateTokenService mockPaymentStateTokenService;
+
     private static final String STATE = "state";
 
     @Test
@@ -66,8 +72,8 @@ class ConfirmationServiceImplTest {
     void emptyUrlReturnedOnSuccess() throws Exception {
         Map<String, Object> sessionData = new HashMap<>(Map.of(PAYMENT_STATE, STATE));
 
-        when(mockCompanyService.getCompanyProfile(COMPANY_NUMBER))
-                .thenReturn(PPSTestUtility.validCompanyProfile(COMPANY_NUMBER));
+        when(mockCompanyService.getCompanyName(COMPANY_NUMBER))
+                .thenReturn(PPSTestUtility.validCompanyProfile(COMPANY_NUMBER).getCompanyName());
         when(mockPayablePenaltyService.getPayableFinancialPenalties(COMPANY_NUMBER, PAYABLE_REF))
                 .thenReturn(PPSTestUtility.validPayableFinancialPenalties(COMPANY_NUMBER,
                         LFP_PENALTY_REF, VALID_LATE_FILING_REASON));
@@ -100,8 +106,8 @@ class ConfirmationServiceImplTest {
     void emptyUrlReturnedOnSuccessWithNullPayment() throws Exception {
         Map<String, Object> sessionData = new HashMap<>(Map.of(PAYMENT_STATE, STATE));
 
-        when(mockCompanyService.getCompanyProfile(COMPANY_NUMBER))
-                .thenReturn(PPSTestUtility.validCompanyProfile(COMPANY_NUMBER));
+        when(mockCompanyService.getCompanyName(COMPANY_NUMBER))
+                .thenReturn(PPSTestUtility.validCompanyProfile(COMPANY_NUMBER).getCompanyName());
 
         PayableFinancialPenalties penalty = PPSTestUtility.validPayableFinancialPenalties(
                 COMPANY_NUMBER, LFP_PENALTY_REF, VALID_LATE_FILING_REASON);
@@ -193,4 +199,45 @@ class ConfirmationServiceImplTest {
         assertFalse(result.getModelAttributes().isPresent());
     }
 
+
+    @Test
+    @DisplayName("Signed payment state token is verified without using the session")
+    void signedPaymentStateTokenVerified() throws Exception {
+        when(mockPaymentStateTokenService.isEnabled()).thenReturn(true);
+        when(mockPaymentStateTokenService.verify(COMPANY_NUMBER, LFP_PENALTY_REF, PAYABLE_REF, STATE))
+                .thenReturn(Optional.empty());
+        when(mockCompanyService.getCompanyName(COMPANY_NUMBER))
+                .thenReturn(PPSTestUtility.validCompanyProfile(COMPANY_NUMBER).getCompanyName());
+        when(mockPayablePenaltyService.getPayableFinancialPenalties(COMPANY_NUMBER, PAYABLE_REF))
+                .thenReturn(PPSTestUtility.validPayableFinancialPenalties(COMPANY_NUMBER,
+                        LFP_PENALTY_REF, VALID_LATE_FILING_REASON));
+        when(mockPenaltyConfigurationProperties.getSignOutPath()).thenReturn(SIGN_OUT_PATH);
+
+        var result = confirmationServiceImpl.getConfirmationUrl(COMPANY_NUMBER, LFP_PENALTY_REF,
+                PAYABLE_REF, STATE, PAID.label);
+
+        assertFalse(result.getUrl().isPresent());
+        assertFalse(result.getErrorRequestMsg().isPresent());
+        assertTrue(result.getModelAttributes().isPresent());
+        verifyNoInteractions(mockSessionService);
+    }
+
+    @Test
+    @DisplayName("Error message when signed payment state token is rejected")
+    void errorMessageReturnedWhenSignedPaymentStateTokenRejected() throws Exception {
+        String rejection = "Payment state has already been used, possible replay of payment state Received: "
+                + STATE;
+        when(mockPaymentStateTokenService.isEnabled()).thenReturn(true);
+        when(mockPaymentStateTokenService.verify(COMPANY_NUMBER, LFP_PENALTY_REF, PAYABLE_REF, STATE))
+                .thenReturn(Optional.of(rejection));
+        when(mockPenaltyConfigurationProperties.getUnscheduledServiceDownPath()).thenReturn(UNSCHEDULED_SERVICE_DOWN_PATH);
+
+        var result = confirmationServiceImpl.getConfirmationUrl(COMPANY_NUMBER, LFP_PENALTY_REF,
+                PAYABLE_REF, STATE, PAID.label);
+
+        assertEquals(REDIRECT_URL_PREFIX + UNSCHEDULED_SERVICE_DOWN_PATH, result.getUrl().orElseThrow());
+        assertEquals(rejection, result.getErrorRequestMsg().orElseThrow());
+        assertFalse(result.getModelAttributes().isPresent());
+        verifyNoInteractions(mockSessionService, mockPayablePenaltyService);
+    }
 }
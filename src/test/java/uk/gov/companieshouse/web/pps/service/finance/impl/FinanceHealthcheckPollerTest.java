@@ -0,0 +1,160 @@
+package uk.gov.companieshouse.web.pps.service.finance.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.api.model.financialpenalty.FinanceHealthcheck;
+import uk.gov.companieshouse.api.model.financialpenalty.FinanceHealthcheckStatus;
+import uk.gov.companieshouse.web.pps.config.FinanceHealthcheckConfigurationProperties;
+import uk.gov.companieshouse.web.pps.exception.ServiceException;
+import uk.gov.companieshouse.web.pps.service.finance.FinanceHealthcheckSnapshot;
+import uk.gov.companieshouse.web.pps.service.penaltypayment.PenaltyPaymentService;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FinanceHealthcheckPollerTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-31T12:00:00Z");
+
+    @Mock
+    private PenaltyPaymentService mockPenaltyPaymentService;
+
+    private FinanceHealthcheckConfigurationProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FinanceHealthcheckConfigurationProperties();
+        properties.setMaxStaleness(Duration.ofSeconds(45));
+    }
+
+    @Test
+    @DisplayName("No snapshot before the first poll")
+    void noSnapshotBeforeFirstPoll() {
+        FinanceHealthcheckPoller poller = poller(Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertFalse(poller.getSnapshot().isPresent());
+    }
+
+    @Test
+    @DisplayName("Refresh stores the healthcheck result")
+    void refreshStoresHealthcheck() throws Exception {
+        FinanceHealthcheck financeHealthcheck = new FinanceHealthcheck();
+        financeHealthcheck.setMessage(FinanceHealthcheckStatus.HEALTHY.getStatus());
+        when(mockPenaltyPaymentService.checkFinanceSystemAvailableTime()).thenReturn(financeHealthcheck);
+
+        FinanceHealthcheckPoller poller = poller(Clock.fixed(NOW, ZoneOffset.UTC));
+        poller.refresh();
+
+        Optional<FinanceHealthcheckSnapshot> snapshot = poller.getSnapshot();
+        assertTrue(snapshot.isPresent());
+        assertEquals(FinanceHealthcheckStatus.HEALTHY.getStatus(), snapshot.get().message());
+        assertEquals(NOW, snapshot.get().fetchedAt());
+    }
+
+    @Test
+    @DisplayName("A failed poll leaves no snapshot when there has been no good one")
+    void refreshFailureWithoutSnapshot() throws Exception {
+        doThrow(ServiceException.class).when(mockPenaltyPaymentService).checkFinanceSystemAvailableTime();
+
+        FinanceHealthcheckPoller poller = poller(Clock.fixed(NOW, ZoneOffset.UTC));
+        poller.refresh();
+
+        assertFalse(poller.getSnapshot().isPresent());
+    }
+
+    @Test
+    @DisplayName("A failed poll keeps the last good snapshot until it is older than max staleness")
+    void refreshFailureKeepsLastSnapshot() throws Exception {
+        FinanceHealthcheck financeHealthcheck = new FinanceHealthcheck();
+        financeHealthcheck.setMessage(FinanceHealthcheckStatus.HEALTHY.getStatus());
+        when(mockPenaltyPaymentService.checkFinanceSystemAvailableTime())
+                .thenReturn(financeHealthcheck)
+                .thenThrow(ServiceException.class);
+
+        MutableClock clock = new MutableClock(NOW);
+        FinanceHealthcheckPoller poller = poller(clock);
+        poller.refresh();
+        clock.instant = NOW.plusSeconds(15);
+        poller.refresh();
+
+        assertEquals(FinanceHealthcheckStatus.HEALTHY.getStatus(), poller.getSnapshot().orElseThrow().message());
+        assertEquals(NOW, poller.getSnapshot().orElseThrow().fetchedAt());
+
+        clock.instant = NOW.plusSeconds(46);
+        assertFalse(poller.getSnapshot().isPresent());
+    }
+
+    @Test
+    @DisplayName("Snapshot older than max staleness is not returned")
+    void staleSnapshotIsNotReturned() throws Exception {
+        FinanceHealthcheck financeHealthcheck = new FinanceHealthcheck();
+        financeHealthcheck.setMessage(FinanceHealthcheckStatus.HEALTHY.getStatus());
+        when(mockPenaltyPaymentService.checkFinanceSystemAvailableTime()).thenReturn(financeHealthcheck);
+
+        MutableClock clock = new MutableClock(NOW);
+        FinanceHealthcheckPoller poller = poller(clock);
+        poller.refresh();
+
+        clock.instant = NOW.plusSeconds(45);
+        assertTrue(poller.getSnapshot().isPresent());
+
+        clock.instant = NOW.plusSeconds(46);
+        assertFalse(poller.getSnapshot().isPresent());
+    }
+
+    @Test
+    @DisplayName("Refresh does nothing when the snapshot is disabled")
+    void refreshDisabled() {
+        properties.setSnapshotEnabled(false);
+
+        FinanceHealthcheckPoller poller = poller(Clock.fixed(NOW, ZoneOffset.UTC));
+        poller.refresh();
+
+        assertFalse(poller.getSnapshot().isPresent());
+        verifyNoInteractions(mockPenaltyPaymentService);
+    }
+
+    private FinanceHealthcheckPoller poller(Clock clock) {
+        return new FinanceHealthcheckPoller(properties, mockPenaltyPaymentService, clock);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -10,13 +10,19 @@ import uk.gov.companieshouse.api.model.financialpenalty.FinanceHealthcheck;
 import uk.gov.companieshouse.api.model.financialpenalty.FinanceHealthcheckStatus;
 import uk.gov.companieshouse.web.pps.config.PenaltyConfigurationProperties;
 import uk.gov.companieshouse.web.pps.exception.ServiceException;
+import uk.gov.companieshouse.web.pps.service.finance.FinanceHealthcheckSnapshot;
 import uk.gov.companieshouse.web.pps.service.penaltypayment.PenaltyPaymentService;
 import uk.gov.companieshouse.web.pps.service.response.PPSServiceResponse;
 
+import java.time.Instant;
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.web.servlet.view.UrlBasedViewResolver.REDIRECT_URL_PREFIX;
 import static uk.gov.companieshouse.web.pps.service.ServiceConstants.DATE_STR;
@@ -38,6 +44,9 @@ class FinanceServiceHealthCheckImplTest {
     @Mock
     private PenaltyConfigurationProperties mockPenaltyConfigurationProperties;
 
+    @Mock
+    private FinanceHealthcheckPoller mockFinanceHealthcheckPoller;
+
     private static final String UNKNOWN_STATUS = "Unknown";
 
     private static final String MAINTENANCE_END_TIME = "2001-08-03T04:05:06Z";
@@ -263,4 +272,51 @@ class FinanceServiceHealthCheckImplTest {
         String displayDateFormat = (String) result.getModelAttributes().get().get(DATE_STR);
         assertEquals("5:05 am on Friday 3 August 2001", displayDateFormat);
     }
+
+    @Test
+    @DisplayName("Health Check for other pages - healthy snapshot does not call the API")
+    void healthCheckOtherHealthySnapshot() {
+        when(mockFinanceHealthcheckPoller.getSnapshot()).thenReturn(Optional.of(
+                new FinanceHealthcheckSnapshot(FinanceHealthcheckStatus.HEALTHY.getStatus(), null,
+                        Instant.now())));
+
+        PPSServiceResponse result = financeServiceHealthCheck.checkIfAvailable();
+
+        assertFalse(result.getUrl().isPresent());
+        assertFalse(result.getModelAttributes().isPresent());
+        verifyNoInteractions(mockPenaltyPaymentService);
+    }
+
+    @Test
+    @DisplayName("Health Check for start pages - planned maintenance snapshot does not call the API")
+    void healthCheckStartUnhealthyPlannedMaintenanceSnapshot() {
+        when(mockFinanceHealthcheckPoller.getSnapshot()).thenReturn(Optional.of(
+                new FinanceHealthcheckSnapshot(
+                        FinanceHealthcheckStatus.UNHEALTHY_PLANNED_MAINTENANCE.getStatus(),
+                        MAINTENANCE_END_TIME, Instant.now())));
+        when(mockPenaltyConfigurationProperties.getSignOutPath()).thenReturn(SIGN_OUT_PATH);
+
+        var result = financeServiceHealthCheck.checkIfAvailableAtStart(0);
+
+        assertTrue(result.getUrl().isPresent());
+        assertEquals(SERVICE_UNAVAILABLE_VIEW_NAME, result.getUrl().get());
+        assertEquals("5:05 am on Friday 3 August 2001",
+                result.getModelAttributes().get().get(DATE_STR));
+        verifyNoInteractions(mockPenaltyPaymentService);
+    }
+
+    @Test
+    @DisplayName("Health Check for other pages - no fresh snapshot falls back to the API")
+    void healthCheckOtherNoSnapshotFallsBack() throws Exception {
+        FinanceHealthcheck mockFinancialHealthCheck = new FinanceHealthcheck();
+        mockFinancialHealthCheck.setMessage(FinanceHealthcheckStatus.HEALTHY.getStatus());
+
+        when(mockFinanceHealthcheckPoller.getSnapshot()).thenReturn(Optional.empty());
+        when(mockPenaltyPaymentService.checkFinanceSystemAvailableTime()).thenReturn(mockFinancialHealthCheck);
+
+        PPSServiceResponse result = financeServiceHealthCheck.checkIfAvailable();
+
+        assertFalse(result.getUrl().isPresent());
+        verify(mockPenaltyPaymentService).checkFinanceSystemAvailableTime();
+    }
 }
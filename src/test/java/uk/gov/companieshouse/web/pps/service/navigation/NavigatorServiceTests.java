@@ -9,7 +9,9 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Controller;
 import org.springframework.web.servlet.view.UrlBasedViewResolver;
+import org.springframework.web.util.UriTemplate;
 import uk.gov.companieshouse.web.pps.config.PenaltyConfigurationProperties;
 import uk.gov.companieshouse.web.pps.controller.ConditionalController;
 import uk.gov.companieshouse.web.pps.exception.MissingAnnotationException;
@@ -27,7 +29,9 @@ import uk.gov.companieshouse.web.pps.service.navigation.success.MockSuccessJourn
 import uk.gov.companieshouse.web.pps.session.SessionService;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.when;
 import static uk.gov.companieshouse.web.pps.util.PPSTestUtility.COMPANY_NUMBER;
 import static uk.gov.companieshouse.web.pps.util.PPSTestUtility.PENALTY_REF;
@@ -163,4 +167,56 @@ class NavigatorServiceTests {
                 () -> navigatorService.getNextControllerRedirect(MockControllerSeven.class, COMPANY_NUMBER, PENALTY_REF, COMPANY_LFP_ID));
 
     }
+
+    @Test
+    void navigationGraphCompiledAtStartupForValidJourney() {
+        when(mockApplicationContext.getBeanNamesForAnnotation(Controller.class))
+                .thenReturn(new String[]{"one", "two", "three"});
+        doReturn(MockSuccessJourneyControllerOne.class).when(mockApplicationContext).getType("one");
+        doReturn(MockSuccessJourneyControllerTwo.class).when(mockApplicationContext).getType("two");
+        doReturn(MockSuccessJourneyControllerThree.class).when(mockApplicationContext).getType("three");
+        when(mockApplicationContext.getBean(ConditionalController.class)).thenReturn(
+                new MockSuccessJourneyControllerThree(navigatorService, mockSessionService, mockPenaltyConfigurationProperties, mockMessageSource));
+
+        assertDoesNotThrow(() -> navigatorService.afterSingletonsInstantiated());
+
+        String redirect = navigatorService.getNextControllerRedirect(MockSuccessJourneyControllerTwo.class, COMPANY_NUMBER, PENALTY_REF, COMPANY_LFP_ID);
+
+        assertEquals(UrlBasedViewResolver.REDIRECT_URL_PREFIX + "/mock-success-journey-controller-three/"
+                + COMPANY_NUMBER + "/" + PENALTY_REF + "/" + COMPANY_LFP_ID, redirect);
+    }
+
+    @Test
+    void brokenJourneyFailsAtStartup() {
+        when(mockApplicationContext.getBeanNamesForAnnotation(Controller.class))
+                .thenReturn(new String[]{"one"});
+        doReturn(MockControllerOne.class).when(mockApplicationContext).getType("one");
+
+        Throwable exception = assertThrows(MissingAnnotationException.class, () ->
+                navigatorService.afterSingletonsInstantiated());
+
+        assertEquals("Missing @RequestMapping annotation on class uk.gov.companieshouse.web.pps.service.navigation.failure.MockControllerTwo", exception.getMessage());
+    }
+
+    @Test
+    void missingRequestMappingValueFailsAtStartup() {
+        when(mockApplicationContext.getBeanNamesForAnnotation(Controller.class))
+                .thenReturn(new String[]{"five"});
+        doReturn(MockControllerFive.class).when(mockApplicationContext).getType("five");
+
+        Throwable exception = assertThrows(MissingAnnotationException.class, () ->
+                navigatorService.afterSingletonsInstantiated());
+
+        assertEquals("Missing @RequestMapping value on class uk.gov.companieshouse.web.pps.service.navigation.failure.MockControllerSix", exception.getMessage());
+    }
+
+    @Test
+    void pathVariablesEncodedTheSameAsUriTemplate() {
+        String[] pathVars = {"AB 123", "A/1?x=y", "caf\u00e9%"};
+
+        String path = navigatorService.getPreviousControllerPath(MockSuccessJourneyControllerTwo.class, pathVars);
+
+        assertEquals(new UriTemplate("/mock-success-journey-controller-one/{companyNumber}/{penaltyRef}/{companyLfpId}")
+                .expand((Object[]) pathVars).toString(), path);
+    }
 }
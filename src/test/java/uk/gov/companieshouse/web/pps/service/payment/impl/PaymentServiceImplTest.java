@@ -1,10 +1,12 @@
 package uk.gov.companieshouse.web.pps.service.payment.impl;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.companieshouse.api.ApiClient;
@@ -19,8 +21,12 @@ import uk.gov.companieshouse.api.model.payment.PaymentApi;
 import uk.gov.companieshouse.api.model.payment.PaymentSessionApi;
 import uk.gov.companieshouse.environment.EnvironmentReader;
 import uk.gov.companieshouse.web.pps.api.ApiClientService;
+import uk.gov.companieshouse.web.pps.api.ApiRequestMetrics;
+import uk.gov.companieshouse.web.pps.circuitbreaker.CircuitBreakerRegistry;
+import uk.gov.companieshouse.web.pps.config.CircuitBreakerConfigurationProperties;
 import uk.gov.companieshouse.web.pps.exception.ServiceException;
 import uk.gov.companieshouse.web.pps.service.payment.PaymentService;
+import uk.gov.companieshouse.web.pps.service.payment.PaymentStateTokenService;
 import uk.gov.companieshouse.web.pps.session.SessionService;
 
 import java.util.Map;
@@ -32,6 +38,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static uk.gov.companieshouse.web.pps.service.ServiceConstants.PAYMENT_STATE;
 import static uk.gov.companieshouse.web.pps.util.PPSTestUtility.COMPANY_NUMBER;
@@ -57,6 +64,9 @@ class PaymentServiceImplTest {
     @Mock
     private SessionService sessionService;
 
+    @Mock
+    private PaymentStateTokenService paymentStateTokenService;
+
     @Mock
     private EnvironmentReader environmentReader;
 
@@ -90,7 +100,11 @@ class PaymentServiceImplTest {
     @BeforeEach
     void setUp() {
 
-        mockPaymentService = new PaymentServiceImpl(apiClientService, sessionService, environmentReader);
+        mockPaymentService = new PaymentServiceImpl(apiClientService, sessionService, paymentStateTokenService,
+                environmentReader,
+                new CircuitBreakerRegistry(new CircuitBreakerConfigurationProperties(),
+                        new SimpleMeterRegistry()),
+                new ApiRequestMetrics(new SimpleMeterRegistry()));
 
         when(apiClientService.getPublicApiClient()).thenReturn(apiClient);
         when(apiClient.getHttpClient()).thenReturn(httpClient);
@@ -175,4 +189,26 @@ class PaymentServiceImplTest {
 
         verify(sessionData, never()).put(eq(PAYMENT_STATE), anyString());
     }
+
+    @Test
+    @DisplayName("Create payment session with signed payment state token - does not use the session")
+    void createPaymentSessionWithSignedPaymentStateToken()
+            throws ApiErrorResponseException, URIValidationException, ServiceException {
+
+        when(paymentStateTokenService.isEnabled()).thenReturn(true);
+        when(paymentStateTokenService.issue(COMPANY_NUMBER, PENALTY_REF, null)).thenReturn("token");
+        when(paymentCreate.execute()).thenReturn(apiResponse);
+        when(apiResponse.getData()).thenReturn(paymentApi);
+        when(paymentApi.getLinks()).thenReturn(links);
+        when(links.get(JOURNEY_LINK)).thenReturn(JOURNEY_URL);
+
+        String journeyUrl = mockPaymentService.createPaymentSession(
+                payableFinancialPenaltySession, COMPANY_NUMBER, PENALTY_REF);
+
+        assertEquals(JOURNEY_URL, journeyUrl);
+        ArgumentCaptor<PaymentSessionApi> paymentSessionApi = ArgumentCaptor.forClass(PaymentSessionApi.class);
+        verify(paymentResourceHandler).create(eq(PAYMENT_ENDPOINT), paymentSessionApi.capture());
+        assertEquals("token", paymentSessionApi.getValue().getState());
+        verifyNoInteractions(sessionService);
+    }
 }
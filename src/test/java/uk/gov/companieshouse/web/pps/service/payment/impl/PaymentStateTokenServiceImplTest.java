@@ -0,0 +1,121 @@
+package uk.gov.companieshouse.web.pps.service.payment.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.web.pps.cache.ExpiringCache;
+import uk.gov.companieshouse.web.pps.config.PaymentStateConfigurationProperties;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.gov.companieshouse.web.pps.util.PPSTestUtility.COMPANY_NUMBER;
+import static uk.gov.companieshouse.web.pps.util.PPSTestUtility.LFP_PENALTY_REF;
+import static uk.gov.companieshouse.web.pps.util.PPSTestUtility.PAYABLE_REF;
+
+class PaymentStateTokenServiceImplTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-31T12:00:00Z");
+    private static final String SIGNING_KEY = "0123456789abcdef0123456789abcdef";
+
+    private PaymentStateConfigurationProperties properties;
+    private ExpiringCache<String, Instant> usedNonces;
+    private PaymentStateTokenServiceImpl paymentStateTokenService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PaymentStateConfigurationProperties();
+        properties.setSignedTokenEnabled(true);
+        properties.setSigningKey(SIGNING_KEY);
+        usedNonces = new ExpiringCache<>(properties.getTimeToLive(), properties.getMaxNonces());
+        paymentStateTokenService = tokenServiceAt(NOW);
+    }
+
+    @Test
+    @DisplayName("A token verifies once for the penalty payment it was issued for")
+    void verifiesOnce() {
+        String token = paymentStateTokenService.issue(COMPANY_NUMBER, LFP_PENALTY_REF, PAYABLE_REF);
+
+        assertTrue(paymentStateTokenService.verify(COMPANY_NUMBER, LFP_PENALTY_REF, PAYABLE_REF, token).isEmpty());
+        assertTrue(paymentStateTokenService.verify(COMPANY_NUMBER, LFP_PENALTY_REF, PAYABLE_REF, token)
+                .orElseThrow().startsWith("Payment state has already been used"));
+    }
+
+    @Test
+    @DisplayName("Each token carries its own nonce")
+    void uniqueTokens() {
+        assertNotEquals(paymentStateTokenService.issue(COMPANY_NUMBER, LFP_PENALTY_REF, PAYABLE_REF),
+                paymentStateTokenService.issue(COMPANY_NUMBER, LFP_PENALTY_REF, PAYABLE_REF));
+    }
+
+    @Test
+    @DisplayName("A token does not verify for a different penalty payment")
+    void boundToPenaltyPayment() {
+        String token = paymentStateTokenService.issue(COMPANY_NUMBER, LFP_PENALTY_REF, PAYABLE_REF);
+
+        assertTrue(paymentStateTokenService.verify("87654321", LFP_PENALTY_REF, PAYABLE_REF, token)
+                .orElseThrow().startsWith("Payment state signature is not as expected"));
+        assertTrue(paymentStateTokenService.verify(COMPANY_NUMBER, "A9999999", PAYABLE_REF, token).isPresent());
+        assertTrue(paymentStateTokenService.verify(COMPANY_NUMBER, LFP_PENALTY_REF, "99999", token).isPresent());
+    }
+
+    @Test
+    @DisplayName("A token with a changed expiry, nonce or signature does not verify")
+    void tamperedToken() {
+        String[] parts = paymentStateTokenService.issue(COMPANY_NUMBER, LFP_PENALTY_REF, PAYABLE_REF).split("\\.");
+
+        String laterExpiry = (Long.parseLong(parts[0]) + 3600) + "." + parts[1] + "." + parts[2];
+        String otherNonce = parts[0] + ".AAAAAAAAAAAAAAAAAAAAAA." + parts[2];
+        String badSignature = parts[0] + "." + parts[1] + ".not-a-signature";
+
+        assertTrue(paymentStateTokenService.verify(COMPANY_NUMBER, LFP_PENALTY_REF, PAYABLE_REF, laterExpiry).isPresent());
+        assertTrue(paymentStateTokenService.verify(COMPANY_NUMBER, LFP_PENALTY_REF, PAYABLE_REF, otherNonce).isPresent());
+        assertTrue(paymentStateTokenService.verify(COMPANY_NUMBER, LFP_PENALTY_REF, PAYABLE_REF, badSignature).isPresent());
+    }
+
+    @Test
+    @DisplayName("A value that is not a token does not verify")
+    void notAToken() {
+        assertTrue(paymentStateTokenService.verify(COMPANY_NUMBER, LFP_PENALTY_REF, PAYABLE_REF,
+                "0b3f7c1e-4a5d-4e6f-8a9b-0c1d2e3f4a5b").orElseThrow().startsWith("Payment state is not a valid token"));
+        assertTrue(paymentStateTokenService.verify(COMPANY_NUMBER, LFP_PENALTY_REF, PAYABLE_REF, null).isPresent());
+    }
+
+    @Test
+    @DisplayName("A token does not verify once it has expired")
+    void expiredToken() {
+        String token = paymentStateTokenService.issue(COMPANY_NUMBER, LFP_PENALTY_REF, PAYABLE_REF);
+
+        PaymentStateTokenServiceImpl later = tokenServiceAt(NOW.plus(properties.getTimeToLive()).plus(Duration.ofSeconds(1)));
+
+        assertTrue(later.verify(COMPANY_NUMBER, LFP_PENALTY_REF, PAYABLE_REF, token)
+                .orElseThrow().startsWith("Payment state expired"));
+    }
+
+    @Test
+    @DisplayName("Signed tokens cannot be enabled without a long enough signing key")
+    void requiresSigningKey() {
+        properties.setSigningKey("too-short");
+
+        assertThrows(IllegalStateException.class, () -> tokenServiceAt(NOW));
+    }
+
+    @Test
+    @DisplayName("No signing key is needed while signed tokens are disabled")
+    void disabledWithoutSigningKey() {
+        properties.setSignedTokenEnabled(false);
+        properties.setSigningKey("");
+
+        assertFalse(tokenServiceAt(NOW).isEnabled());
+    }
+
+    private PaymentStateTokenServiceImpl tokenServiceAt(Instant instant) {
+        return new PaymentStateTokenServiceImpl(properties, usedNonces, Clock.fixed(instant, ZoneOffset.UTC));
+    }
+}
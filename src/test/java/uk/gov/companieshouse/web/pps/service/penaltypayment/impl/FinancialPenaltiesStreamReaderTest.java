@@ -0,0 +1,64 @@
+package uk.gov.companieshouse.web.pps.service.penaltypayment.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import uk.gov.companieshouse.api.model.financialpenalty.FinancialPenalties;
+import uk.gov.companieshouse.api.model.financialpenalty.FinancialPenalty;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static java.lang.Boolean.FALSE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FinancialPenaltiesStreamReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @DisplayName("Streaming read keeps the same items as binding the whole response and filtering")
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "company_12345678_penalties_LATE_FILING_response.json",
+            "company_12345678_penalties_SANCTIONS_response.json"})
+    void matchesFullBindAndFilter(String resource) throws IOException {
+        FinancialPenalties financialPenalties = objectMapper.readValue(
+                this.getClass().getClassLoader().getResource(resource), FinancialPenalties.class);
+
+        for (FinancialPenalty financialPenalty : financialPenalties.getItems()) {
+            String penaltyRef = financialPenalty.getId();
+            List<FinancialPenalty> expected = financialPenalties.getItems().stream()
+                    .filter(item -> penaltyRef.equals(item.getId()) || FALSE.equals(item.getPaid()))
+                    .toList();
+
+            List<FinancialPenalty> actual;
+            try (InputStream body = this.getClass().getClassLoader().getResourceAsStream(resource)) {
+                actual = FinancialPenaltiesStreamReader.readPenaltyOrUnpaidItems(body, penaltyRef);
+            }
+
+            assertEquals(objectMapper.writeValueAsString(expected), objectMapper.writeValueAsString(actual),
+                    "penalty ref " + penaltyRef);
+        }
+    }
+
+    @Test
+    void fieldsAroundItemsAreSkipped() throws IOException {
+        String json = "{\"etag\":\"x\",\"links\":{\"self\":[1,{\"a\":2}]},\"items\":[],\"total_results\":0}";
+
+        assertTrue(FinancialPenaltiesStreamReader.readPenaltyOrUnpaidItems(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), "A0000001").isEmpty());
+    }
+
+    @Test
+    void notAnObject() {
+        assertThrows(IOException.class, () -> FinancialPenaltiesStreamReader.readPenaltyOrUnpaidItems(
+                new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8)), "A0000001"));
+    }
+}
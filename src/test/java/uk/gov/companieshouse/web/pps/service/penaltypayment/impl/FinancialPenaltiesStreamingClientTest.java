@@ -0,0 +1,107 @@
+package uk.gov.companieshouse.web.pps.service.penaltypayment.impl;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.api.error.ApiErrorResponseException;
+import uk.gov.companieshouse.api.model.financialpenalty.FinancialPenalty;
+import uk.gov.companieshouse.environment.EnvironmentReader;
+import uk.gov.companieshouse.web.pps.config.ApiClientConfigurationProperties;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FinancialPenaltiesStreamingClientTest {
+
+    private static final String URI = "/company/12345678/penalties/LATE_FILING";
+
+    @Mock
+    private EnvironmentReader environmentReader;
+
+    private HttpServer server;
+    private final AtomicReference<String> authorization = new AtomicReference<>();
+    private final AtomicReference<String> requestId = new AtomicReference<>();
+    private volatile int status = 200;
+    private volatile String body;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(URI, exchange -> {
+            authorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+            requestId.set(exchange.getRequestHeaders().getFirst("X-Request-Id"));
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void streamsPenaltyOrUnpaidItems() throws ApiErrorResponseException {
+        body = "{\"items\":["
+                + "{\"id\":\"A0000001\",\"is_paid\":true,\"type\":\"penalty\"},"
+                + "{\"id\":\"A0000002\",\"is_paid\":true,\"type\":\"penalty\"},"
+                + "{\"id\":\"A0000003\",\"is_paid\":false,\"type\":\"other\"}]}";
+
+        List<FinancialPenalty> items = enabledClient().getPenaltyOrUnpaidItems(URI, "A0000001", "request-1");
+
+        assertEquals(List.of("A0000001", "A0000003"), items.stream().map(FinancialPenalty::getId).toList());
+        assertEquals("Basic " + Base64.getEncoder().encodeToString("key:".getBytes(StandardCharsets.UTF_8)),
+                authorization.get());
+        assertEquals("request-1", requestId.get());
+    }
+
+    @Test
+    void errorStatusRaisedAsApiErrorResponseException() {
+        status = 500;
+        body = "{\"error\":\"internal\"}";
+        FinancialPenaltiesStreamingClient client = enabledClient();
+
+        ApiErrorResponseException exception = assertThrows(ApiErrorResponseException.class,
+                () -> client.getPenaltyOrUnpaidItems(URI, "A0000001", ""));
+        assertEquals(500, exception.getStatusCode());
+        assertEquals(body, exception.getContent());
+    }
+
+    @Test
+    void disabledByDefault() {
+        FinancialPenaltiesStreamingClient client = new FinancialPenaltiesStreamingClient(
+                new ApiClientConfigurationProperties(), environmentReader);
+
+        assertFalse(client.isEnabled());
+        verifyNoInteractions(environmentReader);
+    }
+
+    private FinancialPenaltiesStreamingClient enabledClient() {
+        ApiClientConfigurationProperties properties = new ApiClientConfigurationProperties();
+        properties.setStreamingEnabled(true);
+        when(environmentReader.getMandatoryString("API_URL"))
+                .thenReturn("http://localhost:" + server.getAddress().getPort());
+        when(environmentReader.getMandatoryString("CHS_API_KEY")).thenReturn("key");
+        return new FinancialPenaltiesStreamingClient(properties, environmentReader);
+    }
+}
@@ -1,5 +1,6 @@
 package uk.gov.companieshouse.web.pps.service.penaltypayment.impl;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,6 +20,9 @@ import uk.gov.companieshouse.api.model.financialpenalty.FinancialPenaltySession;
 import uk.gov.companieshouse.api.model.financialpenalty.PayableFinancialPenalties;
 import uk.gov.companieshouse.api.model.financialpenalty.PayableFinancialPenaltySession;
 import uk.gov.companieshouse.web.pps.api.ApiClientService;
+import uk.gov.companieshouse.web.pps.api.ApiRequestMetrics;
+import uk.gov.companieshouse.web.pps.circuitbreaker.CircuitBreakerRegistry;
+import uk.gov.companieshouse.web.pps.config.CircuitBreakerConfigurationProperties;
 import uk.gov.companieshouse.web.pps.exception.ServiceException;
 import uk.gov.companieshouse.web.pps.service.penaltypayment.PayablePenaltyService;
 import uk.gov.companieshouse.web.pps.util.PPSTestUtility;
@@ -71,7 +75,10 @@ class PayablePenaltyServiceImplTest {
 
     @BeforeEach
     void init() {
-        payablePenaltyService = new PayablePenaltyServiceImpl(apiClientService);
+        payablePenaltyService = new PayablePenaltyServiceImpl(apiClientService,
+                new CircuitBreakerRegistry(new CircuitBreakerConfigurationProperties(),
+                        new SimpleMeterRegistry()),
+                new ApiRequestMetrics(new SimpleMeterRegistry()));
 
         when(apiClientService.getPublicApiClient()).thenReturn(apiClient);
         when(apiClient.getHttpClient()).thenReturn(httpClient);
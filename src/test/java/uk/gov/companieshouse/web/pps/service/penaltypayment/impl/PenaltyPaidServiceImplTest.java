@@ -40,14 +40,14 @@ class PenaltyPaidServiceImplTest {
     @Test
     @DisplayName("Get Penalty Paid - success path")
     void getRequestSuccess() throws Exception {
-        when(mockCompanyService.getCompanyProfile(COMPANY_NUMBER))
-                .thenReturn(PPSTestUtility.validCompanyProfile(COMPANY_NUMBER));
+        when(mockCompanyService.getCompanyName(COMPANY_NUMBER))
+                .thenReturn(PPSTestUtility.validCompanyProfile(COMPANY_NUMBER).getCompanyName());
         when(mockPenaltyConfigurationProperties.getEnterDetailsPath())
                 .thenReturn("/pay-penalty/enter-details");
 
         PPSServiceResponse result = penaltyPaidServiceImpl.getPaid(COMPANY_NUMBER, PENALTY_REF_ATTR);
 
-        verify(mockCompanyService, times(1)).getCompanyProfile(COMPANY_NUMBER);
+        verify(mockCompanyService, times(1)).getCompanyName(COMPANY_NUMBER);
 
         assertFalse( result.getUrl().isPresent());
         assertFalse(result.getErrorRequestMsg().isPresent());
@@ -3,6 +3,7 @@ package uk.gov.companieshouse.web.pps.service.penaltypayment.impl;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.api.client.http.HttpHeaders;
 import com.google.api.client.http.HttpResponseException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -25,11 +26,18 @@ import uk.gov.companieshouse.api.model.financialpenalty.FinancialPenalties;
 import uk.gov.companieshouse.api.model.financialpenalty.FinancialPenalty;
 import uk.gov.companieshouse.api.model.financialpenalty.PayableStatus;
 import uk.gov.companieshouse.web.pps.api.ApiClientService;
+import uk.gov.companieshouse.web.pps.api.ApiRequestMetrics;
+import uk.gov.companieshouse.web.pps.cache.ExpiringCache;
+import uk.gov.companieshouse.web.pps.circuitbreaker.CircuitBreakerRegistry;
+import uk.gov.companieshouse.web.pps.config.CircuitBreakerConfigurationProperties;
+import uk.gov.companieshouse.web.pps.exception.CircuitBreakerOpenException;
 import uk.gov.companieshouse.web.pps.exception.ServiceException;
 import uk.gov.companieshouse.web.pps.service.penaltypayment.PenaltyPaymentService;
 import uk.gov.companieshouse.web.pps.util.PPSTestUtility;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -38,6 +46,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.companieshouse.api.model.financialpenalty.PayableStatus.CLOSED;
 import static uk.gov.companieshouse.api.model.financialpenalty.PayableStatus.OPEN;
@@ -70,6 +80,9 @@ class PenaltyPaymentServiceImplTest {
     @Mock
     private FinancialPenaltiesGet financialPenaltiesGet;
 
+    @Mock
+    private FinancialPenaltiesStreamingClient streamingClient;
+
     @Mock
     private FinanceHealthcheckGet financeHealthcheckGet;
 
@@ -81,6 +94,8 @@ class PenaltyPaymentServiceImplTest {
 
     private PenaltyPaymentService penaltyPaymentService;
 
+    private CircuitBreakerConfigurationProperties circuitBreakerConfigurationProperties;
+
     private static final String PENALTY_REF_TWO = "A0000001";
 
     private static final String GET_FINANCIAL_PENALTIES_LATE_FILING_URI =
@@ -98,7 +113,12 @@ class PenaltyPaymentServiceImplTest {
 
     @BeforeEach
     void init() {
-        penaltyPaymentService = new PenaltyPaymentServiceImpl(apiClientService);
+        circuitBreakerConfigurationProperties = new CircuitBreakerConfigurationProperties();
+        penaltyPaymentService = new PenaltyPaymentServiceImpl(apiClientService,
+                new ExpiringCache<>(Duration.ofMinutes(2), 100),
+                new CircuitBreakerRegistry(circuitBreakerConfigurationProperties,
+                        new SimpleMeterRegistry()),
+                streamingClient, new ApiRequestMetrics(new SimpleMeterRegistry()));
 
         when(apiClientService.getPublicApiClient()).thenReturn(apiClient);
         when(apiClient.getHttpClient()).thenReturn(httpClient);
@@ -130,6 +150,48 @@ class PenaltyPaymentServiceImplTest {
         assertEquals(validFinancialPenalty, payableFinancialPenalties.getFirst());
     }
 
+    @Test
+    @DisplayName("Get cached financial penalties - reuses the penalties fetched earlier in the journey")
+    void getCachedFinancialPenaltiesReusesFetchedPenalties()
+            throws ServiceException, ApiErrorResponseException, URIValidationException {
+        when(apiClient.financialPenalty()).thenReturn(financialPenaltyResourceHandler);
+
+        FinancialPenalty validFinancialPenalty = PPSTestUtility.validFinancialPenalty(PENALTY_REF, now().minusYears(1).toString());
+
+        when(financialPenaltyResourceHandler.get(GET_FINANCIAL_PENALTIES_LATE_FILING_URI)).thenReturn(financialPenaltiesGet);
+        when(financialPenaltiesGet.execute()).thenReturn(responseWithData);
+        when(responseWithData.getData()).thenReturn(
+                PPSTestUtility.oneFinancialPenalties(validFinancialPenalty)
+        );
+
+        List<FinancialPenalty> fetched = penaltyPaymentService.getFinancialPenalties(COMPANY_NUMBER, PENALTY_REF);
+        List<FinancialPenalty> cached = penaltyPaymentService.getCachedFinancialPenalties(COMPANY_NUMBER, PENALTY_REF);
+
+        assertEquals(fetched, cached);
+        verify(financialPenaltiesGet, times(1)).execute();
+    }
+
+    @Test
+    @DisplayName("Get cached financial penalties - fetches from the API on a cache miss")
+    void getCachedFinancialPenaltiesFetchesOnMiss()
+            throws ServiceException, ApiErrorResponseException, URIValidationException {
+        when(apiClient.financialPenalty()).thenReturn(financialPenaltyResourceHandler);
+
+        FinancialPenalty validFinancialPenalty = PPSTestUtility.validFinancialPenalty(PENALTY_REF, now().minusYears(1).toString());
+
+        when(financialPenaltyResourceHandler.get(GET_FINANCIAL_PENALTIES_LATE_FILING_URI)).thenReturn(financialPenaltiesGet);
+        when(financialPenaltiesGet.execute()).thenReturn(responseWithData);
+        when(responseWithData.getData()).thenReturn(
+                PPSTestUtility.oneFinancialPenalties(validFinancialPenalty)
+        );
+
+        List<FinancialPenalty> cached = penaltyPaymentService.getCachedFinancialPenalties(COMPANY_NUMBER, PENALTY_REF);
+        penaltyPaymentService.getFinancialPenalties(COMPANY_NUMBER, PENALTY_REF);
+
+        assertEquals(1, cached.size());
+        verify(financialPenaltiesGet, times(2)).execute();
+    }
+
     @Test
     @DisplayName("Get payable financial penalties - Two Unpaid Penalties")
     void getPayableFinancialPenaltiesTwoUnpaid()
@@ -455,6 +517,76 @@ class PenaltyPaymentServiceImplTest {
                 penaltyPaymentService.checkFinanceSystemAvailableTime());
     }
 
+    @Test
+    @DisplayName("Get payable financial penalties - fails fast once the circuit breaker is open")
+    void getPayableFinancialPenaltiesCircuitBreakerOpen()
+            throws ApiErrorResponseException, URIValidationException {
+        circuitBreakerConfigurationProperties.setMinimumCalls(1);
+        when(apiClient.financialPenalty()).thenReturn(financialPenaltyResourceHandler);
+
+        when(financialPenaltyResourceHandler.get(GET_FINANCIAL_PENALTIES_LATE_FILING_URI)).thenReturn(financialPenaltiesGet);
+        when(financialPenaltiesGet.execute()).thenThrow(
+                new ApiErrorResponseException(new HttpResponseException.Builder(500, "error", new HttpHeaders())));
+
+        assertThrows(ServiceException.class, () ->
+                penaltyPaymentService.getFinancialPenalties(COMPANY_NUMBER, PENALTY_REF));
+        assertThrows(CircuitBreakerOpenException.class, () ->
+                penaltyPaymentService.getFinancialPenalties(COMPANY_NUMBER, PENALTY_REF));
+
+        verify(financialPenaltiesGet, times(1)).execute();
+    }
+
+    @Test
+    @DisplayName("Get Finance Healthcheck - planned maintenance does not open the circuit breaker")
+    void getFinanceHealthcheckPlannedMaintenanceKeepsCircuitClosed()
+            throws ServiceException, ApiErrorResponseException, URIValidationException {
+        circuitBreakerConfigurationProperties.setMinimumCalls(1);
+        when(apiClient.financeHealthcheckResourceHandler()).thenReturn(
+                financeHealthcheckResourceHandler);
+        when(financeHealthcheckResourceHandler.get(GET_FINANCE_HEALTHCHECK_URI)).thenReturn(
+                financeHealthcheckGet);
+        when(financeHealthcheckGet.execute()).thenThrow(
+                new ApiErrorResponseException(serviceUnavailablePlannedMaintenance()));
+
+        penaltyPaymentService.checkFinanceSystemAvailableTime();
+        FinanceHealthcheck financeHealthcheck = penaltyPaymentService.checkFinanceSystemAvailableTime();
+
+        assertEquals(FinanceHealthcheckStatus.UNHEALTHY_PLANNED_MAINTENANCE.getStatus(),
+                financeHealthcheck.getMessage());
+        verify(financeHealthcheckGet, times(2)).execute();
+    }
+
+    @Test
+    @DisplayName("Get financial penalties through the streaming client when it is enabled")
+    void getFinancialPenaltiesStreaming() throws Exception {
+        List<FinancialPenalty> penaltyOrUnpaidItems;
+        try (var body = this.getClass().getClassLoader()
+                .getResourceAsStream("company_12345678_penalties_LATE_FILING_response.json")) {
+            penaltyOrUnpaidItems = FinancialPenaltiesStreamReader.readPenaltyOrUnpaidItems(body, "A0000001");
+        }
+        when(streamingClient.isEnabled()).thenReturn(true);
+        when(streamingClient.getPenaltyOrUnpaidItems(GET_FINANCIAL_PENALTIES_LATE_FILING_URI, "A0000001", ""))
+                .thenReturn(penaltyOrUnpaidItems);
+
+        List<FinancialPenalty> penaltyAndCosts = penaltyPaymentService.getFinancialPenalties(COMPANY_NUMBER, "A0000001");
+
+        assertEquals(3, penaltyAndCosts.size());
+        assertEquals(3000, penaltyAndCosts.getFirst().getOutstanding());
+        assertEquals(105, penaltyAndCosts.get(1).getOutstanding());
+        assertEquals(80, penaltyAndCosts.get(2).getOutstanding());
+    }
+
+    @Test
+    @DisplayName("Get financial penalties throws ServiceException when the streaming request fails")
+    void getFinancialPenaltiesStreamingIOError() throws Exception {
+        when(streamingClient.isEnabled()).thenReturn(true);
+        when(streamingClient.getPenaltyOrUnpaidItems(GET_FINANCIAL_PENALTIES_LATE_FILING_URI, PENALTY_REF, ""))
+                .thenThrow(new UncheckedIOException(new IOException("connection reset")));
+
+        assertThrows(ServiceException.class, () ->
+                penaltyPaymentService.getFinancialPenalties(COMPANY_NUMBER, PENALTY_REF));
+    }
+
     public static HttpResponseException.Builder serviceUnavailablePlannedMaintenance() {
         HttpHeaders headers = new HttpHeaders();
         HttpResponseException.Builder response =
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import uk.gov.companieshouse.web.pps.config.PenaltyConfigurationProperties;
 import uk.gov.companieshouse.web.pps.service.response.PPSServiceResponse;
+import uk.gov.companieshouse.web.pps.session.UserContext;
 import uk.gov.companieshouse.web.pps.validation.AllowlistChecker;
 
 import java.util.HashMap;
@@ -37,12 +38,12 @@ class SignOutServiceImplTest {
     void testIsUserSignedInTrue() {
         Map<String, Object> session = new HashMap<>();
         session.put(SIGN_IN_INFO, new Object());
-        assertTrue(service.isUserSignedIn(session));
+        assertTrue(service.isUserSignedIn(UserContext.fromSessionData(session)));
     }
 
     @Test
     void testIsUserSignedInFalse() {
-        assertFalse(service.isUserSignedIn(new HashMap<>()));
+        assertFalse(service.isUserSignedIn(UserContext.fromSessionData(new HashMap<>())));
     }
 
     @Test
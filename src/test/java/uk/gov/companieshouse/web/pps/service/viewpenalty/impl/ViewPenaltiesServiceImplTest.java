@@ -9,12 +9,15 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.companieshouse.api.model.company.CompanyProfileApi;
 import uk.gov.companieshouse.api.model.financialpenalty.FinancialPenalty;
 import uk.gov.companieshouse.api.model.financialpenalty.PayableFinancialPenaltySession;
 import uk.gov.companieshouse.web.pps.config.PenaltyConfigurationProperties;
+import uk.gov.companieshouse.web.pps.config.UpstreamFetchConfigurationProperties;
 import uk.gov.companieshouse.web.pps.exception.ServiceException;
+import uk.gov.companieshouse.web.pps.service.async.UpstreamFetchExecutor;
 import uk.gov.companieshouse.web.pps.service.company.CompanyService;
 import uk.gov.companieshouse.web.pps.service.finance.FinanceServiceHealthCheck;
 import uk.gov.companieshouse.web.pps.service.payment.PaymentService;
@@ -98,6 +101,10 @@ class ViewPenaltiesServiceImplTest {
     @Mock
     private FinanceServiceHealthCheck mockFinanceServiceHealthCheck;
 
+    @Spy
+    private UpstreamFetchExecutor upstreamFetchExecutor = new UpstreamFetchExecutor(
+            new UpstreamFetchConfigurationProperties());
+
     private static final String INVALID_PENALTY_REF = "F4444444";
 
     private static final String MOCK_PAYMENTS_URL = "pay.companieshouse/payments/987654321987654321/pay";
@@ -155,9 +162,9 @@ class ViewPenaltiesServiceImplTest {
                         now().minusYears(1).toString()));
 
         configureFeatureFlag(penaltyTestData.penaltyRef(), TRUE);
-        when(mockCompanyService.getCompanyProfile(penaltyTestData.customerCode())).thenReturn(
-                mockCompanyProfileApi);
-        when(mockPenaltyPaymentService.getFinancialPenalties(penaltyTestData.customerCode(),
+        when(mockCompanyService.getCompanyName(penaltyTestData.customerCode())).thenReturn(
+                mockCompanyProfileApi.getCompanyName());
+        when(mockPenaltyPaymentService.getCachedFinancialPenalties(penaltyTestData.customerCode(),
                 penaltyTestData.penaltyRef())).thenReturn(mockPenalties);
 
         PPSServiceResponse serviceResponse = viewPenaltiesService.viewPenalties(
@@ -217,10 +224,10 @@ class ViewPenaltiesServiceImplTest {
         mockPenalties.add(
                 PPSTestUtility.validFinancialPenalty(LFP_PENALTY_REF,
                         now().minusYears(1).toString()));
-        when(mockPenaltyPaymentService.getFinancialPenalties(COMPANY_NUMBER,
+        when(mockPenaltyPaymentService.getCachedFinancialPenalties(COMPANY_NUMBER,
                 LFP_PENALTY_REF)).thenReturn(mockPenalties);
 
-        doThrow(ServiceException.class).when(mockCompanyService).getCompanyProfile(COMPANY_NUMBER);
+        doThrow(ServiceException.class).when(mockCompanyService).getCompanyName(COMPANY_NUMBER);
 
         assertThrowsExactly(ServiceException.class,
                 () -> viewPenaltiesService.viewPenalties(COMPANY_NUMBER,
@@ -234,7 +241,7 @@ class ViewPenaltiesServiceImplTest {
 
         configureFeatureFlag(LFP_PENALTY_REF, TRUE);
         doThrow(ServiceException.class).when(mockPenaltyPaymentService)
-                .getFinancialPenalties(COMPANY_NUMBER,
+                .getCachedFinancialPenalties(COMPANY_NUMBER,
                         LFP_PENALTY_REF);
 
         assertThrowsExactly(ServiceException.class,
@@ -257,7 +264,7 @@ class ViewPenaltiesServiceImplTest {
 
         configureUnscheduledError();
         configureFeatureFlag(LFP_PENALTY_REF, TRUE);
-        when(mockPenaltyPaymentService.getFinancialPenalties(COMPANY_NUMBER,
+        when(mockPenaltyPaymentService.getCachedFinancialPenalties(COMPANY_NUMBER,
                 LFP_PENALTY_REF)).thenReturn(mockMultiplePenalties);
 
         PPSServiceResponse serviceResponse = viewPenaltiesService.viewPenalties(COMPANY_NUMBER,
@@ -278,7 +285,7 @@ class ViewPenaltiesServiceImplTest {
 
         configureUnscheduledError();
         configureFeatureFlag(LFP_PENALTY_REF, TRUE);
-        when(mockPenaltyPaymentService.getFinancialPenalties(COMPANY_NUMBER,
+        when(mockPenaltyPaymentService.getCachedFinancialPenalties(COMPANY_NUMBER,
                 LFP_PENALTY_REF)).thenReturn(mockPenalties);
 
         PPSServiceResponse serviceResponse = viewPenaltiesService.viewPenalties(COMPANY_NUMBER,
@@ -299,7 +306,7 @@ class ViewPenaltiesServiceImplTest {
 
         configureUnscheduledError();
         configureFeatureFlag(LFP_PENALTY_REF, TRUE);
-        when(mockPenaltyPaymentService.getFinancialPenalties(COMPANY_NUMBER,
+        when(mockPenaltyPaymentService.getCachedFinancialPenalties(COMPANY_NUMBER,
                 LFP_PENALTY_REF)).thenReturn(mockPenalties);
 
         PPSServiceResponse serviceResponse = viewPenaltiesService.viewPenalties(COMPANY_NUMBER,
@@ -319,7 +326,7 @@ class ViewPenaltiesServiceImplTest {
                         now().minusYears(1).toString()));
 
         configureFeatureFlag(CS_PENALTY_REF, TRUE);
-        when(mockPenaltyPaymentService.getFinancialPenalties(COMPANY_NUMBER,
+        when(mockPenaltyPaymentService.getCachedFinancialPenalties(COMPANY_NUMBER,
                 CS_PENALTY_REF)).thenReturn(mockPenalties);
 
         PPSServiceResponse serviceResponse = viewPenaltiesService.viewPenalties(COMPANY_NUMBER,
@@ -0,0 +1,78 @@
+package uk.gov.companieshouse.web.pps.session;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.gov.companieshouse.web.pps.service.ServiceConstants.PAYMENT_STATE;
+import static uk.gov.companieshouse.web.pps.service.ServiceConstants.SIGN_IN_INFO;
+
+class DirtyTrackingSessionDataTest {
+
+    private Map<String, Object> sessionData;
+    private DirtyTrackingSessionData dirtyTrackingSessionData;
+
+    @BeforeEach
+    void setUp() {
+        sessionData = new HashMap<>();
+        sessionData.put(SIGN_IN_INFO, Map.of("user_profile", Map.of("email", "test@example.com")));
+        sessionData.put(PAYMENT_STATE, "state");
+        dirtyTrackingSessionData = new DirtyTrackingSessionData(sessionData);
+    }
+
+    @Test
+    @DisplayName("Reading the session data does not make it dirty")
+    void readsAreClean() {
+        assertEquals("state", dirtyTrackingSessionData.get(PAYMENT_STATE));
+        assertTrue(dirtyTrackingSessionData.containsKey(SIGN_IN_INFO));
+        assertEquals(2, dirtyTrackingSessionData.size());
+
+        assertFalse(dirtyTrackingSessionData.isDirty());
+    }
+
+    @Test
+    @DisplayName("Putting the value already held, or removing a missing key, is not a change")
+    void noOpChangesAreClean() {
+        dirtyTrackingSessionData.put(PAYMENT_STATE, "state");
+        dirtyTrackingSessionData.remove("missing");
+
+        assertFalse(dirtyTrackingSessionData.isDirty());
+    }
+
+    @Test
+    @DisplayName("A put goes straight through to the session data")
+    void putIsWrittenThrough() {
+        dirtyTrackingSessionData.put(PAYMENT_STATE, "new-state");
+
+        assertTrue(dirtyTrackingSessionData.isDirty());
+        assertEquals("new-state", dirtyTrackingSessionData.get(PAYMENT_STATE));
+        assertEquals("new-state", sessionData.get(PAYMENT_STATE));
+    }
+
+    @Test
+    @DisplayName("A remove goes straight through to the session data")
+    void removeIsWrittenThrough() {
+        assertEquals("state", dirtyTrackingSessionData.remove(PAYMENT_STATE));
+
+        assertTrue(dirtyTrackingSessionData.isDirty());
+        assertNull(dirtyTrackingSessionData.get(PAYMENT_STATE));
+        assertFalse(sessionData.containsKey(PAYMENT_STATE));
+        assertTrue(sessionData.containsKey(SIGN_IN_INFO));
+    }
+
+    @Test
+    @DisplayName("The entry, key and value views cannot be used to change the session data")
+    void viewsAreReadOnly() {
+        assertThrows(UnsupportedOperationException.class,
+                () -> dirtyTrackingSessionData.keySet().remove(PAYMENT_STATE));
+        assertFalse(dirtyTrackingSessionData.isDirty());
+    }
+}
@@ -0,0 +1,136 @@
+package uk.gov.companieshouse.web.pps.session;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.MessageSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.OncePerRequestFilter;
+import uk.gov.companieshouse.web.pps.config.PenaltyConfigurationProperties;
+import uk.gov.companieshouse.web.pps.controller.pps.ViewPenaltiesController;
+import uk.gov.companieshouse.web.pps.interceptor.SessionChangeInterceptor;
+import uk.gov.companieshouse.web.pps.service.navigation.NavigatorService;
+import uk.gov.companieshouse.web.pps.service.viewpenalty.ViewPenaltiesService;
+import uk.gov.companieshouse.web.pps.session.impl.SessionServiceImpl;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.web.servlet.view.UrlBasedViewResolver.REDIRECT_URL_PREFIX;
+import static uk.gov.companieshouse.web.pps.service.ServiceConstants.PAYMENT_STATE;
+import static uk.gov.companieshouse.web.pps.service.ServiceConstants.SIGN_IN_INFO;
+import static uk.gov.companieshouse.web.pps.util.PPSTestUtility.COMPANY_NUMBER;
+import static uk.gov.companieshouse.web.pps.util.PPSTestUtility.LFP_PENALTY_REF;
+
+/**
+ * Runs the create payment redirect through a filter that loads the session
+ * before the chain and stores it after, as the session filter does, to check
+ * that the payment state reaches the stored session.
+ */
+@ExtendWith(MockitoExtension.class)
+class SessionPersistenceIntegrationTest {
+
+    private static final String SESSION_DATA_ATTRIBUTE = "sessionData";
+    private static final String VIEW_PENALTIES_PATH = "/pay-penalty/company/" + COMPANY_NUMBER
+            + "/penalty/" + LFP_PENALTY_REF + "/view-penalties";
+    private static final String JOURNEY_URL = "https://payments.example/payments/987654321/pay";
+    private static final String PAYMENT_STATE_VALUE = "payment-state";
+
+    @Mock
+    private NavigatorService mockNavigatorService;
+
+    @Mock
+    private PenaltyConfigurationProperties mockPenaltyConfigurationProperties;
+
+    @Mock
+    private MessageSource mockMessageSource;
+
+    @Mock
+    private ViewPenaltiesService mockViewPenaltiesService;
+
+    private final Map<String, Object> sessionStore = new HashMap<>();
+    private final Map<String, Object> sessionDataAtRedirect = new HashMap<>();
+    private SimpleMeterRegistry meterRegistry;
+    private SessionService sessionService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        sessionStore.put(SIGN_IN_INFO, Map.of("signed_in", 1));
+        meterRegistry = new SimpleMeterRegistry();
+        sessionService = new SessionServiceImpl(SessionPersistenceIntegrationTest::requestSessionData);
+        ViewPenaltiesController controller = new ViewPenaltiesController(
+                mockNavigatorService,
+                sessionService,
+                mockPenaltyConfigurationProperties,
+                mockMessageSource,
+                mockViewPenaltiesService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .addFilters(new SessionStoreFilter())
+                .addInterceptors(new SessionChangeInterceptor(sessionService, meterRegistry))
+                .build();
+    }
+
+    @Test
+    @DisplayName("The payment state is in the session before the redirect to payment and is stored after it")
+    void paymentStateStoredOnCreatePaymentRedirect() throws Exception {
+        when(mockViewPenaltiesService.postViewPenalties(COMPANY_NUMBER, LFP_PENALTY_REF)).thenAnswer(invocation -> {
+            sessionService.getSessionDataFromContext().put(PAYMENT_STATE, PAYMENT_STATE_VALUE);
+            return REDIRECT_URL_PREFIX + JOURNEY_URL;
+        });
+
+        mockMvc.perform(post(VIEW_PENALTIES_PATH))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl(JOURNEY_URL));
+
+        assertEquals(PAYMENT_STATE_VALUE, sessionDataAtRedirect.get(PAYMENT_STATE));
+        assertEquals(PAYMENT_STATE_VALUE, sessionStore.get(PAYMENT_STATE));
+        assertEquals(Map.of("signed_in", 1), sessionStore.get(SIGN_IN_INFO));
+        assertEquals(1.0, meterRegistry.get("session.changes").tag("result", "changed").counter().count());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> requestSessionData() {
+        return (Map<String, Object>) ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes())
+                .getRequest().getAttribute(SESSION_DATA_ATTRIBUTE);
+    }
+
+    private final class SessionStoreFilter extends OncePerRequestFilter {
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                FilterChain filterChain) throws ServletException, IOException {
+            Map<String, Object> sessionData = new HashMap<>(sessionStore);
+            request.setAttribute(SESSION_DATA_ATTRIBUTE, sessionData);
+
+            filterChain.doFilter(request, new HttpServletResponseWrapper(response) {
+                @Override
+                public void sendRedirect(String location) throws IOException {
+                    sessionDataAtRedirect.putAll(sessionData);
+                    super.sendRedirect(location);
+                }
+            });
+
+            sessionStore.clear();
+            sessionStore.putAll(sessionData);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package uk.gov.companieshouse.web.pps.session;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.gov.companieshouse.web.pps.service.ServiceConstants.SIGN_IN_INFO;
+
+class UserContextTest {
+
+    @Test
+    @DisplayName("Signed in user with an email address")
+    void signedInWithEmail() {
+        UserContext userContext = UserContext.fromSessionData(Map.of(SIGN_IN_INFO,
+                Map.of("user_profile", Map.of("email", "test@example.com"))));
+
+        assertTrue(userContext.signedIn());
+        assertTrue(userContext.hasEmail());
+        assertEquals("test@example.com", userContext.email());
+    }
+
+    @Test
+    @DisplayName("Signed in user without a user profile has an empty email address")
+    void signedInWithoutUserProfile() {
+        UserContext userContext = UserContext.fromSessionData(Map.of(SIGN_IN_INFO, Map.of("id", "test")));
+
+        assertTrue(userContext.signedIn());
+        assertFalse(userContext.hasEmail());
+        assertEquals("", userContext.email());
+    }
+
+    @Test
+    @DisplayName("Session data without sign in info is signed out")
+    void signedOut() {
+        assertSame(UserContext.SIGNED_OUT, UserContext.fromSessionData(Map.of("id", "test")));
+        assertSame(UserContext.SIGNED_OUT, UserContext.fromSessionData(null));
+    }
+}
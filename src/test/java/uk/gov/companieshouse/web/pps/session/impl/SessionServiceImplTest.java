@@ -0,0 +1,122 @@
+package uk.gov.companieshouse.web.pps.session.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import uk.gov.companieshouse.web.pps.session.DirtyTrackingSessionData;
+import uk.gov.companieshouse.web.pps.session.SessionChange;
+import uk.gov.companieshouse.web.pps.session.UserContext;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static uk.gov.companieshouse.web.pps.service.ServiceConstants.PAYMENT_STATE;
+import static uk.gov.companieshouse.web.pps.service.ServiceConstants.SIGN_IN_INFO;
+
+class SessionServiceImplTest {
+
+    private static final Map<String, Object> SESSION_DATA = Map.of(SIGN_IN_INFO,
+            Map.of("user_profile", Map.of("email", "test@example.com")));
+
+    private final AtomicInteger sessionDataLoads = new AtomicInteger();
+
+    private Map<String, Object> sessionData;
+    private SessionServiceImpl sessionService;
+
+    @BeforeEach
+    void setUp() {
+        sessionData = new HashMap<>(SESSION_DATA);
+        sessionService = new SessionServiceImpl(() -> {
+            sessionDataLoads.incrementAndGet();
+            return sessionData;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("The user context is read from the session data once per request")
+    void resolvedOncePerRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        UserContext first = sessionService.getUserContext();
+        UserContext second = sessionService.getUserContext();
+
+        assertSame(first, second);
+        assertEquals("test@example.com", first.email());
+        assertSame(first, request.getAttribute(SessionServiceImpl.USER_CONTEXT_ATTRIBUTE));
+        assertEquals(1, sessionDataLoads.get());
+    }
+
+    @Test
+    @DisplayName("Each request gets its own user context")
+    void resolvedForEachRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        sessionService.getUserContext();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        sessionService.getUserContext();
+
+        assertEquals(2, sessionDataLoads.get());
+    }
+
+    @Test
+    @DisplayName("Outside of a request the user context is read from the session data on every call")
+    void outsideOfRequest() {
+        sessionService.getUserContext();
+        sessionService.getUserContext();
+
+        assertEquals(2, sessionDataLoads.get());
+    }
+
+    @Test
+    @DisplayName("Within a request the same dirty tracking session data is handed out")
+    void sessionDataPerRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        Map<String, Object> first = sessionService.getSessionDataFromContext();
+
+        assertInstanceOf(DirtyTrackingSessionData.class, first);
+        assertSame(first, sessionService.getSessionDataFromContext());
+        assertEquals(1, sessionDataLoads.get());
+    }
+
+    @Test
+    @DisplayName("Changes go straight through to the session data and are reported as a change")
+    void changed() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        sessionService.getSessionDataFromContext().put(PAYMENT_STATE, "state");
+
+        assertEquals("state", sessionData.get(PAYMENT_STATE));
+        assertEquals(SessionChange.CHANGED, sessionService.getSessionChange());
+    }
+
+    @Test
+    @DisplayName("Session data that was only read is reported as unchanged")
+    void unchanged() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        sessionService.getUserContext();
+
+        assertEquals(SessionChange.UNCHANGED, sessionService.getSessionChange());
+    }
+
+    @Test
+    @DisplayName("A request that did not load the session data is reported as not loaded")
+    void notLoaded() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        assertEquals(SessionChange.NOT_LOADED, sessionService.getSessionChange());
+        assertEquals(0, sessionDataLoads.get());
+    }
+}
@@ -0,0 +1,101 @@
+package uk.gov.companieshouse.web.pps.timing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestTimingsTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Metrics are listed in order with their total time in milliseconds")
+    void serverTiming() {
+        RequestTimings timings = new RequestTimings();
+        timings.add(ServerTimingMetric.RENDER, 3_456_789L);
+        timings.add(ServerTimingMetric.HEALTH_CHECK, 1_000_000L);
+        timings.add(ServerTimingMetric.HEALTH_CHECK, 250_000L);
+
+        assertEquals("health;desc=\"Finance health check\";dur=1.2, "
+                        + "render;desc=\"Page rendering\";dur=3.4",
+                timings.toServerTiming());
+        assertEquals(Map.of("health", 1.2, "render", 3.4), timings.toMillis());
+    }
+
+    @Test
+    @DisplayName("Timings are empty until a metric is recorded")
+    void empty() {
+        RequestTimings timings = new RequestTimings();
+        assertTrue(timings.isEmpty());
+        assertEquals("", timings.toServerTiming());
+
+        timings.add(ServerTimingMetric.FILTERS, 0L);
+        assertFalse(timings.isEmpty());
+        assertEquals("filters;desc=\"Security and session filters\";dur=0.0", timings.toServerTiming());
+    }
+
+    @Test
+    @DisplayName("The time spent in the filters either side of the handler is added once the filters complete")
+    void filters() throws InterruptedException {
+        RequestTimings timings = new RequestTimings();
+        Thread.sleep(2);
+        timings.handlerStarted();
+        Thread.sleep(20);
+        timings.handlerCompleted();
+        Thread.sleep(2);
+
+        timings.filtersCompleted();
+
+        long filtersNanos = timings.getNanos(ServerTimingMetric.FILTERS);
+        assertTrue(filtersNanos >= 4_000_000L);
+        assertTrue(filtersNanos < 20_000_000L);
+    }
+
+    @Test
+    @DisplayName("Nothing is added for the filters of a request that did not reach a handler")
+    void filtersWithoutHandler() {
+        RequestTimings timings = new RequestTimings();
+
+        timings.filtersCompleted();
+
+        assertTrue(timings.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Recording adds to the timings of the current request")
+    void recordWithinRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestTimings timings = new RequestTimings();
+        request.setAttribute(RequestTimings.ATTRIBUTE, timings);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        RequestTimings.record(ServerTimingMetric.COMPANY, 5_000_000L);
+
+        assertSame(timings, RequestTimings.current().orElseThrow());
+        assertEquals(5_000_000L, timings.getNanos(ServerTimingMetric.COMPANY));
+    }
+
+    @Test
+    @DisplayName("Recording outside of a timed request does nothing")
+    void recordOutsideRequest() {
+        RequestTimings.record(ServerTimingMetric.COMPANY, 5_000_000L);
+        assertTrue(RequestTimings.current().isEmpty());
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        RequestTimings.record(ServerTimingMetric.COMPANY, 5_000_000L);
+        assertTrue(RequestTimings.current().isEmpty());
+    }
+}
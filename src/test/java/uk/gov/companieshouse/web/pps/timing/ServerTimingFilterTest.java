@@ -0,0 +1,70 @@
+package uk.gov.companieshouse.web.pps.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static uk.gov.companieshouse.web.pps.timing.ServerTimingFilter.SERVER_TIMING_HEADER;
+
+class ServerTimingFilterTest {
+
+    private static final String PAGE = "<html>View penalties</html>";
+
+    private ServerTimingFilter serverTimingFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        serverTimingFilter = new ServerTimingFilter();
+        request = new MockHttpServletRequest("GET", "/pay-penalty/company/12345678/penalty/A0000001/view-penalties");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    @DisplayName("HTML responses carry the timings recorded while handling the request")
+    void addsServerTimingToHtml() throws Exception {
+        serverTimingFilter.doFilter(request, response, chain("text/html;charset=UTF-8", 12_000_000L));
+
+        assertEquals("penalties;desc=\"Financial penalties fetch\";dur=12.0",
+                response.getHeader(SERVER_TIMING_HEADER));
+        assertEquals(PAGE, response.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Responses that are not HTML are written without timings")
+    void skipsOtherContent() throws Exception {
+        serverTimingFilter.doFilter(request, response, chain("application/json", 12_000_000L));
+
+        assertNull(response.getHeader(SERVER_TIMING_HEADER));
+        assertEquals(PAGE, response.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Requests that recorded nothing are written without timings")
+    void skipsEmptyTimings() throws Exception {
+        serverTimingFilter.doFilter(request, response, chain("text/html;charset=UTF-8", null));
+
+        assertNull(response.getHeader(SERVER_TIMING_HEADER));
+        assertEquals(PAGE, response.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    private static FilterChain chain(String contentType, Long penaltiesNanos) {
+        return (chainRequest, chainResponse) -> {
+            if (penaltiesNanos != null) {
+                RequestTimings.of((HttpServletRequest) chainRequest).orElseThrow()
+                        .add(ServerTimingMetric.PENALTIES, penaltiesNanos);
+            }
+            chainResponse.setContentType(contentType);
+            chainResponse.getWriter().write(PAGE);
+        };
+    }
+}
@@ -0,0 +1,209 @@
+package uk.gov.companieshouse.web.pps.tracing;
+
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.web.pps.exception.ServiceException;
+import uk.gov.companieshouse.web.pps.service.response.PPSServiceResponse;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JourneyTracingAspectTest {
+
+    private static final String COMPANY_NUMBER = "12345678";
+    private static final String PENALTY_REF = "A0000001";
+
+    private InMemorySpanExporter spanExporter;
+    private OpenTelemetrySdk openTelemetry;
+    private JourneyTracingAspect journeyTracingAspect;
+
+    @BeforeEach
+    void setUp() {
+        spanExporter = InMemorySpanExporter.create();
+        openTelemetry = OpenTelemetrySdk.builder()
+                .setTracerProvider(SdkTracerProvider.builder()
+                        .addSpanProcessor(SimpleSpanProcessor.create(spanExporter))
+                        .build())
+                .build();
+        journeyTracingAspect = new JourneyTracingAspect(openTelemetry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        openTelemetry.close();
+    }
+
+    @Test
+    @DisplayName("Service calls are nested under the controller action with the penalty reference type and outcome")
+    void nestsServiceCallsUnderControllerAction() throws Throwable {
+        PPSServiceResponse serviceResponse = new PPSServiceResponse();
+        serviceResponse.setUrl("redirect:/pay-penalty/company/" + COMPANY_NUMBER + "/penalty/"
+                + PENALTY_REF + "/penalty-in-dca");
+        ProceedingJoinPoint serviceCall = joinPoint(new PenaltyDetailsService(), "postEnterDetails",
+                new String[]{"companyNumber", "penaltyRef"}, new Object[]{COMPANY_NUMBER, PENALTY_REF});
+        when(serviceCall.proceed()).thenReturn(serviceResponse);
+        ProceedingJoinPoint controllerAction = joinPoint(new EnterDetailsController(), "postEnterDetails",
+                new String[]{"companyNumber", "penaltyRef"}, new Object[]{COMPANY_NUMBER, PENALTY_REF});
+        when(controllerAction.proceed()).thenAnswer(invocation -> {
+            journeyTracingAspect.traceServiceCall(serviceCall);
+            return serviceResponse.getUrl().orElseThrow();
+        });
+
+        journeyTracingAspect.traceControllerAction(controllerAction);
+
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        assertEquals(2, spans.size());
+        SpanData service = spans.get(0);
+        SpanData controller = spans.get(1);
+
+        assertEquals("EnterDetailsController.postEnterDetails", controller.getName());
+        assertEquals(SpanKind.SERVER, controller.getKind());
+        assertFalse(controller.getParentSpanContext().isValid());
+        assertEquals("penalty-in-dca", controller.getAttributes().get(JourneyTracingAspect.OUTCOME));
+
+        assertEquals("PenaltyDetailsService.postEnterDetails", service.getName());
+        assertEquals(SpanKind.INTERNAL, service.getKind());
+        assertEquals(controller.getSpanId(), service.getParentSpanId());
+        assertEquals("LATE_FILING", service.getAttributes().get(JourneyTracingAspect.PENALTY_REFERENCE_TYPE));
+        assertEquals("penalty-in-dca", service.getAttributes().get(JourneyTracingAspect.OUTCOME));
+
+        for (SpanData span : spans) {
+            span.getAttributes().forEach((key, value) -> {
+                assertFalse(value.toString().contains(COMPANY_NUMBER));
+                assertFalse(value.toString().contains(PENALTY_REF));
+            });
+        }
+    }
+
+    @Test
+    @DisplayName("Rendered views are recorded on the controller action")
+    void recordsView() throws Throwable {
+        ProceedingJoinPoint controllerAction = joinPoint(new EnterDetailsController(), "getEnterDetails",
+                new String[]{"penaltyReferenceStartsWith"}, new Object[]{"A"});
+        when(controllerAction.proceed()).thenReturn("pps/details");
+
+        assertEquals("pps/details", journeyTracingAspect.traceControllerAction(controllerAction));
+
+        SpanData controller = spanExporter.getFinishedSpanItems().getFirst();
+        assertEquals("pps/details", controller.getAttributes().get(JourneyTracingAspect.VIEW));
+        assertNull(controller.getAttributes().get(JourneyTracingAspect.PENALTY_REFERENCE_TYPE));
+    }
+
+    @Test
+    @DisplayName("Values returned by services are not recorded on their spans")
+    void doesNotRecordServiceReturnValues() throws Throwable {
+        ProceedingJoinPoint serviceCall = joinPoint(new CompanyService(), "appendToCompanyNumber",
+                new String[]{"companyNumber"}, new Object[]{"SC123456"});
+        when(serviceCall.proceed()).thenReturn("SC123456");
+        PPSServiceResponse journeyUrl = new PPSServiceResponse();
+        journeyUrl.setUrl("https://card.payments.service.gov.uk/secure/payment-journey");
+        ProceedingJoinPoint paymentCall = joinPoint(new PenaltyDetailsService(), "postEnterDetails",
+                new String[]{"companyNumber", "penaltyRef"}, new Object[]{COMPANY_NUMBER, PENALTY_REF});
+        when(paymentCall.proceed()).thenReturn(journeyUrl);
+        ProceedingJoinPoint controllerAction = joinPoint(new EnterDetailsController(), "postEnterDetails",
+                new String[]{"companyNumber"}, new Object[]{COMPANY_NUMBER});
+        when(controllerAction.proceed()).thenAnswer(invocation -> {
+            journeyTracingAspect.traceServiceCall(serviceCall);
+            journeyTracingAspect.traceServiceCall(paymentCall);
+            return "pps/details";
+        });
+
+        journeyTracingAspect.traceControllerAction(controllerAction);
+
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        assertEquals(3, spans.size());
+        for (SpanData service : spans.subList(0, 2)) {
+            assertNull(service.getAttributes().get(JourneyTracingAspect.VIEW));
+            assertNull(service.getAttributes().get(JourneyTracingAspect.OUTCOME));
+            service.getAttributes().forEach((key, value) -> {
+                assertFalse(value.toString().contains("SC123456"));
+                assertFalse(value.toString().contains("payments.service.gov.uk"));
+            });
+        }
+        assertEquals("pps/details", spans.get(2).getAttributes().get(JourneyTracingAspect.VIEW));
+    }
+
+    @Test
+    @DisplayName("Service calls made outside of a controller action are not traced")
+    void skipsServiceCallsOutsideControllerAction() throws Throwable {
+        Object result = new Object();
+        ProceedingJoinPoint serviceCall = mock(ProceedingJoinPoint.class);
+        when(serviceCall.proceed()).thenReturn(result);
+
+        assertSame(result, journeyTracingAspect.traceServiceCall(serviceCall));
+        assertTrue(spanExporter.getFinishedSpanItems().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Exceptions are recorded by type and rethrown")
+    void recordsException() throws Throwable {
+        ServiceException exception = new ServiceException("Error retrieving penalties for " + COMPANY_NUMBER,
+                new IllegalStateException());
+        ProceedingJoinPoint controllerAction = joinPoint(new EnterDetailsController(), "postEnterDetails",
+                new String[]{"penaltyRef"}, new Object[]{PENALTY_REF});
+        when(controllerAction.proceed()).thenThrow(exception);
+
+        assertSame(exception, assertThrows(ServiceException.class,
+                () -> journeyTracingAspect.traceControllerAction(controllerAction)));
+
+        SpanData controller = spanExporter.getFinishedSpanItems().getFirst();
+        assertEquals(StatusCode.ERROR, controller.getStatus().getStatusCode());
+        assertEquals(ServiceException.class.getName(),
+                controller.getAttributes().get(JourneyTracingAspect.EXCEPTION_TYPE));
+        assertTrue(controller.getEvents().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Only journey steps are taken from redirects")
+    void journeyStep() {
+        assertEquals(Optional.of("online-payment-unavailable"), JourneyTracingAspect.journeyStep(
+                "redirect:/pay-penalty/company/12345678/penalty/A0000001/online-payment-unavailable"));
+        assertEquals(Optional.of("view-penalties"), JourneyTracingAspect.journeyStep(
+                "redirect:/pay-penalty/company/12345678/penalty/A0000001/view-penalties?back=true"));
+        assertEquals(Optional.empty(), JourneyTracingAspect.journeyStep(
+                "redirect:/pay-penalty/company/12345678/penalty/A0000001"));
+        assertEquals(Optional.empty(), JourneyTracingAspect.journeyStep(
+                "redirect:/pay-penalty/company/SC123456"));
+    }
+
+    private static ProceedingJoinPoint joinPoint(Object target, String methodName, String[] parameterNames,
+            Object[] args) {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getName()).thenReturn(methodName);
+        when(signature.getParameterNames()).thenReturn(parameterNames);
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getTarget()).thenReturn(target);
+        when(joinPoint.getArgs()).thenReturn(args);
+        return joinPoint;
+    }
+
+    private static class EnterDetailsController {
+    }
+
+    private static class PenaltyDetailsService {
+    }
+
+    private static class CompanyService {
+    }
+}
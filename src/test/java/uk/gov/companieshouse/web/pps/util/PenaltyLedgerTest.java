@@ -0,0 +1,146 @@
+package uk.gov.companieshouse.web.pps.util;
+
+import static java.lang.Boolean.FALSE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.gov.companieshouse.api.model.financialpenalty.PayableStatus.CLOSED;
+import static uk.gov.companieshouse.api.model.financialpenalty.PayableStatus.DISABLED;
+import static uk.gov.companieshouse.api.model.financialpenalty.PayableStatus.OPEN;
+import static uk.gov.companieshouse.web.pps.util.PPSTestUtility.OTHER_TYPE;
+import static uk.gov.companieshouse.web.pps.util.PPSTestUtility.PENALTY_TYPE;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.api.model.financialpenalty.FinancialPenalty;
+import uk.gov.companieshouse.api.model.financialpenalty.PayableStatus;
+
+class PenaltyLedgerTest {
+
+    private static final String PENALTY_REF = "A0000001";
+    private static final String MADE_UP_DATE = "2024-03-31";
+
+    @Test
+    @DisplayName("Penalty and costs keeps ledger order and only includes costs for the penalty")
+    void penaltyAndCosts() {
+        FinancialPenalty unpaidCostOtherDate = item("C1", OTHER_TYPE, false, "2023-03-31", OPEN);
+        FinancialPenalty penalty = item(PENALTY_REF, PENALTY_TYPE, false, MADE_UP_DATE, OPEN);
+        FinancialPenalty unpaidCostSameDate = item("C2", OTHER_TYPE, false, MADE_UP_DATE, OPEN);
+        FinancialPenalty paidCostSameDate = item("C3", OTHER_TYPE, true, MADE_UP_DATE, CLOSED);
+        FinancialPenalty paidCostSameId = item(PENALTY_REF, OTHER_TYPE, true, "2022-03-31", CLOSED);
+        FinancialPenalty otherPenalty = item("A0000002", PENALTY_TYPE, false, MADE_UP_DATE, OPEN);
+
+        PenaltyLedger ledger = PenaltyLedger.of(List.of(unpaidCostOtherDate, penalty, unpaidCostSameDate,
+                paidCostSameDate, paidCostSameId, otherPenalty));
+
+        assertEquals(List.of(penalty, unpaidCostSameDate, paidCostSameId), ledger.getPenaltyAndCosts(PENALTY_REF));
+        assertEquals(List.of(penalty, paidCostSameId), ledger.getItemsWithId(PENALTY_REF));
+        assertEquals(5, ledger.countPenaltyOrUnpaidItems(PENALTY_REF));
+    }
+
+    @Test
+    void noPenaltyForReference() {
+        PenaltyLedger ledger = PenaltyLedger.of(List.of(item(PENALTY_REF, OTHER_TYPE, false, MADE_UP_DATE, OPEN)));
+
+        assertTrue(ledger.getPenaltyAndCosts(PENALTY_REF).isEmpty());
+        assertTrue(ledger.getPenalty(PENALTY_REF).isEmpty());
+        assertTrue(ledger.getPenaltyAndCosts("A9999999").isEmpty());
+        assertTrue(PenaltyLedger.of(null).getItemsWithId(PENALTY_REF).isEmpty());
+    }
+
+    @Test
+    void payableStatusFlags() {
+        FinancialPenalty closed = item(PENALTY_REF, PENALTY_TYPE, true, MADE_UP_DATE, CLOSED);
+        FinancialPenalty open = item(PENALTY_REF, PENALTY_TYPE, false, MADE_UP_DATE, OPEN);
+        FinancialPenalty disabledCost = item("A0000002", OTHER_TYPE, false, MADE_UP_DATE, DISABLED);
+
+        PenaltyLedger ledger = PenaltyLedger.of(List.of(closed, open, disabledCost));
+
+        assertSame(closed, ledger.getPenalty(PENALTY_REF).orElseThrow());
+        assertSame(open, ledger.getOpenPenalty(PENALTY_REF).orElseThrow());
+        assertFalse(ledger.isPenaltyDisabled(PENALTY_REF));
+        assertFalse(ledger.isPenaltyDisabled("A0000002"));
+
+        ledger = PenaltyLedger.of(List.of(item(PENALTY_REF, PENALTY_TYPE, false, MADE_UP_DATE, DISABLED)));
+        assertTrue(ledger.isPenaltyDisabled(PENALTY_REF));
+        assertTrue(ledger.getOpenPenalty(PENALTY_REF).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Lookups agree with the stream filters they replaced on random ledgers")
+    void matchesStreamFilters() {
+        Random random = new Random(42);
+        String[] ids = {PENALTY_REF, "A0000002", "A0000003", "A0000004"};
+        String[] dates = {MADE_UP_DATE, "2023-03-31", "2022-03-31"};
+        PayableStatus[] statuses = PayableStatus.values();
+
+        for (int run = 0; run < 500; run++) {
+            List<FinancialPenalty> items = new ArrayList<>();
+            int size = random.nextInt(12);
+            for (int i = 0; i < size; i++) {
+                items.add(item(ids[random.nextInt(ids.length)],
+                        random.nextBoolean() ? PENALTY_TYPE : OTHER_TYPE,
+                        random.nextInt(3) == 0,
+                        dates[random.nextInt(dates.length)],
+                        statuses[random.nextInt(statuses.length)]));
+            }
+
+            PenaltyLedger ledger = PenaltyLedger.of(items);
+            List<FinancialPenalty> penaltyAndCosts = legacyPenaltyAndCosts(items, PENALTY_REF);
+
+            assertEquals(penaltyAndCosts, ledger.getPenaltyAndCosts(PENALTY_REF));
+            assertEquals(legacyOpenPenalty(items, PENALTY_REF), ledger.getOpenPenalty(PENALTY_REF));
+            assertEquals(items.stream().anyMatch(penalty -> PENALTY_TYPE.equals(penalty.getType())
+                            && PENALTY_REF.equals(penalty.getId())
+                            && DISABLED.equals(penalty.getPayableStatus())),
+                    ledger.isPenaltyDisabled(PENALTY_REF));
+        }
+    }
+
+    private static List<FinancialPenalty> legacyPenaltyAndCosts(List<FinancialPenalty> items, String penaltyRef) {
+        var penaltyOrUnpaidItems = items.stream()
+                .filter(financialPenalty -> penaltyRef.equals(financialPenalty.getId())
+                        || FALSE.equals(financialPenalty.getPaid()))
+                .toList();
+        Optional<FinancialPenalty> penaltyOptional = penaltyOrUnpaidItems.stream()
+                .filter(financialPenalty -> penaltyRef.equals(financialPenalty.getId()))
+                .filter(financialPenalty -> PENALTY_TYPE.equals(financialPenalty.getType()))
+                .findFirst();
+        if (penaltyOptional.isEmpty()) {
+            return List.of();
+        }
+        FinancialPenalty penalty = penaltyOptional.get();
+        List<FinancialPenalty> penaltyAndCosts = new ArrayList<>();
+        penaltyAndCosts.add(penalty);
+        penaltyAndCosts.addAll(penaltyOrUnpaidItems.stream()
+                .filter(financialPenalty -> OTHER_TYPE.equals(financialPenalty.getType()))
+                .filter(financialPenalty -> penaltyRef.equals(financialPenalty.getId())
+                        || penalty.getMadeUpDate().equals(financialPenalty.getMadeUpDate()))
+                .toList());
+        return penaltyAndCosts;
+    }
+
+    private static Optional<FinancialPenalty> legacyOpenPenalty(List<FinancialPenalty> items, String penaltyRef) {
+        return items.stream()
+                .filter(penalty -> penaltyRef.equals(penalty.getId()))
+                .filter(penalty -> OPEN == penalty.getPayableStatus())
+                .filter(penalty -> PENALTY_TYPE.equals(penalty.getType()))
+                .findFirst();
+    }
+
+    private static FinancialPenalty item(String id, String type, boolean paid, String madeUpDate,
+            PayableStatus payableStatus) {
+        FinancialPenalty financialPenalty = new FinancialPenalty();
+        financialPenalty.setId(id);
+        financialPenalty.setType(type);
+        financialPenalty.setPaid(paid);
+        financialPenalty.setMadeUpDate(madeUpDate);
+        financialPenalty.setPayableStatus(payableStatus);
+        return financialPenalty;
+    }
+}
@@ -132,4 +132,19 @@ class EnterDetailsValidatorTest {
         assertEquals(1, bindingResult.getFieldErrorCount(PENALTY_REF_FIELD));
         assertEquals(errorMessage, Objects.requireNonNull(bindingResult.getFieldError(PENALTY_REF_FIELD)).getDefaultMessage());
     }
+
+    @ParameterizedTest
+    @CsvSource({
+            " ,Enter the penalty reference",
+            "A12 4567,Penalty reference must not include spaces",
+            "A123456,Penalty reference must be 8 characters"
+    })
+    void penaltyRefChecksNotDependingOnTypeStillApplyWithoutType(String penaltyRef, String errorMessage) {
+        enterDetails.setPenaltyRef(penaltyRef);
+        BindingResult bindingResult = new BeanPropertyBindingResult(enterDetails, ENTER_DETAILS_MODEL);
+
+        testValidator.isValidPenaltyRef(enterDetails, bindingResult);
+
+        assertEquals(errorMessage, Objects.requireNonNull(bindingResult.getFieldError(PENALTY_REF_FIELD)).getDefaultMessage());
+    }
 }
@@ -0,0 +1,94 @@
+package uk.gov.companieshouse.web.pps.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class IdentifierFormatTest {
+
+    private static final int SAMPLES = 20_000;
+
+    /** Weighted towards the characters the rules care about, with some that trip up naive scanners. */
+    private static final String ALPHABET = "0123456789012345678901234567890123456789"
+            + "AaPpUuOoEeSCscXxZz" + " \t  !-_/.éÉ٣१²Ⅷ";
+
+    @DisplayName("Single-pass scan agrees with the regex and StringUtils rules on random inputs")
+    @ParameterizedTest
+    @EnumSource(IdentifierFormat.class)
+    void scanMatchesLegacyRules(IdentifierFormat format) {
+        Random random = new Random(format.ordinal() * 31L + 7);
+        boolean whitespaceIsEmpty = format != IdentifierFormat.COMPANY_NUMBER
+                && format != IdentifierFormat.OVERSEAS_ENTITY_ID;
+
+        for (int i = 0; i < SAMPLES; i++) {
+            String input = randomInput(random, format);
+
+            assertEquals(legacyRejection(input, format, whitespaceIsEmpty),
+                    format.scan(input, whitespaceIsEmpty), () -> "input [" + input + "]");
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "COMPANY_NUMBER,SC123456,NONE",
+            "COMPANY_NUMBER,00006400,NONE",
+            "COMPANY_NUMBER,SC12345é,INCORRECT_FORMAT",
+            "COMPANY_NUMBER,SC1234٣٣,INCORRECT_FORMAT",
+            "OVERSEAS_ENTITY_ID,oE123456,NONE",
+            "OVERSEAS_ENTITY_ID,OE12345A,INCORRECT_FORMAT",
+            "LATE_FILING_PENALTY_REF,a1234567,NONE",
+            "SANCTIONS_PENALTY_REF,A1234567,INCORRECT_FORMAT",
+            "SANCTIONS_ROE_PENALTY_REF,U123456,LESS_CHARACTERS",
+            "SANCTIONS_ROE_PENALTY_REF,U1234567!,NON_ALPHANUMERIC"
+    })
+    void scanClassifiesKnownInputs(IdentifierFormat format, String input, Rejection expected) {
+        assertEquals(expected, format.scan(input, true));
+    }
+
+    private static String randomInput(Random random, IdentifierFormat format) {
+        int length = random.nextInt(11);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        // bias some samples towards the valid shape so the format branch is exercised
+        if (length == IdentifierFormat.EXPECTED_LENGTH && random.nextBoolean()) {
+            String prefix = switch (format) {
+                case COMPANY_NUMBER -> "";
+                case OVERSEAS_ENTITY_ID -> random.nextBoolean() ? "OE" : "oe";
+                case LATE_FILING_PENALTY_REF -> "A";
+                case SANCTIONS_PENALTY_REF -> "p";
+                case SANCTIONS_ROE_PENALTY_REF -> "U";
+            };
+            builder.replace(0, prefix.length(), prefix);
+        }
+        return builder.toString();
+    }
+
+    /** The rules as {@code EnterDetailsValidator} applied them before the scanner. */
+    private static Rejection legacyRejection(String input, IdentifierFormat format, boolean whitespaceIsEmpty) {
+        if (whitespaceIsEmpty ? StringUtils.isBlank(input) : StringUtils.isEmpty(input)) {
+            return Rejection.NOT_VALID;
+        } else if (StringUtils.containsAny(input, " ")) {
+            return Rejection.NO_SPACES;
+        } else if (input.length() < 8) {
+            return Rejection.LESS_CHARACTERS;
+        } else if (!StringUtils.isAlphanumeric(input)) {
+            return Rejection.NON_ALPHANUMERIC;
+        }
+        String regex = switch (format) {
+            case COMPANY_NUMBER -> "^([a-zA-Z0-9]{8}|\\d{1,8})$";
+            case OVERSEAS_ENTITY_ID -> "^[Oo][Ee]\\d{6}$";
+            case LATE_FILING_PENALTY_REF -> "^[Aa]\\d{7}$";
+            case SANCTIONS_PENALTY_REF -> "^[Pp]\\d{7}$";
+            case SANCTIONS_ROE_PENALTY_REF -> "^[Uu]\\d{7}$";
+        };
+        return Pattern.compile(regex).matcher(input).matches() ? Rejection.NONE : Rejection.INCORRECT_FORMAT;
+    }
+}
@@ -0,0 +1,38 @@
+package uk.gov.companieshouse.web.pps.warmup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TemplateWarmUpHealthIndicatorTest {
+
+    @Mock
+    private TemplateWarmUp templateWarmUp;
+
+    @InjectMocks
+    private TemplateWarmUpHealthIndicator templateWarmUpHealthIndicator;
+
+    @Test
+    @DisplayName("Out of service while templates are still warming up")
+    void outOfServiceWhileWarmingUp() {
+        when(templateWarmUp.isComplete()).thenReturn(false);
+
+        assertEquals(Status.OUT_OF_SERVICE, templateWarmUpHealthIndicator.health().getStatus());
+    }
+
+    @Test
+    @DisplayName("Up once warm-up has completed")
+    void upOnceComplete() {
+        when(templateWarmUp.isComplete()).thenReturn(true);
+
+        assertEquals(Status.UP, templateWarmUpHealthIndicator.health().getStatus());
+    }
+}
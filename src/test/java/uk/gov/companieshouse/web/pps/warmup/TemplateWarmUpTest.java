@@ -0,0 +1,262 @@
+package uk.gov.companieshouse.web.pps.warmup;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+import uk.gov.companieshouse.web.pps.config.TemplateWarmUpConfigurationProperties;
+import uk.gov.companieshouse.web.pps.layout.LayoutPrecompiler;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TemplateWarmUpTest {
+
+    @Mock
+    private ViewResolver viewResolver;
+
+    @Mock
+    private View view;
+
+    @Mock
+    private WebApplicationContext webApplicationContext;
+
+    @Mock
+    private ServletContext servletContext;
+
+    @Mock
+    private LayoutPrecompiler layoutPrecompiler;
+
+    private TemplateWarmUpConfigurationProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TemplateWarmUpConfigurationProperties();
+        properties.setIterations(2);
+    }
+
+    @Test
+    @DisplayName("There is a warm-up model for every page template")
+    void everyTemplateHasAModel() throws IOException {
+        Resource[] templates = new PathMatchingResourcePatternResolver()
+                .getResources("classpath:templates/pps/*.html");
+        Set<String> viewNames = Arrays.stream(templates)
+                .map(template -> "pps/" + template.getFilename().replace(".html", ""))
+                .collect(Collectors.toSet());
+
+        assertFalse(viewNames.isEmpty());
+        assertEquals(viewNames, TemplateWarmUp.warmUpModels().keySet());
+    }
+
+    @Test
+    @DisplayName("Each template is rendered the configured number of times before warm-up completes")
+    void rendersEveryTemplate() throws Exception {
+        when(webApplicationContext.getServletContext()).thenReturn(servletContext);
+        when(viewResolver.resolveViewName(anyString(), eq(Locale.UK))).thenReturn(view);
+        TemplateWarmUp templateWarmUp = new TemplateWarmUp(properties, viewResolver, webApplicationContext,
+                layoutPrecompiler);
+
+        assertFalse(templateWarmUp.isComplete());
+        templateWarmUp.warmUp();
+
+        assertTrue(templateWarmUp.isComplete());
+        int templates = TemplateWarmUp.warmUpModels().size();
+        ArgumentCaptor<HttpServletRequest> request = ArgumentCaptor.forClass(HttpServletRequest.class);
+        verify(view, times(templates * 2)).render(anyMap(), request.capture(), any());
+        assertSame(webApplicationContext,
+                request.getValue().getAttribute(DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE));
+        assertSame(servletContext, request.getValue().getServletContext());
+    }
+
+    @Test
+    @DisplayName("A template that fails to render does not stop the others or hold back completion")
+    void failingTemplate() throws Exception {
+        View failingView = mock(View.class);
+        when(webApplicationContext.getServletContext()).thenReturn(servletContext);
+        when(viewResolver.resolveViewName(anyString(), eq(Locale.UK))).thenReturn(view);
+        when(viewResolver.resolveViewName("pps/details", Locale.UK)).thenReturn(failingView);
+        doThrow(new IllegalStateException("broken")).when(failingView).render(anyMap(), any(), any());
+        TemplateWarmUp templateWarmUp = new TemplateWarmUp(properties, viewResolver, webApplicationContext,
+                layoutPrecompiler);
+
+        templateWarmUp.warmUp();
+
+        assertTrue(templateWarmUp.isComplete());
+        verify(failingView).render(anyMap(), any(), any());
+        verify(view, times((TemplateWarmUp.warmUpModels().size() - 1) * 2)).render(anyMap(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Warm-up is skipped and complete outside of a web application context")
+    void notAWebApplication() {
+        TemplateWarmUp templateWarmUp = new TemplateWarmUp(properties, viewResolver,
+                mock(ApplicationContext.class), layoutPrecompiler);
+
+        templateWarmUp.warmUp();
+
+        assertTrue(templateWarmUp.isComplete());
+        verifyNoInteractions(viewResolver);
+    }
+
+    @Test
+    @DisplayName("Warm-up is complete from the start when disabled")
+    void disabled() {
+        properties.setEnabled(false);
+        TemplateWarmUp templateWarmUp = new TemplateWarmUp(properties, viewResolver, webApplicationContext,
+                layoutPrecompiler);
+
+        templateWarmUp.onApplicationReady();
+
+        assertTrue(templateWarmUp.isComplete());
+        verifyNoInteractions(viewResolver);
+    }
+
+    @Test
+    @DisplayName("A precompiled layout is used when it renders the same page as the layout dialect")
+    void precompiledLayoutMatches() throws Exception {
+        when(webApplicationContext.getServletContext()).thenReturn(servletContext);
+        when(layoutPrecompiler.isEnabled()).thenReturn(true);
+        when(layoutPrecompiler.addCandidate(anyString()))
+                .thenAnswer(invocation -> "precompiled-layout:" + invocation.getArgument(0));
+        when(viewResolver.resolveViewName(anyString(), eq(Locale.UK))).thenReturn(view);
+        writePage(view, "<html>page</html>");
+        TemplateWarmUp templateWarmUp = new TemplateWarmUp(properties, viewResolver, webApplicationContext,
+                layoutPrecompiler);
+
+        templateWarmUp.warmUp();
+
+        int templates = TemplateWarmUp.warmUpModels().size();
+        verify(layoutPrecompiler).activate("pps/details");
+        verify(layoutPrecompiler, times(templates)).activate(anyString());
+        verify(layoutPrecompiler, never()).discard(anyString());
+        verify(viewResolver, times(3)).resolveViewName("precompiled-layout:pps/details", Locale.UK);
+        verify(viewResolver, times(2)).resolveViewName("precompiled-layout:pps/viewPenalties", Locale.UK);
+    }
+
+    @Test
+    @DisplayName("A precompiled layout is discarded when it renders a different page for a signed in user")
+    void precompiledLayoutDiffersSignedIn() throws Exception {
+        View candidateView = mock(View.class);
+        when(webApplicationContext.getServletContext()).thenReturn(servletContext);
+        when(layoutPrecompiler.isEnabled()).thenReturn(true);
+        when(layoutPrecompiler.addCandidate(anyString()))
+                .thenAnswer(invocation -> "precompiled-layout:" + invocation.getArgument(0));
+        when(viewResolver.resolveViewName(anyString(), eq(Locale.UK))).thenReturn(view);
+        when(viewResolver.resolveViewName("precompiled-layout:pps/viewPenalties", Locale.UK))
+                .thenReturn(candidateView);
+        writePage(view, "<html>page</html>");
+        doAnswer(invocation -> {
+            Map<String, ?> model = invocation.getArgument(0);
+            invocation.<HttpServletResponse>getArgument(2).getWriter()
+                    .write(model.containsKey("userEmail") ? "<html>no user bar</html>" : "<html>page</html>");
+            return null;
+        }).when(candidateView).render(anyMap(), any(), any());
+        TemplateWarmUp templateWarmUp = new TemplateWarmUp(properties, viewResolver, webApplicationContext,
+                layoutPrecompiler);
+
+        templateWarmUp.warmUp();
+
+        verify(layoutPrecompiler).discard("pps/viewPenalties");
+        verify(layoutPrecompiler, never()).activate("pps/viewPenalties");
+        verify(layoutPrecompiler).activate("pps/details");
+    }
+
+    @Test
+    @DisplayName("Layouts are compared signed out, signed in and, for form pages, with errors")
+    void comparisonModels() {
+        Map<String, Map<String, Object>> models = TemplateWarmUp.warmUpModels();
+
+        List<Map<String, Object>> details = TemplateWarmUp.comparisonModels(models.get("pps/details"));
+        assertEquals(3, details.size());
+        assertFalse(details.get(0).containsKey("userEmail"));
+        assertEquals("warm-up@example.com", details.get(1).get("userEmail"));
+        BindingResult errors = (BindingResult) details.get(2)
+                .get("org.springframework.validation.BindingResult.enterDetails");
+        assertTrue(errors.hasGlobalErrors());
+        assertTrue(errors.hasFieldErrors("companyNumber"));
+        assertTrue(errors.hasFieldErrors("penaltyRef"));
+
+        List<Map<String, Object>> confirmationPage =
+                TemplateWarmUp.comparisonModels(models.get("pps/confirmationPage"));
+        assertEquals(2, confirmationPage.size());
+        assertFalse(confirmationPage.get(0).containsKey("userEmail"));
+        assertTrue(confirmationPage.get(1).containsKey("userEmail"));
+    }
+
+    @Test
+    @DisplayName("A precompiled layout is discarded when it renders a different page")
+    void precompiledLayoutDiffers() throws Exception {
+        View candidateView = mock(View.class);
+        when(webApplicationContext.getServletContext()).thenReturn(servletContext);
+        when(layoutPrecompiler.isEnabled()).thenReturn(true);
+        when(layoutPrecompiler.addCandidate(anyString()))
+                .thenAnswer(invocation -> "precompiled-layout:" + invocation.getArgument(0));
+        when(viewResolver.resolveViewName(anyString(), eq(Locale.UK))).thenReturn(view);
+        when(viewResolver.resolveViewName("precompiled-layout:pps/details", Locale.UK)).thenReturn(candidateView);
+        writePage(view, "<html>decorated</html>");
+        writePage(candidateView, "<html>merged</html>");
+        TemplateWarmUp templateWarmUp = new TemplateWarmUp(properties, viewResolver, webApplicationContext,
+                layoutPrecompiler);
+
+        templateWarmUp.warmUp();
+
+        verify(layoutPrecompiler).discard("pps/details");
+        verify(layoutPrecompiler, never()).activate("pps/details");
+        assertTrue(templateWarmUp.isComplete());
+    }
+
+    @Test
+    @DisplayName("Form templates are given a binding result for their form object")
+    void formModels() {
+        Map<String, Map<String, Object>> models = TemplateWarmUp.warmUpModels();
+
+        assertTrue(models.get("pps/details")
+                .containsKey("org.springframework.validation.BindingResult.enterDetails"));
+        assertTrue(models.get("pps/penaltyRefStartsWith")
+                .containsKey("org.springframework.validation.BindingResult.penaltyReferenceChoice"));
+    }
+
+    private static void writePage(View view, String page) throws Exception {
+        doAnswer(invocation -> {
+            invocation.<HttpServletResponse>getArgument(2).getWriter().write(page);
+            return null;
+        }).when(view).render(anyMap(), any(), any());
+    }
+}
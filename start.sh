@@ -28,4 +28,4 @@ else
 fi
 
 #exec java ${JAVA_MEM_ARGS} -jar -Dserver.port="${PORT}" "${APP_DIR}/penalty-payment-web.jar"
-exec java ${JAVA_MEM_ARGS} -Djava.util.logging.config.file="${APP_DIR}/logging.properties" -jar -Dserver.port="${PORT}" "${APP_DIR}/penalty-payment-web.jar"
\ No newline at end of file
+exec java ${JAVA_MEM_ARGS} -Dhttp.maxConnections="${API_CLIENT_MAX_CONNECTIONS_PER_ROUTE:-20}" -Dhttp.keepAlive.time.server="${API_CLIENT_IDLE_TIMEOUT_SECONDS:-30}" -Djava.util.logging.config.file="${APP_DIR}/logging.properties" -jar -Dserver.port="${PORT}" "${APP_DIR}/penalty-payment-web.jar"
\ No newline at end of file